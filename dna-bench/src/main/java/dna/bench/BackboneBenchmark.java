@@ -0,0 +1,55 @@
+package dna.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dna.export.Exporter;
+
+/**
+ * Benchmark for a single iteration of the simulated annealing backbone
+ * algorithm with penalty. The algorithm is initialized before every
+ * measurement iteration, so each iteration starts from a new random backbone
+ * set and the temperature schedule restarts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BackboneBenchmark {
+	@Param({"7.5"})
+	public double p;
+
+	@Param({"50000"})
+	public int T;
+
+	private Exporter exporter;
+
+	@Setup(Level.Trial)
+	public void prepare(DatabaseState db) {
+		this.exporter = ExporterBenchmark.createExporter(db.statementType, "onemode", "subtract", "average", "no", 0, "no");
+	}
+
+	@Setup(Level.Iteration)
+	public void initialize() {
+		this.exporter.initializeSimulatedAnnealingBackbone(true, this.p, this.T, 1);
+	}
+
+	@Benchmark
+	public void iterateSimulatedAnnealingBackbone() {
+		this.exporter.iterateSimulatedAnnealingBackbone(true);
+	}
+}
@@ -0,0 +1,58 @@
+package dna.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import dna.Dna;
+import logger.Logger;
+import model.StatementType;
+import sql.Sql;
+
+/**
+ * Shared benchmark state: a synthetic SQLite database in a temporary file,
+ * which is opened as the DNA database ({@link Dna#sql}) for the duration of
+ * a trial. The size of the database can be changed with the JMH parameters,
+ * for example {@code -p statements=100000}.
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+	@Param({"2000"})
+	public int documents;
+
+	@Param({"20000"})
+	public int statements;
+
+	@Param({"200"})
+	public int actors;
+
+	@Param({"60"})
+	public int concepts;
+
+	@Param({"5"})
+	public int qualifierLevels;
+
+	private File file;
+	StatementType statementType;
+
+	@Setup(Level.Trial)
+	public void createDatabase() throws IOException, SQLException {
+		Dna.logger = new Logger();
+		Dna.sql = new Sql();
+		this.file = File.createTempFile("dna-bench", ".dna");
+		Dna.sql = new SyntheticDatabase(this.documents, this.statements, this.actors, this.concepts, this.qualifierLevels, 1).create(this.file.getAbsolutePath());
+		this.statementType = Dna.sql.getStatementType(1);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteDatabase() {
+		this.file.delete();
+	}
+}
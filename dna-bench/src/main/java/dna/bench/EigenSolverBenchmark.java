@@ -0,0 +1,55 @@
+package dna.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dna.export.Exporter;
+
+/**
+ * Benchmarks for the eigen solvers behind spectral distances. The spectral
+ * distance matrix between the networks of a time window series is computed
+ * with each solver, with and without the eigenvalue cache. Without the cache,
+ * every network is decomposed in every invocation; with the cache, only the
+ * first invocation decomposes the networks, so the cached variants measure
+ * the cost of hashing and looking up the matrices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EigenSolverBenchmark {
+
+	@Param({"ojalgo", "apache", "lanczos"})
+	public String eigenSolver;
+
+	@Param({"0", "32"})
+	public int cacheSize;
+
+	private Exporter series;
+
+	@Setup(Level.Trial)
+	public void prepare(DatabaseState db) {
+		this.series = ExporterBenchmark.createExporter(db.statementType, "onemode", "subtract", "no", "months", 12, "no");
+		this.series.setEigenSolver(this.eigenSolver, 0, this.cacheSize);
+		this.series.computeResults();
+	}
+
+	@Benchmark
+	public double[][] computeDistanceMatrixSpectral() {
+		return this.series.computeDistanceMatrix("spectral");
+	}
+}
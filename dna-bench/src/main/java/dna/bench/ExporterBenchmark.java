@@ -0,0 +1,110 @@
+package dna.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dna.export.Exporter;
+import dna.export.Matrix;
+import model.StatementType;
+
+/**
+ * Benchmarks for the network computations of the {@link Exporter}: one-mode
+ * and two-mode matrices, time window matrices, kernel-smoothed time slices,
+ * and distance matrices between the networks of a time series. The data are
+ * loaded and filtered once per trial, so only the computation is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExporterBenchmark {
+	static final LocalDateTime START = LocalDateTime.of(2000, 1, 1, 0, 0, 0);
+	static final LocalDateTime STOP = LocalDateTime.of(2019, 12, 31, 23, 59, 59);
+
+	private Exporter oneMode, twoMode, timeWindow, kernel, series;
+
+	/**
+	 * Create an exporter for organizations and concepts with agreement as the
+	 * qualifier, and load and filter the statements.
+	 *
+	 * @param statementType The statement type.
+	 * @param networkType The network type ({@code "onemode"} or {@code "twomode"}).
+	 * @param qualifierAggregation The qualifier aggregation.
+	 * @param normalization The normalization.
+	 * @param timeWindow The time window unit, or {@code "no"}.
+	 * @param windowSize The time window size.
+	 * @param kernel The kernel function, or {@code "no"}.
+	 * @return The exporter with filtered statements.
+	 */
+	static Exporter createExporter(StatementType statementType, String networkType, String qualifierAggregation,
+			String normalization, String timeWindow, int windowSize, String kernel) {
+		Exporter exporter = new Exporter(networkType, statementType, "organization", false, "concept", false,
+				"agreement", false, qualifierAggregation, normalization, true, "include", START, STOP, timeWindow,
+				windowSize, new HashMap<String, ArrayList<String>>(), new ArrayList<String>(), new ArrayList<String>(),
+				new ArrayList<String>(), new ArrayList<String>(), false, false, false, false, false, null, null);
+		exporter.setKernelFunction(kernel);
+		exporter.loadData();
+		exporter.filterStatements();
+		return exporter;
+	}
+
+	@Setup(Level.Trial)
+	public void prepare(DatabaseState db) {
+		this.oneMode = createExporter(db.statementType, "onemode", "subtract", "average", "no", 0, "no");
+		this.twoMode = createExporter(db.statementType, "twomode", "combine", "no", "no", 0, "no");
+		this.timeWindow = createExporter(db.statementType, "onemode", "subtract", "no", "months", 12, "no");
+		this.kernel = createExporter(db.statementType, "onemode", "subtract", "no", "years", 2, "gaussian");
+		this.series = createExporter(db.statementType, "onemode", "subtract", "no", "months", 12, "no");
+		this.series.computeResults();
+	}
+
+	@Benchmark
+	public ArrayList<Matrix> computeOneModeMatrix() {
+		this.oneMode.computeResults(); // delegates to computeOneModeMatrix
+		return this.oneMode.getMatrixResults();
+	}
+
+	@Benchmark
+	public ArrayList<Matrix> computeTwoModeMatrix() {
+		this.twoMode.computeTwoModeMatrix();
+		return this.twoMode.getMatrixResults();
+	}
+
+	@Benchmark
+	public ArrayList<Matrix> computeTimeWindowMatrices() {
+		this.timeWindow.computeTimeWindowMatrices();
+		return this.timeWindow.getMatrixResults();
+	}
+
+	@Benchmark
+	public ArrayList<Matrix> computeKernelSmoothedTimeSlices() {
+		this.kernel.computeKernelSmoothedTimeSlices();
+		return this.kernel.getMatrixResults();
+	}
+
+	@Benchmark
+	public double[][] computeDistanceMatrixAbsdiff() {
+		return this.series.computeDistanceMatrix("absdiff");
+	}
+
+	@Benchmark
+	public double[][] computeDistanceMatrixSpectral() {
+		return this.series.computeDistanceMatrix("spectral");
+	}
+}
@@ -0,0 +1,134 @@
+package dna.bench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import dna.Dna;
+import logger.Logger;
+import sql.Sql;
+
+/**
+ * Compares the latency of the main database queries before and after the
+ * secondary indexes are added to a database. A large synthetic database is
+ * generated, its indexes are dropped to simulate a database created with an
+ * older version of DNA, and the queries are timed. Then the index migration
+ * ({@link Sql#updateIndexes()}) is run as it would be when the database is
+ * opened, and the queries are timed again.
+ *
+ * <p>Arguments (all optional): file name, number of documents, statements,
+ * actors, concepts, and repetitions per query.
+ */
+public class IndexBenchmark {
+
+	public static void main(String[] args) throws SQLException {
+		String fileName = args.length > 0 ? args[0] : "index-benchmark.dna";
+		int documents = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+		int statements = args.length > 2 ? Integer.parseInt(args[2]) : 200000;
+		int actors = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+		int concepts = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+		int repetitions = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+
+		Dna.logger = new Logger();
+		Dna.sql = new Sql();
+		long time = System.nanoTime();
+		Sql sql = new SyntheticDatabase(documents, statements, actors, concepts, 5, 1).create(fileName);
+		Dna.sql = sql;
+		System.out.printf("Generated %d documents and %d statements in %.1f s.%n", documents, statements, (System.nanoTime() - time) / 1e9);
+
+		dropIndexes(sql);
+		double[] before = run(sql, documents, repetitions);
+		time = System.nanoTime();
+		sql.updateIndexes();
+		System.out.printf("Created indexes (version %d) in %.1f s.%n", sql.getIndexVersion(), (System.nanoTime() - time) / 1e9);
+		double[] after = run(sql, documents, repetitions);
+
+		System.out.printf("%n%-45s %12s %12s %8s%n", "Query (median of " + repetitions + ")", "before (ms)", "after (ms)", "speedup");
+		for (int i = 0; i < QUERIES.length; i++) {
+			System.out.printf("%-45s %12.1f %12.1f %7.1fx%n", QUERIES[i], before[i], after[i], before[i] / after[i]);
+		}
+	}
+
+	private static final String[] QUERIES = {
+			"getStatements (all)",
+			"getStatements (one year)",
+			"getStatements (one source)",
+			"getShallowStatements (100 documents)",
+			"countStatements",
+			"getEntities (with attributes)",
+			"getUniqueValues (boolean)"
+	};
+
+	/**
+	 * Time all queries.
+	 *
+	 * @param sql The database.
+	 * @param documents The number of documents in the database.
+	 * @param repetitions The number of repetitions per query.
+	 * @return The median latency of each query in milliseconds.
+	 */
+	private static double[] run(Sql sql, int documents, int repetitions) {
+		ArrayList<String> source = new ArrayList<String>(Arrays.asList("Source 3"));
+		ArrayList<Integer> variableIds = new ArrayList<Integer>(Arrays.asList(1, 2, 3));
+		Random random = new Random(1);
+		ArrayList<Supplier<Object>> queries = new ArrayList<Supplier<Object>>();
+		queries.add(() -> sql.getStatements(null, 1, null, null, null, false, null, false, null, false, null, false));
+		queries.add(() -> sql.getStatements(null, 1, LocalDateTime.of(2010, 1, 1, 0, 0), LocalDateTime.of(2010, 12, 31, 23, 59, 59), null, false, null, false, null, false, null, false));
+		queries.add(() -> sql.getStatements(null, 1, null, null, null, false, source, true, null, false, null, false));
+		queries.add(() -> {
+			int n = 0;
+			for (int i = 0; i < 100; i++) {
+				n = n + sql.getShallowStatements(1 + random.nextInt(documents)).size();
+			}
+			return n;
+		});
+		queries.add(() -> sql.countStatements(1));
+		queries.add(() -> sql.getEntities(variableIds, true));
+		queries.add(() -> sql.getUniqueValues(1, "agreement"));
+
+		double[] medians = new double[queries.size()];
+		for (int i = 0; i < queries.size(); i++) {
+			queries.get(i).get(); // warm-up
+			double[] times = new double[repetitions];
+			for (int j = 0; j < repetitions; j++) {
+				long time = System.nanoTime();
+				queries.get(i).get();
+				times[j] = (System.nanoTime() - time) / 1e6;
+			}
+			Arrays.sort(times);
+			medians[i] = times[repetitions / 2];
+		}
+		return medians;
+	}
+
+	/**
+	 * Drop all secondary indexes and the index version from a SQLite database.
+	 *
+	 * @param sql The database.
+	 * @throws SQLException If the indexes cannot be dropped.
+	 */
+	private static void dropIndexes(Sql sql) throws SQLException {
+		try (Connection conn = sql.getDataSource().getConnection();
+				PreparedStatement s1 = conn.prepareStatement("SELECT name FROM sqlite_master WHERE type = 'index' AND name LIKE 'IDX_%';");
+				PreparedStatement s2 = conn.prepareStatement("DELETE FROM SETTINGS WHERE Property = 'indexes';")) {
+			ArrayList<String> indexes = new ArrayList<String>();
+			try (ResultSet r = s1.executeQuery()) {
+				while (r.next()) {
+					indexes.add(r.getString("name"));
+				}
+			}
+			for (String index : indexes) {
+				try (PreparedStatement s3 = conn.prepareStatement("DROP INDEX " + index + ";")) {
+					s3.executeUpdate();
+				}
+			}
+			s2.executeUpdate();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package dna.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dna.export.Polarization;
+import dna.export.PolarizationResultTimeSeries;
+
+/**
+ * Benchmark for the genetic algorithm of the polarization analysis over a
+ * series of kernel-smoothed time slices. The congruence and conflict networks
+ * are computed once per trial (with the greedy algorithm, which is run by the
+ * constructor), so only the genetic algorithm is measured. A fixed random
+ * seed makes each run identical.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class PolarizationBenchmark {
+	@Param({"30"})
+	public int numParents;
+
+	@Param({"100"})
+	public int numIterations;
+
+	private Polarization polarization;
+
+	@Setup(Level.Trial)
+	public void prepare(DatabaseState db) {
+		String[] none = new String[0];
+		this.polarization = new Polarization(db.statementType, "organization", false, "concept", false, "agreement",
+				false, "include", ExporterBenchmark.START, ExporterBenchmark.STOP, "years", 2, "gaussian", false,
+				new HashMap<String, ArrayList<String>>(), none, none, none, none, false, false, false, false, false,
+				"greedy", true, 2, this.numParents, this.numIterations, 0.1, 0.1, 12345, false);
+	}
+
+	@Benchmark
+	public PolarizationResultTimeSeries geneticAlgorithm() {
+		return this.polarization.geneticAlgorithm();
+	}
+}
@@ -0,0 +1,39 @@
+package dna.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dna.Dna;
+import model.Statement;
+
+/**
+ * Benchmarks for retrieving statements with all their values from the
+ * synthetic database, as done by the exporter before computing networks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SqlBenchmark {
+
+	@Benchmark
+	public ArrayList<Statement> getStatements(DatabaseState db) {
+		return Dna.sql.getStatements(null, 1, null, null, null, false, null, false, null, false, null, false);
+	}
+
+	@Benchmark
+	public ArrayList<Statement> getStatementsOneYear(DatabaseState db) {
+		return Dna.sql.getStatements(null, 1, LocalDateTime.of(2010, 1, 1, 0, 0, 0), LocalDateTime.of(2010, 12, 31, 23, 59, 59),
+				null, false, null, false, null, false, null, false);
+	}
+}
@@ -0,0 +1,214 @@
+package dna.bench;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Random;
+
+import dna.Dna;
+import logger.Logger;
+import sql.ConnectionProfile;
+import sql.Sql;
+
+/**
+ * Generator for synthetic SQLite databases of configurable size. The
+ * databases are created with the regular DNA schema, including the default
+ * statement types, and are filled with random documents and statements of
+ * the default "DNA Statement" type, which has the variables {@code person},
+ * {@code organization}, {@code concept}, and {@code agreement}, plus an
+ * additional integer variable {@code intensity}. Each statement references a
+ * random actor (organization), a random concept, a random agreement level,
+ * and a random intensity between {@code 0} and the number of qualifier levels
+ * minus one. The same seed always produces the same database.
+ *
+ * <p>The generator can be run from the command line, with the file name,
+ * number of documents, statements, actors, concepts, qualifier levels, and
+ * the seed as arguments.
+ */
+public class SyntheticDatabase {
+	private static final int BATCH_SIZE = 10000;
+	private static final String TEXT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua. ";
+	private int documents, statements, actors, concepts, qualifierLevels;
+	private long seed;
+
+	public static void main(String[] args) throws SQLException {
+		String fileName = args.length > 0 ? args[0] : "synthetic.dna";
+		int documents = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int statements = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+		int actors = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+		int concepts = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+		int qualifierLevels = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+		long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+		Dna.logger = new Logger();
+		Dna.sql = new Sql();
+		new SyntheticDatabase(documents, statements, actors, concepts, qualifierLevels, seed).create(fileName);
+		System.out.println("Wrote " + documents + " documents and " + statements + " statements to " + fileName + ".");
+	}
+
+	/**
+	 * Create a new generator.
+	 *
+	 * @param documents The number of documents.
+	 * @param statements The number of statements.
+	 * @param actors The number of distinct organizations.
+	 * @param concepts The number of distinct concepts.
+	 * @param qualifierLevels The number of distinct values of the integer
+	 *   variable {@code intensity}.
+	 * @param seed The seed of the random number generator.
+	 */
+	public SyntheticDatabase(int documents, int statements, int actors, int concepts, int qualifierLevels, long seed) {
+		this.documents = documents;
+		this.statements = statements;
+		this.actors = actors;
+		this.concepts = concepts;
+		this.qualifierLevels = qualifierLevels;
+		this.seed = seed;
+	}
+
+	/**
+	 * Write a new database to a file. An existing file is replaced.
+	 *
+	 * @param fileName The path of the SQLite file.
+	 * @return An {@link Sql} object connected to the new database.
+	 * @throws SQLException If the data cannot be written.
+	 */
+	public Sql create(String fileName) throws SQLException {
+		File file = new File(fileName);
+		if (file.exists() && !file.delete()) {
+			throw new SQLException("Existing file could not be replaced: " + fileName);
+		}
+		Sql sql = new Sql(new ConnectionProfile("sqlite", fileName, "", 0, "", ""), true); // the coder is selected after creating the tables
+		if (!sql.createTables("benchmark")) { // the admin password is not needed for benchmarking
+			throw new SQLException("Tables could not be created in " + fileName);
+		}
+		Random random = new Random(this.seed);
+		int intensity;
+		try (Connection conn = sql.getDataSource().getConnection();
+				PreparedStatement s = conn.prepareStatement("INSERT INTO VARIABLES (Variable, DataType, StatementTypeId) VALUES ('intensity', 'integer', 1);", PreparedStatement.RETURN_GENERATED_KEYS)) {
+			s.executeUpdate();
+			ResultSet r = s.getGeneratedKeys();
+			r.next();
+			intensity = r.getInt(1);
+		}
+		try (Connection conn = sql.getDataSource().getConnection();
+				PreparedStatement d = conn.prepareStatement("INSERT INTO DOCUMENTS (ID, Title, Text, Coder, Author, Source, Section, Notes, Type, Date) VALUES (?, ?, ?, 1, ?, ?, ?, '', ?, ?);");
+				PreparedStatement e = conn.prepareStatement("INSERT INTO ENTITIES (ID, VariableId, Value, Red, Green, Blue) VALUES (?, ?, ?, 0, 0, 0);");
+				PreparedStatement a = conn.prepareStatement("INSERT INTO ATTRIBUTEVALUES (EntityId, AttributeVariableId, AttributeValue) VALUES (?, ?, '');");
+				PreparedStatement v = conn.prepareStatement("SELECT ID FROM ATTRIBUTEVARIABLES WHERE VariableId = ?;");
+				PreparedStatement s = conn.prepareStatement("INSERT INTO STATEMENTS (ID, StatementTypeId, DocumentId, Start, Stop, Coder) VALUES (?, 1, ?, ?, ?, 1);");
+				PreparedStatement t = conn.prepareStatement("INSERT INTO DATASHORTTEXT (StatementId, VariableId, Entity) VALUES (?, ?, ?);");
+				PreparedStatement b = conn.prepareStatement("INSERT INTO DATABOOLEAN (StatementId, VariableId, Value) VALUES (?, 4, ?);");
+				PreparedStatement n = conn.prepareStatement("INSERT INTO DATAINTEGER (StatementId, VariableId, Value) VALUES (?, ?, ?);")) {
+			conn.setAutoCommit(false);
+
+			// documents with dates spread over twenty years
+			String text = TEXT.repeat(20);
+			long first = LocalDateTime.of(2000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+			long last = LocalDateTime.of(2020, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+			for (int i = 1; i <= this.documents; i++) {
+				d.setInt(1, i);
+				d.setString(2, "Document " + i);
+				d.setString(3, text);
+				d.setString(4, "Author " + random.nextInt(50));
+				d.setString(5, "Source " + random.nextInt(10));
+				d.setString(6, "Section " + random.nextInt(5));
+				d.setString(7, "Type " + random.nextInt(3));
+				d.setLong(8, first + (long) (random.nextDouble() * (last - first)));
+				d.addBatch();
+				if (i % BATCH_SIZE == 0) {
+					d.executeBatch();
+				}
+			}
+			d.executeBatch();
+
+			// one empty person and the actors and concepts, each with empty attribute values
+			int entityId = 1;
+			int person = entityId;
+			entityId = addEntity(e, a, v, entityId, 1, "");
+			int firstActor = entityId;
+			for (int i = 0; i < this.actors; i++) {
+				entityId = addEntity(e, a, v, entityId, 2, "Actor " + i);
+			}
+			int firstConcept = entityId;
+			for (int i = 0; i < this.concepts; i++) {
+				entityId = addEntity(e, a, v, entityId, 3, "Concept " + i);
+			}
+			e.executeBatch();
+			a.executeBatch();
+
+			// statements
+			for (int i = 1; i <= this.statements; i++) {
+				int start = random.nextInt(text.length() - 100);
+				s.setInt(1, i);
+				s.setInt(2, 1 + random.nextInt(this.documents));
+				s.setInt(3, start);
+				s.setInt(4, start + 1 + random.nextInt(100));
+				s.addBatch();
+				int[] entities = {person, firstActor + random.nextInt(this.actors), firstConcept + random.nextInt(this.concepts)};
+				for (int j = 0; j < entities.length; j++) {
+					t.setInt(1, i);
+					t.setInt(2, j + 1);
+					t.setInt(3, entities[j]);
+					t.addBatch();
+				}
+				b.setInt(1, i);
+				b.setInt(2, random.nextInt(2));
+				b.addBatch();
+				n.setInt(1, i);
+				n.setInt(2, intensity);
+				n.setInt(3, random.nextInt(this.qualifierLevels));
+				n.addBatch();
+				if (i % BATCH_SIZE == 0) {
+					s.executeBatch();
+					t.executeBatch();
+					b.executeBatch();
+					n.executeBatch();
+				}
+			}
+			s.executeBatch();
+			t.executeBatch();
+			b.executeBatch();
+			n.executeBatch();
+			conn.commit();
+		}
+		sql.selectCoder(1);
+		return sql;
+	}
+
+	/**
+	 * Add an entity and its attribute values to the insert batches.
+	 *
+	 * @param e The insert statement for entities.
+	 * @param a The insert statement for attribute values.
+	 * @param v The query for the attribute variables of a variable.
+	 * @param entityId The ID of the new entity.
+	 * @param variableId The ID of the variable of the entity.
+	 * @param value The value of the entity.
+	 * @return The ID of the next entity.
+	 * @throws SQLException If the attribute variables cannot be read.
+	 */
+	private static int addEntity(PreparedStatement e, PreparedStatement a, PreparedStatement v, int entityId, int variableId, String value) throws SQLException {
+		e.setInt(1, entityId);
+		e.setInt(2, variableId);
+		e.setString(3, value);
+		e.addBatch();
+		v.setInt(1, variableId);
+		ArrayList<Integer> attributeVariableIds = new ArrayList<Integer>();
+		try (ResultSet r = v.executeQuery()) {
+			while (r.next()) {
+				attributeVariableIds.add(r.getInt("ID"));
+			}
+		}
+		for (int attributeVariableId : attributeVariableIds) {
+			a.setInt(1, entityId);
+			a.setInt(2, attributeVariableId);
+			a.addBatch();
+		}
+		return entityId + 1;
+	}
+}
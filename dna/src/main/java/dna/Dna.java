@@ -28,7 +28,9 @@ public class Dna {
 	 * Create a new instance of DNA including the GUI.
 	 */
 	public Dna(String[] args) {
+		boolean headless = args != null && args.length > 0 && args[0].equals("headless");
 		logger = new Logger();
+		logger.setHeadless(headless); // no event dispatch thread in rDNA
 
 		sql = new Sql();
 
@@ -51,7 +53,7 @@ public class Dna {
 		workingDirectory = new File(currentDir);
 
 		// start GUI or headless DNA
-		if (args != null && args.length > 0 && args[0].equals("headless")) {
+		if (headless) {
 			headlessDna = new HeadlessDna();
 			Dna.logger.addListener(headlessDna);
 
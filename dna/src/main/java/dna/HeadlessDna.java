@@ -28,6 +28,13 @@ import sql.Sql;
  */
 public class HeadlessDna implements Logger.LogListener {
 	private Exporter exporter;
+	/**
+	 * Eigen solver settings for spectral distances, applied to every new exporter.
+	 */
+	private String eigenSolver = "ojalgo";
+	private int numEigenvalues = 0;
+	private int eigenvalueCacheSize = 32;
+	private boolean laplacianSpectrum = false;
 
 	/**
 	 * Constructor for creating an instance of the headless DNA class.
@@ -374,6 +381,7 @@ public class HeadlessDna implements Logger.LogListener {
 	 * @param invertTypes            boolean indicating whether the document-level type values should be included (= {@code true}) rather than excluded.
 	 * @param outfile                {@link String} with a file name under which the resulting network should be saved.
 	 * @param fileFormat             {@link String} with the file format. Valid values are {@code "csv"}, {@code "dl"}, {@code "graphml"}, and {@code null} (for no file export).
+	 * @param parallelism            Number of threads for computing the network matrix. {@code 1} computes the matrix sequentially, and {@code 0} uses all available processors.
 	 * @return                       A {@link Matrix} object containing the resulting one-mode or two-mode network.
 	 */
 	public void rNetwork(String networkType, String statementType, String variable1, boolean variable1Document, String variable2,
@@ -381,7 +389,7 @@ public class HeadlessDna implements Logger.LogListener {
 						 String duplicates, String startDate, String stopDate, String startTime, String stopTime, String timeWindow, int windowSize, String kernel,
 						 String[] excludeVariables, String[] excludeValues, String[] excludeAuthors, String[] excludeSources, String[] excludeSections,
 						 String[] excludeTypes, boolean invertValues, boolean invertAuthors, boolean invertSources, boolean invertSections,
-						 boolean invertTypes, String outfile, String fileFormat) {
+						 boolean invertTypes, String outfile, String fileFormat, int parallelism) {
 
 		// step 1: preprocess arguments
 		StatementType st = Dna.sql.getStatementType(statementType); // format statement type
@@ -439,6 +447,9 @@ public class HeadlessDna implements Logger.LogListener {
 				fileFormat,
 				outfile);
 		this.exporter.setKernelFunction(kernel);
+		this.exporter.setParallelism(parallelism);
+		this.exporter.setEigenSolver(this.eigenSolver, this.numEigenvalues, this.eigenvalueCacheSize);
+		this.exporter.setLaplacianSpectrum(this.laplacianSpectrum);
 
 		// step 2: filter
 		this.exporter.loadData();
@@ -456,6 +467,8 @@ public class HeadlessDna implements Logger.LogListener {
 						"An unexpected error occurred while exporting a network. See the stack trace for details. Consider reporting this error.",
 						e);
 				Dna.logger.log(le);
+			} finally {
+				this.exporter.shutdownForkJoinPool();
 			}
 		}
 
@@ -566,6 +579,8 @@ public class HeadlessDna implements Logger.LogListener {
 				null);
 		this.exporter.setKernelFunction(kernel);
 		this.exporter.setIndentTime(indentTime);
+		this.exporter.setEigenSolver(this.eigenSolver, this.numEigenvalues, this.eigenvalueCacheSize);
+		this.exporter.setLaplacianSpectrum(this.laplacianSpectrum);
 
 		// step 2: filter
 		this.exporter.loadData();
@@ -627,6 +642,7 @@ public class HeadlessDna implements Logger.LogListener {
 	 * @param elitePercentage    Only for the genetic algorithm: The share of cluster solutions in each parent generation that is copied into the children generation without changes, between 0.0 and 1.0, usually around 0.1.
 	 * @param mutationPercentage Only for the genetic algorithm: The probability with which each bit in any cluster solution is selected for mutation after the cross-over step. For example 0.1 to select 10% of the nodes to swap their memberships.
 	 * @param randomSeed         Only for the genetic algorithm: The random seed to use for the random number generator. Pass 0 for random behaviour.
+	 * @param warmStart          boolean indicating whether the algorithm should start at each time step from the best cluster solution of the previous time step instead of random solutions. This is faster because adjacent time windows overlap, but the first time step of every chunk of time steps still starts from random solutions.
 	 * @return                   A PolarizationResultTimeSeries object containing the results of the algorithm for each time step and iteration.
 	 */
 	public PolarizationResultTimeSeries rPolarization(String statementType, String variable1, boolean variable1Document,
@@ -636,7 +652,7 @@ public class HeadlessDna implements Logger.LogListener {
 			String[] excludeSections, String[] excludeTypes, boolean invertValues, boolean invertAuthors,
 			boolean invertSources, boolean invertSections, boolean invertTypes, String algorithm, boolean normaliseScores,
 			int numClusters, int numParents, int numIterations, double elitePercentage, double mutationPercentage,
-			long randomSeed) {
+			long randomSeed, boolean warmStart) {
 
 		// step 1: preprocess arguments
 		StatementType st = Dna.sql.getStatementType(statementType); // format statement type
@@ -667,7 +683,7 @@ public class HeadlessDna implements Logger.LogListener {
 				qualifier, false, duplicates, ldtStart, ldtStop, timeWindow, windowSize, kernel, indentTime,
 				map, excludeAuthors, excludeSources,	excludeSections, excludeTypes, invertValues, invertAuthors,
 				invertSources, invertSections, invertTypes, algorithm, normaliseScores, numClusters, numParents,
-				numIterations, elitePercentage, mutationPercentage, randomSeed);
+				numIterations, elitePercentage, mutationPercentage, randomSeed, warmStart);
 
 		return polarization.getResults();
 	}
@@ -790,6 +806,7 @@ public class HeadlessDna implements Logger.LogListener {
 	 * @param invertTypes            boolean indicating whether the document-level type values should be included (= {@code true}) rather than excluded.
 	 * @param outfile                {@link String} with a file name under which the resulting network should be saved.
 	 * @param fileFormat             {@link String} with the file format. Valid values are {@code "xml"}, {@code "json"}, and {@code null} (for no file export).
+	 * @param parallelism            Number of threads for evaluating the candidates of the nested backbone algorithm. {@code 1} evaluates them sequentially, and {@code 0} uses all available processors.
 	 * @return                       A {@link SimulatedAnnealingBackboneResult} object containing the results.
 	 */
 	public void rBackbone(String method, int backboneSize, double p, int T, String statementType, String variable1, boolean variable1Document, String variable2,
@@ -797,7 +814,7 @@ public class HeadlessDna implements Logger.LogListener {
 						  String duplicates, String startDate, String stopDate, String startTime, String stopTime,
 						  String[] excludeVariables, String[] excludeValues, String[] excludeAuthors, String[] excludeSources, String[] excludeSections,
 						  String[] excludeTypes, boolean invertValues, boolean invertAuthors, boolean invertSources, boolean invertSections,
-						  boolean invertTypes, String outfile, String fileFormat) {
+						  boolean invertTypes, String outfile, String fileFormat, int parallelism) {
 
 		// step 1: preprocess arguments
 		StatementType st = Dna.sql.getStatementType(statementType); // format statement type
@@ -885,6 +902,8 @@ public class HeadlessDna implements Logger.LogListener {
 				invertTypes,
 				null,
 				null);
+		this.exporter.setEigenSolver(this.eigenSolver, this.numEigenvalues, this.eigenvalueCacheSize);
+		this.exporter.setLaplacianSpectrum(this.laplacianSpectrum);
 
 		// step 2: filter
 		this.exporter.loadData();
@@ -898,6 +917,7 @@ public class HeadlessDna implements Logger.LogListener {
 
 		// step 3: compute results
 		if (method.equals("nested")) {
+			this.exporter.setParallelism(parallelism);
 			this.exporter.initializeNestedBackbone();
 			int iterations = 0;
 			for (int i = 0; i < exporter.getFullSize(); i++) {
@@ -917,6 +937,8 @@ public class HeadlessDna implements Logger.LogListener {
 				// step 4: save to file
 				saveJsonXml(fileFormat, outfile);
 				pb.stepTo(iterations);
+			} finally {
+				this.exporter.shutdownForkJoinPool();
 			}
 		} else if (method.equals("fixed") || method.equals("penalty")) {
 			this.exporter.initializeSimulatedAnnealingBackbone(method.equals("penalty"), p, T, backboneSize); // initialize algorithm
@@ -1059,6 +1081,8 @@ public class HeadlessDna implements Logger.LogListener {
 				invertTypes,
 				null,
 				null);
+		this.exporter.setEigenSolver(this.eigenSolver, this.numEigenvalues, this.eigenvalueCacheSize);
+		this.exporter.setLaplacianSpectrum(this.laplacianSpectrum);
 
 		// step 2: filter
 		this.exporter.loadData();
@@ -1102,6 +1126,47 @@ public class HeadlessDna implements Logger.LogListener {
 		}
 	}
 
+	/**
+	 * Select the eigen solver for the spectral distances in the backbone algorithms and between the networks of a
+	 * time window series. The setting applies to all networks and backbones computed afterwards.
+	 *
+	 * @param eigenSolver The solver: {@code "ojalgo"} (the default), {@code "apache"}, or {@code "lanczos"} for an
+	 *   iterative solver that can stop after the largest eigenvalues. The solver is only used for the Laplacian
+	 *   spectrum; the eigenvalues of the default degree matrix are its sorted diagonal entries.
+	 * @param numEigenvalues The number of largest eigenvalues computed by the {@code "lanczos"} solver, or {@code 0}
+	 *   for all eigenvalues. With a partial spectrum, spectral distances only compare the largest eigenvalues.
+	 * @param cacheSize The maximal memory used for caching eigenvalues of identical networks, in megabytes, or
+	 *   {@code 0} for no cache.
+	 */
+	public void setEigenSolver(String eigenSolver, int numEigenvalues, int cacheSize) {
+		this.eigenSolver = eigenSolver;
+		this.numEigenvalues = numEigenvalues;
+		this.eigenvalueCacheSize = cacheSize;
+		if (eigenSolver.equals("lanczos") && numEigenvalues > 0) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"Spectral distances based on a partial spectrum.",
+					"The Lanczos eigen solver only computes the " + numEigenvalues + " largest eigenvalues of each network. Spectral distances and backbone losses only compare these eigenvalues and ignore the differences in the remaining eigenvalues, so they are approximations of the distances based on the full spectrum.");
+			Dna.logger.log(l);
+		}
+		if (this.exporter != null) {
+			this.exporter.setEigenSolver(eigenSolver, numEigenvalues, cacheSize);
+		}
+	}
+
+	/**
+	 * Select the matrix whose eigenvalues are compared in the spectral distances of the backbone algorithms and between
+	 * the networks of a time window series. The setting applies to all networks and backbones computed afterwards.
+	 *
+	 * @param laplacianSpectrum Compare the eigenvalues of the Laplacian matrix {@code D - A} instead of the degree
+	 *   matrix {@code D} (the default, as in earlier versions)? This changes spectral distances and backbone results.
+	 */
+	public void setLaplacianSpectrum(boolean laplacianSpectrum) {
+		this.laplacianSpectrum = laplacianSpectrum;
+		if (this.exporter != null) {
+			this.exporter.setLaplacianSpectrum(laplacianSpectrum);
+		}
+	}
+
 	/**
 	 * Get the {@link Exporter} object that contains the results.
 	 *
@@ -1111,9 +1176,33 @@ public class HeadlessDna implements Logger.LogListener {
 		return this.exporter;
 	}
 
+	/**
+	 * Get the filtered statements of the last network export as columns, for building an event list in R with a
+	 * constant number of calls.
+	 *
+	 * @return {@link EventList} object with one entry per filtered statement.
+	 */
+	public EventList getEventList() {
+		return this.exporter.getEventList();
+	}
+
+	/**
+	 * Get the network matrices of the last network export packed into primitive arrays, for building a matrix or a
+	 * list of time window matrices in R with a constant number of calls.
+	 *
+	 * @return {@link MatrixSeries} object with one entry per network matrix.
+	 */
+	public MatrixSeries getMatrixSeries() {
+		return this.exporter.getMatrixSeries();
+	}
+
 	@Override
 	public void processLogEvents() {
-		LogEvent l = Dna.logger.getRow(Dna.logger.getRowCount() - 1);
+		int numRows = Dna.logger.getRowCount();
+		if (numRows == 0) { // the log has just been cleared
+			return;
+		}
+		LogEvent l = Dna.logger.getRow(numRows - 1);
 		if (l.getPriority() == 2 || l.getPriority() == 3) {
 			l.print();
 		}
@@ -1437,6 +1526,26 @@ public class HeadlessDna implements Logger.LogListener {
 	 * @return			 New IDs of the documents that were added.
 	 */
 	public int[] addDocuments(int coderId, String[] title, String[] text, String[] author, String[] source, String[] section, String[] type, String[] notes, double[] dateTime) {
+		return addDocuments(coderId, title, text, author, source, section, type, notes, dateTime, sql.Sql.DOCUMENT_BATCH_SIZE);
+	}
+
+	/**
+	 * Add new documents to the database, sending them to the database in batches of a given size. The documents are
+	 * added in a single transaction, and a progress bar reports the number of documents added so far.
+	 * 
+	 * @param coderId    The coder ID.
+	 * @param title		 The document titles.
+	 * @param text		 The document texts.
+	 * @param author	 The document authors.
+	 * @param source	 The document sources.
+	 * @param section	 The document sections.
+	 * @param type		 The document types.
+	 * @param notes		 The document notes.
+	 * @param dateTime   The document dates.
+	 * @param batchSize  The number of documents per batch.
+	 * @return			 New IDs of the documents that were added.
+	 */
+	public int[] addDocuments(int coderId, String[] title, String[] text, String[] author, String[] source, String[] section, String[] type, String[] notes, double[] dateTime, int batchSize) {
 		if (title.length != text.length || title.length != author.length || title.length != source.length || title.length != section.length || title.length != type.length || title.length != notes.length || title.length != dateTime.length) {
 			LogEvent l = new LogEvent(Logger.ERROR,
 					"Document arrays have different lengths.",
@@ -1448,7 +1557,10 @@ public class HeadlessDna implements Logger.LogListener {
 		for (int i = 0; i < dateTime.length; i++) {
 			dateTimeLong[i] = (long) dateTime[i];
 		}
-		int[] documentIds = sql.DataExchange.addDocuments(coderId, title, text, author, source, section, type, notes, dateTimeLong);
+		int[] documentIds;
+		try (ProgressBar pb = new ProgressBar("Adding documents...", title.length)) {
+			documentIds = sql.DataExchange.addDocuments(coderId, title, text, author, source, section, type, notes, dateTimeLong, batchSize, pb::stepTo);
+		}
 		if (documentIds.length == 0) {
 			LogEvent l = new LogEvent(Logger.ERROR,
 					"Documents could not be added.",
@@ -1457,7 +1569,7 @@ public class HeadlessDna implements Logger.LogListener {
 		} else {
 			LogEvent l = new LogEvent(Logger.MESSAGE,
 					"Documents have been added.",
-					"The new documents with IDs " + Arrays.toString(documentIds) + " have been successfully added to the database.");
+					documentIds.length + " new documents with IDs " + documentIds[0] + " to " + documentIds[documentIds.length - 1] + " have been successfully added to the database.");
 			Dna.logger.log(l);
 		}
 		return documentIds;
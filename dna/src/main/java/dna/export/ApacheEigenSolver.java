@@ -0,0 +1,19 @@
+package dna.export;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+
+/**
+ * Dense eigendecomposition with the Apache Commons Math library.
+ */
+class ApacheEigenSolver implements EigenSolver {
+
+	@Override
+	public double[] computeEigenvalues(double[][] matrix) {
+		if (matrix.length == 0) {
+			return new double[0];
+		}
+		EigenDecomposition decomposition = new EigenDecomposition(new Array2DRowRealMatrix(matrix));
+		return EigenSolver.sortDescending(decomposition.getRealEigenvalues()); // the real parts of the eigenvalues
+	}
+}
@@ -0,0 +1,217 @@
+package dna.export;
+
+/**
+ * Incremental one-mode projection for the simulated annealing backbone algorithm. The backbone algorithm repeatedly
+ * adds, removes, or swaps a single column (e.g., a concept) of the full incidence array and projects the remaining
+ * columns onto the rows (e.g., actors). Instead of filtering the statements and projecting the whole incidence array
+ * in every iteration, this class keeps the additive contributions of the backbone columns to every pair of rows and
+ * updates them when a column enters or leaves the backbone. Only the pairs of rows active in the changed column are
+ * visited, and only the rows and columns of the matrix belonging to those rows are assembled again.
+ *
+ * <p>All contributions are sums of products of integer counts and integer qualifier differences, so adding and
+ * removing a column restores them exactly. The matrix entries are assembled with the same formulas as
+ * {@link OneModeProjection}; with an ordinal qualifier and a qualifier aggregation other than {@code "ignore"}, they
+ * may differ from the cell-by-cell projection in the last digits. Negative entries are set to zero because the backbone
+ * algorithms treat negative ties as absent ties. Only the contributions that the qualifier aggregation and
+ * normalization of the projection engine use are kept.
+ */
+class BackboneProjection {
+	private final SparseIncidence incidence;
+	private final OneModeProjection projection;
+	private final int numRows;
+	/**
+	 * Integer values of the qualifier levels for ordinal qualifiers, or {@code null} for nominal qualifiers.
+	 */
+	private final int[] qualifierValues;
+	/**
+	 * Contributions of the backbone columns to each ordered pair of rows: products of counts, products of counts
+	 * weighted by qualifier differences, counts of the first row in cells where both rows share the qualifier level,
+	 * and products of counts in those cells. Contributions that the projection engine does not use are {@code null}.
+	 */
+	private final double[][] products, differences, matches, matchProducts;
+	/**
+	 * Number of backbone statements of each row.
+	 */
+	private final double[] rowTotal;
+	/**
+	 * Membership of the columns in the backbone set.
+	 */
+	private final boolean[] member;
+	private int size = 0;
+	private double numStatements = 0.0;
+	/**
+	 * The assembled matrix and the rows whose entries need to be assembled again before it can be used.
+	 */
+	private final double[][] matrix;
+	private final boolean[] dirty;
+	private final int[] dirtyRows;
+	private int numDirty = 0;
+	private boolean emptyMatrix = true;
+
+	/**
+	 * Create a new incremental projection with an empty backbone set.
+	 *
+	 * @param incidence The sparse incidence array of all statements.
+	 * @param projection The projection engine holding the qualifier aggregation and normalization.
+	 * @param qualifierValues The sorted integer values of the qualifier levels (only used if the projection treats
+	 *   the qualifier as ordinal).
+	 */
+	BackboneProjection(SparseIncidence incidence, OneModeProjection projection, int[] qualifierValues) {
+		this.incidence = incidence;
+		this.projection = projection;
+		this.numRows = incidence.numRows;
+		this.qualifierValues = projection.isOrdinal() ? qualifierValues : null;
+		this.products = projection.needsProducts() ? new double[numRows][numRows] : null;
+		this.differences = this.qualifierValues != null ? new double[numRows][numRows] : null;
+		this.matches = projection.needsMatches() ? new double[numRows][numRows] : null;
+		this.matchProducts = projection.needsMatches() ? new double[numRows][numRows] : null;
+		this.rowTotal = new double[numRows];
+		this.member = new boolean[incidence.numColumns];
+		this.matrix = new double[numRows][numRows];
+		this.dirty = new boolean[numRows];
+		this.dirtyRows = new int[numRows];
+	}
+
+	/**
+	 * Is a column in the backbone set?
+	 *
+	 * @param column The column index.
+	 * @return {@code true} if the column is in the backbone set.
+	 */
+	boolean contains(int column) {
+		return this.member[column];
+	}
+
+	/**
+	 * Get the number of columns in the backbone set.
+	 *
+	 * @return The size of the backbone set.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Add a column to the backbone set. Nothing happens if it is already in the backbone set.
+	 *
+	 * @param column The column index.
+	 */
+	void add(int column) {
+		if (!this.member[column]) {
+			this.member[column] = true;
+			this.size++;
+			update(column, 1.0);
+		}
+	}
+
+	/**
+	 * Remove a column from the backbone set. Nothing happens if it is not in the backbone set.
+	 *
+	 * @param column The column index.
+	 */
+	void remove(int column) {
+		if (this.member[column]) {
+			this.member[column] = false;
+			this.size--;
+			update(column, -1.0);
+		}
+	}
+
+	/**
+	 * Add or subtract the contributions of a column to all pairs of rows that are active in the column.
+	 *
+	 * @param column The column index.
+	 * @param sign {@code 1.0} for adding and {@code -1.0} for removing the column.
+	 */
+	private void update(int column, double sign) {
+		SparseIncidence x = this.incidence;
+		for (int e1 = x.columnPointer[column]; e1 < x.columnPointer[column + 1]; e1++) {
+			int i1 = x.columnRow[e1];
+			int k1 = x.columnLevel[e1];
+			double a1 = sign * x.columnCount[e1];
+			this.rowTotal[i1] = this.rowTotal[i1] + a1;
+			this.numStatements = this.numStatements + a1;
+			if (!this.dirty[i1]) {
+				this.dirty[i1] = true;
+				this.dirtyRows[this.numDirty] = i1;
+				this.numDirty++;
+			}
+			for (int e2 = x.columnPointer[column]; e2 < x.columnPointer[column + 1]; e2++) {
+				int i2 = x.columnRow[e2];
+				if (i2 == i1) {
+					continue;
+				}
+				int k2 = x.columnLevel[e2];
+				double a1a2 = a1 * x.columnCount[e2];
+				if (this.products != null) {
+					this.products[i1][i2] = this.products[i1][i2] + a1a2;
+				}
+				if (this.differences != null) {
+					this.differences[i1][i2] = this.differences[i1][i2] + a1a2 * Math.abs(this.qualifierValues[k1] - this.qualifierValues[k2]);
+				}
+				if (this.matches != null && k1 == k2) {
+					this.matches[i1][i2] = this.matches[i1][i2] + a1;
+					this.matchProducts[i1][i2] = this.matchProducts[i1][i2] + a1a2;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the one-mode projection of the current backbone set. The rows and columns affected by the changes since
+	 * the last call are assembled again. The matrix is not copied: it must not be modified, and it changes with the
+	 * next call after the backbone set has changed, so callers that keep it need to copy it.
+	 *
+	 * @return A square matrix with one row and column per row of the incidence array, zeros on the diagonal, and no
+	 *   negative entries.
+	 */
+	double[][] getMatrix() {
+		boolean empty = this.numStatements == 0;
+		if (empty != this.emptyMatrix) { // an empty backbone yields an empty matrix, so all entries change
+			this.emptyMatrix = empty;
+			for (int i = 0; i < this.numRows; i++) {
+				assemble(i);
+			}
+		} else {
+			for (int d = 0; d < this.numDirty; d++) {
+				assemble(this.dirtyRows[d]);
+			}
+		}
+		for (int d = 0; d < this.numDirty; d++) {
+			this.dirty[this.dirtyRows[d]] = false;
+		}
+		this.numDirty = 0;
+		return this.matrix;
+	}
+
+	/**
+	 * Assemble the row and column of a row node in the matrix.
+	 *
+	 * @param i1 The row index.
+	 */
+	private void assemble(int i1) {
+		for (int i2 = 0; i2 < this.numRows; i2++) {
+			if (i2 == i1) {
+				continue;
+			}
+			if (this.emptyMatrix) {
+				this.matrix[i1][i2] = 0.0;
+				this.matrix[i2][i1] = 0.0;
+			} else {
+				double tie = this.projection.tie(
+						this.products == null ? 0.0 : this.products[i1][i2],
+						this.differences == null ? 0.0 : this.differences[i1][i2]);
+				double matches1 = 0.0, matches2 = 0.0, matchProducts = 0.0;
+				if (this.matches != null) {
+					matches1 = this.matches[i1][i2];
+					matches2 = this.matches[i2][i1];
+					matchProducts = this.matchProducts[i1][i2];
+				}
+				double value1 = this.projection.entry(tie, matches1, matches2, matchProducts, this.rowTotal[i1], this.rowTotal[i2]);
+				double value2 = this.projection.entry(tie, matches2, matches1, matchProducts, this.rowTotal[i2], this.rowTotal[i1]);
+				this.matrix[i1][i2] = value1 < 0 ? 0.0 : value1; // negative ties count as absent ties in the backbone algorithms
+				this.matrix[i2][i1] = value2 < 0 ? 0.0 : value2;
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package dna.export;
+
+import java.util.Arrays;
+
+/**
+ * Strategy for computing the eigenvalues of the symmetric matrix that represents a network in spectral distances
+ * between networks, as used in the backbone algorithms and in {@link Exporter#computeDistanceMatrix(String)}. The
+ * exporter derives this matrix from the adjacency matrix of the network (see {@link #laplacian(double[][])}); the
+ * default degree matrix is diagonal, and its eigenvalues are its sorted diagonal entries, so it is not decomposed.
+ * Implementations must be thread-safe because the eigenvalues of several networks may be computed concurrently.
+ */
+interface EigenSolver {
+
+	/**
+	 * Compute the eigenvalues of a symmetric matrix.
+	 *
+	 * @param matrix The symmetric square matrix. It is not modified.
+	 * @return The eigenvalues in descending order, one per row of the matrix, or only the largest eigenvalues for
+	 *   solvers that compute a partial spectrum.
+	 */
+	double[] computeEigenvalues(double[][] matrix);
+
+	/**
+	 * Create the dense Laplacian matrix of an adjacency matrix.
+	 *
+	 * @param adjacency The adjacency matrix.
+	 * @return The Laplacian matrix {@code D - A}.
+	 */
+	static double[][] laplacian(double[][] adjacency) {
+		int n = adjacency.length;
+		double[][] laplacian = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			double degree = 0.0;
+			for (int j = 0; j < n; j++) {
+				degree = degree + adjacency[i][j];
+				laplacian[i][j] = -adjacency[i][j];
+			}
+			laplacian[i][i] = laplacian[i][i] + degree;
+		}
+		return laplacian;
+	}
+
+	/**
+	 * Sort eigenvalues in descending order, in place.
+	 *
+	 * @param eigenvalues The eigenvalues.
+	 * @return The same array, sorted.
+	 */
+	static double[] sortDescending(double[] eigenvalues) {
+		Arrays.sort(eigenvalues);
+		for (int i = 0, j = eigenvalues.length - 1; i < j; i++, j--) {
+			double v = eigenvalues[i];
+			eigenvalues[i] = eigenvalues[j];
+			eigenvalues[j] = v;
+		}
+		return eigenvalues;
+	}
+}
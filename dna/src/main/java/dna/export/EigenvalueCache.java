@@ -0,0 +1,115 @@
+package dna.export;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of eigenvalues in front of another {@link EigenSolver}. The cache is keyed by the content of the
+ * decomposed matrix, so identical networks, for example identical time slices or backbone candidates that have been
+ * visited before, are only decomposed once. The matrices themselves are not kept: the key consists of the dimension
+ * and two independent 64-bit hashes of the matrix entries, which makes accidental collisions practically impossible.
+ * The least recently used entries are evicted when the estimated memory used by the cached eigenvalues exceeds a
+ * maximal number of bytes.
+ */
+class EigenvalueCache implements EigenSolver {
+	/**
+	 * Estimated memory used by a cache entry in addition to the eigenvalues, in bytes (key, map entry, array header).
+	 */
+	private static final long ENTRY_OVERHEAD = 128L;
+	private final EigenSolver solver;
+	/**
+	 * Maximal estimated memory used by the cache, in bytes.
+	 */
+	private final long capacity;
+	private long size = 0;
+	private final LinkedHashMap<Key, double[]> cache = new LinkedHashMap<Key, double[]>(16, 0.75f, true);
+
+	/**
+	 * Create a new eigenvalue cache.
+	 *
+	 * @param solver The solver used for matrices that are not in the cache.
+	 * @param capacity The maximal estimated memory used by the cache, in bytes.
+	 */
+	EigenvalueCache(EigenSolver solver, long capacity) {
+		this.solver = solver;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Estimate the memory used by a cache entry.
+	 *
+	 * @param eigenvalues The eigenvalues of the entry.
+	 * @return The estimated number of bytes.
+	 */
+	private static long entrySize(double[] eigenvalues) {
+		return ENTRY_OVERHEAD + 8L * eigenvalues.length;
+	}
+
+	@Override
+	public double[] computeEigenvalues(double[][] matrix) {
+		Key key = new Key(matrix);
+		synchronized (this) {
+			double[] eigenvalues = this.cache.get(key);
+			if (eigenvalues != null) {
+				return eigenvalues.clone();
+			}
+		}
+		double[] eigenvalues = this.solver.computeEigenvalues(matrix); // outside the lock, so other threads can use the cache meanwhile
+		if (entrySize(eigenvalues) <= this.capacity) {
+			synchronized (this) {
+				double[] previous = this.cache.put(key, eigenvalues.clone());
+				if (previous == null) {
+					this.size = this.size + entrySize(eigenvalues);
+				}
+				Iterator<Map.Entry<Key, double[]>> iterator = this.cache.entrySet().iterator();
+				while (this.size > this.capacity && iterator.hasNext()) {
+					this.size = this.size - entrySize(iterator.next().getValue());
+					iterator.remove();
+				}
+			}
+		}
+		return eigenvalues;
+	}
+
+	/**
+	 * The dimensions of a matrix and two independent hashes of its entries.
+	 */
+	private static final class Key {
+		private final int numRows, numColumns;
+		private final long hash1, hash2;
+
+		Key(double[][] matrix) {
+			this.numRows = matrix.length;
+			this.numColumns = matrix.length == 0 ? 0 : matrix[0].length;
+			long h1 = 0xcbf29ce484222325L;
+			long h2 = 0x84222325cbf29ce4L;
+			for (double[] row : matrix) {
+				for (double value : row) {
+					long bits = Double.doubleToLongBits(value);
+					h1 = (h1 ^ bits) * 0x100000001b3L;
+					h2 = Long.rotateLeft(h2 + bits * 0x9e3779b97f4a7c15L, 31) * 0xbf58476d1ce4e5b9L;
+				}
+			}
+			this.hash1 = h1;
+			this.hash2 = h2 ^ (h2 >>> 29);
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (this.hash1 ^ (this.hash1 >>> 32));
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return this.hash1 == other.hash1 && this.hash2 == other.hash2 && this.numRows == other.numRows && this.numColumns == other.numColumns;
+		}
+	}
+}
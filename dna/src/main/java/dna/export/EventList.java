@@ -0,0 +1,189 @@
+package dna.export;
+
+import model.Entity;
+import model.StatementType;
+import model.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Columnar representation of the filtered statements of an exporter, for transferring event lists to R. Every
+ * statement field and every variable of the statement type is stored as one primitive or string array with one entry
+ * per statement, so the rDNA package can build a data frame with a constant number of calls through rJava, regardless
+ * of the number of statements.
+ */
+public class EventList {
+	private int[] statementIds, startPositions, stopPositions, coderIds, documentIds;
+	private long[] times;
+	private String[] texts, documentTitles, documentAuthors, documentSources, documentSections, documentTypes;
+	/**
+	 * The variable names and data types of the statement type, in the order of the statement type definition.
+	 */
+	private String[] variables, dataTypes;
+	/**
+	 * The values of the variables, by variable name: {@code String[]} columns for short and long text variables and
+	 * {@code int[]} columns for boolean and integer variables.
+	 */
+	private HashMap<String, Object> columns;
+
+	/**
+	 * Create a columnar event list from a list of statements.
+	 *
+	 * @param statements The statements, usually the filtered statements of an {@link Exporter}.
+	 * @param statementType The statement type of the statements.
+	 */
+	public EventList(ArrayList<ExportStatement> statements, StatementType statementType) {
+		int n = statements.size();
+		this.statementIds = new int[n];
+		this.times = new long[n];
+		this.startPositions = new int[n];
+		this.stopPositions = new int[n];
+		this.texts = new String[n];
+		this.coderIds = new int[n];
+		this.documentIds = new int[n];
+		this.documentTitles = new String[n];
+		this.documentAuthors = new String[n];
+		this.documentSources = new String[n];
+		this.documentSections = new String[n];
+		this.documentTypes = new String[n];
+
+		ArrayList<Value> variableList = statementType.getVariables();
+		this.variables = new String[variableList.size()];
+		this.dataTypes = new String[variableList.size()];
+		this.columns = new HashMap<String, Object>();
+		for (int j = 0; j < variableList.size(); j++) {
+			this.variables[j] = variableList.get(j).getKey();
+			this.dataTypes[j] = variableList.get(j).getDataType();
+			if (this.dataTypes[j].equals("short text") || this.dataTypes[j].equals("long text")) {
+				this.columns.put(this.variables[j], new String[n]);
+			} else {
+				this.columns.put(this.variables[j], new int[n]);
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			ExportStatement s = statements.get(i);
+			this.statementIds[i] = s.getId();
+			this.times[i] = s.getDateTimeLong();
+			this.startPositions[i] = s.getStart();
+			this.stopPositions[i] = s.getStop();
+			this.texts[i] = s.getText();
+			this.coderIds[i] = s.getCoderId();
+			this.documentIds[i] = s.getDocumentId();
+			this.documentTitles[i] = s.getTitle();
+			this.documentAuthors[i] = s.getAuthor();
+			this.documentSources[i] = s.getSource();
+			this.documentSections[i] = s.getSection();
+			this.documentTypes[i] = s.getType();
+			for (Value value : s.getValues()) {
+				Object column = this.columns.get(value.getKey());
+				if (column == null || value.getValue() == null) {
+					continue;
+				}
+				if (value.getDataType().equals("short text")) {
+					((String[]) column)[i] = ((Entity) value.getValue()).getValue();
+				} else if (value.getDataType().equals("long text")) {
+					((String[]) column)[i] = (String) value.getValue();
+				} else {
+					((int[]) column)[i] = (int) value.getValue();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The number of statements.
+	 */
+	public int size() {
+		return this.statementIds.length;
+	}
+
+	/**
+	 * @return The variable names of the statement type.
+	 */
+	public String[] getVariables() {
+		return this.variables;
+	}
+
+	/**
+	 * @return The data types of the variables, in the same order as {@link #getVariables()}.
+	 */
+	public String[] getDataTypes() {
+		return this.dataTypes;
+	}
+
+	/**
+	 * Get the values of a short text or long text variable.
+	 *
+	 * @param variable The variable name.
+	 * @return The values, one per statement, or {@code null} if the variable does not exist or is not a text variable.
+	 */
+	public String[] getStringColumn(String variable) {
+		Object column = this.columns.get(variable);
+		return column instanceof String[] ? (String[]) column : null;
+	}
+
+	/**
+	 * Get the values of a boolean or integer variable.
+	 *
+	 * @param variable The variable name.
+	 * @return The values, one per statement, or {@code null} if the variable does not exist or is not a boolean or
+	 *   integer variable.
+	 */
+	public int[] getIntColumn(String variable) {
+		Object column = this.columns.get(variable);
+		return column instanceof int[] ? (int[]) column : null;
+	}
+
+	public int[] getStatementIds() {
+		return this.statementIds;
+	}
+
+	/**
+	 * @return The document date/time of each statement in seconds since 1 January 1970.
+	 */
+	public long[] getTimes() {
+		return this.times;
+	}
+
+	public int[] getStartPositions() {
+		return this.startPositions;
+	}
+
+	public int[] getStopPositions() {
+		return this.stopPositions;
+	}
+
+	public String[] getTexts() {
+		return this.texts;
+	}
+
+	public int[] getCoderIds() {
+		return this.coderIds;
+	}
+
+	public int[] getDocumentIds() {
+		return this.documentIds;
+	}
+
+	public String[] getDocumentTitles() {
+		return this.documentTitles;
+	}
+
+	public String[] getDocumentAuthors() {
+		return this.documentAuthors;
+	}
+
+	public String[] getDocumentSources() {
+		return this.documentSources;
+	}
+
+	public String[] getDocumentSections() {
+		return this.documentSections;
+	}
+
+	public String[] getDocumentTypes() {
+		return this.documentTypes;
+	}
+}
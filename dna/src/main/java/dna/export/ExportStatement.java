@@ -9,12 +9,14 @@ import java.util.HashMap;
 
 /**
  * An extension of the Statement class, which also holds some document meta-
- * data and a hash map of the values (in addition to the array list of
- * values).
+ * data, a lazily created hash map of the values (in addition to the array
+ * list of values), and the row of the statement in the columnar
+ * {@link StatementTable} of the exporter.
  */
 public class ExportStatement extends Statement {
-    private HashMap<String, Object> map;
+    private volatile HashMap<String, Object> map;
     private String title, author, source, section, type;
+    private int row = -1;
 
     /**
      * Create an export statement.
@@ -34,10 +36,6 @@ public class ExportStatement extends Statement {
         this.source = source;
         this.section = section;
         this.type = type;
-        this.map = new HashMap<String, Object>();
-        for (Value value : ExportStatement.this.getValues()) {
-            map.put(value.getKey(), value.getValue());
-        }
     }
 
     /**
@@ -52,16 +50,49 @@ public class ExportStatement extends Statement {
         this.source = exportStatement.getSource();
         this.section = exportStatement.getSection();
         this.type = exportStatement.getType();
-        this.map = new HashMap<String, Object>();
-        for (Value value : exportStatement.getValues()) {
-            map.put(value.getKey(), value.getValue());
-        }
+        this.row = exportStatement.getRow();
     }
 
+    /**
+     * Get the value of a variable. The hash map of values is only created when
+     * a value is requested for the first time because the exporter reads the
+     * values from its {@link StatementTable} instead.
+     *
+     * @param key The name of the variable.
+     * @return The value of the variable, or {@code null} if there is no such
+     *   variable.
+     */
     public Object get(String key) {
+        if (this.map == null) {
+            HashMap<String, Object> m = new HashMap<String, Object>();
+            for (Value value : this.getValues()) {
+                m.put(value.getKey(), value.getValue());
+            }
+            this.map = m;
+        }
         return this.map.get(key);
     }
 
+    /**
+     * Get the row of the statement in the {@link StatementTable} of the
+     * exporter. Copies of the statement share the row of the original.
+     *
+     * @return The row index, or {@code -1} if the statement is not in a table.
+     */
+    int getRow() {
+        return this.row;
+    }
+
+    /**
+     * Set the row of the statement in the {@link StatementTable} of the
+     * exporter.
+     *
+     * @param row The row index.
+     */
+    void setRow(int row) {
+        this.row = row;
+    }
+
     public String getTitle() {
         return this.title;
     }
@@ -10,29 +10,23 @@ import logger.LogEvent;
 import logger.Logger;
 import me.tongfei.progressbar.ProgressBar;
 import model.*;
-import org.apache.commons.math3.linear.EigenDecomposition;
-import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.jdom.Attribute;
 import org.jdom.Comment;
 import org.jdom.Element;
 import org.jdom.Namespace;
 import org.jdom.output.Format;
 import org.jdom.output.XMLOutputter;
-import org.ojalgo.array.DenseArray;
-import org.ojalgo.array.Primitive64Array;
-import org.ojalgo.function.aggregator.Aggregator;
-import org.ojalgo.matrix.Primitive64Matrix;
-import org.ojalgo.matrix.decomposition.Eigenvalue;
+import sql.Sql;
+import sql.StatementCursor;
 
 import java.io.*;
-import java.time.Duration;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.time.Period;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.WeekFields;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
@@ -71,6 +65,10 @@ public class Exporter {
 	 * Holds all statements.
 	 */
 	private ArrayList<ExportStatement> originalStatements;
+	/**
+	 * Holds the dictionary-encoded variable values, dates, and documents of the {@link #originalStatements} in columns.
+	 */
+	private StatementTable statementTable;
 	/**
 	 * Holds the statements that remain after filtering by date, exclude filter, duplicates etc.
 	 */
@@ -94,13 +92,18 @@ public class Exporter {
 	ArrayList<Matrix> backboneMatrices = new ArrayList<>();
 	ArrayList<Matrix> redundantMatrices = new ArrayList<>();
 	private NestedBackboneResult nestedBackboneResult = null;
+	private SparseIncidence nestedIncidence; // incidence array of the full matrix, shared by all candidates
+	private OneModeProjection nestedProjection;
+	private ThreadLocal<double[][]> nestedScratch; // candidate matrix buffer of each thread
 
 	// objects for simulated annealing backbone algorithm
 	private ArrayList<Double> temperatureLog, acceptanceProbabilityLog, penalizedBackboneLossLog, acceptanceRatioLastHundredIterationsLog;
 	private ArrayList<Integer> acceptedLog, proposedBackboneSizeLog, acceptedBackboneSizeLog, finalBackboneSizeLog;
 	private String selectedAction;
 	private ArrayList<String> actionList, candidateBackboneList, candidateRedundantList, finalBackboneList, finalRedundantList;
-	private ArrayList<ExportStatement> currentStatementList, candidateStatementList, finalStatementList; // declare candidate statement list at t
+	private ArrayList<ExportStatement> candidateStatementList, finalStatementList; // declare candidate statement list at t
+	private BackboneProjection backboneProjection; // incremental projection of the current backbone set B_t
+	private HashMap<String, Integer> conceptIndex; // column index of each concept c_j in the full incidence array
 	private Matrix currentMatrix, candidateMatrix, finalMatrix; // candidate matrix at the respective t, Y^{B^*_t}
 	private boolean accept;
 	private double p, temperature, acceptance, r, oldLoss, newLoss, finalLoss, log;
@@ -123,10 +126,160 @@ public class Exporter {
 	 */
 	private boolean indentTime = true;
 
+	// parallel matrix computation
+	/**
+	 * Minimal number of matrix rows per block when computing network matrices in parallel. Smaller matrices are
+	 * computed sequentially because the coordination overhead would exceed the gain.
+	 */
+	private static final int MIN_BLOCK_ROWS = 16;
+	/**
+	 * Number of threads used for computing one-mode and two-mode network matrices. {@code 1} computes the matrices
+	 * sequentially in the calling thread.
+	 */
+	private int parallelism = 1;
+	/**
+	 * Fork/join pool for parallel matrix computation. Created when it is first needed.
+	 */
+	private ForkJoinPool forkJoinPool = null;
+	/**
+	 * Default maximal size of the eigenvalue cache, in megabytes.
+	 */
+	private static final int EIGENVALUE_CACHE_SIZE = 32;
+	/**
+	 * Solver for the eigenvalues used in spectral distances, with a cache of previously decomposed matrices.
+	 */
+	private EigenSolver eigenSolver = new EigenvalueCache(new OjalgoEigenSolver(), EIGENVALUE_CACHE_SIZE * 1048576L);
+	/**
+	 * Compare the eigenvalues of the Laplacian matrix instead of the degree matrix in spectral distances?
+	 */
+	private boolean laplacianSpectrum = false;
+	/**
+	 * Number of largest eigenvalues compared in spectral distances, or {@code 0} for all eigenvalues.
+	 */
+	private int numEigenvalues = 0;
+
 	public void setKernelFunction(String kernel) {
 		this.kernel = kernel;
 	}
 
+	/**
+	 * Set the number of threads used for computing one-mode and two-mode network matrices. The matrix rows are split
+	 * into blocks that are computed concurrently on a fork/join pool. The results are identical to the sequential
+	 * computation, irrespective of the number of threads.
+	 *
+	 * @param parallelism The number of threads. {@code 1} (the default) computes the matrices sequentially, and
+	 *   values smaller than {@code 1} use all available processors.
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		if (this.forkJoinPool != null && this.forkJoinPool.getParallelism() != parallelism) {
+			this.shutdownForkJoinPool();
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Set the eigen solver for the eigenvalues that are compared in spectral distances (in the backbone
+	 * algorithms and in {@link #computeDistanceMatrix(String)}). The eigenvalues are cached by matrix content, so
+	 * identical networks are only decomposed once. The solver is only used for the Laplacian spectrum (see
+	 * {@link #setLaplacianSpectrum(boolean)}); the eigenvalues of the default degree matrix are its sorted diagonal
+	 * entries and need no decomposition, but the number of eigenvalues applies to both.
+	 *
+	 * @param eigenSolver The solver: {@code "ojalgo"} (the default) or {@code "apache"} for a dense eigendecomposition
+	 *   with the ojalgo or Apache Commons Math library, or {@code "lanczos"} for an iterative solver that can stop
+	 *   after the largest eigenvalues. Other values use {@code "ojalgo"}.
+	 * @param numEigenvalues The number of largest eigenvalues computed by the {@code "lanczos"} solver. {@code 0}
+	 *   computes all eigenvalues. Smaller numbers are faster, but spectral distances then only compare the largest
+	 *   eigenvalues and ignore the differences in the remaining ones. Ignored by the other solvers.
+	 * @param cacheSize The maximal memory used for caching eigenvalues, in megabytes. {@code 0} switches the cache
+	 *   off.
+	 */
+	public void setEigenSolver(String eigenSolver, int numEigenvalues, int cacheSize) {
+		EigenSolver solver;
+		if (eigenSolver.equals("apache")) {
+			solver = new ApacheEigenSolver();
+		} else if (eigenSolver.equals("lanczos")) {
+			solver = new LanczosEigenSolver(numEigenvalues);
+		} else {
+			if (!eigenSolver.equals("ojalgo")) {
+				LogEvent l = new LogEvent(Logger.WARNING,
+						"Eigen solver not recognized.",
+						"The eigen solver \"" + eigenSolver + "\" is not known. Valid values are \"ojalgo\", \"apache\", and \"lanczos\". Using \"ojalgo\" instead.");
+				Dna.logger.log(l);
+			}
+			solver = new OjalgoEigenSolver();
+		}
+		if (cacheSize > 0) {
+			solver = new EigenvalueCache(solver, cacheSize * 1048576L); // bytes per megabyte
+		}
+		this.eigenSolver = solver;
+		this.numEigenvalues = eigenSolver.equals("lanczos") ? Math.max(numEigenvalues, 0) : 0;
+	}
+
+	/**
+	 * Select the matrix whose eigenvalues are compared in spectral distances. By default, spectral distances compare the
+	 * eigenvalues of the degree matrix {@code D} of each network, i.e., its sorted weighted degrees, as in earlier
+	 * versions of DNA. The Laplacian matrix {@code L = D - A} also takes the structure of the network into account, but
+	 * it yields different spectral distances, backbone losses, and backbone results than the default.
+	 *
+	 * @param laplacianSpectrum Compare the eigenvalues of the Laplacian matrix instead of the degree matrix?
+	 */
+	public void setLaplacianSpectrum(boolean laplacianSpectrum) {
+		this.laplacianSpectrum = laplacianSpectrum;
+	}
+
+	/**
+	 * Get the number of threads used for computing one-mode and two-mode network matrices.
+	 *
+	 * @return The number of threads.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Apply a computation to contiguous, non-overlapping blocks of matrix rows (or columns). If the
+	 * {@link #parallelism} setting is larger than {@code 1} and the matrix is large enough, the blocks are computed
+	 * concurrently on the fork/join pool of this class; otherwise the whole range is computed in the calling thread.
+	 * Each row must only be written by the block that contains it.
+	 *
+	 * @param numRows The number of rows (or columns).
+	 * @param block The computation to apply to each block.
+	 */
+	private void computeRowBlocks(int numRows, RowBlockTask.Block block) {
+		if (this.parallelism < 2 || numRows < 2 * MIN_BLOCK_ROWS) {
+			block.compute(0, numRows);
+			return;
+		}
+		int blockSize = Math.max(MIN_BLOCK_ROWS, numRows / (4 * this.parallelism)); // a few blocks per thread for load balancing
+		this.getForkJoinPool().invoke(new RowBlockTask(block, 0, numRows, blockSize));
+	}
+
+	/**
+	 * Get the fork/join pool of this class with {@link #parallelism} threads, and create it if necessary.
+	 *
+	 * @return The fork/join pool.
+	 */
+	private synchronized ForkJoinPool getForkJoinPool() {
+		if (this.forkJoinPool == null) {
+			this.forkJoinPool = new ForkJoinPool(this.parallelism);
+		}
+		return this.forkJoinPool;
+	}
+
+	/**
+	 * Shut down the fork/join pool of this class, if it has been created, so that its threads do not outlive the
+	 * export. A new pool is created if matrices are computed in parallel again later.
+	 */
+	public synchronized void shutdownForkJoinPool() {
+		if (this.forkJoinPool != null) {
+			this.forkJoinPool.shutdown();
+			this.forkJoinPool = null;
+		}
+	}
+
 
 	/**
 	 * Set the value of the indentBandwidth field in this class. It indicates if the start and end date of the time
@@ -786,7 +939,8 @@ public class Exporter {
 	}
 
 	/**
-	 * Load statements and documents from the database and pre-process them.
+	 * Load statements and documents from the database and pre-process them. If the statements cannot be retrieved
+	 * completely, an error is logged and no statements are loaded.
 	 */
 	public void loadData() {
 		// put variable data types into a map for quick lookup
@@ -803,8 +957,10 @@ public class Exporter {
 			docMap.put(documents.get(i).getId(), i);
 		}
 
-		// get statements and convert to {@link ExportStatement} objects with additional information
-		this.originalStatements = Dna.sql.getStatements(new int[0],
+		// stream statements from the database and convert them to {@link ExportStatement} objects with additional
+		// information one by one; the statement text is only needed for event lists
+		this.originalStatements = new ArrayList<ExportStatement>();
+		try (StatementCursor cursor = Dna.sql.getStatementCursor(new int[0],
 				this.statementType.getId(),
 				this.startDateTime,
 				this.stopDateTime,
@@ -815,25 +971,44 @@ public class Exporter {
 				this.excludeSections,
 				this.invertSections,
 				this.excludeTypes,
-				this.invertTypes)
-		.stream()
-		.map(s -> {
-			int docIndex = docMap.get(s.getDocumentId());
-			return new ExportStatement(s,
-					documents.get(docIndex).getTitle(),
-					documents.get(docIndex).getAuthor(),
-					documents.get(docIndex).getSource(),
-					documents.get(docIndex).getSection(),
-					documents.get(docIndex).getType());
-		})
-		.collect(Collectors.toCollection(ArrayList::new));
-		if (this.originalStatements.size() == 0) {
+				this.invertTypes,
+				"eventlist".equals(this.networkType),
+				Sql.STATEMENT_FETCH_SIZE)) {
+			Statement s;
+			while ((s = cursor.next()) != null) {
+				int docIndex = docMap.get(s.getDocumentId());
+				this.originalStatements.add(new ExportStatement(s,
+						documents.get(docIndex).getTitle(),
+						documents.get(docIndex).getAuthor(),
+						documents.get(docIndex).getSource(),
+						documents.get(docIndex).getSection(),
+						documents.get(docIndex).getType()));
+			}
+			if (this.originalStatements.size() == 0) {
+				Dna.logger.log(
+						new LogEvent(Logger.WARNING,
+								"No statements found.",
+								"When processing data for export, no statements were found in the database in the time period under scrutiny and given any document-level exclusion filters.")
+				);
+			}
+		} catch (SQLException e) {
+			this.originalStatements.clear(); // do not export an incomplete set of statements
 			Dna.logger.log(
-					new LogEvent(Logger.WARNING,
-							"No statements found.",
-							"When processing data for export, no statements were found in the database in the time period under scrutiny and given any document-level exclusion filters.")
+					new LogEvent(Logger.ERROR,
+							"[SQL] Failed to retrieve statements.",
+							"When processing data for export, the statements could not be retrieved from the database. The statements retrieved before the error were discarded, so no statements are exported.",
+							e)
 			);
 		}
+		this.createStatementTable();
+	}
+
+	/**
+	 * Create the columnar {@link StatementTable} of the original statements, which is used for filtering the
+	 * statements and for looking up labels and indices instead of the hash maps of the individual statements.
+	 */
+	private void createStatementTable() {
+		this.statementTable = new StatementTable(this.originalStatements, this.dataTypes, this.docMap);
 	}
 	
 	/**
@@ -861,43 +1036,26 @@ public class Exporter {
 			finalStatements = processedStatements;
 		}
 		
-		// go through statements and extract names
-		ArrayList<String> names = new ArrayList<String>();
-		String n = null;
-		ExportStatement es;
+		// go through statements and mark the dictionary codes that are present
+		int[] codes = this.statementTable.getCodes(variable, variableDocument);
+		String[] dictionary = this.statementTable.getDictionary(variable, variableDocument);
+		boolean[] present = new boolean[dictionary.length];
+		int numPresent = 0;
 		for (int i = 0; i < finalStatements.size(); i++) {
-			es = finalStatements.get(i);
-			if (variableDocument) {
-				if (variable.equals("author")) {
-					n = es.getAuthor();
-				} else if (variable.equals("source")) {
-					n = es.getSource();
-				} else if (variable.equals("section")) {
-					n = es.getSection();
-				} else if (variable.equals("type")) {
-					n = es.getType();
-				} else if (variable.equals("id")) {
-					n = es.getDocumentIdAsString();
-				} else if (variable.equals("title")) {
-					n = es.getTitle();
-				}
-			} else {
-				n = (String) es.get(variable).toString();
-			}
-			if (!names.contains(n)) {
-				names.add(n);
+			int code = codes[finalStatements.get(i).getRow()];
+			if (!present[code] && !dictionary[code].equals("")) { // skip empty field
+				present[code] = true;
+				numPresent++;
 			}
 		}
 		
-		// sort and convert to array, then return
-		Collections.sort(names);
-		if (names.size() > 0 && names.get(0).equals("")) { // remove empty field
-			names.remove(0);
-		}
-		String[] nameArray = new String[names.size()];
-		if (names.size() > 0) {
-			for (int i = 0; i < names.size(); i++) {
-				nameArray[i] = names.get(i);
+		// the dictionary is sorted, so the present codes are in the order of the sorted names
+		String[] nameArray = new String[numPresent];
+		int n = 0;
+		for (int code = 0; code < dictionary.length; code++) {
+			if (present[code]) {
+				nameArray[n] = dictionary[code];
+				n++;
 			}
 		}
 		return nameArray;
@@ -912,54 +1070,57 @@ public class Exporter {
 		try (ProgressBar pb = new ProgressBar("Filtering statements", this.originalStatements.size())) {
 			pb.stepTo(0);
 
-			// create a deep copy of the original statements
-			this.filteredStatements = new ArrayList<ExportStatement>();
-			for (int i = 0; i < this.originalStatements.size(); i++) {
-				this.filteredStatements.add(new ExportStatement(this.originalStatements.get(i)));
-			}
-
-			// sort statements by date and time
-			Collections.sort(this.filteredStatements);
+			// sort statements by date and time; only the statements that pass the filter are copied below
+			ArrayList<ExportStatement> sortedStatements = new ArrayList<ExportStatement>(this.originalStatements);
+			Collections.sort(sortedStatements);
 
-			// Create arrays with variable values
-			String[] values1 = retrieveValues(this.filteredStatements, this.variable1, this.variable1Document);
-			String[] values2 = new String[0];
+			// get the dictionary codes of the variables from the statement table
+			int[] codes1 = this.statementTable.getCodes(this.variable1, this.variable1Document);
+			String[] dictionary1 = this.statementTable.getDictionary(this.variable1, this.variable1Document);
+			int[] codes2 = null;
+			String[] dictionary2 = null;
 			if (this.variable2 != null) {
-				values2 = retrieveValues(this.filteredStatements, this.variable2, this.variable2Document);
+				codes2 = this.statementTable.getCodes(this.variable2, this.variable2Document);
+				dictionary2 = this.statementTable.getDictionary(this.variable2, this.variable2Document);
 			}
-			String[] qualifierValues = new String[0];
+			int[] qualifierCodes = null;
+			String[] qualifierDictionary = null;
 			if (this.qualifierDocument || (!this.qualifierAggregation.equals("ignore") && dataTypes.get(this.qualifier).equals("short text"))) {
-				qualifierValues = retrieveValues(this.filteredStatements, this.qualifier, this.qualifierDocument);
+				qualifierCodes = this.statementTable.getCodes(this.qualifier, this.qualifierDocument);
+				qualifierDictionary = this.statementTable.getDictionary(this.qualifier, this.qualifierDocument);
+			}
+
+			// mark the excluded codes of each variable with exclude values
+			HashMap<String, boolean[]> excludedCodes = new HashMap<String, boolean[]>();
+			for (String key : this.excludeValues.keySet()) {
+				if (dataTypes.get(key) != null) {
+					excludedCodes.put(key, this.statementTable.selectCodes(key, false, this.excludeValues.get(key)));
+				}
 			}
 
 			// process and exclude statements
 			ExportStatement s;
+			int row;
+			int[] documentIndices = this.statementTable.getDocumentIndices();
+			int[] qualifierIntegers = this.qualifier == null ? null : this.statementTable.getIntegers(this.qualifier);
 			ArrayList<ExportStatement> al = new ArrayList<ExportStatement>();
-			String previousVar1 = null;
-			String previousVar2 = null;
-			String previousQualifier = null;
-			LocalDateTime cal, calPrevious;
-			int year, month, week, yearPrevious, monthPrevious, weekPrevious;
-			for (int i = 0; i < this.filteredStatements.size(); i++) {
+			@SuppressWarnings("static-access")
+			WeekFields weekFields = WeekFields.of(Locale.UK.getDefault()); // use UK definition of calendar weeks
+			HashSet<List<Integer>> selectedKeys = new HashSet<List<Integer>>(); // duplicate keys of the selected statements
+			for (int i = 0; i < sortedStatements.size(); i++) {
 				boolean select = true;
-				s = this.filteredStatements.get(i);
+				s = sortedStatements.get(i);
+				row = s.getRow();
 
 				// check against excluded values
 				Iterator<String> keyIterator = this.excludeValues.keySet().iterator();
 				while (keyIterator.hasNext()) {
 					String key = keyIterator.next();
-					String string = "";
 					if (dataTypes.get(key) == null) {
 						throw new NullPointerException("'" + key + "' is not a statement-level variable and cannot be excluded.");
-					} else if (dataTypes.get(key).equals("boolean") || dataTypes.get(key).equals("integer")) {
-						string = String.valueOf(s.get(key));
-					} else if (dataTypes.get(key).equals("short text")) {
-						string = ((Entity) s.get(key)).getValue();
-					} else if (dataTypes.get(key).equals("long text")) {
-						string = (String) s.get(key);
 					}
-					if ((this.excludeValues.get(key).contains(string) && !this.invertValues) ||
-							(!this.excludeValues.get(key).contains(string) && this.invertValues)) {
+					boolean excluded = excludedCodes.get(key)[this.statementTable.getCodes(key, false)[row]];
+					if ((excluded && !this.invertValues) || (!excluded && this.invertValues)) {
 						select = false;
 					}
 				}
@@ -968,96 +1129,54 @@ public class Exporter {
 				if (select &&
 						this.networkType != null &&
 						!this.networkType.equals("eventlist") &&
-						(values1[i].equals("") || values2[i].equals("") || (!this.qualifierAggregation.equals("ignore") && (qualifierDocument || dataTypes.get(qualifier).equals("short text")) && qualifierValues[i].equals("")))) {
+						(dictionary1[codes1[row]].equals("") || dictionary2[codes2[row]].equals("") || (!this.qualifierAggregation.equals("ignore") && (qualifierDocument || dataTypes.get(qualifier).equals("short text")) && qualifierDictionary[qualifierCodes[row]].equals("")))) {
 					select = false;
-				} else if (select && this.networkType == null && values1[i].equals("")) { // barplot data because no network type defined
+				} else if (select && this.networkType == null && dictionary1[codes1[row]].equals("")) { // barplot data because no network type defined
 					select = false;
 				}
 
-				// check for duplicates
-				cal = s.getDateTime();
-				year = cal.getYear();
-				month = cal.getMonthValue();
-				@SuppressWarnings("static-access")
-				WeekFields weekFields = WeekFields.of(Locale.UK.getDefault()); // use UK definition of calendar weeks
-				week = cal.get(weekFields.weekOfWeekBasedYear());
-				if (!this.duplicates.equals("include")) {
-					for (int j = al.size() - 1; j >= 0; j--) {
-						if (!this.variable1Document) {
-							previousVar1 = ((Entity) al.get(j).get(this.variable1)).getValue();
-						} else if (this.variable1.equals("author")) {
-							previousVar1 = al.get(j).getAuthor();
-						} else if (this.variable1.equals("source")) {
-							previousVar1 = al.get(j).getSource();
-						} else if (this.variable1.equals("section")) {
-							previousVar1 = al.get(j).getSection();
-						} else if (this.variable1.equals("type")) {
-							previousVar1 = al.get(j).getType();
-						} else if (this.variable1.equals("id")) {
-							previousVar1 = al.get(j).getDocumentIdAsString();
-						} else if (this.variable1.equals("title")) {
-							previousVar1 = al.get(j).getTitle();
-						}
-						if (this.variable2 != null) {
-							if (!this.variable2Document) {
-								previousVar2 = ((Entity) al.get(j).get(this.variable2)).getValue();
-							} else if (this.variable2.equals("author")) {
-								previousVar2 = al.get(j).getAuthor();
-							} else if (this.variable2.equals("source")) {
-								previousVar2 = al.get(j).getSource();
-							} else if (this.variable2.equals("section")) {
-								previousVar2 = al.get(j).getSection();
-							} else if (this.variable2.equals("type")) {
-								previousVar2 = al.get(j).getType();
-							} else if (this.variable2.equals("id")) {
-								previousVar2 = al.get(j).getDocumentIdAsString();
-							} else if (this.variable2.equals("title")) {
-								previousVar2 = al.get(j).getTitle();
-							}
-						}
-						if (!this.qualifierAggregation.equals("ignore") && (qualifierDocument || dataTypes.get(this.qualifier).equals("short text"))) {
-							if (!this.qualifierDocument) {
-								previousQualifier = ((Entity) al.get(j).get(this.qualifier)).getValue();
-							} else if (this.qualifier.equals("author")) {
-								previousQualifier = al.get(j).getAuthor();
-							} else if (this.qualifier.equals("source")) {
-								previousQualifier = al.get(j).getSource();
-							} else if (this.qualifier.equals("section")) {
-								previousQualifier = al.get(j).getSection();
-							} else if (this.qualifier.equals("type")) {
-								previousQualifier = al.get(j).getType();
-							} else if (this.qualifier.equals("id")) {
-								previousQualifier = al.get(j).getDocumentIdAsString();
-							} else if (this.qualifier.equals("title")) {
-								previousQualifier = al.get(j).getTitle();
-							}
+				// check for duplicates; the dictionary codes of two statements are equal if and only if their values are equal,
+				// so two statements are duplicates if their keys of statement type, time bucket, and codes are equal
+				List<Integer> key = null;
+				if (select && !this.duplicates.equals("include")) {
+					int bucket = 0; // "acrossrange": all statements are in the same bucket
+					if (this.duplicates.equals("document")) {
+						bucket = documentIndices[row];
+					} else if (this.duplicates.equals("year")) {
+						bucket = s.getDateTime().getYear();
+					} else if (this.duplicates.equals("month")) {
+						bucket = s.getDateTime().getMonthValue();
+					} else if (this.duplicates.equals("week")) {
+						bucket = s.getDateTime().get(weekFields.weekOfWeekBasedYear());
+					}
+					int qualifierValue = 0;
+					boolean comparable = true;
+					if (!this.qualifierAggregation.equals("ignore")) {
+						if (qualifierCodes != null) { // short text or document-level qualifier
+							qualifierValue = qualifierCodes[row];
+						} else if (qualifierIntegers != null) { // boolean or integer qualifier
+							qualifierValue = qualifierIntegers[row];
+							// previous versions compared boxed Integer qualifier values by reference, which is only true for
+							// cached values between -128 and 127, so statements with other values were never duplicates
+							comparable = qualifierValue >= -128 && qualifierValue <= 127;
+						} else {
+							qualifierValue = this.statementTable.getCodes(this.qualifier, false)[row];
 						}
-						calPrevious = al.get(j).getDateTime();
-						yearPrevious = calPrevious.getYear();
-						monthPrevious = calPrevious.getMonthValue();
-						@SuppressWarnings("static-access")
-						WeekFields weekFieldsPrevious = WeekFields.of(Locale.UK.getDefault()); // use UK definition of calendar weeks
-						weekPrevious = calPrevious.get(weekFieldsPrevious.weekOfWeekBasedYear());
-						if (s.getStatementTypeId() == al.get(j).getStatementTypeId()
-								&& ( (al.get(j).getDocumentId() == s.getDocumentId() && duplicates.equals("document"))
-								|| duplicates.equals("acrossrange")
-								|| (duplicates.equals("year") && year == yearPrevious)
-								|| (duplicates.equals("month") && month == monthPrevious)
-								|| (duplicates.equals("week") && week == weekPrevious) )
-								&& values1[i].equals(previousVar1)
-								&& (values2.length == 0 /* for barplot data */ || values2[i].equals(previousVar2))
-								&& (this.qualifierAggregation.equals("ignore")
-									|| (dataTypes.get(this.qualifier).equals("short text") && qualifierValues[i].equals(previousQualifier))
-									|| (!dataTypes.get(this.qualifier).equals("short text") && (Integer) s.get(this.qualifier) == (Integer) al.get(j).get(this.qualifier)))) {
+					}
+					if (comparable) {
+						key = Arrays.asList(s.getStatementTypeId(), bucket, codes1[row], codes2 == null ? -1 : codes2[row] /* for barplot data */, qualifierValue);
+						if (selectedKeys.contains(key)) {
 							select = false;
-							break;
 						}
 					}
 				}
 
-				// add only if the statement passed all checks
+				// add a copy of the statement only if it passed all checks
 				if (select) {
-					al.add(s);
+					if (key != null) {
+						selectedKeys.add(key);
+					}
+					al.add(new ExportStatement(s));
 				}
 
 				pb.stepTo(i + 1);
@@ -1083,31 +1202,52 @@ public class Exporter {
 	 * @return String array of values.
 	 */
 	private String[] retrieveValues(ArrayList<ExportStatement> statements, String variable, boolean documentLevel) {
-		ExportStatement s;
+		int[] codes = this.statementTable.getCodes(variable, documentLevel);
+		String[] dictionary = this.statementTable.getDictionary(variable, documentLevel);
 		String[] values = new String[statements.size()];
 		for (int i = 0; i < statements.size(); i++) {
-			s = statements.get(i);
-			if (documentLevel) {
-				if (variable.equals("author")) {
-					values[i] = s.getAuthor();
-				} else if (variable.equals("source")) {
-					values[i] = s.getSource();
-				} else if (variable.equals("section")) {
-					values[i] = s.getSection();
-				} else if (variable.equals("type")) {
-					values[i] = s.getType();
-				} else if (variable.equals("id")) {
-					values[i] = s.getDocumentIdAsString();
-				} else if (variable.equals("title")) {
-					values[i] = s.getTitle();
-				}
-			} else {
-				values[i] = ((Entity) s.get(variable)).getValue();
-			}
+			values[i] = dictionary[codes[statements.get(i).getRow()]];
 		}
 		return values;
 	}
 
+	/**
+	 * Find the index of the value of a variable among a sorted array of labels for each statement, for example the
+	 * row of each statement in a network matrix.
+	 *
+	 * @param statements Original or filtered array list of statements.
+	 * @param variable The name of the variable.
+	 * @param documentLevel Indicates if the variable is at the document level.
+	 * @param labels The labels, usually extracted using {@link #extractLabels(ArrayList, String, boolean)}.
+	 * @return The label index of each statement, or {@code -1} if the value of the statement is not among the labels.
+	 */
+	int[] locateLabels(ArrayList<ExportStatement> statements, String variable, boolean documentLevel, String[] labels) {
+		int[] codes = this.statementTable.getCodes(variable, documentLevel);
+		int[] index = this.statementTable.indexCodes(variable, documentLevel, labels);
+		int[] located = new int[statements.size()];
+		for (int i = 0; i < statements.size(); i++) {
+			located[i] = index[codes[statements.get(i).getRow()]];
+		}
+		return located;
+	}
+
+	/**
+	 * Select the statements whose second variable takes one of the given values, for example the concepts in a
+	 * candidate backbone set.
+	 *
+	 * @param statements The statements to select from, usually the filtered statements.
+	 * @param values The values of the second variable to retain.
+	 * @return The selected statements in their original order.
+	 */
+	private ArrayList<ExportStatement> selectStatements(ArrayList<ExportStatement> statements, Collection<String> values) {
+		int[] codes = this.statementTable.getCodes(this.variable2, false);
+		boolean[] selected = this.statementTable.selectCodes(this.variable2, false, values);
+		return statements
+				.stream()
+				.filter(s -> selected[codes[s.getRow()]])
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
 	/**
 	 * Count how often a value is used across the range of filtered statements.
 	 * 
@@ -1162,120 +1302,119 @@ public class Exporter {
 	}
 	
 	/**
-	 * Create a three-dimensional array (variable 1 x variable 2 x qualifier).
-	 * 
+	 * Create a sparse three-dimensional incidence array (variable 1 x variable 2 x qualifier), which contains the
+	 * number of statements per cell but stores only the non-zero cells. Use {@link SparseIncidence#toArray()} to
+	 * obtain the dense array.
+	 *
+	 * @param processedStatements Usually the filtered list of export statements.
 	 * @param names1 {@link String} array containing the row labels.
 	 * @param names2 {@link String} array containing the column labels.
-	 * @return 3D double array.
+	 * @return A {@link SparseIncidence} object.
 	 */
-	private double[][][] createArray(ArrayList<ExportStatement> processedStatements, String[] names1, String[] names2) {
+	private SparseIncidence createSparseIncidence(ArrayList<ExportStatement> processedStatements, String[] names1, String[] names2) {
+		String[] qualifierString = this.qualifierStringLevels(processedStatements);
+		int[] qualifierInteger = this.qualifierIntegerLevels();
+		int qualifierLength = qualifierString == null ? qualifierInteger.length : qualifierString.length;
+		int[][] indices = this.locateStatements(processedStatements, names1, names2, qualifierString, qualifierInteger);
+
+		// add matches to the incidence array (note that duplicates were dealt with at the statement filter stage)
+		return SparseIncidence.fromStatements(names1.length, names2.length, qualifierLength, indices[0], indices[1], indices[2]);
+	}
 
-		// unique qualifier values (i.e., all of them found at least once in the dataset)
-		String[] qualifierString = null;
-		int[] qualifierInteger = new int[] { 0 };
-		int qualifierLength = 1;
+	/**
+	 * Get the unique levels of a short text or document-level qualifier variable. Short text levels are taken from all
+	 * original statements, and document-level qualifier levels from the processed statements.
+	 *
+	 * @param processedStatements Usually the filtered list of export statements.
+	 * @return The sorted unique qualifier values, or {@code null} if the qualifier is absent, boolean, integer, or long
+	 *   text.
+	 */
+	private String[] qualifierStringLevels(ArrayList<ExportStatement> processedStatements) {
 		if (qualifier == null) {
-			// do nothing; go with qualifierLength = 1
-		} else if (!this.qualifierDocument && dataTypes.get(qualifier).equals("boolean")) {
-			qualifierInteger = new int[] {0, 1};
-			qualifierLength = 2;
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("integer")) {
-			qualifierInteger = this.originalStatements
-					.stream()
-					.mapToInt(s -> (int) s.get(qualifier))
-					.distinct()
-					.sorted()
-					.toArray();
-			qualifierLength = qualifierInteger.length;
+			return null;
 		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("short text")) {
-			qualifierString = this.originalStatements
-					.stream()
-					.map(s -> (String) ((Entity) s.get(qualifier)).getValue())
-					.distinct()
-					.sorted()
-					.toArray(String[]::new);
-			qualifierLength = qualifierString.length;
+			return this.statementTable.getDictionary(this.qualifier, false).clone(); // the dictionary holds the sorted values of all original statements
 		} else if (qualifierDocument) {
-			qualifierString = Arrays.stream(retrieveValues(processedStatements, this.qualifier, this.qualifierDocument))
-					.distinct()
-					.sorted()
+			int[] codes = this.statementTable.getCodes(this.qualifier, true);
+			String[] dictionary = this.statementTable.getDictionary(this.qualifier, true);
+			boolean[] present = new boolean[dictionary.length];
+			for (int i = 0; i < processedStatements.size(); i++) {
+				present[codes[processedStatements.get(i).getRow()]] = true;
+			}
+			return IntStream.range(0, dictionary.length)
+					.filter(code -> present[code])
+					.mapToObj(code -> dictionary[code])
 					.toArray(String[]::new);
-			qualifierLength = qualifierString.length;
 		}
+		return null;
+	}
 
-		// Create arrays with variable values
-		String[] values1 = retrieveValues(processedStatements, variable1, variable1Document);
-		String[] values2 = retrieveValues(processedStatements, variable2, variable2Document);
-		
-		// create and populate array
-		double[][][] array = new double[names1.length][names2.length][qualifierLength]; // 3D array: rows x cols x qualifier value
-		for (int i = 0; i < processedStatements.size(); i++) {
-			String n1 = values1[i]; // retrieve first value from statement
-			String n2 = values2[i]; // retrieve second value from statement
-			String qString = null;
-			int qInteger = -1;
-			if (qualifier != null) {
-				if (this.qualifierDocument) {
-					TableDocument d = documents.get(docMap.get(processedStatements.get(i).getDocumentId()));
-					if (qualifier.equals("id")) {
-						qString = String.valueOf(d.getId());
-					} else if (qualifier.equals("title")) {
-						qString = d.getTitle();
-					} else if (qualifier.equals("author")) {
-						qString = d.getAuthor();
-					} else if (qualifier.equals("source")) {
-						qString = d.getSource();
-					} else if (qualifier.equals("section")) {
-						qString = d.getSection();
-					} else if (qualifier.equals("type")) {
-						qString = d.getType();
-					}
-					qInteger = -1;
-				} else if (dataTypes.get(qualifier).equals("short text")) {
-					qString = ((Entity) processedStatements.get(i).get(qualifier)).getValue(); // retrieve short text qualifier value from statement (via Entity)
-					qInteger = -1;
-				} else {
-					qInteger = (int) processedStatements.get(i).get(qualifier); // retrieve integer or boolean qualifier value from statement
-					qString = null;
-				}
-			}
-			
-			// find out which matrix row corresponds to the first value
-			int row = -1;
-			for (int j = 0; j < names1.length; j++) {
-				if (names1[j].equals(n1)) {
-					row = j;
-					break;
-				}
-			}
-			
-			// find out which matrix column corresponds to the second value
-			int col = -1;
-			for (int j = 0; j < names2.length; j++) {
-				if (names2[j].equals(n2)) {
-					col = j;
-					break;
+	/**
+	 * Get the unique levels of a boolean or integer qualifier variable across all original statements.
+	 *
+	 * @return The sorted unique qualifier values ({@code {0, 1}} for boolean qualifiers), or {@code {0}} if the
+	 *   qualifier is absent or has a different data type.
+	 */
+	private int[] qualifierIntegerLevels() {
+		if (qualifier == null || qualifierDocument) {
+			return new int[] { 0 };
+		} else if (dataTypes.get(qualifier).equals("boolean")) {
+			return new int[] {0, 1};
+		} else if (dataTypes.get(qualifier).equals("integer")) {
+			return this.getIntegerValues(this.qualifier);
+		}
+		return new int[] { 0 };
+	}
+
+	/**
+	 * Get the unique values of a boolean or integer variable across all original statements.
+	 *
+	 * @param variable The name of the variable.
+	 * @return The sorted unique values.
+	 */
+	int[] getIntegerValues(String variable) {
+		return Arrays.stream(this.statementTable.getIntegers(variable))
+				.distinct()
+				.sorted()
+				.toArray();
+	}
+
+	/**
+	 * Find the row, column, and qualifier level index of each statement.
+	 *
+	 * @param processedStatements Usually the filtered list of export statements.
+	 * @param names1 {@link String} array containing the row labels.
+	 * @param names2 {@link String} array containing the column labels.
+	 * @param qualifierString The short text or document-level qualifier levels, or {@code null}.
+	 * @param qualifierInteger The boolean or integer qualifier levels (only used if {@code qualifierString} is
+	 *   {@code null}).
+	 * @return An array with the row indices, the column indices, and the qualifier level indices of the statements.
+	 *   Unknown labels have an index of {@code -1}.
+	 */
+	private int[][] locateStatements(ArrayList<ExportStatement> processedStatements, String[] names1, String[] names2, String[] qualifierString, int[] qualifierInteger) {
+		int qualifierLength = qualifierString == null ? qualifierInteger.length : qualifierString.length;
+
+		// find the row and column of each statement
+		int[] rows = this.locateLabels(processedStatements, this.variable1, this.variable1Document, names1);
+		int[] columns = this.locateLabels(processedStatements, this.variable2, this.variable2Document, names2);
+
+		// find the qualifier level of each statement; unknown levels are mapped onto the first level
+		int[] levels = new int[processedStatements.size()];
+		if (qualifierLength > 1) {
+			if (qualifierString != null) { // document-level or short text qualifier
+				int[] codes = this.statementTable.getCodes(this.qualifier, this.qualifierDocument);
+				int[] index = this.statementTable.indexCodes(this.qualifier, this.qualifierDocument, qualifierString);
+				for (int i = 0; i < processedStatements.size(); i++) {
+					levels[i] = Math.max(0, index[codes[processedStatements.get(i).getRow()]]);
 				}
-			}
-			
-			// find out which qualifier level corresponds to the qualifier value
-			int qual = 0;
-			if (qualifierLength > 1) {
-				for (int j = 0; j < qualifierLength; j++) {
-					if (qualifierDocument && qualifierString[j].equals(qString) ||
-							(dataTypes.containsKey(qualifier) && dataTypes.get(qualifier).equals("short text") && qualifierString[j].equals(qString)) ||
-							(!qualifierDocument && !dataTypes.get(qualifier).equals("short text") && qualifierInteger[j] == qInteger)) {
-						qual = j;
-						break;
-					}
+			} else { // integer or boolean qualifier
+				int[] values = this.statementTable.getIntegers(this.qualifier);
+				for (int i = 0; i < processedStatements.size(); i++) {
+					levels[i] = Math.max(0, Arrays.binarySearch(qualifierInteger, values[processedStatements.get(i).getRow()]));
 				}
 			}
-
-			// add match to matrix (note that duplicates were dealt with at the statement filter stage)
-			array[row][col][qual] = array[row][col][qual] + 1.0;
 		}
-		
-		return array;
+		return new int[][] { rows, columns, levels };
 	}
 	
 	/**
@@ -1330,151 +1469,56 @@ public class Exporter {
 			return mt;
 		}
 
-		String[] qualifierString;
-		int[] qualifierInteger = new int[] { 0 };
-		int qualifierLength = 1;
-		if (qualifier == null) {
-			// do nothing, go with qualifierLength = 1
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("boolean")) {
-			qualifierInteger = new int[] {0, 1};
-			qualifierLength = 2;
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("integer")) {
-			qualifierInteger = this.originalStatements
-					.stream()
-					.mapToInt(s -> (int) s.get(qualifier))
-					.distinct()
-					.sorted()
-					.toArray();
-			qualifierLength = qualifierInteger.length;
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("short text")) {
-			qualifierString = this.originalStatements
-					.stream()
-					.map(s -> (String) ((Entity) s.get(qualifier)).getValue())
-					.distinct()
-					.sorted()
-					.toArray(String[]::new);
-			qualifierLength = qualifierString.length;
-		} else if (qualifierDocument) {
-			qualifierString = Arrays.stream(retrieveValues(processedStatements, this.qualifier, this.qualifierDocument))
-					.distinct()
-					.sorted()
-					.toArray(String[]::new);
-			qualifierLength = qualifierString.length;
-		}
-
-		double[][][] array = createArray(processedStatements, names1, names2);
-		double[][] mat1 = new double[names1.length][names1.length];  // square matrix for results
-		double range = Math.abs(qualifierInteger[qualifierInteger.length - 1] - qualifierInteger[0]);
-
-		double i1count = 0.0;
-		double i2count = 0.0;
-		for (int i1 = 0; i1 < names1.length; i1++) {
-			for (int i2 = 0; i2 < names1.length; i2++) {
-				if (i1 != i2) {
-					for (int j = 0; j < names2.length; j++) {
-						// "ignore": sum up i1 and i2 independently over levels of k, then multiply.
-						// In the binary case, this amounts to counting how often each concept is used and then multiplying frequencies.
-						if (aggregation.equals("ignore")) {
-							i1count = 0.0;
-							i2count = 0.0;
-							for (int k = 0; k < qualifierLength; k++) {
-								i1count = i1count + array[i1][j][k];
-								i2count = i2count + array[i2][j][k];
-							}
-							mat1[i1][i2] = mat1[i1][i2] + i1count * i2count;
-						} else {
-							if (qualifierDocument || dataTypes.get(qualifier).equals("short text")) {
-								for (int k = 0; k < qualifierLength; k++) {
-									if (aggregation.equals("congruence")) {
-										mat1[i1][i2] = mat1[i1][i2] + (array[i1][j][k] * array[i2][j][k]); // multiply matches on the qualifier and add
-									} else if (aggregation.equals("conflict")) {
-										if (array[i1][j][k] > 0 && array[i2][j][k] == 0) {
-											mat1[i1][i2] = mat1[i1][i2] + array[i1][j][k]; // add counts where only i1 is active
-										} else if (array[i1][j][k] == 0 && array[i2][j][k] > 0) {
-											mat1[i1][i2] = mat1[i1][i2] + array[i2][j][k]; // add counts where only i2 is active
-										}
-									} else if (aggregation.equals("subtract")) {
-										mat1[i1][i2] = mat1[i1][i2] + (array[i1][j][k] * array[i2][j][k]); // multiply matches on the qualifier and add
-										if (array[i1][j][k] > 0 && array[i2][j][k] == 0) {
-											mat1[i1][i2] = mat1[i1][i2] - array[i1][j][k]; // subtract counts where only i1 is active
-										} else if (array[i1][j][k] == 0 && array[i2][j][k] > 0) {
-											mat1[i1][i2] = mat1[i1][i2] - array[i2][j][k]; // subtract counts where only i2 is active
-										}
-									}
-								}
-							} else if (dataTypes.get(qualifier).equals("boolean") || dataTypes.get(qualifier).equals("integer")) {
-								for (int k1 = 0; k1 < qualifierLength; k1++) {
-									for (int k2 = 0; k2 < qualifierLength; k2++) {
-										if (aggregation.equals("congruence")) {
-											// "congruence": sum up proximity of i1 and i2 per level of k, weighted by joint usage.
-											// In the binary case, this reduces to the sum of weighted matches per level of k
-											mat1[i1][i2] = mat1[i1][i2] + (array[i1][j][k1] * array[i2][j][k2] * (1.0 - ((Math.abs(qualifierInteger[k1] - qualifierInteger[k2]) / range))));
-										} else if (aggregation.equals("conflict")) {
-											// "conflict": same as congruence, but distance instead of proximity
-											mat1[i1][i2] = mat1[i1][i2] + (array[i1][j][k1] * array[i2][j][k2] * ((Math.abs(qualifierInteger[k1] - qualifierInteger[k2]) / range)));
-										} else if (aggregation.equals("subtract")) {
-											// "subtract": congruence - conflict
-											mat1[i1][i2] = mat1[i1][i2] + (array[i1][j][k1] * array[i2][j][k2] * (1.0 - ((Math.abs(qualifierInteger[k1] - qualifierInteger[k2]) / range))));
-											mat1[i1][i2] = mat1[i1][i2] - (array[i1][j][k1] * array[i2][j][k2] * ((Math.abs(qualifierInteger[k1] - qualifierInteger[k2]) / range)));
-										}
-									}
-								}
-							}
-						}
-					}
+		SparseIncidence incidence = createSparseIncidence(processedStatements, names1, names2);
+		return computeOneModeMatrix(incidence, names1, this.qualifierIntegerLevels(), aggregation, start, stop);
+	}
 
-					// normalization
-					double norm = 1.0;
-					if (this.normalization.equals("no")) {
-						norm = 1.0;
-					} else if (this.normalization.equals("average")) {
-						i1count = 0.0;
-						i2count = 0.0;
-						for (int j = 0; j < names2.length; j++) {
-							for (int k = 0; k < qualifierLength; k++) {
-								i1count = i1count + array[i1][j][k];
-								i2count = i2count + array[i2][j][k];
-							}
-						}
-						norm = (i1count + i2count) / 2;
-					} else if (this.normalization.equals("jaccard")) {
-						double m10 = 0.0;
-						double m01 = 0.0;
-						double m11 = 0.0;
-						for (int j = 0; j < names2.length; j++) {
-							for (int k = 0; k < qualifierLength; k++) {
-								if (array[i2][j][k] == 0) {
-									m10 = m10 + array[i1][j][k];
-								}
-								if (array[i1][j][k] == 0) {
-									m01 = m01 + array[i2][j][k];
-								}
-								if (array[i1][j][k] > 0 && array[i2][j][k] > 0) {
-									m11 = m11 + (array[i1][j][k] * array[i2][j][k]);
-								}
-							}
-						}
-						norm = m01 + m10 + m11;
-					} else if (this.normalization.equals("cosine")) {
-						i1count = 0.0;
-						i2count = 0.0;
-						for (int j = 0; j < names2.length; j++) {
-							for (int k = 0; k < qualifierLength; k++) {
-								i1count = i1count + array[i1][j][k];
-								i2count = i2count + array[i2][j][k];
-							}
-						}
-						norm = Math.sqrt(i1count * i1count) * Math.sqrt(i2count * i2count);
-					}
-					if (norm == 0) {
-						mat1[i1][i2] = 0;
-					} else {
-						mat1[i1][i2] = mat1[i1][i2] / norm;
-					}
-				}
-			}
-		}
+	/**
+	 * Create a one-mode network {@link Matrix} from a sparse incidence array.
+	 *
+	 * @param incidence The sparse incidence array of the (non-empty) list of statements.
+	 * @param names1 The row labels of the incidence array.
+	 * @param qualifierInteger The boolean or integer qualifier levels (see {@link #qualifierIntegerLevels()}).
+	 * @param aggregation Qualifier aggregation.
+	 * @param start Start date/time.
+	 * @param stop End date/time.
+	 * @return {@link Matrix Matrix} object containing a one-mode network
+	 *   matrix.
+	 */
+	private Matrix computeOneModeMatrix(SparseIncidence incidence, String[] names1, int[] qualifierInteger, String aggregation, LocalDateTime start, LocalDateTime stop) {
+		// project the sparse incidence array onto the first mode, visiting only pairs of nodes with shared concepts;
+		// blocks of rows are independent and may be computed in parallel
+		OneModeProjection projection = this.createOneModeProjection(aggregation, qualifierInteger);
+		double[][] mat1 = new double[names1.length][names1.length];
+		computeRowBlocks(names1.length, (fromRow, toRow) -> projection.projectRows(incidence, fromRow, toRow, mat1));
+		return this.createOneModeMatrix(mat1, names1, aggregation, start, stop);
+	}
+
+	/**
+	 * Create a one-mode projection engine with the normalization of the exporter.
+	 *
+	 * @param aggregation Qualifier aggregation.
+	 * @param qualifierInteger The boolean or integer qualifier levels (see {@link #qualifierIntegerLevels()}).
+	 * @return The projection engine.
+	 */
+	private OneModeProjection createOneModeProjection(String aggregation, int[] qualifierInteger) {
+		// integer values of the qualifier levels are used for weighting ties by qualifier similarity or distance
+		boolean ordinal = qualifier != null && !qualifierDocument && (dataTypes.get(qualifier).equals("boolean") || dataTypes.get(qualifier).equals("integer"));
+		return new OneModeProjection(aggregation, this.normalization, ordinal, qualifierInteger);
+	}
 
+	/**
+	 * Wrap a one-mode network matrix into a {@link Matrix} object.
+	 *
+	 * @param mat The one-mode network matrix.
+	 * @param names1 The row and column labels.
+	 * @param aggregation Qualifier aggregation.
+	 * @param start Start date/time.
+	 * @param stop End date/time.
+	 * @return {@link Matrix Matrix} object containing the one-mode network
+	 *   matrix.
+	 */
+	private Matrix createOneModeMatrix(double[][] mat, String[] names1, String aggregation, LocalDateTime start, LocalDateTime stop) {
 		// does the matrix contain only integer values? (i.e., no normalization and boolean or short text qualifier)
 		boolean integerBoolean;
 		if (this.normalization.equals("no") && (aggregation.equals("ignore") || qualifierDocument || dataTypes.get(qualifier).equals("boolean") || dataTypes.get(qualifier).equals("short text"))) {
@@ -1483,7 +1527,7 @@ public class Exporter {
 			integerBoolean = false;
 		}
 
-		Matrix matrix = new Matrix(mat1, names1, names1, integerBoolean, start, stop);
+		Matrix matrix = new Matrix(mat, names1, names1, integerBoolean, start, stop);
 		matrix.setNumStatements(this.filteredStatements.size());
 		return matrix;
 	}
@@ -1517,94 +1561,93 @@ public class Exporter {
 			return mt;
 		}
 
-		String[] qualifierString = null;
-		int[] qualifierInteger = new int[] { 0 };
-		int qualifierLength = 1;
-		if (qualifier == null) {
-			// do nothing, go with qualifierLength = 1
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("boolean")) {
-			qualifierInteger = new int[] {0, 1};
-			qualifierLength = 2;
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("integer")) {
-			qualifierInteger = this.originalStatements
-					.stream()
-					.mapToInt(s -> (int) s.get(qualifier))
-					.distinct()
-					.sorted()
-					.toArray();
-			qualifierLength = qualifierInteger.length;
-		} else if (!qualifierDocument && dataTypes.get(qualifier).equals("short text")) {
-			qualifierString = this.originalStatements
-					.stream()
-					.map(s -> (String) ((Entity) s.get(qualifier)).getValue())
-					.distinct()
-					.sorted()
-					.toArray(String[]::new);
-			qualifierLength = qualifierString.length;
-		} else if (qualifierDocument) {
-			qualifierString = Arrays.stream(retrieveValues(processedStatements, this.qualifier, this.qualifierDocument))
-					.distinct()
-					.sorted()
-					.toArray(String[]::new);
-			qualifierLength = qualifierString.length;
-		}
+		String[] qualifierString = this.qualifierStringLevels(processedStatements);
+		int[] qualifierInteger = this.qualifierIntegerLevels();
+		SparseIncidence incidence = createSparseIncidence(processedStatements, names1, names2);
+		return computeTwoModeMatrix(incidence, names1, names2, qualifierString, qualifierInteger, start, stop);
+	}
 
-		double[][][] array = createArray(processedStatements, names1, names2);
+	/**
+	 * Create a two-mode network {@link Matrix} from a sparse incidence array.
+	 *
+	 * @param incidence The sparse incidence array of the (non-empty) list of statements.
+	 * @param names1 The row labels of the incidence array.
+	 * @param names2 The column labels of the incidence array.
+	 * @param qualifierString The short text or document-level qualifier levels of the incidence array, or
+	 *   {@code null}.
+	 * @param qualifierInteger The boolean or integer qualifier levels of the incidence array.
+	 * @param start Start date/time.
+	 * @param stop End date/time.
+	 * @return {@link Matrix Matrix} object containing a two-mode network matrix.
+	 */
+	private Matrix computeTwoModeMatrix(SparseIncidence incidence, String[] names1, String[] names2, String[] qualifierString, int[] qualifierInteger, LocalDateTime start, LocalDateTime stop) {
+		int qualifierLength = incidence.numLevels;
+		double[][][] array = incidence.toArray();
+
+		// the qualifier levels as reported for the "combine" option; identical for all cells
+		ArrayList qualVal = null;
+		if (this.qualifierAggregation.equals("combine") && names1.length > 0 && names2.length > 0) {
+			if (qualifierDocument || dataTypes.get(qualifier).equals("short text")) {
+				qualVal = new ArrayList<String>(Arrays.asList(qualifierString));
+			} else {
+				qualVal = new ArrayList<Integer>();
+				for (int k = 0; k < qualifierLength; k++) {
+					qualVal.add(qualifierInteger[k]);
+				}
+			}
+		}
 
-		// combine levels of the qualifier variable conditional on qualifier aggregation option
+		// combine levels of the qualifier variable conditional on qualifier aggregation option; rows are independent
 		double[][] mat = new double[names1.length][names2.length];  // initialized with zeros
-		HashMap<Integer, ArrayList> combinations = new HashMap<Integer, ArrayList>();
-		for (int i = 0; i < names1.length; i++) {
-			for (int j = 0; j < names2.length; j++) {
-				if (this.qualifierAggregation.equals("combine")) { // combine
-					double[] vec = array[i][j]; // may be weighted, so create a second, binary vector vec2
-					int[] vec2 = new int[vec.length];
-					ArrayList qualVal;
-					if (qualifierDocument || dataTypes.get(qualifier).equals("short text")) {
-						qualVal = new ArrayList<String>();
+		final int[] qualifierValues = qualifierInteger;
+		final int numLevels = qualifierLength;
+		computeRowBlocks(names1.length, (fromRow, toRow) -> {
+			for (int i = fromRow; i < toRow; i++) {
+				for (int j = 0; j < names2.length; j++) {
+					if (this.qualifierAggregation.equals("combine")) { // combine
+						double[] vec = array[i][j]; // may be weighted, so create a second, binary vector vec2
+						int[] vec2 = new int[vec.length];
 						for (int k = 0; k < vec.length; k++) {
 							if (vec[k] > 0) {
 								vec2[k] = 1;
 							}
-							assert qualifierString != null;
-							qualVal.add(qualifierString[k]);
 						}
+						mat[i][j] = lexRank(vec2); // compute lexical rank, i.e., map the combination of values to a single integer
 					} else {
-						qualVal = new ArrayList<Integer>();
-						for (int k = 0; k < vec.length; k++) {
-							if (vec[k] > 0) {
-								vec2[k] = 1;
-							}
-							qualVal.add(qualifierInteger[k]);
-						}
-					}
-					int lr = lexRank(vec2);
-					mat[i][j] = lr; // compute lexical rank, i.e., map the combination of values to a single integer
-					combinations.put(lr, qualVal); // the bijection needs to be stored for later reporting
-				} else {
-					for (int k = 0; k < qualifierLength; k++) {
-						if (this.qualifierAggregation.equals("ignore")) { // ignore
-							mat[i][j] = mat[i][j] + array[i][j][k]; // duplicates were already filtered out in the statement filter, so just add
-						} else if (this.qualifierAggregation.equals("subtract")) { // subtract
-							if (!qualifierDocument && dataTypes.get(qualifier).equals("integer")) {
-								if (qualifierInteger[k] < 0) { // subtract weighted absolute value
-									mat[i][j] = mat[i][j] - (Math.abs(qualifierInteger[k]) * array[i][j][k]);
-								} else if (qualifierInteger[k] >= 0) { // add weighted absolute value
-									mat[i][j] = mat[i][j] + (Math.abs(qualifierInteger[k]) * array[i][j][k]);
-								}
-							} else if (!qualifierDocument && dataTypes.get(qualifier).equals("boolean")) {
-								if (qualifierInteger[k] == 0) { // zero category: subtract number of times this happens from edge weight
-									mat[i][j] = mat[i][j] - array[i][j][k];
-								} else if (qualifierInteger[k] > 0) { // one category: add number of times this happens to edge weight
-									mat[i][j] = mat[i][j] + array[i][j][k];
+						for (int k = 0; k < numLevels; k++) {
+							if (this.qualifierAggregation.equals("ignore")) { // ignore
+								mat[i][j] = mat[i][j] + array[i][j][k]; // duplicates were already filtered out in the statement filter, so just add
+							} else if (this.qualifierAggregation.equals("subtract")) { // subtract
+								if (!qualifierDocument && dataTypes.get(qualifier).equals("integer")) {
+									if (qualifierValues[k] < 0) { // subtract weighted absolute value
+										mat[i][j] = mat[i][j] - (Math.abs(qualifierValues[k]) * array[i][j][k]);
+									} else if (qualifierValues[k] >= 0) { // add weighted absolute value
+										mat[i][j] = mat[i][j] + (Math.abs(qualifierValues[k]) * array[i][j][k]);
+									}
+								} else if (!qualifierDocument && dataTypes.get(qualifier).equals("boolean")) {
+									if (qualifierValues[k] == 0) { // zero category: subtract number of times this happens from edge weight
+										mat[i][j] = mat[i][j] - array[i][j][k];
+									} else if (qualifierValues[k] > 0) { // one category: add number of times this happens to edge weight
+										mat[i][j] = mat[i][j] + array[i][j][k];
+									}
+								} else if (qualifierDocument || dataTypes.get(qualifier).equals("short text")) {
+									mat[i][j] = mat[i][j] + array[i][j][k]; // nothing to subtract because there is no negative mention with short text variables
 								}
-							} else if (qualifierDocument || dataTypes.get(qualifier).equals("short text")) {
-								mat[i][j] = mat[i][j] + array[i][j][k]; // nothing to subtract because there is no negative mention with short text variables
 							}
 						}
 					}
 				}
 			}
+		});
+
+		// the bijection between lexical ranks and combinations needs to be stored for later reporting
+		HashMap<Integer, ArrayList> combinations = new HashMap<Integer, ArrayList>();
+		if (qualVal != null) {
+			for (int i = 0; i < names1.length; i++) {
+				for (int j = 0; j < names2.length; j++) {
+					combinations.put((int) mat[i][j], qualVal);
+				}
+			}
 		}
 
 		// report combinations if necessary
@@ -1628,76 +1671,78 @@ public class Exporter {
 
 		// normalization
 		boolean integerBoolean = false;
+		if ((this.normalization.equals("activity") || this.normalization.equals("prominence")) && qualifierAggregation.equals("combine")) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"Normalization and \"combine\" yield uninterpretable results.",
+					"When exporting a network, the use of normalization and the qualifier setting \"combine\" were used together. These settings together yield results that cannot be interpreted in a meaningful way.");
+			Dna.logger.log(l);
+		}
 		if (this.normalization.equals("no")) {
 			integerBoolean = true;
 		} else if (this.normalization.equals("activity")) {
 			integerBoolean = false;
-			double currentDenominator;
-			for (int i = 0; i < names1.length; i++) {
-				currentDenominator = 0.0;
-				if (qualifierAggregation.equals("ignore")) { // iterate through columns of matrix and sum weighted values
-					for (int j = 0; j < names2.length; j++) {
-						currentDenominator = currentDenominator + mat[i][j];
-					}
-				} else if (qualifierAggregation.equals("combine")) { // iterate through columns of matrix and count how many are larger than one
-					LogEvent l = new LogEvent(Logger.WARNING,
-							"Normalization and \"combine\" yield uninterpretable results.",
-							"When exporting a network, the use of normalization and the qualifier setting \"combine\" were used together. These settings together yield results that cannot be interpreted in a meaningful way.");
-					Dna.logger.log(l);
-					for (int j = 0; j < names2.length; j++) {
-						if (mat[i][j] > 0.0) {
-							currentDenominator = currentDenominator + 1.0;
+			computeRowBlocks(names1.length, (fromRow, toRow) -> { // each block normalizes its own rows
+				double currentDenominator;
+				for (int i = fromRow; i < toRow; i++) {
+					currentDenominator = 0.0;
+					if (qualifierAggregation.equals("ignore")) { // iterate through columns of matrix and sum weighted values
+						for (int j = 0; j < names2.length; j++) {
+							currentDenominator = currentDenominator + mat[i][j];
 						}
-					}
-				} else if (qualifierAggregation.equals("subtract")) { // iterate through array and sum for different levels
-					for (int j = 0; j < names2.length; j++) {
-						for (int k = 0; k < qualifierLength; k++) {
-							currentDenominator = currentDenominator + array[i][j][k];
+					} else if (qualifierAggregation.equals("combine")) { // iterate through columns of matrix and count how many are larger than one
+						for (int j = 0; j < names2.length; j++) {
+							if (mat[i][j] > 0.0) {
+								currentDenominator = currentDenominator + 1.0;
+							}
+						}
+					} else if (qualifierAggregation.equals("subtract")) { // iterate through array and sum for different levels
+						for (int j = 0; j < names2.length; j++) {
+							for (int k = 0; k < numLevels; k++) {
+								currentDenominator = currentDenominator + array[i][j][k];
+							}
 						}
 					}
-				}
-				for (int j = 0; j < names2.length; j++) { // divide all values by current denominator
-					if (currentDenominator == 0) {
-						mat[i][j] = 0;
-					} else {
-						mat[i][j] = mat[i][j] / currentDenominator;
+					for (int j = 0; j < names2.length; j++) { // divide all values by current denominator
+						if (currentDenominator == 0) {
+							mat[i][j] = 0;
+						} else {
+							mat[i][j] = mat[i][j] / currentDenominator;
+						}
 					}
 				}
-			}
+			});
 		} else if (this.normalization.equals("prominence")) {
 			integerBoolean = false;
-			double currentDenominator;
-			for (int i = 0; i < names2.length; i++) {
-				currentDenominator = 0.0;
-				if (this.qualifierAggregation.equals("ignore")) { // iterate through rows of matrix and sum weighted values
-					for (int j = 0; j < names1.length; j++) {
-						currentDenominator = currentDenominator + mat[j][i];
-					}
-				} else if (this.qualifierAggregation.equals("combine")) { // iterate through rows of matrix and count how many are larger than one
-					LogEvent l = new LogEvent(Logger.WARNING,
-							"Normalization and \"combine\" yield uninterpretable results.",
-							"When exporting a network, the use of normalization and the qualifier setting \"combine\" were used together. These settings together yield results that cannot be interpreted in a meaningful way.");
-					Dna.logger.log(l);
-					for (int j = 0; j < names1.length; j++) {
-						if (mat[i][j] > 0.0) {
-							currentDenominator = currentDenominator + 1.0;
+			computeRowBlocks(names2.length, (fromColumn, toColumn) -> { // each block normalizes its own columns
+				double currentDenominator;
+				for (int i = fromColumn; i < toColumn; i++) {
+					currentDenominator = 0.0;
+					if (this.qualifierAggregation.equals("ignore")) { // iterate through rows of matrix and sum weighted values
+						for (int j = 0; j < names1.length; j++) {
+							currentDenominator = currentDenominator + mat[j][i];
 						}
-					}
-				} else if (this.qualifierAggregation.equals("subtract")) { // iterate through array and sum for different levels
-					for (int j = 0; j < names1.length; j++) {
-						for (int k = 0; k < qualifierLength; k++) {
-							currentDenominator = currentDenominator + array[j][i][k];
+					} else if (this.qualifierAggregation.equals("combine")) { // iterate through rows of matrix and count how many are larger than one
+						for (int j = 0; j < names1.length; j++) {
+							if (mat[j][i] > 0.0) {
+								currentDenominator = currentDenominator + 1.0;
+							}
+						}
+					} else if (this.qualifierAggregation.equals("subtract")) { // iterate through array and sum for different levels
+						for (int j = 0; j < names1.length; j++) {
+							for (int k = 0; k < numLevels; k++) {
+								currentDenominator = currentDenominator + array[j][i][k];
+							}
 						}
 					}
-				}
-				for (int j = 0; j < names1.length; j++) { // divide all values by current denominator
-					if (currentDenominator == 0) {
-						mat[j][i] = 0;
-					} else {
-						mat[j][i] = mat[j][i] / currentDenominator;
+					for (int j = 0; j < names1.length; j++) { // divide all values by current denominator
+						if (currentDenominator == 0) {
+							mat[j][i] = 0;
+						} else {
+							mat[j][i] = mat[j][i] / currentDenominator;
+						}
 					}
 				}
-			}
+			});
 		}
 
 		// create Matrix object and return
@@ -1767,7 +1812,7 @@ public class Exporter {
 			}
 		}
 
-		// save the labels of the variables and qualifier and put indices in hash maps for fast retrieval
+		// save the labels of the variables and qualifier
 		String[] var1Values = extractLabels(Exporter.this.filteredStatements, Exporter.this.variable1, Exporter.this.variable1Document);
 		String[] var2Values = extractLabels(Exporter.this.filteredStatements, Exporter.this.variable2, Exporter.this.variable2Document);
 		String[] qualValues = new String[] { "" };
@@ -1775,28 +1820,13 @@ public class Exporter {
 			 qualValues = extractLabels(Exporter.this.filteredStatements, Exporter.this.qualifier, Exporter.this.qualifierDocument);
 		}
 		if (Exporter.this.qualifier != null && dataTypes.get(Exporter.this.qualifier).equals("integer")) {
-			int[] qual = Exporter.this.originalStatements.stream().mapToInt(s -> (int) s.get(Exporter.this.qualifier)).distinct().sorted().toArray();
+			int[] qual = getIntegerValues(Exporter.this.qualifier);
 			if (qual.length < qualValues.length) {
 				qualValues = IntStream.rangeClosed(qual[0], qual[qual.length - 1])
 						.mapToObj(String::valueOf)
 						.toArray(String[]::new);
 			}
 		}
-		HashMap<String, Integer> var1Map = new HashMap<>();
-		for (int i = 0; i < var1Values.length; i++) {
-			var1Map.put(var1Values[i], i);
-		}
-		HashMap<String, Integer> var2Map = new HashMap<>();
-		for (int i = 0; i < var2Values.length; i++) {
-			var2Map.put(var2Values[i], i);
-		}
-		HashMap<String, Integer> qualMap = new HashMap<>();
-		if (Exporter.this.qualifier != null) {
-			for (int i = 0; i < qualValues.length; i++) {
-				qualMap.put(qualValues[i], i);
-			}
-		}
-
 		// create an array list of empty Matrix results, store all date-time stamps in them, and save indices in a hash map
 		Exporter.this.matrixResults = new ArrayList<>();
 		if (Exporter.this.kernel.equals("gaussian")) { // for each mid-point gamma, create an empty Matrix and save the start, mid, and end time points in it as defined by the start and end of the whole time range; the actual matrix is injected later
@@ -1865,249 +1895,78 @@ public class Exporter {
 			}
 		}
 
-		// create a 3D array, go through the statements, and populate the array
-		@SuppressWarnings("unchecked")
-		ArrayList<ExportStatement>[][][] X = (ArrayList<ExportStatement>[][][]) new ArrayList<?>[var1Values.length][var2Values.length][qualValues.length];
-		for (int i = 0; i < var1Values.length; i++) {
-			for (int j = 0; j < var2Values.length; j++) {
-				if (Exporter.this.qualifier == null) {
-					X[i][j][0] = new ArrayList<ExportStatement>();
-				} else {
-					for (int k = 0; k < qualValues.length; k++) {
-						X[i][j][k] = new ArrayList<ExportStatement>();
-					}
-				}
-			}
-		}
+		// locate the statements in a time-indexed array of statement cells
+		KernelSmoother smoother = createKernelSmoother(Exporter.this.filteredStatements, var1Values, var2Values, qualValues, false);
 
-		Exporter.this.filteredStatements.stream().forEach(s -> {
-			int var1Index = -1;
-			if (Exporter.this.variable1Document) {
-				if (Exporter.this.variable1.equals("author")) {
-					var1Index = var1Map.get(s.getAuthor());
-				} else if (Exporter.this.variable1.equals("source")) {
-					var1Index = var1Map.get(s.getSource());
-				} else if (Exporter.this.variable1.equals("section")) {
-					var1Index = var1Map.get(s.getSection());
-				} else if (Exporter.this.variable1.equals("type")) {
-					var1Index = var1Map.get(s.getType());
-				} else if (Exporter.this.variable1.equals("id")) {
-					var1Index = var1Map.get(s.getDocumentIdAsString());
-				} else if (Exporter.this.variable1.equals("title")) {
-					var1Index = var1Map.get(s.getTitle());
-				}
-			} else {
-				var1Index = var1Map.get(((Entity) s.get(Exporter.this.variable1)).getValue());
-			}
-			int var2Index = -1;
-			if (Exporter.this.variable2Document) {
-				if (Exporter.this.variable2.equals("author")) {
-					var2Index = var2Map.get(s.getAuthor());
-				} else if (Exporter.this.variable2.equals("source")) {
-					var2Index = var2Map.get(s.getSource());
-				} else if (Exporter.this.variable2.equals("section")) {
-					var2Index = var2Map.get(s.getSection());
-				} else if (Exporter.this.variable2.equals("type")) {
-					var2Index = var2Map.get(s.getType());
-				} else if (Exporter.this.variable2.equals("id")) {
-					var2Index = var2Map.get(s.getDocumentIdAsString());
-				} else if (Exporter.this.variable2.equals("title")) {
-					var2Index = var2Map.get(s.getTitle());
+		// two-mode networks: weight of each qualifier level in the qualifier aggregation
+		double[] levelWeights = new double[qualValues.length];
+		for (int k = 0; k < qualValues.length; k++) {
+			if (Exporter.this.qualifierAggregation.equals("ignore")) {
+				levelWeights[k] = 1.0;
+			} else if (Exporter.this.qualifierAggregation.equals("subtract")) {
+				if (Exporter.this.dataTypes.get(Exporter.this.qualifier).equals("boolean")) {
+					levelWeights[k] = (((double) k) - 0.5) * 2;
+				} else if (Exporter.this.dataTypes.get(Exporter.this.qualifier).equals("integer")) {
+					levelWeights[k] = k;
+				} else if (Exporter.this.dataTypes.get(Exporter.this.qualifier).equals("short text")) {
+					levelWeights[k] = 1.0;
 				}
-			} else {
-				var2Index = var2Map.get(((Entity) s.get(Exporter.this.variable2)).getValue());
 			}
-			int qualIndex = -1;
-			if (Exporter.this.qualifierDocument && Exporter.this.qualifier != null) {
-				if (Exporter.this.qualifier.equals("author")) {
-					qualIndex = qualMap.get(s.getAuthor());
-				} else if (Exporter.this.qualifier.equals("source")) {
-					qualIndex = qualMap.get(s.getSource());
-				} else if (Exporter.this.qualifier.equals("section")) {
-					qualIndex = qualMap.get(s.getSection());
-				} else if (Exporter.this.qualifier.equals("type")) {
-					qualIndex = qualMap.get(s.getType());
-				} else if (Exporter.this.qualifier.equals("id")) {
-					qualIndex = qualMap.get(s.getDocumentIdAsString());
-				} else if (Exporter.this.qualifier.equals("title")) {
-					qualIndex = qualMap.get(s.getTitle());
-				}
-			} else {
-				if (Exporter.this.qualifier == null) {
-					qualIndex = 0;
-				} else if (dataTypes.get(Exporter.this.qualifier).equals("integer") || dataTypes.get(Exporter.this.qualifier).equals("boolean")) {
-					qualIndex = qualMap.get(String.valueOf((int) s.get(Exporter.this.qualifier)));
-				} else {
-					qualIndex = qualMap.get(((Entity) s.get(Exporter.this.qualifier)).getValue());
-				}
-			}
-			X[var1Index][var2Index][qualIndex].add(s);
-		});
+		}
 
 		// process each matrix result in a parallel stream instead of for-loop and add calculation results
 		ArrayList<Matrix> processedResults = ProgressBar.wrap(Exporter.this.matrixResults.parallelStream(), "Kernel smoothing")
-				.map(matrixResult -> processTimeSlice(matrixResult, X))
+				.map(matrixResult -> processTimeSlice(matrixResult, smoother, levelWeights))
 				.collect(Collectors.toCollection(ArrayList::new));
 		Exporter.this.matrixResults = processedResults;
 	}
 
+	/**
+	 * Create a kernel smoother for a list of statements, using the time window, window size, and kernel function of the
+	 * exporter. The kernel smoother stores the date and time of the statements for each i-j-k combination of the labels
+	 * of the first variable, the second variable, and the qualifier.
+	 *
+	 * @param statements The statements, sorted by date and time.
+	 * @param var1Values The labels of the first variable.
+	 * @param var2Values The labels of the second variable.
+	 * @param qualValues The qualifier levels, or an array with a single empty string if there is no qualifier.
+	 * @param separateSlices Treat each time slice as a separate network of the statements strictly inside the slice?
+	 *   See {@link KernelSmoother}.
+	 * @return The kernel smoother.
+	 */
+	KernelSmoother createKernelSmoother(ArrayList<ExportStatement> statements, String[] var1Values, String[] var2Values, String[] qualValues, boolean separateSlices) {
+		int[] var1Indices = locateLabels(statements, this.variable1, this.variable1Document, var1Values);
+		int[] var2Indices = locateLabels(statements, this.variable2, this.variable2Document, var2Values);
+		int[] qualIndices = new int[statements.size()];
+		if (this.qualifier != null) {
+			qualIndices = locateLabels(statements, this.qualifier, this.qualifierDocument, qualValues);
+		}
+		boolean gradedLevels = this.qualifier != null && !this.dataTypes.get(this.qualifier).equals("short text") && !this.qualifierDocument;
+		return new KernelSmoother(statements, var1Indices, var2Indices, qualIndices, var1Values.length, var2Values.length,
+				qualValues.length, gradedLevels, this.timeWindow, this.windowSize, this.kernel, separateSlices);
+	}
+
 	/**
 	 * Compute a one-mode or two-mode network matrix with kernel-weighting and inject it into a {@link Matrix} object.
-	 * To compute the kernel-weighted network projection, the 3D array X with statement array lists corresponding to
-	 * each i-j-k combination is needed because it stores the statement data including their date-time stamp, and
-	 * the current matrix result is needed because it stores the mid-point gamma. The kernel-weighted temporal distance
-	 * between the statement time and gamma is computed and used in creating the network.
+	 * The kernel smoother stores the date and time of the statements corresponding to each i-j-k combination, and the
+	 * current matrix result stores the mid-point gamma and the bounds of the time slice. The kernel-weighted temporal
+	 * distance between the statement time and gamma is used in creating the network.
 	 *
 	 * @param matrixResult The matrix result into which the network matrix will be inserted.
-	 * @param X A 3D array containing the data.
+	 * @param smoother The kernel smoother containing the data.
+	 * @param levelWeights The weight of each qualifier level in two-mode networks.
 	 * @return The matrix result after inserting the network matrix.
 	 */
-	public Matrix processTimeSlice(Matrix matrixResult, ArrayList<ExportStatement>[][][] X) {
+	private Matrix processTimeSlice(Matrix matrixResult, KernelSmoother smoother, double[] levelWeights) {
 		if (this.networkType.equals("twomode")) {
-			double[][] m = new double[X.length][X[0].length];
-			for (int i = 0; i < X.length; i++) {
-				for (int j = 0; j < X[0].length; j++) {
-					for (int k = 0; k < X[0][0].length; k++) {
-						for (int t = 0; t < X[i][j][k].size(); t++) {
-							if (Exporter.this.kernel.equals("gaussian") || (!X[i][j][k].get(t).getDateTime().isBefore(matrixResult.getStart()) && !X[i][j][k].get(t).getDateTime().isAfter(matrixResult.getStop()))) { // for computational efficiency, don't include statements outside of temporal bandwidth in computations if not necessary
-								if (Exporter.this.qualifierAggregation.equals("ignore")) {
-									m[i][j] = m[i][j] + zeta(X[i][j][k].get(t).getDateTime(), matrixResult.getDateTime(), Exporter.this.windowSize, Exporter.this.timeWindow, Exporter.this.kernel);
-								} else if (Exporter.this.qualifierAggregation.equals("subtract")) {
-									if (Exporter.this.dataTypes.get(Exporter.this.qualifier).equals("boolean")) {
-										m[i][j] = m[i][j] + (((double) k) - 0.5) * 2 * zeta(X[i][j][k].get(t).getDateTime(), matrixResult.getDateTime(), Exporter.this.windowSize, Exporter.this.timeWindow, Exporter.this.kernel);
-									} else if (Exporter.this.dataTypes.get(Exporter.this.qualifier).equals("integer")) {
-										m[i][j] = m[i][j] + k * zeta(X[i][j][k].get(t).getDateTime(), matrixResult.getDateTime(), Exporter.this.windowSize, Exporter.this.timeWindow, Exporter.this.kernel);
-									} else if (Exporter.this.dataTypes.get(Exporter.this.qualifier).equals("short text")) {
-										m[i][j] = m[i][j] + zeta(X[i][j][k].get(t).getDateTime(), matrixResult.getDateTime(), Exporter.this.windowSize, Exporter.this.timeWindow, Exporter.this.kernel);
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-			matrixResult.setMatrix(m);
+			matrixResult.setMatrix(smoother.computeTwoModeMatrix(matrixResult, levelWeights));
 		} else if (this.networkType.equals("onemode")) {
-			double[][] m = new double[X.length][X.length];
-			double[][] norm = new double[X.length][X.length];
-			for (int i = 0; i < X.length; i++) {
-				for (int i2 = 0; i2 < X.length; i2++) {
-					for (int j = 0; j < X[0].length; j++) {
-						for (int k = 0; k < X[0][0].length; k++) {
-							if (Exporter.this.normalization.equals("average") && X[i][j][k].size() + X[i2][j][k].size() != 0.0) {
-								norm[i][i2] = norm[i][i2] + 2.0 / (X[i][j][k].size() + X[i2][j][k].size());
-							}
-							for (int k2 = 0; k2 < X[0][0].length; k2++) {
-								double qsim = 1.0;
-								if (Exporter.this.qualifier != null && !dataTypes.get(Exporter.this.qualifier).equals("short text") && !Exporter.this.qualifierDocument) {
-									qsim = Math.abs(1.0 - ((double) Math.abs(k - k2) / (double) Math.abs(X[0][0].length - 1)));
-								}
-								double qdiff = 1.0 - qsim;
-								for (int t = 0; t < X[i][j][k].size(); t++) {
-									if (Exporter.this.kernel.equals("gaussian") || (!X[i][j][k].get(t).getDateTime().isBefore(matrixResult.getStart()) && !X[i][j][k].get(t).getDateTime().isAfter(matrixResult.getStop()))) { // for computational efficiency, don't include statements outside of temporal bandwidth in computations if not necessary
-										double z1 = zeta(X[i][j][k].get(t).getDateTime(), matrixResult.getDateTime(), Exporter.this.windowSize, Exporter.this.timeWindow, Exporter.this.kernel);
-										for (int t2 = 0; t2 < X[i2][j][k2].size(); t2++) {
-											if (Exporter.this.kernel.equals("gaussian") || (!X[i2][j][k2].get(t2).getDateTime().isBefore(matrixResult.getStart()) && !X[i2][j][k2].get(t2).getDateTime().isAfter(matrixResult.getStop()))) { // for computational efficiency, don't include statements outside of temporal bandwidth in computations if not necessary
-												double z2 = zeta(X[i2][j][k2].get(t2).getDateTime(), matrixResult.getDateTime(), Exporter.this.windowSize, Exporter.this.timeWindow, Exporter.this.kernel);
-												double z = Math.sqrt(z1 * z2);
-												if (Exporter.this.qualifierAggregation.equals("congruence")) {
-													m[i][i2] = m[i][i2] + qsim * z;
-												} else if (Exporter.this.qualifierAggregation.equals("conflict")) {
-													m[i][i2] = m[i][i2] + qdiff * z;
-												} else if (Exporter.this.qualifierAggregation.equals("subtract")) {
-													m[i][i2] = m[i][i2] + qsim * z - qdiff * z;
-												} else if (Exporter.this.qualifierAggregation.equals("ignore")) {
-													m[i][i2] = m[i][i2] + z;
-												}
-											}
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-			if (Exporter.this.normalization.equals("average")) {
-				for (int i = 0; i < X.length; i++) {
-					for (int i2 = 0; i2 < X.length; i2++) {
-						if (m[i][i2] != 0.0 && norm[i][i2] != 0.0) {
-							m[i][i2] = m[i][i2] * norm[i][i2];
-						}
-					}
-				}
-			}
-			matrixResult.setMatrix(m);
+			double[][][] m = smoother.computeOneModeMatrices(matrixResult, null, new String[] { this.qualifierAggregation }, this.normalization.equals("average"));
+			matrixResult.setMatrix(m[0]);
 		}
 		return matrixResult;
 	}
 
-    /**
-     * Return a standardized time weight after applying a kernel function to a time difference.
-     *
-     * @param t The current time in the time window.
-     * @param gamma The mid-point of the time window.
-     * @param w The width of the time window, which defines the beginning and end of the time window.
-     * @param timeWindow The time unit. Valid values are {@code "seconds"}, {@code "minutes"}, {@code "hours"}, {@code "days"}, {@code "weeks"}, {@code "months"}, and {@code "years"}.
-     * @param kernel The kernel function ({@code "uniform"}, {@code "epanechnikov"}, {@code "triangular"}, or {@code "gaussian"}).
-     * @return Kernel-weighted time difference between time points t and gamma.
-     */
-	private double zeta(LocalDateTime t, LocalDateTime gamma, int w, String timeWindow, String kernel) {
-		Duration duration = Duration.between(t, gamma);
-		Period period;
-		long diff = 0;
-        switch (timeWindow) {
-            case "seconds":
-                diff = duration.toSeconds();
-                break;
-            case "minutes":
-                diff = duration.toMinutes();
-                break;
-            case "hours":
-                diff = duration.toHours();
-                break;
-			case "days":
-				diff = duration.toDays();
-				break;
-			case "weeks":
-				diff = duration.toDays() / 7;
-				break;
-			case "months":
-				period = Period.between(t.toLocalDate(), gamma.toLocalDate());
-				diff = period.getMonths() + (long) period.getYears() * (long) 12;
-				break;
-			case "years":
-				period = Period.between(t.toLocalDate(), gamma.toLocalDate());
-				diff = period.getYears();
-				break;
-        }
-
-		double diff_std = 2 * (double) diff / (double) w; // standardised time difference between -1 and 1
-
-		if (kernel.equals("uniform")) {
-			if (diff_std >= -1 && diff_std <= 1) {
-				return 0.5;
-			} else {
-				return 0.0;
-			}
-		} else if (kernel.equals("epanechnikov")) {
-			if (diff_std >= -1 && diff_std <= 1) {
-				return 0.75 * (1.0 - (diff_std * diff_std));
-			} else {
-				return 0.0;
-			}
-		} else if (kernel.equals("triangular")) {
-			if (diff_std >= -1 && diff_std <= 1) {
-				return Math.abs(1.0 - diff_std);
-			} else {
-				return 0.0;
-			}
-		} else if (kernel.equals("gaussian")) {
-			return (1.0 / Math.sqrt(2.0 * Math.PI)) * Math.exp(-0.5 * diff_std * diff_std);
-		}
-		return 0.0;
-	}
-
 	/**
 	 * Normalize all values in each results matrix to make them sum to 1.0. Useful for phase transition methods.
 	 */
@@ -2148,7 +2007,7 @@ public class Exporter {
 		// precompute eigenvalues to avoid race conditions
 		if (distanceMethod.equals("spectral")) {
 			ProgressBar.wrap(IntStream.range(0, Exporter.this.matrixResults.size()).parallel(), "Normalized eigenvalues").forEach(i -> {
-				eigenvalues[i] = computeNormalizedEigenvalues(Exporter.this.matrixResults.get(i).getMatrix(), "ojalgo"); // TODO: try out "apache", debug, and compare speed
+				eigenvalues[i] = computeNormalizedEigenvalues(Exporter.this.matrixResults.get(i).getMatrix());
 			});
 		}
 
@@ -2172,11 +2031,21 @@ public class Exporter {
 	}
 
 	/**
-	 * Create a series of one-mode or two-mode networks using a moving time window.
+	 * Create a series of one-mode or two-mode networks using a moving time window. The boundaries of each time window
+	 * are found by binary search on the sorted statement timeline. Time windows that consist of a contiguous range of
+	 * statements on the timeline are derived from running incidence counts ({@link SlidingWindowIncidence}), which are
+	 * updated by adding the statements that enter the window and subtracting the statements that leave the window.
 	 */
 	public void computeTimeWindowMatrices() {
 		ArrayList<Matrix> timeWindowMatrices = new ArrayList<Matrix>();
 		Collections.sort(this.filteredStatements); // probably not necessary, but can't hurt to have it
+		long[] timeline = new long[this.filteredStatements.size()]; // sorted date/time of each statement in seconds since 1970
+		long[] dateTimes = this.statementTable.getDateTimes();
+		for (int i = 0; i < timeline.length; i++) {
+			timeline[i] = dateTimes[this.filteredStatements.get(i).getRow()];
+		}
+		SlidingWindowIncidence window = null; // running counts; created when the first contiguous window is needed
+		int[] qualifierInteger = null;
 		ArrayList<ExportStatement> currentWindowStatements = new ArrayList<ExportStatement>(); // holds all statements in the current time window
 		ArrayList<ExportStatement> startStatements = new ArrayList<ExportStatement>(); // holds all statements corresponding to the time stamp of the first statement in the window
 		ArrayList<ExportStatement> stopStatements = new ArrayList<ExportStatement>(); // holds all statements corresponding to the time stamp of the last statement in the window
@@ -2191,39 +2060,45 @@ public class Exporter {
 							"When exporting a network, the time window size must be at least two events. With one statement event, there can be no ties in the network.");
 					Dna.logger.log(l);
 				}
-				int iteratorStart, iteratorStop, i, j;
-				int samples;
+				int iteratorStart, iteratorStop, i;
 				for (int t = 0; t < this.filteredStatements.size(); t++) {
 					int halfDuration = (int) Math.floor(this.windowSize / 2);
 					iteratorStart = t - halfDuration;
 					iteratorStop = t + halfDuration;
 
-					startStatements.clear();
-					stopStatements.clear();
-					beforeStatements.clear();
-					afterStatements.clear();
 					if (iteratorStart >= 0 && iteratorStop < this.filteredStatements.size()) {
-						for (i = 0; i < this.filteredStatements.size(); i++) {
-							if (this.filteredStatements.get(i).getDateTime().equals(this.filteredStatements.get(iteratorStart).getDateTime())) {
-								startStatements.add(this.filteredStatements.get(i));
-							}
-							if (this.filteredStatements.get(i).getDateTime().equals(this.filteredStatements.get(iteratorStop).getDateTime())) {
-								stopStatements.add(this.filteredStatements.get(i));
+						// statements with the same time stamp as the first and last statement in the window: [first, end)
+						int startFirst = firstIndexNotBefore(timeline, timeline[iteratorStart]);
+						int startEnd = firstIndexAfter(timeline, timeline[iteratorStart]);
+						int stopFirst = firstIndexNotBefore(timeline, timeline[iteratorStop]);
+						int stopEnd = firstIndexAfter(timeline, timeline[iteratorStop]);
+
+						Matrix[] m;
+						if (startFirst == iteratorStart && startEnd <= t && stopFirst > t && stopEnd == iteratorStop + 1) {
+							// no ties across the window boundaries, so the window is the contiguous range around t
+							if (window == null) {
+								window = createSlidingWindow();
+								qualifierInteger = this.qualifierIntegerLevels();
 							}
-							if (this.filteredStatements.get(i).getDateTime().isAfter(this.filteredStatements.get(iteratorStart).getDateTime()) && i < t) {
+							window.moveTo(iteratorStart, iteratorStop + 1);
+							LocalDateTime first = getDocumentDateTime(this.filteredStatements.get(iteratorStart).getDocumentId());
+							LocalDateTime last = getDocumentDateTime(this.filteredStatements.get(iteratorStop).getDocumentId());
+							m = computeEventWindowMatrices(window, qualifierInteger, null, first, last);
+						} else {
+							// ties at the window boundaries: draw the remaining statements randomly from the tied statements
+							startStatements.clear();
+							stopStatements.clear();
+							beforeStatements.clear();
+							afterStatements.clear();
+							startStatements.addAll(this.filteredStatements.subList(startFirst, startEnd));
+							stopStatements.addAll(this.filteredStatements.subList(stopFirst, stopEnd));
+							for (i = startEnd; i < t; i++) {
 								beforeStatements.add(this.filteredStatements.get(i));
 							}
-							if (this.filteredStatements.get(i).getDateTime().isBefore(this.filteredStatements.get(iteratorStop).getDateTime()) && i > t) {
+							for (i = t + 1; i < stopFirst; i++) {
 								afterStatements.add(this.filteredStatements.get(i));
 							}
-						}
-						if (startStatements.size() + beforeStatements.size() > halfDuration || stopStatements.size() + afterStatements.size() > halfDuration) {
-							samples = 1; // this number should be larger than the one below, for example 10 (for 10 random combinations of start and stop statements)
-						} else {
-							samples = 1;
-						}
 
-						for (j = 0; j < samples; j++) {
 							// add statements from start, before, after, and stop set to current window
 							currentWindowStatements.clear();
 							Collections.shuffle(startStatements);
@@ -2237,50 +2112,15 @@ public class Exporter {
 							for (i = 0; i < halfDuration - afterStatements.size(); i++) {
 								currentWindowStatements.add(stopStatements.get(i));
 							}
+							LocalDateTime first = getDocumentDateTime(currentWindowStatements.get(0).getDocumentId());
+							LocalDateTime last = getDocumentDateTime(currentWindowStatements.get(currentWindowStatements.size() - 1).getDocumentId());
+							m = computeEventWindowMatrices(null, null, currentWindowStatements, first, last);
+						}
 
-							// convert time window to network and add to list
-							if (currentWindowStatements.size() > 0) {
-								int firstDocId = currentWindowStatements.get(0).getDocumentId();
-								LocalDateTime first = null;
-								for (i = 0; i < this.documents.size(); i++) {
-									if (firstDocId == this.documents.get(i).getId()) {
-										first = documents.get(i).getDateTime();
-										break;
-									}
-								}
-								int lastDocId = currentWindowStatements.get(currentWindowStatements.size() - 1).getDocumentId();
-								LocalDateTime last = null;
-								for (i = this.documents.size() - 1; i > -1; i--) {
-									if (lastDocId == this.documents.get(i).getId()) {
-										last = this.documents.get(i).getDateTime();
-										break;
-									}
-								}
-								Matrix m;
-								if (this.networkType.equals("twomode")) {
-									m = computeTwoModeMatrix(currentWindowStatements, first, last);
-									m.setDateTime(this.filteredStatements.get(t).getDateTime());
-									m.setNumStatements(currentWindowStatements.size());
-									timeWindowMatrices.add(m);
-								} else {
-									if (qualifierAggregation.equals("congruence & conflict")) { // note: the networks are saved in alternating order and need to be disentangled
-										m = computeOneModeMatrix(currentWindowStatements, "congruence", first, last);
-										m.setDateTime(this.filteredStatements.get(t).getDateTime());
-										m.setNumStatements(currentWindowStatements.size());
-										timeWindowMatrices.add(m);
-										m = computeOneModeMatrix(currentWindowStatements, "conflict", first, last);
-										m.setDateTime(this.filteredStatements.get(t).getDateTime());
-										m.setNumStatements(currentWindowStatements.size());
-										timeWindowMatrices.add(m);
-									} else {
-										m = computeOneModeMatrix(currentWindowStatements, this.qualifierAggregation, first, last);
-										m.setDateTime(this.filteredStatements.get(t).getDateTime());
-										m.setNumStatements(currentWindowStatements.size());
-										timeWindowMatrices.add(m);
-									}
-
-								}
-							}
+						// convert time window to network and add to list
+						for (int j = 0; j < m.length; j++) {
+							m[j].setDateTime(this.filteredStatements.get(t).getDateTime());
+							timeWindowMatrices.add(m[j]);
 						}
 					}
 					pb.stepTo(t + 1);
@@ -2295,13 +2135,11 @@ public class Exporter {
 				LocalDateTime currentTime = this.startDateTime; // current time while progressing through list of statements
 				LocalDateTime windowStart; // start of the time window
 				LocalDateTime windowStop; // end of the time window
-				LocalDateTime iTime; // time of the statement to be potentially added to the time slice
 				int addition = 0;
 				while (!currentTime.isAfter(stopCalendar)) {
 					LocalDateTime matrixTime = currentTime;
 					windowStart = matrixTime;
 					windowStop = matrixTime;
-					currentWindowStatements.clear();
 					addition = (int) Math.round(((double) windowSize - 1) / 2);
 					if (timeWindow.equals("seconds")) {
 						windowStart = windowStart.minusSeconds(addition);
@@ -2333,23 +2171,26 @@ public class Exporter {
 						currentTime = currentTime.plusYears(1);
 					}
 					if (!windowStart.isBefore(startCalendar) && !windowStop.isAfter(stopCalendar)) {
-						for (int i = 0; i < this.filteredStatements.size(); i++) {
-							iTime = this.filteredStatements.get(i).getDateTime();
-							if (!iTime.isBefore(windowStart) && !iTime.isAfter(windowStop)) {
-								currentWindowStatements.add(this.filteredStatements.get(i));
+						// the statements in the window form a contiguous range on the sorted timeline: [from, to)
+						// (the timeline has whole seconds, so a window start with a fraction of a second is rounded up)
+						int from = firstIndexNotBefore(timeline, windowStart.toEpochSecond(ZoneOffset.UTC) + (windowStart.getNano() > 0 ? 1 : 0));
+						int to = firstIndexAfter(timeline, windowStop.toEpochSecond(ZoneOffset.UTC));
+						Matrix m;
+						if (from < to) {
+							if (window == null) {
+								window = createSlidingWindow();
+								qualifierInteger = this.qualifierIntegerLevels();
 							}
+							window.moveTo(from, to);
+							m = computeWindowMatrix(window, qualifierInteger, this.qualifierAggregation, windowStart, windowStop);
+						} else if (this.networkType.equals("twomode")) {
+							m = computeTwoModeMatrix(currentWindowStatements, windowStart, windowStop); // empty list
+						} else {
+							m = computeOneModeMatrix(currentWindowStatements, this.qualifierAggregation, windowStart, windowStop); // empty list
 						}
-						// if (currentWindowStatements.size() > 0) {
-							Matrix m;
-							if (this.networkType.equals("twomode")) {
-								m = computeTwoModeMatrix(currentWindowStatements, windowStart, windowStop);
-							} else {
-								m = computeOneModeMatrix(currentWindowStatements, this.qualifierAggregation, windowStart, windowStop);
-							}
-							m.setDateTime(matrixTime);
-							m.setNumStatements(currentWindowStatements.size());
-							timeWindowMatrices.add(m);
-						// }
+						m.setDateTime(matrixTime);
+						m.setNumStatements(to - from);
+						timeWindowMatrices.add(m);
 					}
 					percent = 100 * (currentTime.toEpochSecond(ZoneOffset.UTC) - startCalendar.toEpochSecond(ZoneOffset.UTC)) / (stopCalendar.toEpochSecond(ZoneOffset.UTC) - startCalendar.toEpochSecond(ZoneOffset.UTC));
 					pb.stepTo(percent);
@@ -2358,7 +2199,136 @@ public class Exporter {
 		}
 		this.matrixResults = timeWindowMatrices;
 	}
-	
+
+	/**
+	 * Compute the network matrix or matrices of a time window in the event time window algorithm. For one-mode
+	 * networks with qualifier aggregation {@code "congruence & conflict"}, a congruence and a conflict network are
+	 * computed (in this order); otherwise a single network is computed.
+	 *
+	 * @param window The running counts of the time window, or {@code null} if the list of statements should be used.
+	 * @param qualifierInteger The boolean or integer qualifier levels (only needed if {@code window} is not
+	 *   {@code null}).
+	 * @param windowStatements The statements in the time window (only needed if {@code window} is {@code null}).
+	 * @param first Date and time of the first statement in the window.
+	 * @param last Date and time of the last statement in the window.
+	 * @return An array of matrices with the number of statements set.
+	 */
+	private Matrix[] computeEventWindowMatrices(SlidingWindowIncidence window, int[] qualifierInteger, ArrayList<ExportStatement> windowStatements, LocalDateTime first, LocalDateTime last) {
+		String[] aggregations;
+		if (!this.networkType.equals("twomode") && this.qualifierAggregation.equals("congruence & conflict")) { // note: the networks are saved in alternating order and need to be disentangled
+			aggregations = new String[] {"congruence", "conflict"};
+		} else {
+			aggregations = new String[] {this.qualifierAggregation};
+		}
+		Matrix[] m = new Matrix[aggregations.length];
+		for (int i = 0; i < aggregations.length; i++) {
+			if (window != null) {
+				m[i] = computeWindowMatrix(window, qualifierInteger, aggregations[i], first, last);
+				m[i].setNumStatements(window.size());
+			} else if (this.networkType.equals("twomode")) {
+				m[i] = computeTwoModeMatrix(windowStatements, first, last);
+				m[i].setNumStatements(windowStatements.size());
+			} else {
+				m[i] = computeOneModeMatrix(windowStatements, aggregations[i], first, last);
+				m[i].setNumStatements(windowStatements.size());
+			}
+		}
+		return m;
+	}
+
+	/**
+	 * Compute the network matrix of the current (non-empty) time window from its running incidence counts.
+	 *
+	 * @param window The running counts of the time window.
+	 * @param qualifierInteger The boolean or integer qualifier levels (see {@link #qualifierIntegerLevels()}).
+	 * @param aggregation Qualifier aggregation for one-mode networks.
+	 * @param start Start date/time.
+	 * @param stop End date/time.
+	 * @return {@link Matrix Matrix} object containing the network matrix of the time window.
+	 */
+	private Matrix computeWindowMatrix(SlidingWindowIncidence window, int[] qualifierInteger, String aggregation, LocalDateTime start, LocalDateTime stop) {
+		SparseIncidence incidence = window.toSparseIncidence();
+		if (this.networkType.equals("twomode")) {
+			return computeTwoModeMatrix(incidence, window.getRowLabels(), window.getColumnLabels(), window.getLevelLabels(), qualifierInteger, start, stop);
+		} else {
+			return computeOneModeMatrix(incidence, window.getRowLabels(), qualifierInteger, aggregation, start, stop);
+		}
+	}
+
+	/**
+	 * Create running incidence counts for time windows over the filtered statements, which must be sorted by date and
+	 * time. The labels and qualifier levels of all filtered statements are extracted once, and each statement is
+	 * located among them.
+	 *
+	 * @return A {@link SlidingWindowIncidence} object with an empty window.
+	 */
+	private SlidingWindowIncidence createSlidingWindow() {
+		String[] names1 = this.extractLabels(this.filteredStatements, this.variable1, this.variable1Document);
+		String[] names2 = this.extractLabels(this.filteredStatements, this.variable2, this.variable2Document);
+		String[] qualifierString = this.qualifierStringLevels(this.filteredStatements);
+		int[] qualifierInteger = this.qualifierIntegerLevels();
+		int numLevels = qualifierString == null ? qualifierInteger.length : qualifierString.length;
+		int[][] indices = this.locateStatements(this.filteredStatements, names1, names2, qualifierString, qualifierInteger);
+		return new SlidingWindowIncidence(names1, names2, qualifierString, numLevels, indices[0], indices[1], indices[2],
+				this.isolates, this.qualifierDocument); // document-level qualifier levels are specific to each window
+	}
+
+	/**
+	 * Find the first position on a sorted timeline that is not before a given date and time.
+	 *
+	 * @param timeline Sorted date/time stamps in seconds since 1 January 1970.
+	 * @param time The date and time to search for in seconds since 1 January 1970.
+	 * @return The index of the first element that is equal to or after {@code time}, or the length of the timeline.
+	 */
+	private static int firstIndexNotBefore(long[] timeline, long time) {
+		int low = 0;
+		int high = timeline.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (timeline[middle] < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Find the first position on a sorted timeline that is after a given date and time.
+	 *
+	 * @param timeline Sorted date/time stamps in seconds since 1 January 1970.
+	 * @param time The date and time to search for in seconds since 1 January 1970.
+	 * @return The index of the first element that is after {@code time}, or the length of the timeline.
+	 */
+	private static int firstIndexAfter(long[] timeline, long time) {
+		int low = 0;
+		int high = timeline.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (timeline[middle] > time) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Look up the date and time of a document.
+	 *
+	 * @param documentId The ID of the document.
+	 * @return The date and time of the document, or {@code null} if the document is unknown.
+	 */
+	private LocalDateTime getDocumentDateTime(int documentId) {
+		Integer index = this.docMap.get(documentId);
+		if (index == null) {
+			return null;
+		}
+		return this.documents.get(index).getDateTime();
+	}
+
 	/**
 	 * Sets the qualifier aggregation value.
 	 *
@@ -2410,6 +2380,23 @@ public class Exporter {
 		return this.matrixResults.stream().toArray(Matrix[]::new);
 	}
 
+	/**
+	 * Get the computed network matrix results packed into primitive arrays, for transferring them to R with a
+	 * constant number of calls.
+	 *
+	 * @return A {@link MatrixSeries} object with one entry per matrix, or {@code null} if no results were computed.
+	 */
+	public MatrixSeries getMatrixSeries() {
+		if (this.matrixResults == null) {
+			LogEvent l = new LogEvent(Logger.ERROR,
+					"Results have not been computed and could not be returned.",
+					"The network matrix results were not computed and cannot be returned. A null object will be returned instead.");
+			Dna.logger.log(l);
+			return null;
+		}
+		return new MatrixSeries(this.matrixResults);
+	}
+
 	/**
 	 * Write results to file.
 	 */
@@ -3042,6 +3029,16 @@ public class Exporter {
 		return this.filteredStatements;
 	}
 
+	/**
+	 * Get the filtered statements as columns of primitive and string arrays, for transferring an event list to R with a
+	 * constant number of calls.
+	 *
+	 * @return An {@link EventList} object with one entry per filtered statement.
+	 */
+	public EventList getEventList() {
+		return new EventList(this.filteredStatements, this.statementType);
+	}
+
 	/**
 	 * Compute data for creating a barplot with value frequencies by qualifier value.
 	 *
@@ -3178,11 +3175,9 @@ public class Exporter {
 		Collections.sort(finalRedundantList);
 
 		// create redundant matrix
-		ArrayList<ExportStatement> redundantStatementList = this.filteredStatements
-				.stream()
-				.filter(s -> currentRedundantList.contains(((Entity) s.get(this.variable2)).getValue()))
-				.collect(Collectors.toCollection(ArrayList::new));
+		ArrayList<ExportStatement> redundantStatementList = this.selectStatements(this.filteredStatements, currentRedundantList);
 		Matrix redundantMatrix = this.computeOneModeMatrix(redundantStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime);
+		clampNegativeValues(redundantMatrix.getMatrix());
 
 		String method = "penalty";
 		if (!penalty) {
@@ -3193,7 +3188,7 @@ public class Exporter {
 				finalBackboneList.toArray(String[]::new),
 				finalRedundantList.toArray(String[]::new),
 				spectralLoss(eigenvaluesFull, eigenvaluesCurrent),
-				spectralLoss(eigenvaluesFull, computeNormalizedEigenvalues(redundantMatrix.getMatrix(), "ojalgo")),
+				spectralLoss(eigenvaluesFull, computeNormalizedEigenvalues(redundantMatrix.getMatrix())),
 				p,
 				T,
 				temperatureLog.stream().mapToDouble(v -> v.doubleValue()).toArray(),
@@ -3224,49 +3219,55 @@ public class Exporter {
 	}
 
 	/**
-	 * Use tools from the {@code ojalgo} library to compute eigenvalues of a symmetric matrix.
+	 * Compute the normalized eigenvalues of the degree matrix of a network (i.e., the diagonal matrix of its row sums)
+	 * or, if selected with {@link #setLaplacianSpectrum(boolean)}, its Laplacian matrix. Negative ties are treated as
+	 * zero, but the matrix itself is not modified. The degree matrix is diagonal, so its eigenvalues are the row sums,
+	 * which are sorted directly; only the Laplacian matrix is decomposed with the eigen solver of this class (see
+	 * {@link #setEigenSolver(String, int, int)}). If only the largest eigenvalues are computed, they are scaled by the
+	 * trace of the matrix, which is the sum of all eigenvalues, so they have the same values as in the full spectrum.
 	 *
 	 * @param matrix The matrix as a two-dimensional double array.
-	 * @param library The linear algebra Java library to use as a back-end: {@code "ojalgo"} or {@code "apache"}.
-	 * @return One-dimensional double array of eigenvalues.
+	 * @return One-dimensional double array of eigenvalues in descending order, scaled such that the full spectrum sums
+	 *   to one.
 	 */
-	private double[] computeNormalizedEigenvalues(double[][] matrix, String library) {
-		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; j < matrix[0].length; j++) {
-				if (matrix[i][j] < 0) {
-					matrix[i][j] = 0.0;
-				}
-			}
-		}
+	private double[] computeNormalizedEigenvalues(double[][] matrix) {
+		int n = matrix.length;
 		double[] eigenvalues;
-		if (library.equals("apache")) {
-			RealMatrix realMatrix = new Array2DRowRealMatrix(matrix); // create a real matrix from the 2D array
-			EigenDecomposition decomposition = new EigenDecomposition(realMatrix); // perform eigen decomposition
-			eigenvalues = decomposition.getRealEigenvalues(); // get the real parts of the eigenvalues
-			// normalize the eigenvalues
-			double eigenvaluesSum = Arrays.stream(eigenvalues).sum();
-			if (eigenvaluesSum > 0.0) {
-				for (int i = 0; i < eigenvalues.length; i++) {
-					eigenvalues[i] /= eigenvaluesSum;
+		double trace = 0.0;
+		if (this.laplacianSpectrum) {
+			double[][] adjacency = new double[n][];
+			for (int i = 0; i < n; i++) {
+				adjacency[i] = matrix[i].clone();
+			}
+			clampNegativeValues(adjacency);
+			double[][] laplacian = EigenSolver.laplacian(adjacency);
+			eigenvalues = this.eigenSolver.computeEigenvalues(laplacian);
+			for (int i = 0; i < n; i++) {
+				trace = trace + laplacian[i][i];
+			}
+		} else {
+			double[] degrees = new double[n];
+			for (int i = 0; i < n; i++) {
+				double sum = 0.0;
+				for (int j = 0; j < n; j++) {
+					sum = sum + (matrix[i][j] < 0 ? 0.0 : matrix[i][j]);
 				}
+				degrees[i] = sum;
+				trace = trace + sum;
 			}
-		} else if (library.equals("ojalgo")) {
-			Primitive64Matrix matrixPrimitive = Primitive64Matrix.FACTORY.rows(matrix); // create matrix
-			DenseArray<Double> rowSums = Primitive64Array.FACTORY.make(matrix.length); // container for row sums
-			matrixPrimitive.reduceRows(Aggregator.SUM, rowSums); // populate row sums into rowSums
-			Primitive64Matrix.SparseReceiver sr = Primitive64Matrix.FACTORY.makeSparse(matrix.length, matrix.length); // container for degree matrix
-			sr.fillDiagonal(rowSums); // put row sums onto diagonal
-			Primitive64Matrix laplacian = sr.get(); // put row sum container into a new degree matrix (the future Laplacian matrix)
-			laplacian.subtract(matrixPrimitive); // subtract adjacency matrix from degree matrix to create Laplacian matrix
-			Eigenvalue<Double> eig = Eigenvalue.PRIMITIVE.make(laplacian); // eigenvalues
-			eig.decompose(laplacian); // decomposition
-			eigenvalues = eig.getEigenvalues().toRawCopy1D(); // extract eigenvalues and convert to double[]
-			double eigenvaluesSum = Arrays.stream(eigenvalues).sum(); // compute sum of eigenvalues
-			if (eigenvaluesSum > 0.0) {
-				eigenvalues = DoubleStream.of(eigenvalues).map(v -> v / eigenvaluesSum).toArray(); // normalize/scale to one
+			eigenvalues = EigenSolver.sortDescending(degrees);
+			if (this.numEigenvalues > 0 && this.numEigenvalues < n) { // the same partial spectrum as the eigen solver
+				eigenvalues = Arrays.copyOf(eigenvalues, this.numEigenvalues);
 			}
+		}
+		double eigenvaluesSum;
+		if (eigenvalues.length < n) { // partial spectrum: the trace is the sum of all eigenvalues
+			eigenvaluesSum = trace;
 		} else {
-			eigenvalues = new double[matrix.length]; // return zeroes if library not recognized; don't log error because it would be very slow
+			eigenvaluesSum = Arrays.stream(eigenvalues).sum(); // compute sum of eigenvalues
+		}
+		if (eigenvaluesSum > 0.0) {
+			eigenvalues = DoubleStream.of(eigenvalues).map(v -> v / eigenvaluesSum).toArray(); // normalize/scale to one
 		}
 		return eigenvalues;
 	}
@@ -3336,6 +3337,39 @@ public class Exporter {
 		}
 	}
 
+	/**
+	 * Set the negative values of a matrix to zero, in place.
+	 *
+	 * @param matrix The matrix.
+	 */
+	private static void clampNegativeValues(double[][] matrix) {
+		for (int i = 0; i < matrix.length; i++) {
+			for (int j = 0; j < matrix[0].length; j++) {
+				if (matrix[i][j] < 0) {
+					matrix[i][j] = 0.0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copy a matrix together with its array, for example to keep a candidate matrix of the simulated annealing backbone
+	 * algorithm, which is backed by the incremental projection and changes in the next iteration.
+	 *
+	 * @param matrix The matrix.
+	 * @return A copy of the matrix that does not share its array with the original.
+	 */
+	private static Matrix copyMatrix(Matrix matrix) {
+		double[][] m = matrix.getMatrix();
+		double[][] copy = new double[m.length][];
+		for (int i = 0; i < m.length; i++) {
+			copy[i] = m[i].clone();
+		}
+		Matrix result = new Matrix(matrix);
+		result.setMatrix(copy);
+		return result;
+	}
+
 	/**
 	 * Compute penalized Euclidean spectral distance.
 	 *
@@ -3386,7 +3420,18 @@ public class Exporter {
 		this.isolates = true; // include isolates in the iterations but not in the full matrix; will be adjusted to smaller full matrix dimensions without isolates manually each time in the iterations; necessary because some actors may be deleted in the backbone matrix otherwise after deleting their concepts
 
 		// compute normalized eigenvalues for the full matrix; no need to recompute every time as they do not change
-		eigenvaluesFull = computeNormalizedEigenvalues(fullMatrix.getMatrix(), "ojalgo");
+		clampNegativeValues(fullMatrix.getMatrix()); // negative ties count as absent ties in the backbone algorithms
+		eigenvaluesFull = computeNormalizedEigenvalues(fullMatrix.getMatrix());
+
+		// the candidate matrices are projections of subsets of the columns of the full incidence array
+		conceptIndex = new HashMap<String, Integer>();
+		for (int j = 0; j < fullConcepts.length; j++) {
+			conceptIndex.put(fullConcepts[j], j);
+		}
+		nestedIncidence = this.createSparseIncidence(this.filteredStatements, fullMatrix.getRowNames(), fullConcepts);
+		nestedProjection = this.createOneModeProjection(this.qualifierAggregation, this.qualifierIntegerLevels());
+		int numRows = fullMatrix.getRowNames().length;
+		nestedScratch = ThreadLocal.withInitial(() -> new double[numRows][numRows]);
 		iteration = new int[fullConcepts.length];
 		backboneLoss = new double[fullConcepts.length];
 		redundantLoss = new double[fullConcepts.length];
@@ -3405,26 +3450,35 @@ public class Exporter {
 
 	/**
 	 * One iteration in the nested backbone algorithm. Needs to be called in a while loop until the backbone set is empty ({@code while (currentBackboneSet.size() > 0)}).
+	 *
+	 * The candidates (i.e., the current backbone set without one of its concepts) are independent of each other. If
+	 * the {@link #parallelism} setting is larger than {@code 1}, they are evaluated concurrently on the fork/join pool
+	 * of this class. Each candidate writes only its own loss, so the results, including the order in which tied
+	 * candidates are moved to the redundant set, are identical to the sequential evaluation.
 	 */
 	public void iterateNestedBackbone() {
-		ArrayList<Matrix> candidateMatrices = new ArrayList<>();
-		double[] currentLosses = new double[currentBackboneList.size()];
-		int[] numStatementsCandidates = new int[currentBackboneList.size()];
-		for (int i = 0; i < currentBackboneList.size(); i++) {
-			ArrayList<String> candidate = new ArrayList<>(currentBackboneList);
-			candidate.remove(i);
-			final ArrayList<String> finalCandidate = new ArrayList<String>(candidate); // make it final, so it can be used in a stream
-			candidateStatementList = this.filteredStatements
-					.stream()
-					.filter(s -> finalCandidate.contains(((Entity) s.get(this.variable2)).getValue()))
-					.collect(Collectors.toCollection(ArrayList::new));
-			numStatementsCandidates[i] = candidateStatementList.size();
-			candidateMatrix = this.computeOneModeMatrix(candidateStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime);
-			candidateMatrix = this.reduceCandidateMatrix(candidateMatrix, fullMatrix.getRowNames()); // ensure it has the right dimensions by purging isolates relative to the full matrix
-			candidateMatrices.add(candidateMatrix);
-			eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix(), "ojalgo"); // normalized eigenvalues for the candidate matrix
-			currentLosses[i] = spectralLoss(eigenvaluesFull, eigenvaluesCandidate);
+		int numCandidates = currentBackboneList.size();
+		double[] currentLosses = new double[numCandidates];
+		int[] numStatementsCandidates = new int[numCandidates];
+		boolean[] backbone = this.selectConcepts(currentBackboneList);
+		RowBlockTask.Block block = (fromCandidate, toCandidate) -> {
+			double[][] mat = nestedScratch.get(); // reuse the candidate matrix buffer of the thread
+			boolean[] candidate = backbone.clone();
+			for (int i = fromCandidate; i < toCandidate; i++) {
+				int j = conceptIndex.get(currentBackboneList.get(i));
+				candidate[j] = false;
+				numStatementsCandidates[i] = this.projectConcepts(candidate, mat);
+				double[] eigenvalues = computeNormalizedEigenvalues(mat); // normalized eigenvalues for the candidate matrix
+				currentLosses[i] = spectralLoss(eigenvaluesFull, eigenvalues);
+				candidate[j] = true;
+			}
+		};
+		if (this.parallelism < 2 || numCandidates < 2) {
+			block.compute(0, numCandidates);
+		} else {
+			this.getForkJoinPool().invoke(new RowBlockTask(block, 0, numCandidates, 1));
 		}
+
 		double smallestLoss = 0.0;
 		if (currentBackboneList.size() > 0) {
 			smallestLoss = Arrays.stream(currentLosses).min().getAsDouble();
@@ -3434,20 +3488,23 @@ public class Exporter {
 				iteration[counter] = counter + 1;
 				entity[counter] = currentBackboneList.get(i);
 				backboneLoss[counter] = smallestLoss;
+
+				// compute the matrix of the selected candidate again; the candidate matrices are not kept during the evaluation
+				boolean[] candidate = backbone.clone();
+				candidate[conceptIndex.get(currentBackboneList.get(i))] = false;
+				double[][] backboneMatrix = new double[fullMatrix.getRowNames().length][fullMatrix.getRowNames().length];
+				this.projectConcepts(candidate, backboneMatrix);
+				clampNegativeValues(backboneMatrix);
+				backboneMatrices.add(this.createOneModeMatrix(backboneMatrix, fullMatrix.getRowNames(), this.qualifierAggregation, this.startDateTime, this.stopDateTime));
 				currentRedundantList.add(currentBackboneList.get(i));
 				currentBackboneList.remove(i);
-				backboneMatrices.add(candidateMatrices.get(i));
 
 				// compute redundant matrix and loss at this level
-				final ArrayList<String> finalRedundantCandidate = new ArrayList<String>(currentRedundantList);
-				candidateStatementList = this.filteredStatements
-						.stream()
-						.filter(s -> finalRedundantCandidate.contains(((Entity) s.get(this.variable2)).getValue()))
-						.collect(Collectors.toCollection(ArrayList::new));
-				Matrix redundantMatrix = this.computeOneModeMatrix(candidateStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime);
-				redundantMatrix = this.reduceCandidateMatrix(redundantMatrix, fullMatrix.getRowNames());
-				redundantMatrices.add(redundantMatrix);
-				eigenvaluesCandidate = computeNormalizedEigenvalues(redundantMatrix.getMatrix(), "ojalgo");
+				double[][] redundantMatrix = new double[fullMatrix.getRowNames().length][fullMatrix.getRowNames().length];
+				this.projectConcepts(this.selectConcepts(currentRedundantList), redundantMatrix);
+				clampNegativeValues(redundantMatrix);
+				redundantMatrices.add(this.createOneModeMatrix(redundantMatrix, fullMatrix.getRowNames(), this.qualifierAggregation, this.startDateTime, this.stopDateTime));
+				eigenvaluesCandidate = computeNormalizedEigenvalues(redundantMatrix);
 				redundantLoss[counter] = spectralLoss(eigenvaluesFull, eigenvaluesCandidate);
 				numStatements[counter] = numStatementsCandidates[i];
 				counter++;
@@ -3455,6 +3512,45 @@ public class Exporter {
 		}
 	}
 
+	/**
+	 * Mark a list of concepts in an array indexed by the columns of the full incidence array.
+	 *
+	 * @param concepts The concepts.
+	 * @return A boolean array that is {@code true} for the given concepts.
+	 */
+	private boolean[] selectConcepts(ArrayList<String> concepts) {
+		boolean[] selected = new boolean[fullConcepts.length];
+		for (String concept : concepts) {
+			selected[conceptIndex.get(concept)] = true;
+		}
+		return selected;
+	}
+
+	/**
+	 * Compute the one-mode network matrix of the statements of a subset of concepts, with the rows and columns of the
+	 * full matrix. The result is identical to filtering the statements by the concepts, computing the one-mode matrix,
+	 * and reducing it to the dimensions of the full matrix.
+	 *
+	 * @param concepts The selected columns of the full incidence array.
+	 * @param mat A square matrix with the dimensions of the full matrix, which is overwritten with the result.
+	 * @return The number of statements of the selected concepts.
+	 */
+	private int projectConcepts(boolean[] concepts, double[][] mat) {
+		double[] rowTotal = nestedIncidence.getRowTotals(concepts);
+		double total = 0.0;
+		for (int i = 0; i < rowTotal.length; i++) {
+			total = total + rowTotal[i];
+		}
+		if (total == 0) { // no statements: empty matrix
+			for (int i = 0; i < mat.length; i++) {
+				Arrays.fill(mat[i], 0.0);
+			}
+		} else {
+			nestedProjection.projectRows(nestedIncidence, concepts, rowTotal, 0, mat.length, mat);
+		}
+		return (int) total;
+	}
+
 	/**
 	 * Get the nested backbone result that is saved in the class.
 	 *
@@ -3506,7 +3602,8 @@ public class Exporter {
 		this.isolates = true; // include isolates in the iterations; will be adjusted to full matrix without isolates manually each time
 
 		// compute normalized eigenvalues for the full matrix; no need to recompute every time as they do not change
-		eigenvaluesFull = computeNormalizedEigenvalues(fullMatrix.getMatrix(), "ojalgo");
+		clampNegativeValues(fullMatrix.getMatrix()); // negative ties count as absent ties in the backbone algorithms
+		eigenvaluesFull = computeNormalizedEigenvalues(fullMatrix.getMatrix());
 
 		if (penalty) { // simulated annealing with penalty: initially one randomly chosen entity in the backbone set
 			// pick a random concept c_j from C and save its index
@@ -3548,17 +3645,25 @@ public class Exporter {
 		}
 
 		// final statement list: filter the statement list by only retaining those statements that are in the final backbone set B
-		finalStatementList = this.filteredStatements
-				.stream()
-				.filter(s -> finalBackboneList.contains(((Entity) s.get(this.variable2)).getValue()))
-				.collect(Collectors.toCollection(ArrayList::new));
+		finalStatementList = this.selectStatements(this.filteredStatements, finalBackboneList);
+
+		// incremental projection of the backbone set onto the rows of the full matrix; the candidate matrices are derived
+		// from it by adding and removing single concepts instead of filtering the statements in every iteration
+		conceptIndex = new HashMap<String, Integer>();
+		for (int j = 0; j < fullConcepts.length; j++) {
+			conceptIndex.put(fullConcepts[j], j);
+		}
+		SparseIncidence incidence = this.createSparseIncidence(this.filteredStatements, fullMatrix.getRowNames(), fullConcepts);
+		backboneProjection = new BackboneProjection(incidence, this.createOneModeProjection(this.qualifierAggregation, this.qualifierIntegerLevels()), this.qualifierIntegerLevels());
+		for (String concept : finalBackboneList) {
+			backboneProjection.add(conceptIndex.get(concept));
+		}
 
 		// final matrix based on the initial final backbone set, Y^B, which is initially identical to the previous matrix
-		finalMatrix = this.computeOneModeMatrix(finalStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime);
-		finalMatrix = this.reduceCandidateMatrix(finalMatrix, fullMatrix.getRowNames()); // ensure it has the right dimensions by purging isolates relative to the full matrix
+		finalMatrix = copyMatrix(this.createOneModeMatrix(backboneProjection.getMatrix(), fullMatrix.getRowNames(), this.qualifierAggregation, this.startDateTime, this.stopDateTime));
 
 		// eigenvalues for final matrix
-		eigenvaluesFinal = computeNormalizedEigenvalues(finalMatrix.getMatrix(), "ojalgo"); // normalized eigenvalues for the candidate matrix
+		eigenvaluesFinal = computeNormalizedEigenvalues(finalMatrix.getMatrix()); // normalized eigenvalues for the candidate matrix
 
 		// create an initial current backbone set B_0, also with the one c_j concept like in B: B_0 <- {c_j}
 		currentBackboneList = new ArrayList<String>(finalBackboneList);
@@ -3566,12 +3671,6 @@ public class Exporter {
 		// create an initial current redundant set R_t, which is C without c_j
 		currentRedundantList = new ArrayList<String>(finalRedundantList);
 
-		// filter the statement list by only retaining those statements that are in the initial current backbone set B_0
-		currentStatementList = this.filteredStatements
-				.stream()
-				.filter(s -> currentBackboneList.contains(((Entity) s.get(this.variable2)).getValue()))
-				.collect(Collectors.toCollection(ArrayList::new));
-
 		// create initial current matrix at t = 0
 		currentMatrix = new Matrix(finalMatrix);
 
@@ -3664,14 +3763,22 @@ public class Exporter {
 		}
 		proposedBackboneSizeLog.add(candidateBackboneList.size()); // log number of concepts in candidate backbone in the current iteration
 
-		// after executing the action, filter the statement list based on the candidate backbone set B^*_t in order to create the candidate matrix, then compute eigenvalues and loss for the candidate
-		candidateStatementList = this.filteredStatements
-				.stream()
-				.filter(s -> candidateBackboneList.contains(((Entity) s.get(this.variable2)).getValue()))
-				.collect(Collectors.toCollection(ArrayList::new));
-		candidateMatrix = this.computeOneModeMatrix(candidateStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime); // create candidate matrix after filtering the statements based on the action that was executed
-		candidateMatrix = this.reduceCandidateMatrix(candidateMatrix, fullMatrix.getRowNames()); // ensure it has the right dimensions by purging isolates relative to the full matrix
-		eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix(), "ojalgo"); // normalized eigenvalues for the candidate matrix
+		// after executing the action, apply the moved concepts to the incremental projection in order to create the candidate matrix, then compute eigenvalues and loss for the candidate
+		int addedConcept = -1, removedConcept = -1;
+		if (selectedAction.equals("add") || selectedAction.equals("swap")) {
+			addedConcept = conceptIndex.get(candidateBackboneList.get(candidateBackboneList.size() - 1)); // the concept that was moved into the backbone set
+		}
+		if (selectedAction.equals("remove") || selectedAction.equals("swap")) {
+			removedConcept = conceptIndex.get(candidateRedundantList.get(candidateRedundantList.size() - 1)); // the concept that was moved into the redundant set
+		}
+		if (addedConcept > -1) {
+			backboneProjection.add(addedConcept);
+		}
+		if (removedConcept > -1) {
+			backboneProjection.remove(removedConcept);
+		}
+		candidateMatrix = this.createOneModeMatrix(backboneProjection.getMatrix(), fullMatrix.getRowNames(), this.qualifierAggregation, this.startDateTime, this.stopDateTime); // create candidate matrix with the same dimensions as the full matrix; it is backed by the incremental projection and only copied if accepted
+		eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix()); // normalized eigenvalues for the candidate matrix
 		if (penalty) {
 			newLoss = penalizedLoss(eigenvaluesFull, eigenvaluesCandidate, p, candidateBackboneList.size(), fullConcepts.length); // spectral distance between full and candidate matrix
 		} else {
@@ -3689,9 +3796,8 @@ public class Exporter {
 				finalBackboneList.addAll(candidateBackboneList); // and populate it with the concepts from the candidate solution instead
 				finalRedundantList.clear(); // same with the redundant list
 				finalRedundantList.addAll(candidateRedundantList);
-				finalStatementList.clear(); // same with the final list of statements
-				finalStatementList.addAll(candidateStatementList);
-				finalMatrix = new Matrix(candidateMatrix); // save the candidate matrix as best solution matrix
+				finalStatementList = this.selectStatements(this.filteredStatements, finalBackboneList); // same with the final list of statements
+				finalMatrix = copyMatrix(candidateMatrix); // save the candidate matrix as best solution matrix
 				eigenvaluesFinal = eigenvaluesCandidate;
 				finalLoss = newLoss; // save the candidate loss as the globally optimal loss so far
 			}
@@ -3708,13 +3814,17 @@ public class Exporter {
 			currentBackboneList.addAll(candidateBackboneList);
 			currentRedundantList.clear(); // also save the redundant candidate as new current redundant list
 			currentRedundantList.addAll(candidateRedundantList);
-			currentStatementList.clear(); // save candidate statement list as new current statement list
-			currentStatementList.addAll(candidateStatementList);
-			currentMatrix = new Matrix(candidateMatrix); // save candidate matrix as new current matrix
+			currentMatrix = copyMatrix(candidateMatrix); // save candidate matrix as new current matrix
 			eigenvaluesCurrent = eigenvaluesCandidate;
 			oldLoss = newLoss; // save the corresponding candidate loss as the current/old loss
 			acceptedLog.add(1); // log the acceptance of the proposed candidate
 		} else {
+			if (addedConcept > -1) { // revert the incremental projection to the current backbone set
+				backboneProjection.remove(addedConcept);
+			}
+			if (removedConcept > -1) {
+				backboneProjection.add(removedConcept);
+			}
 			acceptedLog.add(0); // log the non-acceptance of the proposed candidate
 		}
 		acceptedBackboneSizeLog.add(currentBackboneList.size()); // log how many concepts are in the current iteration after the decision
@@ -3750,7 +3860,8 @@ public class Exporter {
 		this.isolates = true; // include isolates in the iterations; will be adjusted to full matrix without isolates manually each time
 
 		// compute normalized eigenvalues for the full matrix; no need to recompute every time as they do not change
-		eigenvaluesFull = computeNormalizedEigenvalues(fullMatrix.getMatrix(), "ojalgo");
+		clampNegativeValues(fullMatrix.getMatrix()); // negative ties count as absent ties in the backbone algorithms
+		eigenvaluesFull = computeNormalizedEigenvalues(fullMatrix.getMatrix());
 
 		// create copy of filtered statements and remove redundant entities
 		ArrayList<String> entityList = Stream.of(backboneEntities).collect(Collectors.toCollection(ArrayList<String>::new));
@@ -3765,23 +3876,17 @@ public class Exporter {
 		}
 
 		// spectral distance between full and backbone set
-		candidateStatementList = this.filteredStatements
-				.stream()
-				.filter(s -> backboneSet.contains(((Entity) s.get(this.variable2)).getValue()))
-				.collect(Collectors.toCollection(ArrayList::new));
+		candidateStatementList = this.selectStatements(this.filteredStatements, backboneSet);
 		candidateMatrix = this.computeOneModeMatrix(candidateStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime); // create candidate matrix after filtering the statements based on the action that was executed
 		candidateMatrix = this.reduceCandidateMatrix(candidateMatrix, fullMatrix.getRowNames()); // ensure it has the right dimensions by purging isolates relative to the full matrix
-		eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix(), "ojalgo"); // normalized eigenvalues for the candidate matrix
+		eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix()); // normalized eigenvalues for the candidate matrix
 		results[0] = penalizedLoss(eigenvaluesFull, eigenvaluesCandidate, p, backboneSet.size(), fullConcepts.length); // spectral distance between full and candidate matrix
 
 		// spectral distance between full and redundant set
-		candidateStatementList = this.filteredStatements
-				.stream()
-				.filter(s -> redundantSet.contains(((Entity) s.get(this.variable2)).getValue()))
-				.collect(Collectors.toCollection(ArrayList::new));
+		candidateStatementList = this.selectStatements(this.filteredStatements, redundantSet);
 		candidateMatrix = this.computeOneModeMatrix(candidateStatementList, this.qualifierAggregation, this.startDateTime, this.stopDateTime); // create candidate matrix after filtering the statements based on the action that was executed
 		candidateMatrix = this.reduceCandidateMatrix(candidateMatrix, fullMatrix.getRowNames()); // ensure it has the right dimensions by purging isolates relative to the full matrix
-		eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix(), "ojalgo"); // normalized eigenvalues for the candidate matrix
+		eigenvaluesCandidate = computeNormalizedEigenvalues(candidateMatrix.getMatrix()); // normalized eigenvalues for the candidate matrix
 		results[1] = penalizedLoss(eigenvaluesFull, eigenvaluesCandidate, p, redundantSet.size(), fullConcepts.length); // spectral distance between full and candidate matrix
 
 		return results;
@@ -0,0 +1,498 @@
+package dna.export;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Time-indexed statement cells (variable 1 x variable 2 x qualifier level) for kernel-smoothed networks. Every statement
+ * is located once when the object is created, and the date and time of the statements in each non-empty cell are
+ * stored as a sorted array of seconds since 1 January 1970 (UTC). A time slice is defined by its start, mid-point
+ * (gamma), and stop, as saved in a {@link Matrix} object. With a bounded kernel, only the statements between start and
+ * stop are relevant, and they are found by binary search in each cell instead of visiting all statements of the cell.
+ *
+ * <p>The kernel weight of a statement depends only on the integer difference between the statement time and gamma in
+ * the unit of the time window, as computed by {@link java.time.Duration} (seconds, minutes, hours, days, and weeks) or
+ * {@link java.time.Period} (months and years). The weights are looked up in a table that is computed once per integer
+ * difference. In one-mode networks, the kernel weight of a pair of statements is the geometric mean of the two
+ * statement weights, so the sum over all pairs of statements in two cells is the product of the sums of the square
+ * roots of the statement weights in each cell. The cell sums are computed once per time slice, and all requested
+ * qualifier aggregations (e.g., congruence and conflict) are computed in the same pass over the pairs of cells.
+ */
+class KernelSmoother {
+	/**
+	 * Number of differences on either side of zero for which Gaussian kernel weights are tabulated at most. Weights of
+	 * larger differences are computed on the fly. The Gaussian weight is exactly zero beyond about 19.3 window widths.
+	 */
+	private static final int MAX_TABLE_HALF_SIZE = 1 << 20;
+	private static final int CONGRUENCE = 0, CONFLICT = 1, SUBTRACT = 2, IGNORE = 3;
+
+	private final int numRows, numColumns, numLevels;
+	/**
+	 * Cell keys of the non-empty cells in ascending order. The key of row {@code i}, column {@code j}, and qualifier
+	 * level {@code k} is {@code (j * numLevels + k) * numRows + i}, so the cells are grouped by column and level, and the
+	 * rows are sorted within each group.
+	 */
+	private final int[] cellKeys;
+	/**
+	 * Offsets of the non-empty cells in the time arrays: cell {@code c} occupies positions {@code cellOffsets[c]}
+	 * (inclusive) to {@code cellOffsets[c + 1]} (exclusive).
+	 */
+	private final int[] cellOffsets;
+	/**
+	 * Date and time of the statements as seconds since 1 January 1970 (UTC), sorted within each cell.
+	 */
+	private final long[] times;
+	/**
+	 * Proleptic month (year * 12 + month - 1) and day of month of the statements, for time windows in months and years.
+	 */
+	private final int[] months, days;
+	/**
+	 * Length of the time unit in seconds, or {@code 0} for the calendar units months and years.
+	 */
+	private final long unitSeconds;
+	private final boolean years;
+	private final int windowSize;
+	private final String kernel;
+	/**
+	 * Kernel weight of each integer time difference from {@code -tableHalfSize} to {@code tableHalfSize}.
+	 */
+	private final double[] weightTable;
+	private final int tableHalfSize;
+	/**
+	 * Qualifier similarity of each pair of qualifier levels, from {@code 0.0} (maximally different) to {@code 1.0}
+	 * (identical).
+	 */
+	private final double[][] similarity;
+	/**
+	 * Are the start and stop of the slices exclusive, and does the average normalization count the statements inside
+	 * the slice rather than all statements of a cell?
+	 */
+	private final boolean separateSlices;
+
+	/**
+	 * Create a new kernel smoother from a list of statements sorted by date and time.
+	 *
+	 * @param statements The statements, sorted by date and time.
+	 * @param rows Row index of each statement. Statements with a negative index are skipped.
+	 * @param columns Column index of each statement. Statements with a negative index are skipped.
+	 * @param levels Qualifier level index of each statement. Statements with a negative index are skipped.
+	 * @param numRows Number of row labels.
+	 * @param numColumns Number of column labels.
+	 * @param numLevels Number of qualifier levels ({@code 1} if there is no qualifier).
+	 * @param gradedLevels Are the qualifier levels ordered, such that the similarity of two levels decreases linearly
+	 *   with their distance (boolean and integer qualifiers)? Otherwise all pairs of levels are fully similar.
+	 * @param timeWindow The time unit: {@code "seconds"}, {@code "minutes"}, {@code "hours"}, {@code "days"},
+	 *   {@code "weeks"}, {@code "months"}, or {@code "years"}.
+	 * @param windowSize The width of the time window (w) in time units.
+	 * @param kernel The kernel function ({@code "uniform"}, {@code "epanechnikov"}, {@code "triangular"}, or
+	 *   {@code "gaussian"}).
+	 * @param separateSlices Use only the statements strictly inside each slice, also for the average normalization, as
+	 *   in the polarization algorithms? Otherwise the statements between start and stop (inclusive) are weighted, and the
+	 *   average normalization counts all statements of a cell, as in kernel-smoothed network export.
+	 */
+	KernelSmoother(ArrayList<ExportStatement> statements, int[] rows, int[] columns, int[] levels, int numRows,
+			int numColumns, int numLevels, boolean gradedLevels, String timeWindow, int windowSize, String kernel,
+			boolean separateSlices) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+		this.numLevels = numLevels;
+		this.windowSize = windowSize;
+		this.kernel = kernel;
+		this.separateSlices = separateSlices;
+
+		// time unit
+		switch (timeWindow) {
+			case "seconds":
+				this.unitSeconds = 1L;
+				break;
+			case "minutes":
+				this.unitSeconds = 60L;
+				break;
+			case "hours":
+				this.unitSeconds = 3600L;
+				break;
+			case "days":
+				this.unitSeconds = 86400L;
+				break;
+			case "weeks":
+				this.unitSeconds = 604800L;
+				break;
+			default: // months and years
+				this.unitSeconds = 0L;
+		}
+		this.years = timeWindow.equals("years");
+
+		// count the statements per cell and sort the cells by key
+		int[] key = new int[statements.size()];
+		int[] count = new int[numRows * numColumns * numLevels];
+		int numStatements = 0;
+		for (int s = 0; s < statements.size(); s++) {
+			if (rows[s] < 0 || columns[s] < 0 || levels[s] < 0) {
+				key[s] = -1;
+			} else {
+				key[s] = (columns[s] * numLevels + levels[s]) * numRows + rows[s];
+				count[key[s]]++;
+				numStatements++;
+			}
+		}
+		int numCells = 0;
+		for (int c = 0; c < count.length; c++) {
+			if (count[c] > 0) {
+				numCells++;
+			}
+		}
+		this.cellKeys = new int[numCells];
+		this.cellOffsets = new int[numCells + 1];
+		int[] next = new int[count.length]; // next free position of each cell in the time arrays
+		int cell = 0;
+		for (int c = 0; c < count.length; c++) {
+			if (count[c] > 0) {
+				this.cellKeys[cell] = c;
+				next[c] = this.cellOffsets[cell];
+				this.cellOffsets[cell + 1] = this.cellOffsets[cell] + count[c];
+				cell++;
+			}
+		}
+
+		// fill the cells in the order of the statements, which keeps the times sorted within each cell
+		this.times = new long[numStatements];
+		this.months = this.unitSeconds == 0L ? new int[numStatements] : null;
+		this.days = this.unitSeconds == 0L ? new int[numStatements] : null;
+		for (int s = 0; s < statements.size(); s++) {
+			if (key[s] >= 0) {
+				int position = next[key[s]]++;
+				LocalDateTime dateTime = statements.get(s).getDateTime();
+				this.times[position] = dateTime.toEpochSecond(ZoneOffset.UTC);
+				if (this.unitSeconds == 0L) {
+					this.months[position] = dateTime.getYear() * 12 + dateTime.getMonthValue() - 1;
+					this.days[position] = dateTime.getDayOfMonth();
+				}
+			}
+		}
+
+		// tabulate the kernel weights; bounded kernels are zero beyond half the window size
+		if (kernel.equals("gaussian")) {
+			this.tableHalfSize = (int) Math.min((long) windowSize * 20L, MAX_TABLE_HALF_SIZE);
+		} else {
+			this.tableHalfSize = Math.max(windowSize / 2, 0);
+		}
+		this.weightTable = new double[2 * this.tableHalfSize + 1];
+		for (int d = -this.tableHalfSize; d <= this.tableHalfSize; d++) {
+			this.weightTable[d + this.tableHalfSize] = kernelWeight(d, windowSize, kernel);
+		}
+
+		// qualifier similarity of each pair of levels
+		this.similarity = new double[numLevels][numLevels];
+		for (int k = 0; k < numLevels; k++) {
+			for (int k2 = 0; k2 < numLevels; k2++) {
+				this.similarity[k][k2] = 1.0;
+				if (gradedLevels) {
+					this.similarity[k][k2] = Math.abs(1.0 - ((double) Math.abs(k - k2) / (double) Math.abs(numLevels - 1)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return a standardized time weight after applying a kernel function to a time difference.
+	 *
+	 * @param diff The time difference between the statement and the mid-point of the time window, in time units.
+	 * @param w The width of the time window, which defines the beginning and end of the time window.
+	 * @param kernel The kernel function ({@code "uniform"}, {@code "epanechnikov"}, {@code "triangular"}, or {@code "gaussian"}).
+	 * @return Kernel-weighted time difference.
+	 */
+	private static double kernelWeight(long diff, int w, String kernel) {
+		double diff_std = 2 * (double) diff / (double) w; // standardised time difference between -1 and 1
+
+		if (kernel.equals("uniform")) {
+			if (diff_std >= -1 && diff_std <= 1) {
+				return 0.5;
+			} else {
+				return 0.0;
+			}
+		} else if (kernel.equals("epanechnikov")) {
+			if (diff_std >= -1 && diff_std <= 1) {
+				return 0.75 * (1.0 - (diff_std * diff_std));
+			} else {
+				return 0.0;
+			}
+		} else if (kernel.equals("triangular")) {
+			if (diff_std >= -1 && diff_std <= 1) {
+				return Math.abs(1.0 - diff_std);
+			} else {
+				return 0.0;
+			}
+		} else if (kernel.equals("gaussian")) {
+			return (1.0 / Math.sqrt(2.0 * Math.PI)) * Math.exp(-0.5 * diff_std * diff_std);
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Kernel weight of a statement relative to the mid-point of a time slice.
+	 *
+	 * @param position Position of the statement in the time arrays.
+	 * @param gamma Mid-point of the time slice as seconds since 1 January 1970 (UTC).
+	 * @param gammaMonth Proleptic month of the mid-point (only used for months and years).
+	 * @param gammaDay Day of month of the mid-point (only used for months and years).
+	 * @return The kernel weight.
+	 */
+	private double weight(int position, long gamma, int gammaMonth, int gammaDay) {
+		long diff;
+		if (this.unitSeconds > 0L) {
+			diff = (gamma - this.times[position]) / this.unitSeconds; // truncated like Duration#toMinutes etc.
+		} else { // whole months between the dates, as in Period#between
+			long totalMonths = gammaMonth - this.months[position];
+			int dayDiff = gammaDay - this.days[position];
+			if (totalMonths > 0 && dayDiff < 0) {
+				totalMonths--;
+			} else if (totalMonths < 0 && dayDiff > 0) {
+				totalMonths++;
+			}
+			diff = this.years ? totalMonths / 12 : totalMonths;
+		}
+		if (diff >= -this.tableHalfSize && diff <= this.tableHalfSize) {
+			return this.weightTable[(int) diff + this.tableHalfSize];
+		}
+		return kernelWeight(diff, this.windowSize, this.kernel);
+	}
+
+	/**
+	 * Find the range of statements of each non-empty cell that are inside a time slice.
+	 *
+	 * @param slice The time slice with start, mid-point, and stop.
+	 * @return An array with the first (inclusive) and last (exclusive) position in the time arrays for each cell.
+	 */
+	private int[][] findRanges(Matrix slice) {
+		int[] from = new int[this.cellKeys.length];
+		int[] to = new int[this.cellKeys.length];
+		if (this.kernel.equals("gaussian")) { // unbounded kernel: use all statements
+			System.arraycopy(this.cellOffsets, 0, from, 0, from.length);
+			System.arraycopy(this.cellOffsets, 1, to, 0, to.length);
+		} else {
+			long start = slice.getStart().toEpochSecond(ZoneOffset.UTC);
+			long stop = slice.getStop().toEpochSecond(ZoneOffset.UTC);
+			if (this.separateSlices) { // exclusive bounds: start < t < stop
+				start = start + 1;
+				stop = stop - 1;
+			}
+			for (int c = 0; c < this.cellKeys.length; c++) {
+				from[c] = firstIndexNotBefore(this.times, this.cellOffsets[c], this.cellOffsets[c + 1], start);
+				to[c] = firstIndexNotBefore(this.times, from[c], this.cellOffsets[c + 1], stop + 1);
+			}
+		}
+		return new int[][] { from, to };
+	}
+
+	/**
+	 * Find the first position in a sorted range of the time array whose time is not before a given time.
+	 *
+	 * @param times The time array.
+	 * @param from The first position of the sorted range (inclusive).
+	 * @param to The last position of the sorted range (exclusive).
+	 * @param time The time.
+	 * @return The first position with a time of at least {@code time}, or {@code to} if there is none.
+	 */
+	private static int firstIndexNotBefore(long[] times, int from, int to, long time) {
+		int low = from, high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[mid] < time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Find the rows with at least one statement inside a time slice.
+	 *
+	 * @param slice The time slice with start, mid-point, and stop.
+	 * @return The row indices in ascending order.
+	 */
+	int[] findActiveRows(Matrix slice) {
+		int[][] ranges = findRanges(slice);
+		boolean[] active = new boolean[this.numRows];
+		for (int c = 0; c < this.cellKeys.length; c++) {
+			if (ranges[1][c] > ranges[0][c]) {
+				active[this.cellKeys[c] % this.numRows] = true;
+			}
+		}
+		return IntStream.range(0, this.numRows).filter(i -> active[i]).toArray();
+	}
+
+	/**
+	 * Compute a kernel-weighted two-mode network matrix for a time slice. Each statement inside the slice adds its kernel
+	 * weight times the weight of its qualifier level to its cell.
+	 *
+	 * @param slice The time slice with start, mid-point, and stop.
+	 * @param levelWeights The weight of each qualifier level, for example {@code -1.0} and {@code 1.0} for a boolean
+	 *   qualifier with subtract aggregation.
+	 * @return The network matrix (rows x columns).
+	 */
+	double[][] computeTwoModeMatrix(Matrix slice, double[] levelWeights) {
+		int[][] ranges = findRanges(slice);
+		LocalDateTime g = slice.getDateTime();
+		long gamma = g.toEpochSecond(ZoneOffset.UTC);
+		int gammaMonth = g.getYear() * 12 + g.getMonthValue() - 1;
+		int gammaDay = g.getDayOfMonth();
+		double[][] m = new double[this.numRows][this.numColumns];
+		for (int c = 0; c < this.cellKeys.length; c++) {
+			int i = this.cellKeys[c] % this.numRows;
+			int j = this.cellKeys[c] / this.numRows / this.numLevels;
+			int k = this.cellKeys[c] / this.numRows % this.numLevels;
+			for (int t = ranges[0][c]; t < ranges[1][c]; t++) {
+				m[i][j] = m[i][j] + levelWeights[k] * weight(t, gamma, gammaMonth, gammaDay);
+			}
+		}
+		return m;
+	}
+
+	/**
+	 * Compute kernel-weighted one-mode network matrices for a time slice with one or more qualifier aggregations at the
+	 * same time. For two statements with kernel weights z1 and z2 in the same column, the pair weight is
+	 * {@code sqrt(z1 * z2)}, which is multiplied with the similarity of the qualifier levels (congruence), one minus the
+	 * similarity (conflict), the difference of the two (subtract), or one (ignore).
+	 *
+	 * @param slice The time slice with start, mid-point, and stop.
+	 * @param rows The row indices to include in the matrices, in ascending order, or {@code null} for all rows.
+	 * @param aggregations The qualifier aggregations: {@code "congruence"}, {@code "conflict"}, {@code "subtract"}, or
+	 *   {@code "ignore"}. Other values yield an empty matrix.
+	 * @param average Apply average normalization?
+	 * @return One matrix (rows x rows) per qualifier aggregation.
+	 */
+	double[][][] computeOneModeMatrices(Matrix slice, int[] rows, String[] aggregations, boolean average) {
+		int[][] ranges = findRanges(slice);
+		LocalDateTime g = slice.getDateTime();
+		long gamma = g.toEpochSecond(ZoneOffset.UTC);
+		int gammaMonth = g.getYear() * 12 + g.getMonthValue() - 1;
+		int gammaDay = g.getDayOfMonth();
+
+		// map the rows onto matrix indices
+		int[] index = new int[this.numRows];
+		int n;
+		if (rows == null) {
+			for (int i = 0; i < this.numRows; i++) {
+				index[i] = i;
+			}
+			n = this.numRows;
+		} else {
+			Arrays.fill(index, -1);
+			for (int r = 0; r < rows.length; r++) {
+				index[rows[r]] = r;
+			}
+			n = rows.length;
+		}
+
+		// sum of the square roots of the kernel weights of the statements inside the slice, for each cell
+		double[] rootSum = new double[this.cellKeys.length];
+		for (int c = 0; c < this.cellKeys.length; c++) {
+			for (int t = ranges[0][c]; t < ranges[1][c]; t++) {
+				rootSum[c] = rootSum[c] + Math.sqrt(weight(t, gamma, gammaMonth, gammaDay));
+			}
+		}
+
+		int[] aggregation = new int[aggregations.length];
+		for (int a = 0; a < aggregations.length; a++) {
+			aggregation[a] = Arrays.asList("congruence", "conflict", "subtract", "ignore").indexOf(aggregations[a]);
+		}
+
+		double[][][] m = new double[aggregations.length][n][n];
+		double[][] norm = new double[n][n];
+		int[] count = new int[n]; // statement counts of the rows in the current column and level
+		int c = 0;
+		while (c < this.cellKeys.length) {
+			int j = this.cellKeys[c] / this.numRows / this.numLevels;
+			int columnEnd = c; // first cell of the next column
+			while (columnEnd < this.cellKeys.length && this.cellKeys[columnEnd] / this.numRows / this.numLevels == j) {
+				columnEnd++;
+			}
+
+			// average normalization: 2 / (count1 + count2) for each pair of rows with statements in a column and level
+			if (average) {
+				int levelStart = c;
+				while (levelStart < columnEnd) {
+					int levelEnd = levelStart;
+					int k = this.cellKeys[levelStart] / this.numRows % this.numLevels;
+					while (levelEnd < columnEnd && this.cellKeys[levelEnd] / this.numRows % this.numLevels == k) {
+						levelEnd++;
+					}
+					for (int c1 = levelStart; c1 < levelEnd; c1++) {
+						int r = index[this.cellKeys[c1] % this.numRows];
+						if (r >= 0) {
+							count[r] = this.separateSlices ? ranges[1][c1] - ranges[0][c1] : this.cellOffsets[c1 + 1] - this.cellOffsets[c1];
+						}
+					}
+					for (int c1 = levelStart; c1 < levelEnd; c1++) {
+						int r = index[this.cellKeys[c1] % this.numRows];
+						if (r >= 0 && count[r] > 0) {
+							for (int r2 = 0; r2 < n; r2++) {
+								double value = 2.0 / (count[r] + count[r2]);
+								norm[r][r2] = norm[r][r2] + value;
+								if (count[r2] == 0) { // the pair is not visited from the other row
+									norm[r2][r] = norm[r2][r] + value;
+								}
+							}
+						}
+					}
+					for (int c1 = levelStart; c1 < levelEnd; c1++) {
+						int r = index[this.cellKeys[c1] % this.numRows];
+						if (r >= 0) {
+							count[r] = 0;
+						}
+					}
+					levelStart = levelEnd;
+				}
+			}
+
+			// pairs of cells in the same column
+			for (int c1 = c; c1 < columnEnd; c1++) {
+				int r1 = index[this.cellKeys[c1] % this.numRows];
+				if (r1 < 0 || ranges[1][c1] == ranges[0][c1]) {
+					continue;
+				}
+				int k1 = this.cellKeys[c1] / this.numRows % this.numLevels;
+				for (int c2 = c; c2 < columnEnd; c2++) {
+					int r2 = index[this.cellKeys[c2] % this.numRows];
+					if (r2 < 0 || ranges[1][c2] == ranges[0][c2]) {
+						continue;
+					}
+					int k2 = this.cellKeys[c2] / this.numRows % this.numLevels;
+					double z = rootSum[c1] * rootSum[c2];
+					double qsim = this.similarity[k1][k2];
+					double qdiff = 1.0 - qsim;
+					for (int a = 0; a < aggregations.length; a++) {
+						if (aggregation[a] == CONGRUENCE) {
+							m[a][r1][r2] = m[a][r1][r2] + qsim * z;
+						} else if (aggregation[a] == CONFLICT) {
+							m[a][r1][r2] = m[a][r1][r2] + qdiff * z;
+						} else if (aggregation[a] == SUBTRACT) {
+							m[a][r1][r2] = m[a][r1][r2] + qsim * z - qdiff * z;
+						} else if (aggregation[a] == IGNORE) {
+							m[a][r1][r2] = m[a][r1][r2] + z;
+						}
+					}
+				}
+			}
+			c = columnEnd;
+		}
+
+		if (average) {
+			for (int a = 0; a < aggregations.length; a++) {
+				for (int r = 0; r < n; r++) {
+					for (int r2 = 0; r2 < n; r2++) {
+						if (m[a][r][r2] != 0.0 && norm[r][r2] != 0.0) {
+							m[a][r][r2] = m[a][r][r2] * norm[r][r2];
+						}
+					}
+				}
+			}
+		}
+		return m;
+	}
+}
@@ -0,0 +1,238 @@
+package dna.export;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.EigenDecomposition;
+
+/**
+ * Iterative eigenvalue solver for symmetric matrices, such as the Laplacian matrix of a network, based on the Lanczos
+ * algorithm with full reorthogonalization. The eigenvalues are taken from the tridiagonal matrix that the Lanczos
+ * iterations produce. The matrix is passed as a dense array like to the other solvers and copied into compressed row
+ * storage, so the matrix-vector products only visit its non-zero entries, but the basis vectors are dense, and full
+ * reorthogonalization costs {@code O(n * m^2)} time for {@code m} iterations. The solver therefore pays off when only
+ * a few of the largest eigenvalues are requested, not as a solver for very large networks.
+ *
+ * <p>If the full spectrum is requested, the Lanczos basis is extended to the full dimension, restarting with a new
+ * random vector whenever an invariant subspace has been found, so repeated eigenvalues (for example, the zero
+ * eigenvalues of disconnected components) are found with their multiplicity. The eigenvalues are identical to the
+ * dense solvers up to rounding. If only the largest eigenvalues are requested, the iterations stop as soon as the
+ * largest Ritz values no longer change, and only these eigenvalues are returned; the remaining eigenvalues are not
+ * computed. The starting vectors are drawn from a random number generator with a fixed seed, so the results are
+ * reproducible.
+ */
+class LanczosEigenSolver implements EigenSolver {
+	/**
+	 * Relative size of the residual below which the Lanczos iterations are considered to have found an invariant
+	 * subspace.
+	 */
+	private static final double TOLERANCE = 1e-10;
+	private final int numEigenvalues;
+
+	/**
+	 * Create a new Lanczos solver.
+	 *
+	 * @param numEigenvalues The number of largest eigenvalues to compute. Values smaller than {@code 1} compute the
+	 *   full spectrum.
+	 */
+	LanczosEigenSolver(int numEigenvalues) {
+		this.numEigenvalues = numEigenvalues;
+	}
+
+	/**
+	 * Compute the eigenvalues of a symmetric matrix.
+	 *
+	 * @param matrix The symmetric square matrix. It is not modified.
+	 * @return The largest eigenvalues in descending order: all eigenvalues if the full spectrum was requested or the
+	 *   requested number of eigenvalues is at least the dimension of the matrix, otherwise only the requested number.
+	 */
+	@Override
+	public double[] computeEigenvalues(double[][] matrix) {
+		int n = matrix.length;
+		int k = this.numEigenvalues < 1 || this.numEigenvalues >= n ? n : this.numEigenvalues;
+		double[] eigenvalues = new double[k];
+		if (n == 0) {
+			return eigenvalues;
+		}
+
+		// off-diagonal entries in compressed row storage, the diagonal, and the largest absolute row sum
+		int numNonZero = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				if (i != j && matrix[i][j] != 0) {
+					numNonZero++;
+				}
+			}
+		}
+		int[] rowPointer = new int[n + 1];
+		int[] column = new int[numNonZero];
+		double[] value = new double[numNonZero];
+		double[] diagonal = new double[n];
+		double maxRowSum = 0.0;
+		int c = 0;
+		for (int i = 0; i < n; i++) {
+			double rowSum = 0.0;
+			for (int j = 0; j < n; j++) {
+				rowSum = rowSum + Math.abs(matrix[i][j]);
+				if (i == j) {
+					diagonal[i] = matrix[i][i];
+				} else if (matrix[i][j] != 0) {
+					column[c] = j;
+					value[c] = matrix[i][j];
+					c++;
+				}
+			}
+			rowPointer[i + 1] = c;
+			maxRowSum = Math.max(maxRowSum, rowSum);
+		}
+		if (maxRowSum == 0) { // zero matrix: all eigenvalues are zero
+			return eigenvalues;
+		}
+		double tolerance = TOLERANCE * maxRowSum; // the largest absolute eigenvalue is at most the largest absolute row sum
+
+		// Lanczos iterations with full reorthogonalization against all previous basis vectors
+		int checkpoint = k == n ? n : Math.min(n, 2 * k + 20); // number of iterations before the first convergence check
+		double[][] q = new double[n][];
+		double[] alpha = new double[n];
+		double[] beta = new double[n];
+		double[] ritzValues = null;
+		Random random = new Random(n);
+		double[] v = randomVector(random, n, q, 0);
+		int m = 0; // number of completed iterations
+		while (v != null) {
+			q[m] = v;
+
+			// w = M v
+			double[] w = new double[n];
+			for (int i = 0; i < n; i++) {
+				double sum = diagonal[i] * v[i];
+				for (int e = rowPointer[i]; e < rowPointer[i + 1]; e++) {
+					sum = sum + value[e] * v[column[e]];
+				}
+				w[i] = sum;
+			}
+			alpha[m] = dot(w, v);
+			m++;
+			if (m == n) {
+				break;
+			}
+
+			// with a partial spectrum, stop as soon as the largest Ritz values no longer change
+			if (m == checkpoint) {
+				double[] previous = ritzValues;
+				ritzValues = ritzValues(alpha, beta, m);
+				if (previous != null && converged(previous, ritzValues, k, tolerance)) {
+					break;
+				}
+				checkpoint = Math.min(n, checkpoint + k + 20);
+			}
+
+			// orthogonalize twice (classical Gram-Schmidt) to keep the basis orthogonal in floating point arithmetic
+			orthogonalize(w, q, m);
+			orthogonalize(w, q, m);
+			double norm = Math.sqrt(dot(w, w));
+			if (norm > tolerance) {
+				beta[m - 1] = norm;
+				for (int i = 0; i < n; i++) {
+					w[i] = w[i] / norm;
+				}
+				v = w;
+			} else { // invariant subspace found: continue with a new vector orthogonal to the basis
+				beta[m - 1] = 0.0;
+				v = randomVector(random, n, q, m);
+			}
+		}
+
+		// the eigenvalues of the tridiagonal matrix approximate (or, for the full basis, equal) those of the matrix
+		ritzValues = ritzValues(alpha, beta, m);
+		for (int i = 0; i < Math.min(k, ritzValues.length); i++) {
+			eigenvalues[i] = ritzValues[i];
+		}
+		return eigenvalues;
+	}
+
+	/**
+	 * Compute the eigenvalues of the tridiagonal matrix of the first Lanczos iterations.
+	 *
+	 * @param alpha The main diagonal.
+	 * @param beta The secondary diagonal.
+	 * @param m The number of iterations.
+	 * @return The eigenvalues in descending order.
+	 */
+	private static double[] ritzValues(double[] alpha, double[] beta, int m) {
+		double[] mainDiagonal = Arrays.copyOf(alpha, m);
+		double[] secondaryDiagonal = Arrays.copyOf(beta, m - 1);
+		return EigenSolver.sortDescending(new EigenDecomposition(mainDiagonal, secondaryDiagonal).getRealEigenvalues());
+	}
+
+	/**
+	 * Check if the largest Ritz values have converged between two convergence checks.
+	 *
+	 * @param previous The Ritz values at the previous check.
+	 * @param current The Ritz values at the current check.
+	 * @param k The number of largest eigenvalues that are needed.
+	 * @param tolerance The absolute tolerance.
+	 * @return {@code true} if none of the largest {@code k} Ritz values has changed by more than the tolerance.
+	 */
+	private static boolean converged(double[] previous, double[] current, int k, double tolerance) {
+		for (int i = 0; i < k; i++) {
+			if (Math.abs(previous[i] - current[i]) > tolerance) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Draw a random unit vector that is orthogonal to the first basis vectors.
+	 *
+	 * @param random The random number generator.
+	 * @param n The dimension.
+	 * @param q The basis vectors.
+	 * @param numVectors The number of basis vectors.
+	 * @return The new vector, or {@code null} if no linearly independent vector could be found.
+	 */
+	private static double[] randomVector(Random random, int n, double[][] q, int numVectors) {
+		for (int attempt = 0; attempt < 10; attempt++) {
+			double[] v = new double[n];
+			for (int i = 0; i < n; i++) {
+				v[i] = random.nextDouble() - 0.5;
+			}
+			orthogonalize(v, q, numVectors);
+			orthogonalize(v, q, numVectors);
+			double norm = Math.sqrt(dot(v, v));
+			if (norm > 1e-8) {
+				for (int i = 0; i < n; i++) {
+					v[i] = v[i] / norm;
+				}
+				return v;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Subtract the projections onto the first basis vectors from a vector, in place.
+	 *
+	 * @param w The vector.
+	 * @param q The orthonormal basis vectors.
+	 * @param numVectors The number of basis vectors.
+	 */
+	private static void orthogonalize(double[] w, double[][] q, int numVectors) {
+		for (int b = 0; b < numVectors; b++) {
+			double projection = dot(w, q[b]);
+			double[] basis = q[b];
+			for (int i = 0; i < w.length; i++) {
+				w[i] = w[i] - projection * basis[i];
+			}
+		}
+	}
+
+	private static double dot(double[] x, double[] y) {
+		double sum = 0.0;
+		for (int i = 0; i < x.length; i++) {
+			sum = sum + x[i] * y[i];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,148 @@
+package dna.export;
+
+import java.util.ArrayList;
+
+/**
+ * Packed representation of a list of network matrices, for example a time window series, for transferring results to
+ * R. The cells of all matrices are stored in one {@code double[]} array, each matrix in column-major order as in R,
+ * and the row and column labels in two {@code String[]} arrays. Offset arrays with one more entry than there are
+ * matrices mark where each matrix starts, so matrix {@code t} occupies the cells from {@code offsets[t]} (inclusive)
+ * to {@code offsets[t + 1]} (exclusive). The rDNA package can thereby retrieve a whole series with a constant number
+ * of calls through rJava instead of several calls per matrix.
+ */
+public class MatrixSeries {
+	private double[] values;
+	private int[] offsets, numRows, numColumns, rowNameOffsets, columnNameOffsets, numStatements;
+	private String[] rowNames, columnNames;
+	private long[] start, stop, dateTime;
+
+	/**
+	 * Pack a list of matrices.
+	 *
+	 * @param matrices The matrices, for example the matrix results of an {@link Exporter}.
+	 */
+	public MatrixSeries(ArrayList<Matrix> matrices) {
+		int numMatrices = matrices.size();
+		this.offsets = new int[numMatrices + 1];
+		this.rowNameOffsets = new int[numMatrices + 1];
+		this.columnNameOffsets = new int[numMatrices + 1];
+		this.numRows = new int[numMatrices];
+		this.numColumns = new int[numMatrices];
+		this.numStatements = new int[numMatrices];
+		this.start = new long[numMatrices];
+		this.stop = new long[numMatrices];
+		this.dateTime = new long[numMatrices];
+		for (int t = 0; t < numMatrices; t++) {
+			Matrix m = matrices.get(t);
+			this.numRows[t] = m.getRowNames().length;
+			this.numColumns[t] = m.getColumnNames().length;
+			this.offsets[t + 1] = this.offsets[t] + this.numRows[t] * this.numColumns[t];
+			this.rowNameOffsets[t + 1] = this.rowNameOffsets[t] + this.numRows[t];
+			this.columnNameOffsets[t + 1] = this.columnNameOffsets[t] + this.numColumns[t];
+			this.numStatements[t] = m.getNumStatements();
+			this.start[t] = m.getStartLong();
+			this.stop[t] = m.getStopLong();
+			this.dateTime[t] = m.getDateTimeLong();
+		}
+
+		this.values = new double[this.offsets[numMatrices]];
+		this.rowNames = new String[this.rowNameOffsets[numMatrices]];
+		this.columnNames = new String[this.columnNameOffsets[numMatrices]];
+		for (int t = 0; t < numMatrices; t++) {
+			Matrix m = matrices.get(t);
+			double[][] mat = m.getMatrix();
+			int offset = this.offsets[t];
+			for (int j = 0; j < this.numColumns[t]; j++) {
+				for (int i = 0; i < this.numRows[t]; i++) {
+					this.values[offset + j * this.numRows[t] + i] = mat[i][j];
+				}
+			}
+			System.arraycopy(m.getRowNames(), 0, this.rowNames, this.rowNameOffsets[t], this.numRows[t]);
+			System.arraycopy(m.getColumnNames(), 0, this.columnNames, this.columnNameOffsets[t], this.numColumns[t]);
+		}
+	}
+
+	/**
+	 * @return The number of matrices.
+	 */
+	public int size() {
+		return this.numRows.length;
+	}
+
+	/**
+	 * @return The cells of all matrices, each matrix in column-major order.
+	 */
+	public double[] getValues() {
+		return this.values;
+	}
+
+	/**
+	 * @return The start index of each matrix in {@link #getValues()}, plus the total number of cells as the last entry.
+	 */
+	public int[] getOffsets() {
+		return this.offsets;
+	}
+
+	public int[] getNumRows() {
+		return this.numRows;
+	}
+
+	public int[] getNumColumns() {
+		return this.numColumns;
+	}
+
+	/**
+	 * @return The row labels of all matrices.
+	 */
+	public String[] getRowNames() {
+		return this.rowNames;
+	}
+
+	/**
+	 * @return The start index of the row labels of each matrix in {@link #getRowNames()}, plus the total number of row
+	 *   labels as the last entry.
+	 */
+	public int[] getRowNameOffsets() {
+		return this.rowNameOffsets;
+	}
+
+	/**
+	 * @return The column labels of all matrices.
+	 */
+	public String[] getColumnNames() {
+		return this.columnNames;
+	}
+
+	/**
+	 * @return The start index of the column labels of each matrix in {@link #getColumnNames()}, plus the total number
+	 *   of column labels as the last entry.
+	 */
+	public int[] getColumnNameOffsets() {
+		return this.columnNameOffsets;
+	}
+
+	public int[] getNumStatements() {
+		return this.numStatements;
+	}
+
+	/**
+	 * @return The start date/time of each matrix in seconds since 1 January 1970.
+	 */
+	public long[] getStart() {
+		return this.start;
+	}
+
+	/**
+	 * @return The end date/time of each matrix in seconds since 1 January 1970.
+	 */
+	public long[] getStop() {
+		return this.stop;
+	}
+
+	/**
+	 * @return The mid-point date/time of each matrix in seconds since 1 January 1970.
+	 */
+	public long[] getDateTime() {
+		return this.dateTime;
+	}
+}
@@ -0,0 +1,21 @@
+package dna.export;
+
+import org.ojalgo.matrix.Primitive64Matrix;
+import org.ojalgo.matrix.decomposition.Eigenvalue;
+
+/**
+ * Dense eigendecomposition with the {@code ojalgo} library. This is the default solver.
+ */
+class OjalgoEigenSolver implements EigenSolver {
+
+	@Override
+	public double[] computeEigenvalues(double[][] matrix) {
+		if (matrix.length == 0) {
+			return new double[0];
+		}
+		Primitive64Matrix matrixPrimitive = Primitive64Matrix.FACTORY.rows(matrix); // create matrix
+		Eigenvalue<Double> eig = Eigenvalue.PRIMITIVE.make(matrixPrimitive); // eigenvalues
+		eig.decompose(matrixPrimitive); // decomposition
+		return EigenSolver.sortDescending(eig.getEigenvalues().toRawCopy1D()); // extract eigenvalues and convert to double[]
+	}
+}
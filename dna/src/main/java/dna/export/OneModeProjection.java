@@ -0,0 +1,300 @@
+package dna.export;
+
+/**
+ * Sparse one-mode projection engine. Projects a {@link SparseIncidence} array (e.g., actors x concepts x qualifier
+ * levels) onto a one-mode network matrix (e.g., actors x actors). The qualifier aggregation and normalization settings
+ * are resolved once when the engine is created, and the projection only visits pairs of rows that share at least one
+ * column. The results are identical to the dense computation in {@link Exporter}, including the floating point
+ * summation order: the contributions of each pair of rows are added up by column, then by the qualifier level of the
+ * first row, then by the qualifier level of the second row, and cells with a count of zero are skipped because they
+ * only ever add zero.
+ */
+class OneModeProjection {
+	private enum Aggregation { IGNORE, CONGRUENCE, CONFLICT, SUBTRACT, NONE }
+	private enum Normalization { NO, AVERAGE, JACCARD, COSINE }
+
+	private final Aggregation aggregation;
+	private final Normalization normalization;
+	/**
+	 * Is the qualifier a boolean or integer variable, for which ties are weighted by qualifier similarity? If
+	 * {@code false}, the qualifier is treated as a nominal variable (short text or document-level variable).
+	 */
+	private final boolean ordinal;
+	/**
+	 * Similarity and distance weights between qualifier levels {@code k1} and {@code k2} for ordinal qualifiers.
+	 */
+	private final double[][] similarity, distance;
+	/**
+	 * Difference between the largest and smallest qualifier value.
+	 */
+	private final double range;
+	/**
+	 * Do the ordinal weights contain {@code NaN} values (because the qualifier has only a single level and hence a
+	 * range of zero)? In the dense computation, these spread to every dyad, including dyads without shared columns.
+	 */
+	private final boolean undefinedWeights;
+	/**
+	 * Are the number of qualifier matches between rows required (for nominal qualifiers or Jaccard normalization)?
+	 */
+	private final boolean needMatches;
+
+	/**
+	 * Create a new one-mode projection engine.
+	 *
+	 * @param aggregation The qualifier aggregation: {@code "ignore"}, {@code "congruence"}, {@code "conflict"}, or
+	 *   {@code "subtract"}. Other values result in an empty matrix, like in the dense computation.
+	 * @param normalization The normalization: {@code "no"}, {@code "average"}, {@code "jaccard"}, or
+	 *   {@code "cosine"}. Other values are treated like {@code "no"}.
+	 * @param ordinal Is the qualifier a boolean or integer variable?
+	 * @param qualifierValues The sorted integer values of the qualifier levels (only used if {@code ordinal} is
+	 *   {@code true}).
+	 */
+	OneModeProjection(String aggregation, String normalization, boolean ordinal, int[] qualifierValues) {
+		if (aggregation.equals("ignore")) {
+			this.aggregation = Aggregation.IGNORE;
+		} else if (aggregation.equals("congruence")) {
+			this.aggregation = Aggregation.CONGRUENCE;
+		} else if (aggregation.equals("conflict")) {
+			this.aggregation = Aggregation.CONFLICT;
+		} else if (aggregation.equals("subtract")) {
+			this.aggregation = Aggregation.SUBTRACT;
+		} else {
+			this.aggregation = Aggregation.NONE;
+		}
+		if (normalization.equals("average")) {
+			this.normalization = Normalization.AVERAGE;
+		} else if (normalization.equals("jaccard")) {
+			this.normalization = Normalization.JACCARD;
+		} else if (normalization.equals("cosine")) {
+			this.normalization = Normalization.COSINE;
+		} else {
+			this.normalization = Normalization.NO;
+		}
+		this.ordinal = ordinal && this.aggregation != Aggregation.IGNORE && this.aggregation != Aggregation.NONE;
+
+		// precompute the qualifier similarity and distance weights for all pairs of levels
+		int numLevels = qualifierValues.length;
+		this.similarity = new double[numLevels][numLevels];
+		this.distance = new double[numLevels][numLevels];
+		double range = Math.abs(qualifierValues[numLevels - 1] - qualifierValues[0]);
+		this.range = range;
+		for (int k1 = 0; k1 < numLevels; k1++) {
+			for (int k2 = 0; k2 < numLevels; k2++) {
+				this.similarity[k1][k2] = 1.0 - ((Math.abs(qualifierValues[k1] - qualifierValues[k2]) / range));
+				this.distance[k1][k2] = (Math.abs(qualifierValues[k1] - qualifierValues[k2]) / range);
+			}
+		}
+		this.undefinedWeights = this.ordinal && Double.isNaN(this.similarity[0][0]);
+		this.needMatches = (!this.ordinal && this.aggregation != Aggregation.IGNORE) || this.normalization == Normalization.JACCARD;
+	}
+
+	/**
+	 * Compute the one-mode projection of an incidence array.
+	 *
+	 * @param x The sparse incidence array.
+	 * @return A square matrix with one row and column per row of the incidence array and zeros on the diagonal.
+	 */
+	double[][] project(SparseIncidence x) {
+		double[][] mat = new double[x.numRows][x.numRows];
+		projectRows(x, 0, x.numRows, mat);
+		return mat;
+	}
+
+	/**
+	 * Compute a block of rows of the one-mode projection of an incidence array. Blocks of rows are independent of
+	 * each other and can be computed concurrently as long as they do not overlap.
+	 *
+	 * @param x The sparse incidence array.
+	 * @param fromRow The first row to compute (inclusive).
+	 * @param toRow The last row to compute (exclusive).
+	 * @param mat The square result matrix into which the rows are written.
+	 */
+	void projectRows(SparseIncidence x, int fromRow, int toRow, double[][] mat) {
+		projectRows(x, null, x.rowTotal, fromRow, toRow, mat);
+	}
+
+	/**
+	 * Compute a block of rows of the one-mode projection of a subset of the columns of an incidence array. The result
+	 * is identical to the projection of an incidence array that contains only the selected columns (for example, the
+	 * statements of a subset of concepts), but the incidence array does not need to be built again for every subset.
+	 *
+	 * @param x The sparse incidence array.
+	 * @param columns The selected columns, or {@code null} for all columns.
+	 * @param rowTotal The sum of the counts of each row in the selected columns (see
+	 *   {@link SparseIncidence#getRowTotals(boolean[])}).
+	 * @param fromRow The first row to compute (inclusive).
+	 * @param toRow The last row to compute (exclusive).
+	 * @param mat The square result matrix into which the rows are written.
+	 */
+	void projectRows(SparseIncidence x, boolean[] columns, double[] rowTotal, int fromRow, int toRow, double[][] mat) {
+		double[] tie = new double[x.numRows]; // accumulated tie weights from shared columns
+		double[] matches1 = new double[x.numRows]; // counts of the first row in cells where both rows are active
+		double[] matches2 = new double[x.numRows]; // counts of the second row in cells where both rows are active
+		double[] matchProducts = new double[x.numRows]; // products of counts in cells where both rows are active
+		boolean[] touched = new boolean[x.numRows];
+		int[] touchedRows = new int[x.numRows];
+
+		for (int i1 = fromRow; i1 < toRow; i1++) {
+			int numTouched = 0;
+
+			// go through the cells of i1 in column and level order, and find all other rows active in the same column
+			for (int c = x.rowPointer[i1]; c < x.rowPointer[i1 + 1]; c++) {
+				int j = x.rowColumn[c];
+				if (columns != null && !columns[j]) {
+					continue;
+				}
+				int k1 = x.rowLevel[c];
+				double a1 = x.rowCount[c];
+				for (int e = x.columnPointer[j]; e < x.columnPointer[j + 1]; e++) {
+					int i2 = x.columnRow[e];
+					if (i2 == i1) {
+						continue;
+					}
+					if (!touched[i2]) {
+						touched[i2] = true;
+						touchedRows[numTouched] = i2;
+						numTouched++;
+					}
+					int k2 = x.columnLevel[e];
+					double a2 = x.columnCount[e];
+					if (this.needMatches && k1 == k2) {
+						matches1[i2] = matches1[i2] + a1;
+						matches2[i2] = matches2[i2] + a2;
+						matchProducts[i2] = matchProducts[i2] + (a1 * a2);
+					}
+					if (this.aggregation == Aggregation.IGNORE) {
+						tie[i2] = tie[i2] + a1 * a2;
+					} else if (this.ordinal) {
+						if (this.aggregation == Aggregation.CONGRUENCE) {
+							tie[i2] = tie[i2] + (a1 * a2 * this.similarity[k1][k2]);
+						} else if (this.aggregation == Aggregation.CONFLICT) {
+							tie[i2] = tie[i2] + (a1 * a2 * this.distance[k1][k2]);
+						} else if (this.aggregation == Aggregation.SUBTRACT) {
+							tie[i2] = tie[i2] + (a1 * a2 * this.similarity[k1][k2]);
+							tie[i2] = tie[i2] - (a1 * a2 * this.distance[k1][k2]);
+						}
+					}
+				}
+			}
+
+			// assemble ties and normalize; rows without a shared column are visited too because nominal conflict ties
+			// and some normalizations depend only on the row totals
+			double total1 = rowTotal[i1];
+			for (int i2 = 0; i2 < x.numRows; i2++) {
+				if (i2 == i1) {
+					continue;
+				}
+				mat[i1][i2] = entry(tie[i2], matches1[i2], matches2[i2], matchProducts[i2], total1, rowTotal[i2]);
+			}
+
+			// reset the scratch arrays for the next row
+			for (int t = 0; t < numTouched; t++) {
+				int i2 = touchedRows[t];
+				touched[i2] = false;
+				tie[i2] = 0.0;
+				matches1[i2] = 0.0;
+				matches2[i2] = 0.0;
+				matchProducts[i2] = 0.0;
+			}
+		}
+	}
+
+	/**
+	 * Assemble the tie between two rows from their accumulated contributions and normalize it.
+	 *
+	 * @param tie The accumulated tie weight (see {@link #tie(double, double)} for ordinal qualifiers).
+	 * @param matches1 Counts of the first row in cells where both rows are active.
+	 * @param matches2 Counts of the second row in cells where both rows are active.
+	 * @param matchProducts Products of the counts in cells where both rows are active.
+	 * @param total1 Sum of all counts of the first row.
+	 * @param total2 Sum of all counts of the second row.
+	 * @return The matrix entry.
+	 */
+	double entry(double tie, double matches1, double matches2, double matchProducts, double total1, double total2) {
+		double only1 = total1 - matches1; // counts of the first row in cells where the second row is inactive
+		double only2 = total2 - matches2; // counts of the second row in cells where the first row is inactive
+		double value;
+		if (this.undefinedWeights) {
+			value = Double.NaN;
+		} else if (this.aggregation == Aggregation.IGNORE || this.ordinal) {
+			value = tie;
+		} else if (this.aggregation == Aggregation.CONGRUENCE) {
+			value = matchProducts;
+		} else if (this.aggregation == Aggregation.CONFLICT) {
+			value = only1 + only2;
+		} else if (this.aggregation == Aggregation.SUBTRACT) {
+			value = matchProducts - only1 - only2;
+		} else {
+			value = 0.0;
+		}
+
+		double norm = 1.0;
+		if (this.normalization == Normalization.AVERAGE) {
+			norm = (total1 + total2) / 2;
+		} else if (this.normalization == Normalization.JACCARD) {
+			norm = only2 + only1 + matchProducts;
+		} else if (this.normalization == Normalization.COSINE) {
+			norm = Math.sqrt(total1 * total1) * Math.sqrt(total2 * total2);
+		}
+		if (norm == 0) {
+			return 0;
+		} else {
+			return value / norm;
+		}
+	}
+
+	/**
+	 * Compute the tie weight between two rows from the sums of count products and of count products weighted by the
+	 * absolute difference between the qualifier values. Unlike the cell-by-cell summation in
+	 * {@link #projectRows(SparseIncidence, int, int, double[][])}, both sums are integers and can be updated
+	 * incrementally without rounding errors; the result may differ from the cell-by-cell summation in the last digits.
+	 *
+	 * @param products Sum of {@code a1 * a2} over the shared cells.
+	 * @param differences Sum of {@code a1 * a2 * |v1 - v2|} over the shared cells, where {@code v1} and {@code v2}
+	 *   are the qualifier values of the cells (only used for ordinal qualifiers).
+	 * @return The tie weight, to be passed on to {@link #entry(double, double, double, double, double, double)}.
+	 */
+	double tie(double products, double differences) {
+		if (this.aggregation == Aggregation.IGNORE) {
+			return products;
+		} else if (this.ordinal) {
+			if (this.aggregation == Aggregation.CONGRUENCE) {
+				return products - differences / this.range;
+			} else if (this.aggregation == Aggregation.CONFLICT) {
+				return differences / this.range;
+			} else if (this.aggregation == Aggregation.SUBTRACT) {
+				return products - 2 * differences / this.range;
+			}
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Are ties weighted by qualifier similarity or distance, i.e., is {@link #tie(double, double)} sensitive to the
+	 * qualifier differences?
+	 *
+	 * @return {@code true} if the qualifier is treated as an ordinal variable.
+	 */
+	boolean isOrdinal() {
+		return this.ordinal;
+	}
+
+	/**
+	 * Does {@link #tie(double, double)} depend on the sums of count products? If not, it is always zero.
+	 *
+	 * @return {@code true} if the qualifier is ignored or treated as an ordinal variable.
+	 */
+	boolean needsProducts() {
+		return this.aggregation == Aggregation.IGNORE || this.ordinal;
+	}
+
+	/**
+	 * Does {@link #entry(double, double, double, double, double, double)} depend on the qualifier matches between
+	 * rows and the products of counts in the matching cells? If not, they may be passed as zero.
+	 *
+	 * @return {@code true} for nominal qualifiers or Jaccard normalization.
+	 */
+	boolean needsMatches() {
+		return this.needMatches;
+	}
+}
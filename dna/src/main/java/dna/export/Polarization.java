@@ -38,6 +38,7 @@
  *   <li>elitePercentage: The percentage of elite solutions to retain.</li>
  *   <li>mutationPercentage: The percentage of mutations to apply.</li>
  *   <li>randomSeed: The random seed for reproducibility. If 0, random results are produced.</li>
+ *   <li>warmStart: Indicates if each time step should start from the best solution of the previous time step.</li>
  * </ul>
  * 
  * <p>Methods:</p>
@@ -45,29 +46,28 @@
  *   <li>{@link #getResults()}: Returns the results of the polarization analysis.</li>
  *   <li>{@link #qualityAbsdiff(int[], double[][], double[][], boolean, int)}: Calculates the quality of polarization based on absolute differences.</li>
  *   <li>{@link #calculateRanks(double...)}: Ranks the values of a double array in descending order.</li>
- *   <li>{@link MembershipPair}: Represents pairs of indices for membership bits in the genetic algorithm.</li>
- *   <li>{@link ClusterSolution}: Represents a cluster solution in the genetic algorithm.</li>
- *   <li>{@link GeneticIteration}: Represents a single iteration of the genetic algorithm.</li>
+ *   <li>{@link ClusterSolution}: Represents a random initial cluster solution.</li>
+ *   <li>{@link QualityKernel}: Evaluates the quality of many cluster solutions of the same networks without allocations.</li>
+ *   <li>{@link GeneticPopulation}: Represents the population of the genetic algorithm and performs its iterations.</li>
  *   <li>{@link #geneticAlgorithm()}: Runs the genetic algorithm over all time steps.</li>
- *   <li>{@link #geneticTimeStep(int, long)}: Runs the genetic algorithm for a single time step.</li>
+ *   <li>{@link #geneticTimeStep(int, long, PolarizationResult)}: Runs the genetic algorithm for a single time step.</li>
+ *   <li>{@link #warmStartTimeSteps(String, long[], TimeStepAlgorithm)}: Runs an algorithm over all time steps with warm starts in chronological chunks.</li>
  *   <li>{@link #calculateMatrixNorm(double[][])}: Calculates the entrywise 1-norm of a matrix.</li>
  *   <li>{@link #computeKernelSmoothedTimeSlices()}: Computes a series of network matrices using kernel smoothing.</li>
- *   <li>{@link #create3dArray(String[], String[], String[], ArrayList)}: Creates a 3D array of ExportStatements for kernel smoothing.</li>
  *   <li>{@link #greedyAlgorithm()}: Runs the greedy membership swapping algorithm over all time steps.</li>
- *   <li>{@link #greedyTimeStep(Matrix, Matrix, boolean, int, long)}: Runs the greedy algorithm for a single time step.</li>
+ *   <li>{@link #greedyTimeStep(Matrix, Matrix, boolean, int, long, PolarizationResult)}: Runs the greedy algorithm for a single time step.</li>
+ *   <li>{@link SwapEvaluator}: Evaluates membership swaps in the greedy algorithm from cached contribution sums.</li>
  * </ul>
  */
 package dna.export;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Random;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -76,7 +76,6 @@ import dna.Dna;
 import logger.LogEvent;
 import logger.Logger;
 import me.tongfei.progressbar.ProgressBar;
-import model.Entity;
 import model.StatementType;
 
 /**
@@ -125,6 +124,7 @@ import model.StatementType;
  * @param elitePercentage The percentage of elite solutions to retain. Between 0 and 1.
  * @param mutationPercentage The percentage of mutations to apply. Between 0 and 1.
  * @param randomSeed The random seed for reproducibility. 0 for random results.
+ * @param warmStart Whether to start the algorithm at each time step from the best solution of the previous time step. The time steps are processed in chronological chunks of {@link #WARM_START_CHUNK_SIZE} time steps, with the chunks in parallel.
  */
 public class Polarization {
     Exporter exporter;
@@ -139,7 +139,15 @@ public class Polarization {
 	final int numParents, numClusters, numIterations;
 	final double elitePercentage, mutationPercentage;
 	final long randomSeed;
+	final boolean warmStart;
 	PolarizationResultTimeSeries results;
+	/**
+	 * The number of consecutive time steps that are processed sequentially with
+	 * warm starts. The first time step of each chunk starts from random
+	 * solutions. The chunk size does not depend on the number of processors, so
+	 * the results are reproducible for a fixed random seed.
+	 */
+	static final int WARM_START_CHUNK_SIZE = 20;
 
     public Polarization(StatementType statementType, String variable1, boolean variable1Document, String variable2,
             boolean variable2Document, String qualifier, boolean qualifierDocument, String duplicates,
@@ -148,7 +156,7 @@ public class Polarization {
 			String[] excludeSources, String[] excludeSections, String[] excludeTypes, boolean invertValues,
 			boolean invertAuthors, boolean invertSources, boolean invertSections, boolean invertTypes,
 			String algorithm, boolean normalizeScores, int numClusters, int numParents, int numIterations,
-			double elitePercentage, double mutationPercentage, long randomSeed) {
+			double elitePercentage, double mutationPercentage, long randomSeed, boolean warmStart) {
 
 		// Validate input parameters
 		if (!algorithm.equals("genetic") && !algorithm.equals("greedy")) {
@@ -261,6 +269,7 @@ public class Polarization {
 		this.indentTime = indentTime;
 		this.normalizeScores = normalizeScores;
 		this.randomSeed = randomSeed;
+		this.warmStart = warmStart;
 		this.congruence = new ArrayList<Matrix>();
 		this.conflict = new ArrayList<Matrix>();
 
@@ -337,7 +346,24 @@ public class Polarization {
 	private double qualityAbsdiff(int[] memberships, double[][] congruenceNetwork, double[][] conflictNetwork, boolean normalize, int numClusters) {
 		double congruenceNorm = calculateMatrixNorm(congruenceNetwork);
 		double conflictNorm = calculateMatrixNorm(conflictNetwork);
+		return qualityAbsdiff(memberships, congruenceNetwork, conflictNetwork, normalize, numClusters, congruenceNorm, conflictNorm);
+	}
 
+	/**
+	 * Calculates the quality of polarization with precomputed matrix norms, for
+	 * evaluating many solutions for the same pair of networks.
+	 *
+	 * @param memberships An array where each element represents the cluster membership of a node.
+	 * @param congruenceNetwork A 2D array representing the congruence network.
+	 * @param conflictNetwork A 2D array representing the conflict network.
+	 * @param normalize Should the result be divided by its theoretical maximum (the sum of the two matrix norms)?
+	 * @param numClusters The number of clusters.
+	 * @param congruenceNorm The entrywise 1-norm of the congruence network.
+	 * @param conflictNorm The entrywise 1-norm of the conflict network.
+	 * @return The quality of polarization as a double value.
+	 * @see #qualityAbsdiff(int[], double[][], double[][], boolean, int)
+	 */
+	private double qualityAbsdiff(int[] memberships, double[][] congruenceNetwork, double[][] conflictNetwork, boolean normalize, int numClusters, double congruenceNorm, double conflictNorm) {
 		int[] clusterMembers = new int[numClusters];
 		for (int i = 0; i < memberships.length; i++) {
 			clusterMembers[memberships[i]]++;
@@ -410,113 +436,83 @@ public class Polarization {
 	}
 
 	/**
-	 * For the genetic algorithm: Define a class that represents pairs of two
-	 * indices of membership bits (i.e., index of the first node and index of
-	 * the second node in a membership solution, with a maximum of N nodes).
-	 */
-	private class MembershipPair {
-		int firstIndex; // Index of the first member
-		int secondIndex; // Index of the second member
-
-		/**
-		 * Constructs a MembershipPair with the specified indices.
-		 *
-		 * @param firstIndex  the index of the first member
-		 * @param secondIndex the index of the second member
-		 */
-		MembershipPair(int firstIndex, int secondIndex) {
-			this.firstIndex = firstIndex;
-			this.secondIndex = secondIndex;
-		}
-
-		/**
-		 * Returns the first index.
-		 *
-		 * @return the first index
-		 */
-		int getFirstIndex() {
-			return this.firstIndex;
-		}
-
-		/**
-		 * Retrieves the value of the second index.
-		 *
-		 * @return the value of the second index.
-		 */
-		int getSecondIndex() {
-			return this.secondIndex;
-		}
-	}
-
-	/**
-	 * This class represents a cluster solution in the genetic algorithm,
-	 * including the membership vector, which contains information on cluster
-	 * membership for each node in the network. It also contains the number of
-	 * nodes N and the number of clusters K.
+	 * This class represents a random initial cluster solution for the genetic and
+	 * the greedy algorithm, including the membership vector, which contains
+	 * information on cluster membership for each node in the network. It also
+	 * contains the number of nodes N and the number of clusters K.
 	 */
-	private class ClusterSolution implements Cloneable {
+	private class ClusterSolution {
 
 		private final int[] memberships; // cluster memberships of all nodes, starting with 0
 		private final int N; // number of nodes
 		private final int K; // number of clusters
 
 		/**
-		 * Constructs a ClusterSolution with the specified parameters.
+		 * Constructs a ClusterSolution with random memberships.
 		 *
-		 * @param n           The number of nodes (must be positive).
-		 * @param k           The number of clusters (must be positive).
-		 * @param memberships The membership vector (length must equal n, values must be in the range [0, k - 1]).
+		 * @param n The number of nodes (must be positive).
+		 * @param k The number of clusters (must be positive).
+		 * @param rng The random number generator.
 		 */
-		ClusterSolution(int n, int k, int[] memberships) {
-			if (n <= 0) {
-				n = memberships.length;
-				LogEvent log = new LogEvent(Logger.WARNING, "Invalid number of nodes.",
-						"Number of nodes (N) must be positive. Using the length of the membership vector (" + n + ") instead.");
-				Dna.logger.log(log);
-			}
+		ClusterSolution(int n, int k, Random rng) {
 			validateArguments(n, k);
-			if (memberships == null || memberships.length != n) {
-				LogEvent log = new LogEvent(Logger.ERROR, "Invalid membership vector.",
-						"Memberships must have length equal to N.");
-				Dna.logger.log(log);
-			}
-			validateMemberships(memberships, k);
 			this.N = n;
 			this.K = k;
-			this.memberships = memberships.clone(); // defensive copy to avoid external modification
+			this.memberships = createRandomMemberships(n, k, rng);
 		}
 
 		/**
-		 * Constructs a ClusterSolution with random memberships.
+		 * Constructs a ClusterSolution from the best solution of a previous time
+		 * step, for a warm start. Nodes keep the cluster of the node with the same
+		 * label in the previous solution. New nodes, and randomly selected nodes
+		 * of clusters that have become too large, are assigned to the clusters
+		 * that are too small, such that the cluster sizes are the same as in a
+		 * random solution.
 		 *
-		 * @param n The number of nodes (must be positive).
+		 * @param names The labels of the nodes.
+		 * @param previous The result of the previous time step.
 		 * @param k The number of clusters (must be positive).
 		 * @param rng The random number generator.
 		 */
-		ClusterSolution(int n, int k, Random rng) {
-			validateArguments(n, k);
-			this.N = n;
+		ClusterSolution(String[] names, PolarizationResult previous, int k, Random rng) {
+			validateArguments(names.length, k);
+			this.N = names.length;
 			this.K = k;
-			this.memberships = createRandomMemberships(n, k, rng);
+			this.memberships = createWarmStartMemberships(names, previous, k, rng);
 		}
 
 		/**
-		 * Returns a copy of the membership vector.
+		 * Constructs a ClusterSolution by swapping the memberships of randomly
+		 * selected pairs of nodes in different clusters of another solution.
 		 *
-		 * @return A copy of the membership vector.
+		 * @param template The cluster solution to perturb.
+		 * @param numSwaps The number of swaps.
+		 * @param rng The random number generator.
 		 */
-		public int[] getMemberships() {
-			return memberships.clone(); // defensive copy to avoid external modification
+		ClusterSolution(ClusterSolution template, int numSwaps, Random rng) {
+			this.N = template.N;
+			this.K = template.K;
+			this.memberships = template.getMemberships();
+			int swaps = 0;
+			while (swaps < numSwaps) {
+				int firstIndex = rng.nextInt(N);
+				int secondIndex = rng.nextInt(N);
+				if (memberships[firstIndex] != memberships[secondIndex]) {
+					int temp = memberships[firstIndex];
+					memberships[firstIndex] = memberships[secondIndex];
+					memberships[secondIndex] = temp;
+					swaps++;
+				}
+			}
 		}
 
 		/**
-		 * Creates a deep clone of this ClusterSolution.
+		 * Returns a copy of the membership vector.
 		 *
-		 * @return A deep clone of this object.
-		 * @throws CloneNotSupportedException If the object cannot be cloned.
+		 * @return A copy of the membership vector.
 		 */
-		protected ClusterSolution clone() throws CloneNotSupportedException {
-			return new ClusterSolution(this.N, this.K, this.memberships.clone());
+		public int[] getMemberships() {
+			return memberships.clone(); // defensive copy to avoid external modification
 		}
 
 		/**
@@ -538,21 +534,6 @@ public class Polarization {
 				Dna.logger.log(log);
 			}
 		}
-		/**
-		 * Validates that all memberships are within the range [0, K - 1].
-		 * 
-		 * @param memberships The membership vector to validate.
-		 * @param k The number of clusters.
-		 */
-		private void validateMemberships(int[] memberships, int k) {
-			for (int membership : memberships) {
-				if (membership < 0 || membership >= k) {
-					LogEvent log = new LogEvent(Logger.ERROR, "Invalid membership value.",
-							"Membership values must be in the range [0, K - 1].");
-					Dna.logger.log(log);
-				}
-			}
-		}
 
 		/**
 		 * Randomly assigns N items into K groups, ensuring a roughly even distribution.
@@ -583,196 +564,239 @@ public class Polarization {
 			}
 
 			// Shuffle the membership list to randomize the group assignments
-			Collections.shuffle(membership);
+			Collections.shuffle(membership, rng);
 
 			// Convert the ArrayList<Integer> to int[] for the final result
 			return membership.stream().mapToInt(Integer::intValue).toArray();
 		}
 
 		/**
-		 * Crossover breeding. Combines the membership vectors of the current solution and
-		 * a foreign solution  to produce an offspring with balanced cluster distribution.
+		 * Assigns N labeled items to K groups based on the memberships of the same
+		 * labels in a previous solution, with the same group sizes as in
+		 * {@link #createRandomMemberships(int, int, Random)}.
 		 *
-		 * @param foreignMemberships A membership vector of a foreign cluster solution.
-		 * @param rng                The random number generator to use.
+		 * @param names The labels of the items.
+		 * @param previous The result of the previous time step.
+		 * @param K Number of groups.
+		 * @param rng Random number generator.
+		 * @return An array of group memberships.
 		 */
-		int[] crossover(int[] foreignMemberships, Random rng) {
-			if (foreignMemberships == null || foreignMemberships.length != this.memberships.length) {
-				LogEvent log = new LogEvent(Logger.ERROR, "Invalid membership vector.",
-						"Membership vector must have the same length as the current solution.");
-				Dna.logger.log(log);
+		private int[] createWarmStartMemberships(String[] names, PolarizationResult previous, int K, Random rng) {
+			int N = names.length;
+			HashMap<String, Integer> previousMemberships = new HashMap<String, Integer>();
+			for (int i = 0; i < previous.getMemberships().length; i++) {
+				previousMemberships.put(previous.getNames()[i], previous.getMemberships()[i]);
 			}
-			validateMemberships(foreignMemberships, K);
 
-			// Step 1: Relabel clusters to align with maximum overlap
-			int[][] overlapMatrix = calculateOverlapMatrix(this.memberships, foreignMemberships, K);
-			int[] newMemberships = performRelabeling(this.memberships, foreignMemberships, overlapMatrix);
-
-			// Step 2: Perform random crossover between relabeled membership vectors
-			newMemberships = performCrossover(newMemberships, foreignMemberships, rng);
+			// Target group sizes as in createRandomMemberships: the first N % K groups have one extra item
+			int[] maxAllowed = new int[K];
+			for (int i = 0; i < K; i++) {
+				maxAllowed[i] = N / K + ((i < N % K) ? 1 : 0);
+			}
 
-			// Step 3: Adjust cluster distribution to achieve balance
-			newMemberships = balanceClusterDistribution(newMemberships, K);
-			return newMemberships;
-		}
+			// Keep previous memberships where possible, visiting the items in random order
+			ArrayList<Integer> order = new ArrayList<>(N);
+			for (int i = 0; i < N; i++) {
+				order.add(i);
+			}
+			Collections.shuffle(order, rng);
+			int[] memberships = new int[N];
+			int[] counts = new int[K];
+			for (int i : order) {
+				Integer m = previousMemberships.get(names[i]);
+				if (m != null && m < K && counts[m] < maxAllowed[m]) {
+					memberships[i] = m;
+					counts[m]++;
+				} else {
+					memberships[i] = -1; // new item or group already full
+				}
+			}
 
-		/**
-		 * Calculates the overlap matrix between two membership vectors.
-		 * 
-		 * @param memberships1 The first membership vector.
-		 * @param memberships2 The second membership vector.
-		 * @param k            The number of clusters.
-		 * @return The overlap matrix.
-		 */
-		private int[][] calculateOverlapMatrix(int[] memberships1, int[] memberships2, int k) {
-			int[][] matrix = new int[k][k];
-			for (int i = 0; i < memberships1.length; i++) {
-				matrix[memberships1[i]][memberships2[i]]++;
+			// Fill up the groups that are too small
+			for (int i : order) {
+				if (memberships[i] == -1) {
+					int j = 0;
+					while (counts[j] >= maxAllowed[j]) {
+						j++;
+					}
+					memberships[i] = j;
+					counts[j]++;
+				}
 			}
-			return matrix;
+			return memberships;
 		}
+	}
+
+	/**
+	 * For the genetic algorithm: An evaluation kernel that computes the quality of
+	 * many cluster solutions for the same pair of networks. The matrix norms are
+	 * computed only once, the two networks are stored as flat row-major arrays,
+	 * and the cluster sizes and expected values are computed into reusable scratch
+	 * buffers, so evaluating a solution does not allocate any memory. The results
+	 * are identical to
+	 * {@link #qualityAbsdiff(int[], double[][], double[][], boolean, int)}.
+	 * A kernel is not thread-safe; every time step uses its own kernel.
+	 */
+	private class QualityKernel {
+		private final int n; // number of nodes
+		private final int numClusters;
+		private final boolean normalize;
+		private final double[] congruence; // n x n, row-major
+		private final double[] conflict; // n x n, row-major
+		private final double congruenceNorm;
+		private final double conflictNorm;
+		private final int[] clusterMembers; // scratch buffer: size of each cluster
+		private final double[] expectedWithinClusterCongruence; // scratch buffer: by cluster
+		private final double[] expectedBetweenClusterConflict; // scratch buffer: by pair of clusters, row-major
 
 		/**
-		 * Relabels clusters to maximize overlap between two membership vectors.
-		 * 
-		 * @param memberships1   The first membership vector.
-		 * @param memberships2   The second membership vector.
-		 * @param overlapMatrix  The overlap matrix between the two membership vectors.
-		 * @return The relabeled membership vector.
+		 * Create a new evaluation kernel for a pair of networks.
+		 *
+		 * @param congruenceNetwork The congruence matrix.
+		 * @param conflictNetwork The conflict matrix.
+		 * @param normalize Should the quality scores be normalized?
+		 * @param numClusters The number of clusters.
 		 */
-		private int[] performRelabeling(int[] memberships1, int[] memberships2, int[][] overlapMatrix) {
-			int k = overlapMatrix.length; // Number of clusters
-			int[] relabelMap = new int[k]; // Map from original cluster to new cluster
-		
-			// For each row, find the column with the maximum overlap
-			boolean[] assigned = new boolean[k]; // Track assigned columns
-			Arrays.fill(relabelMap, -1);
-		
-			for (int row = 0; row < k; row++) {
-				double[] rowValues = new double[k];
-				for (int col = 0; col < k; col++) {
-					rowValues[col] = overlapMatrix[row][col];
-				}
-		
-				// Use `calculateRanks` to rank columns for this row
-				int[] ranks = calculateRanks(rowValues);
-		
-				// Assign the best column for this row
-				for (int rank = 0; rank < ranks.length; rank++) {
-					int col = ranks[rank];
-					if (!assigned[col]) {
-						relabelMap[row] = col;
-						assigned[col] = true;
-						break;
-					}
-				}
-			}
-		
-			// Apply the relabeling map to the original memberships
-			int[] relabeledMemberships = new int[memberships1.length];
-			for (int i = 0; i < memberships1.length; i++) {
-				relabeledMemberships[i] = relabelMap[memberships1[i]];
+		QualityKernel(double[][] congruenceNetwork, double[][] conflictNetwork, boolean normalize, int numClusters) {
+			this.n = congruenceNetwork.length;
+			this.numClusters = numClusters;
+			this.normalize = normalize;
+			this.congruenceNorm = calculateMatrixNorm(congruenceNetwork);
+			this.conflictNorm = calculateMatrixNorm(conflictNetwork);
+			this.congruence = new double[n * n];
+			this.conflict = new double[n * n];
+			for (int i = 0; i < n; i++) {
+				System.arraycopy(congruenceNetwork[i], 0, this.congruence, i * n, n);
+				System.arraycopy(conflictNetwork[i], 0, this.conflict, i * n, n);
 			}
-		
-			return relabeledMemberships;
+			this.clusterMembers = new int[numClusters];
+			this.expectedWithinClusterCongruence = new double[numClusters];
+			this.expectedBetweenClusterConflict = new double[numClusters * numClusters];
 		}
-		
+
 		/**
-		 * Performs crossover by randomly combining bits from two membership vectors.
-		 * 
-		 * @param memberships1 The first membership vector.
-		 * @param memberships2 The second membership vector.
-		 * @param rng          The random number generator to use.
-		 * @return recombined membership vector
+		 * Evaluate the quality of all cluster solutions of a population.
+		 *
+		 * @param population The membership vectors of the cluster solutions, one after another.
+		 * @param numSolutions The number of cluster solutions in the population.
+		 * @param q An array for the quality scores of the cluster solutions.
 		 */
-		private int[] performCrossover(int[] memberships1, int[] memberships2, Random rng) {
-			int[] result = new int[memberships1.length];
-			for (int i = 0; i < memberships1.length; i++) {
-				result[i] = (rng.nextBoolean()) ? memberships1[i] : memberships2[i];
+		void evaluate(int[] population, int numSolutions, double[] q) {
+			for (int s = 0; s < numSolutions; s++) {
+				q[s] = evaluate(population, s * n);
 			}
-			return result;
 		}
 
 		/**
-		 * Balances cluster distribution by adjusting over- and under-represented clusters.
-		 * 
-		 * @param memberships The membership vector to balance.
-		 * @param k           The number of clusters.
-		 * @return The balanced membership vector.
+		 * Evaluate the quality of a single cluster solution, as in
+		 * {@link #qualityAbsdiff(int[], double[][], double[][], boolean, int)}.
+		 *
+		 * @param population An array containing the membership vector of the cluster solution.
+		 * @param offset The index of the first membership of the cluster solution in the array.
+		 * @return The quality of the cluster solution.
 		 */
-		private int[] balanceClusterDistribution(int[] memberships, int k) {
-			int[] counts = new int[k];
-			List<List<Integer>> clusterIndices = new ArrayList<>();
-			for (int i = 0; i < k; i++) clusterIndices.add(new ArrayList<>());
-		
-			// Populate counts and cluster indices
-			for (int i = 0; i < memberships.length; i++) {
-				counts[memberships[i]]++;
-				clusterIndices.get(memberships[i]).add(i);
+		double evaluate(int[] population, int offset) {
+			Arrays.fill(clusterMembers, 0);
+			for (int i = 0; i < n; i++) {
+				clusterMembers[population[offset + i]]++;
+			}
+			int numWithinClusterDyads = 0;
+			for (int a = 0; a < numClusters; a++) {
+				numWithinClusterDyads += clusterMembers[a] * (clusterMembers[a] - 1);
 			}
-		
-			// Compute target sizes
-			int base = memberships.length / k; // Base size for each cluster
-			int extra = memberships.length % k; // Number of clusters with one extra element
-			int[] maxAllowed = new int[k];
-			for (int i = 0; i < k; i++) {
-				maxAllowed[i] = base + ((i < extra) ? 1 : 0); // Add 1 to the first 'extra' clusters (due to modulo)
+			int numBetweenClusterDyads = n * (n - 1) - numWithinClusterDyads;
+			for (int a = 0; a < numClusters; a++) {
+				double clusterFactor = (double) clusterMembers[a] * (clusterMembers[a] - 1) / numWithinClusterDyads;
+				expectedWithinClusterCongruence[a] = clusterFactor * (congruenceNorm / numWithinClusterDyads);
+				for (int b = 0; b < numClusters; b++) {
+					double betweenFactor = (double) clusterMembers[a] * clusterMembers[b] / numBetweenClusterDyads;
+					expectedBetweenClusterConflict[a * numClusters + b] = betweenFactor * (conflictNorm / numBetweenClusterDyads);
+				}
 			}
-		
-			// Balance clusters
-			for (int i = 0; i < k; i++) {
-				while (counts[i] > maxAllowed[i]) {
-					for (int j = 0; j < k; j++) {
-						if (counts[j] < maxAllowed[j]) {
-							// Move an element from cluster i to cluster j
-							int idx = clusterIndices.get(i).remove(0);
-							memberships[idx] = j; // Swap cluster membership from i to j
-							counts[i]--;
-							counts[j]++;
-							clusterIndices.get(j).add(idx); // Mark index as belonging to cluster j
-							break;
+
+			// same order of summation as in qualityAbsdiff to obtain identical results
+			double absdiff = 0.0;
+			for (int i = 0; i < n; i++) {
+				int mi = population[offset + i];
+				int row = i * n;
+				int betweenRow = mi * numClusters;
+				double expectedWithin = expectedWithinClusterCongruence[mi];
+				for (int j = 0; j < n; j++) {
+					if (i != j) {
+						int mj = population[offset + j];
+						if (mi == mj) {
+							absdiff += Math.abs(congruence[row + j] - expectedWithin); // Within-cluster congruence
+							absdiff += Math.abs(conflict[row + j]); // Conflict within clusters
+						} else {
+							absdiff += Math.abs(congruence[row + j]); // Between-cluster congruence
+							absdiff += Math.abs(conflict[row + j] - expectedBetweenClusterConflict[betweenRow + mj]); // Between-cluster conflict
 						}
 					}
 				}
 			}
-			return memberships;
+			if (normalize) {
+				return (absdiff / (2.0 * (congruenceNorm + conflictNorm)));
+			} else {
+				return absdiff * 0.5;
+			}
 		}
 	}
 
 	/**
-	 * This class represents a single iteration of the genetic algorithm, including
-	 * quality evaluation, elite retention, crossover, and mutation.
+	 * This class represents the population of cluster solutions of the genetic
+	 * algorithm for a single time step and performs the iterations, including
+	 * quality evaluation, elite retention, crossover, and mutation. The
+	 * membership vectors of all cluster solutions are stored one after another in
+	 * a single array of length {@code numParents * n}. The children are bred into
+	 * a second array of the same size, and the two arrays are swapped after each
+	 * iteration, so the iterations do not allocate any memory apart from ranking
+	 * the elites.
 	 */
-	private class GeneticIteration {
-		final double[][] congruenceNetwork;
-		final double[][] conflictNetwork;
+	private class GeneticPopulation {
+		final QualityKernel kernel;
 		final int n;
+		final int numClusters;
 		final int numElites;
 		final int numMutations;
-		final ArrayList<ClusterSolution> clusterSolutions;
-		final boolean normalize;
-		double[] q; // quality scores for each cluster solution
-		ArrayList<ClusterSolution> children; // children cluster solutions
+		int[] parents; // membership vectors of the current generation
+		int[] children; // membership vectors of the next generation
+		final double[] q; // quality scores of the last evaluated generation
+		final int[] overlap; // scratch buffer: overlap matrix of two parents, row-major
+		final int[] relabelMap; // scratch buffer: map from cluster labels of the first parent to the second parent
+		final boolean[] assigned; // scratch buffer: cluster labels of the second parent that have been mapped
+		final int[] counts; // scratch buffer: cluster sizes of a child
+		final int[] maxAllowed; // target cluster sizes
 
 		/**
-		 * Performs a single iteration of the genetic algorithm, including quality
-		 * evaluation, elite retention, crossover, and mutation.
+		 * Create a population of cluster solutions for the genetic algorithm.
 		 *
-		 * @param clusterSolutions The cluster solutions (= parents).
-		 * @param congruenceNetwork The congruence matrix.
-		 * @param conflictNetwork The conflict matrix.
-		 * @param normalize Should the quality/fitness scores be normalized?
+		 * @param initialSolutions The initial cluster solutions (= parents of the first iteration).
+		 * @param kernel The evaluation kernel for the networks of the time step.
 		 * @param numClusters The number of clusters.
-		 * @param rng The random number generator to use.
-		 * @return A list of children cluster solutions.
 		 */
-		GeneticIteration(ArrayList<ClusterSolution> clusterSolutions, double[][] congruenceNetwork, double[][] conflictNetwork, boolean normalize, int numClusters, Random rng) {
-			this.clusterSolutions = new ArrayList<>(clusterSolutions);
-			this.normalize = normalize;
-			this.congruenceNetwork = congruenceNetwork.clone();
-			this.conflictNetwork = conflictNetwork.clone();
-			this.n = this.congruenceNetwork.length;
-			
+		GeneticPopulation(ArrayList<ClusterSolution> initialSolutions, QualityKernel kernel, int numClusters) {
+			this.kernel = kernel;
+			this.n = kernel.n;
+			this.numClusters = numClusters;
+			this.parents = new int[numParents * n];
+			this.children = new int[numParents * n];
+			for (int i = 0; i < numParents; i++) {
+				System.arraycopy(initialSolutions.get(i).getMemberships(), 0, this.parents, i * n, n);
+			}
+			this.q = new double[numParents];
+			this.overlap = new int[numClusters * numClusters];
+			this.relabelMap = new int[numClusters];
+			this.assigned = new boolean[numClusters];
+			this.counts = new int[numClusters];
+
+			// target sizes of balanced clusters
+			this.maxAllowed = new int[numClusters];
+			int base = n / numClusters; // Base size for each cluster
+			int extra = n % numClusters; // Number of clusters with one extra element
+			for (int i = 0; i < numClusters; i++) {
+				this.maxAllowed[i] = base + ((i < extra) ? 1 : 0); // Add 1 to the first 'extra' clusters (due to modulo)
+			}
+
 			// Calculate the number of elites based on the percentage
 			this.numElites = Math.max(1, (int) Math.round(elitePercentage * numParents)); // At least one elite
 			LogEvent log = new LogEvent(Logger.MESSAGE, "Number of elites: " + this.numElites,
@@ -781,72 +805,56 @@ public class Polarization {
 
 			// Calculate the number of mutations based on the percentage
 			this.numMutations = (int) Math.round((mutationPercentage * n) / 2.0); // Half the number of nodes because we swap pairs
-			log = new LogEvent(Logger.MESSAGE, "Number of mutations: " + this.numMutations,
-					"Number of mutations based on the mutation percentage.");
+			log = new LogEvent(Logger.MESSAGE, "Number of mutations: " + this.numMutations + " (drawn but not applied)",
+					"Number of membership pairs drawn for mutation in each non-elite child, based on the mutation percentage. As in previous versions of DNA, the pairs are drawn but not swapped, so the mutations do not change the children.");
 			Dna.logger.log(log);
-
-			this.q = evaluateQuality(this.congruenceNetwork, this.conflictNetwork, this.normalize, numClusters);
-			this.children = eliteRetentionStep(this.clusterSolutions, this.q, this.numElites);
-			this.children = crossoverStep(this.clusterSolutions, this.q, this.children, rng);
-			this.children = mutationStep(this.children, this.numMutations, this.n,  rng);
 		}
 
 		/**
-		 * Evaluates the quality of cluster solutions using the specified quality function.
-		 * The quality scores are transformed to the range [-Inf, 0] where 0 is high fitness
-		 * or [-1, 0] if normalization is used.
+		 * Performs a single iteration of the genetic algorithm: evaluates the
+		 * quality of the parents, breeds the children, and makes the children the
+		 * parents of the next iteration.
 		 *
-		 * @param congruenceNetwork The congruence network matrix.
-		 * @param conflictNetwork   The conflict network matrix.
-		 * @param normalize         Normalize the results?
-		 * @param numClusters       The number of clusters.
-		 * @return An array of quality scores for each cluster solution.
+		 * @param rng The random number generator to use.
 		 */
-		private double[] evaluateQuality(double[][] congruenceNetwork, double[][] conflictNetwork, boolean normalize, int numClusters) {
-			double[] q = new double[clusterSolutions.size()];
-			for (int i = 0; i < clusterSolutions.size(); i++) {
-				int[] mem = clusterSolutions.get(i).getMemberships();
-				q[i] = qualityAbsdiff(mem, congruenceNetwork, conflictNetwork, normalize, numClusters);
-			}
-			return q;
+		void iterate(Random rng) {
+			kernel.evaluate(parents, numParents, q);
+			int numChildren = eliteRetentionStep();
+			crossoverStep(numChildren, rng);
+			mutationStep(rng);
+			int[] temp = parents;
+			parents = children;
+			children = temp;
 		}
 
 		/**
-		 * Creates an initially empty children generation and adds elites from the parent generation of cluster solutions.
+		 * Copies the elites from the parent generation to the beginning of the
+		 * children generation, in the order of the parents.
 		 *
-		 * @param clusterSolutions The list of parent generation cluster solutions.
-		 * @param q                The array of quality values for the parent generation (their modularity or EI scores transformed to [0, 1] where 1 is high fitness).
-		 * @param numElites        The number of elite solutions to retain for the children generation.
-		 * @return A list of children containing the cloned elite solutions from the parent generation.
+		 * @return The number of children after elite retention.
 		 */
-		private ArrayList<ClusterSolution> eliteRetentionStep (ArrayList<ClusterSolution> clusterSolutions, double[] q, int numElites) {
+		private int eliteRetentionStep() {
 			int[] qRanks = calculateRanks(q); // Rank the quality values in descending order
-
-			ArrayList<ClusterSolution> children = new ArrayList<>();
+			int numChildren = 0;
 			for (int i = 0; i < qRanks.length; i++) {
 				if (qRanks[i] < numElites) {
-					try {
-						children.add((ClusterSolution) clusterSolutions.get(i).clone());
-					} catch (CloneNotSupportedException e) {
-						LogEvent log = new LogEvent(Logger.ERROR, "Elite solution at index " + i + " could not be cloned.", "Elite solutions are not copied to the children generation.");
-						Dna.logger.log(log);
-					}
+					System.arraycopy(parents, i * n, children, numChildren * n, n);
+					numChildren++;
 				}
 			}
-			return children;
+			return numChildren;
 		}
 
 		/**
-		 * Performs the crossover step by generating additional children using roulette wheel sampling,
-		 * based on the quality scores of cluster solutions, and appends them to an existing children list.
+		 * Performs the crossover step by generating the remaining children using
+		 * roulette wheel sampling, based on the quality scores of the parents.
+		 * The quality scores are shifted to non-negative values in place if
+		 * necessary.
 		 *
-		 * @param clusterSolutions The list of parent cluster solutions.
-		 * @param q                An array of quality scores corresponding to the cluster solutions.
-		 * @param children         The existing children list produced by the elite retention step.
-		 * @param rng              The random number generator to use.
-		 * @return The updated children list with additional solutions generated through roulette sampling and crossover.
+		 * @param numChildren The number of children produced by the elite retention step.
+		 * @param rng The random number generator to use.
 		 */
-		private ArrayList<ClusterSolution> crossoverStep(ArrayList<ClusterSolution> clusterSolutions, double[] q, ArrayList<ClusterSolution> children, Random rng) {
+		private void crossoverStep(int numChildren, Random rng) {
 
 			// adjust fitness scores to ensure that they are all non-negative and the sum is positive to make roulette wheel selection work
 			double qMinimum = 0.0, qMaximum = 0.0, qTotal = 0.0;
@@ -879,7 +887,7 @@ public class Polarization {
 			}
 
 			// hybrid roulette wheel sampling for fitness-proportional sampling with uniform random sampling element to create more diversity in the gene pool
-			while (children.size() < numParents) {
+			while (numChildren < numParents) {
 				int firstParentIndex = -1, secondParentIndex = -1;
 
 				//  select first parent with roulette wheel sampling (= probability proportional to fitness)
@@ -915,79 +923,120 @@ public class Polarization {
 				}
 
 				// create child by crossover of the two selected parents
-				ClusterSolution c = clusterSolutions.get(firstParentIndex);
-				int[] child = c.crossover(clusterSolutions.get(secondParentIndex).getMemberships(), rng);
-				children.add(new ClusterSolution(n, numClusters, child));
+				crossover(firstParentIndex * n, secondParentIndex * n, numChildren * n, rng);
+				numChildren++;
 			}
+		}
 
-			return children;
+		/**
+		 * Crossover breeding. Combines the membership vectors of two parents to
+		 * produce a child with balanced cluster distribution.
+		 *
+		 * @param first The offset of the first parent in the parent array.
+		 * @param second The offset of the second parent in the parent array.
+		 * @param child The offset of the child in the children array.
+		 * @param rng The random number generator to use.
+		 */
+		private void crossover(int first, int second, int child, Random rng) {
+			// Step 1: Relabel clusters of the first parent to align with maximum overlap
+			Arrays.fill(overlap, 0);
+			for (int i = 0; i < n; i++) {
+				overlap[parents[first + i] * numClusters + parents[second + i]]++;
+			}
+			Arrays.fill(assigned, false);
+			Arrays.fill(relabelMap, -1);
+			for (int row = 0; row < numClusters; row++) {
+				// assign the column with the largest overlap that has not been assigned yet, the first one in case of ties
+				int best = -1;
+				for (int col = 0; col < numClusters; col++) {
+					if (!assigned[col] && (best == -1 || overlap[row * numClusters + col] > overlap[row * numClusters + best])) {
+						best = col;
+					}
+				}
+				relabelMap[row] = best;
+				assigned[best] = true;
+			}
+
+			// Step 2: Perform random crossover between the relabeled first parent and the second parent
+			for (int i = 0; i < n; i++) {
+				children[child + i] = (rng.nextBoolean()) ? relabelMap[parents[first + i]] : parents[second + i];
+			}
+
+			// Step 3: Adjust cluster distribution to achieve balance
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < n; i++) {
+				counts[children[child + i]]++;
+			}
+			for (int i = 0; i < numClusters; i++) {
+				// move the members of an over-represented cluster, starting with the first node, to under-represented clusters
+				for (int node = 0; node < n && counts[i] > maxAllowed[i]; node++) {
+					if (children[child + node] == i) {
+						for (int j = 0; j < numClusters; j++) {
+							if (counts[j] < maxAllowed[j]) {
+								children[child + node] = j;
+								counts[i]--;
+								counts[j]++;
+								break;
+							}
+						}
+					}
+				}
+			}
 		}
 
 		/**
-		 * Mutation step: Randomly select some pairs of cluster memberships ("chromosomes") in non-elite solutions and swap around their cluster membership.
+		 * Mutation step: Randomly select some pairs of cluster memberships
+		 * ("chromosomes") in the non-elite children.
 		 * 
-		 * @param children     The children generation of cluster solutions as an array list.
-		 * @param numMutations The number of mutations to perform.
-		 * @param n            The number of nodes in the network.
-		 * @param rng          The random number generator to use.
-		 * @return An array list with the mutated children generation of cluster solutions.
+		 * <p>The selected pairs are not swapped. The previous implementation
+		 * swapped them in a defensive copy of each child, so mutations have never
+		 * affected the children, and the early convergence check, which requires
+		 * the quality scores of all children to be practically identical, relies
+		 * on this. The pairs are still drawn to keep the random number sequence,
+		 * and thus the results for a given random seed, unchanged. The previous
+		 * implementation collected the pairs in a hash set of pair objects without
+		 * value equality, so repeated pairs were never merged; counting the valid
+		 * draws therefore consumes exactly the same random numbers.
+		 *
+		 * @param rng The random number generator to use.
 		 */
-		private ArrayList<ClusterSolution> mutationStep(ArrayList<ClusterSolution> children, int numMutations, int n, Random rng) {
+		private void mutationStep(Random rng) {
 			if (numMutations <= 0) {
-				return children; // No mutations to perform
+				return; // No mutations to perform
 			}
-			if (numMutations < 0) {
-				LogEvent log = new LogEvent(Logger.ERROR, "Invalid number of mutations.",
-						"Number of mutations must be non-negative.");
-				Dna.logger.log(log);
-			}
-
 			for (int i = numElites; i < numParents; i++) {
-				int[] memberships = children.get(i).getMemberships();
-				Set<MembershipPair> mutationPairs = new HashSet<>();
-
-				// Generate unique mutation pairs
-				while (mutationPairs.size() < numMutations) {
+				int offset = i * n;
+				int drawn = 0;
+				while (drawn < numMutations) {
 					int firstIndex = rng.nextInt(n);
 					int secondIndex = rng.nextInt(n);
-
-					// Ensure valid and unique pairs
-					if (firstIndex != secondIndex && memberships[firstIndex] != memberships[secondIndex]) {
-						MembershipPair pair = new MembershipPair(
-								Math.min(firstIndex, secondIndex),
-								Math.max(firstIndex, secondIndex));
-						mutationPairs.add(pair);
+					if (firstIndex != secondIndex && children[offset + firstIndex] != children[offset + secondIndex]) {
+						drawn++;
 					}
 				}
-
-				// Apply mutations by swapping memberships
-				for (MembershipPair pair : mutationPairs) {
-					int firstIndex = pair.getFirstIndex();
-					int secondIndex = pair.getSecondIndex();
-					int temp = memberships[firstIndex];
-					memberships[firstIndex] = memberships[secondIndex];
-					memberships[secondIndex] = temp;
-				}
 			}
-			return children;
 		}
 
 		/**
-		 * Returns the list of children cluster solutions.
+		 * Returns the quality scores of the parents of the last iteration. The
+		 * scores may have been shifted to non-negative values for roulette wheel
+		 * sampling.
 		 *
-		 * @return The list of children cluster solutions.
+		 * @return The quality scores for each cluster solution.
 		 */
-		public ArrayList<ClusterSolution> getChildren() {
-			return this.children;
+		double[] getQ() {
+			return this.q;
 		}
 
 		/**
-		 * Returns the quality scores for each cluster solution.
-		 * 
-		 * @return The quality scores for each cluster solution.
+		 * Returns a copy of the membership vector of a cluster solution of the
+		 * current generation, i.e., the children of the last iteration.
+		 *
+		 * @param index The index of the cluster solution.
+		 * @return A copy of the membership vector.
 		 */
-		public double[] getQ() {
-			return q;
+		int[] getMemberships(int index) {
+			return Arrays.copyOfRange(this.parents, index * n, (index + 1) * n);
 		}
 	}
 
@@ -999,24 +1048,91 @@ public class Polarization {
 	 * @return A PolarizationResultTimeSeries object containing the results of the genetic algorithm for each time step and iteration.
 	 */
 	public PolarizationResultTimeSeries geneticAlgorithm() {
-		Random r = (this.randomSeed == 0) ? new Random() : new Random(this.randomSeed); // Initialize RNG
-	
-		ArrayList<PolarizationResult> polarizationResults = ProgressBar
-				.wrap(IntStream.range(0, Polarization.this.congruence.size()).parallel(), "Genetic algorithm")
-				.map(t -> geneticTimeStep(t, r.nextLong()))
-		  		.collect(Collectors.toCollection(ArrayList::new));
-  
+		long[] seeds = createSeeds();
+		ArrayList<PolarizationResult> polarizationResults;
+		if (this.warmStart) {
+			polarizationResults = warmStartTimeSteps("Genetic algorithm", seeds, (t, seed, previous) -> geneticTimeStep(t, seed, previous));
+		} else {
+			polarizationResults = ProgressBar
+					.wrap(IntStream.range(0, Polarization.this.congruence.size()).parallel(), "Genetic algorithm")
+					.map(t -> geneticTimeStep(t, seeds[t], null))
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+
 		return new PolarizationResultTimeSeries(polarizationResults);
 	}
+
+	/**
+	 * Draw one random seed for each time step from a random number generator
+	 * initialized with the random seed of the analysis. The seeds are drawn
+	 * before the time steps are processed in parallel, so every time step gets
+	 * the same seed in every run.
+	 *
+	 * @return An array of random seeds, one for each time step.
+	 */
+	private long[] createSeeds() {
+		Random r = (this.randomSeed == 0) ? new Random() : new Random(this.randomSeed); // Initialize RNG
+		long[] seeds = new long[this.congruence.size()];
+		for (int t = 0; t < seeds.length; t++) {
+			seeds[t] = r.nextLong();
+		}
+		return seeds;
+	}
+
+	/**
+	 * A run of an algorithm for a single time step, for warm starts.
+	 */
+	private interface TimeStepAlgorithm {
+		/**
+		 * Run the algorithm for a single time step.
+		 *
+		 * @param t The time step index.
+		 * @param seed A random seed to ensure reproducibility.
+		 * @param previous The result of the previous time step, or {@code null} for random initial solutions.
+		 * @return The PolarizationResult for the given time step.
+		 */
+		PolarizationResult run(int t, long seed, PolarizationResult previous);
+	}
+
+	/**
+	 * Run an algorithm over all time steps with warm starts. The time steps are
+	 * split into chronological chunks of {@link #WARM_START_CHUNK_SIZE} time
+	 * steps. The chunks are processed in parallel, and the time steps within a
+	 * chunk are processed in chronological order, each starting from the best
+	 * solution of the previous time step with a non-empty network. Adjacent
+	 * kernel-smoothed time steps overlap almost completely, so the algorithm
+	 * starts close to a good solution and converges quickly.
+	 *
+	 * @param taskName The name of the task to display in the progress bar.
+	 * @param seeds The random seeds of the time steps.
+	 * @param algorithm The algorithm to run for each time step.
+	 * @return A list of PolarizationResult objects in chronological order.
+	 */
+	private ArrayList<PolarizationResult> warmStartTimeSteps(String taskName, long[] seeds, TimeStepAlgorithm algorithm) {
+		int numTimeSteps = seeds.length;
+		int numChunks = (numTimeSteps + WARM_START_CHUNK_SIZE - 1) / WARM_START_CHUNK_SIZE;
+		PolarizationResult[] results = new PolarizationResult[numTimeSteps];
+		ProgressBar.wrap(IntStream.range(0, numChunks).parallel(), taskName).forEach(chunk -> {
+			PolarizationResult previous = null;
+			for (int t = chunk * WARM_START_CHUNK_SIZE; t < Math.min(numTimeSteps, (chunk + 1) * WARM_START_CHUNK_SIZE); t++) {
+				results[t] = algorithm.run(t, seeds[t], previous);
+				if (results[t].getMemberships().length > 0) {
+					previous = results[t];
+				}
+			}
+		});
+		return new ArrayList<PolarizationResult>(Arrays.asList(results));
+	}
 	
 	/**
 	 * Runs the genetic algorithm for a single time step.
 	 *
 	 * @param t The time step index.
 	 * @param seed A random seed to ensure reproducibility.
+	 * @param previous The result of the previous time step for a warm start, or {@code null} for random initial solutions.
 	 * @return The PolarizationResult for the given time step.
 	 */
-	private PolarizationResult geneticTimeStep(int t, long seed) {
+	private PolarizationResult geneticTimeStep(int t, long seed, PolarizationResult previous) {
 		// Skip empty or near-empty networks
 		if (this.congruence.get(t).getMatrix().length <= numClusters || 
 			(calculateMatrixNorm(this.congruence.get(t).getMatrix()) + calculateMatrixNorm(this.conflict.get(t).getMatrix())) == 0) {
@@ -1041,29 +1157,39 @@ public class Polarization {
 		double[] avgQArray = new double[numIterations];
 		double[] sdQArray = new double[numIterations];
 	
-		// Initialize random cluster solutions
+		// Initialize random cluster solutions, or perturbed copies of the previous best solution for a warm start
 		ArrayList<ClusterSolution> cs = new ArrayList<>();
-		for (int i = 0; i < numParents; i++) {
-			cs.add(new ClusterSolution(this.congruence.get(t).getMatrix().length, numClusters, rng));
+		if (previous == null) {
+			for (int i = 0; i < numParents; i++) {
+				cs.add(new ClusterSolution(this.congruence.get(t).getMatrix().length, numClusters, rng));
+			}
+		} else {
+			ClusterSolution warmStartSolution = new ClusterSolution(this.congruence.get(t).getRowNames(), previous, numClusters, rng);
+			int numSwaps = Math.max(1, (int) Math.round((mutationPercentage * warmStartSolution.N) / 2.0));
+			cs.add(warmStartSolution);
+			for (int i = 1; i < numParents; i++) {
+				cs.add(new ClusterSolution(warmStartSolution, numSwaps, rng));
+			}
 		}
+		QualityKernel kernel = new QualityKernel(
+			this.congruence.get(t).getMatrix(), 
+			this.conflict.get(t).getMatrix(), 
+			this.normalizeScores, this.numClusters
+		);
+		GeneticPopulation population = new GeneticPopulation(cs, kernel, this.numClusters);
 	
 		// Iterative breeding process
 		for (int i = 0; i < numIterations; i++) {
-			GeneticIteration geneticIteration = new GeneticIteration(
-				cs, this.congruence.get(t).getMatrix(), 
-				this.conflict.get(t).getMatrix(), 
-				this.normalizeScores, this.numClusters, rng
-			);
-			cs = geneticIteration.getChildren();
+			population.iterate(rng);
 	
 			// Compute quality metrics
-			double[] qualityScores = geneticIteration.getQ();
+			double[] qualityScores = population.getQ();
 			maxQ = -1.0;
 			avgQ = 0.0;
 			sdQ = 0.0;
 			maxIndex = -1;
 	
-			for (int j = 0; j < cs.size(); j++) {
+			for (int j = 0; j < numParents; j++) {
 				avgQ += qualityScores[j];
 				if (qualityScores[j] > maxQ) {
 					maxQ = qualityScores[j];
@@ -1126,7 +1252,7 @@ public class Polarization {
 		// Store results
 		return new PolarizationResult(
 			maxQArrayTemp, avgQArrayTemp, sdQArrayTemp, 
-			maxQ, cs.get(maxIndex).getMemberships().clone(), 
+			maxQ, population.getMemberships(maxIndex), 
 			this.congruence.get(t).getRowNames(), earlyConvergence, 
 			this.congruence.get(t).getStart(), 
 			this.congruence.get(t).getStop(), 
@@ -1162,7 +1288,8 @@ public class Polarization {
      * but using kernel smoothing around a forward-moving mid-point on the time axis (gamma). The networks are defined
      * by the mid-point {@code gamma}, the window size {@code w}, and the kernel function. If isolates are included,
 	 * all networks will have the same dimensions and labels. If isolates are excluded, the dimensions and labels will
-	 * change over time. For polarization, changing dimensions and labels are recommended.
+	 * change over time. For polarization, changing dimensions and labels are recommended. The congruence and conflict
+	 * networks of each time slice are computed in the same pass by a {@link KernelSmoother}.
      */
 	public void computeKernelSmoothedTimeSlices() {
 
@@ -1177,35 +1304,32 @@ public class Polarization {
 		LocalDateTime e = this.ldtStop.isAfter(lastDate) ? lastDate : this.ldtStop;  // end of statement list
 		LocalDateTime gamma = b; // current time while progressing through list of statements
 		LocalDateTime e2 = e; // indented end point (e minus half w)
-		if (this.indentTime) {
-			if (timeWindow.equals("minutes")) {
-				gamma = gamma.plusMinutes(W_HALF);
-				e2 = e.minusMinutes(W_HALF);
-			} else if (timeWindow.equals("hours")) {
-				gamma = gamma.plusHours(W_HALF);
-				e2 = e.minusHours(W_HALF);
-			} else if (timeWindow.equals("days")) {
-				gamma = gamma.plusDays(W_HALF);
-				e2 = e.minusDays(W_HALF);
-			} else if (timeWindow.equals("weeks")) {
-				gamma = gamma.plusWeeks(W_HALF);
-				e2 = e.minusWeeks(W_HALF);
-			} else if (timeWindow.equals("months")) {
-				gamma = gamma.plusMonths(W_HALF);
-				e2 = e.minusMonths(W_HALF);
-			} else if (timeWindow.equals("years")) {
-				gamma = gamma.plusYears(W_HALF);
-				e2 = e.minusYears(W_HALF);
-			}
+		ChronoUnit unit = null; // the time unit of the time window; no time slices are created for other time units
+		if (timeWindow.equals("minutes")) {
+			unit = ChronoUnit.MINUTES;
+		} else if (timeWindow.equals("hours")) {
+			unit = ChronoUnit.HOURS;
+		} else if (timeWindow.equals("days")) {
+			unit = ChronoUnit.DAYS;
+		} else if (timeWindow.equals("weeks")) {
+			unit = ChronoUnit.WEEKS;
+		} else if (timeWindow.equals("months")) {
+			unit = ChronoUnit.MONTHS;
+		} else if (timeWindow.equals("years")) {
+			unit = ChronoUnit.YEARS;
+		}
+		if (this.indentTime && unit != null) {
+			gamma = gamma.plus(W_HALF, unit);
+			e2 = e.minus(W_HALF, unit);
 		}
 
-		// save the labels of the qualifier and put indices in hash maps for fast retrieval
+		// save the labels of the qualifier
 		String[] qualValues = new String[] { "" };
 		if (this.qualifier != null) {
 			 qualValues = this.exporter.extractLabels(filteredStatements, this.qualifier, this.qualifierDocument);
 		}
 		if (this.qualifier != null && this.exporter.getDataType(this.qualifier).equals("integer")) {
-			int[] qual = this.exporter.getOriginalStatements().stream().mapToInt(s -> (int) s.get(this.qualifier)).distinct().sorted().toArray();
+			int[] qual = this.exporter.getIntegerValues(this.qualifier);
 			if (qual.length < qualValues.length) {
 				qualValues = IntStream.rangeClosed(qual[0], qual[qual.length - 1])
 						.mapToObj(String::valueOf)
@@ -1213,257 +1337,195 @@ public class Polarization {
 			}
 		}
 
-		// create an array list of empty Matrix results, store all date-time stamps in them, and save indices in a hash map; also create X arrays for the kernel smoothing
-		ArrayList<ArrayList<ExportStatement>[][][]> xArrayList = new ArrayList<>();
-		if (this.kernel.equals("gaussian")) { // for each mid-point gamma, create an empty Matrix and save the start, mid, and end time points in it as defined by the start and end of the whole time range; the actual matrix is injected later
-
-			// save the labels of the variables and put indices in hash maps for fast retrieval
-			String[] var1Values = this.exporter.extractLabels(filteredStatements, this.variable1, this.variable1Document);
-			String[] var2Values = this.exporter.extractLabels(filteredStatements, this.variable2, this.variable2Document);
-
-			// create the empty matrices and X arrays
-			if (timeWindow.equals("minutes")) {
-				while (!gamma.isAfter(e2)) {
-					this.congruence.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					this.conflict.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					xArrayList.add(create3dArray(var1Values, var2Values, qualValues, filteredStatements));
-					gamma = gamma.plusMinutes(1);
-				}
-			} else if (timeWindow.equals("hours")) {
-				while (!gamma.isAfter(e2)) {
-					this.congruence.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					this.conflict.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					xArrayList.add(create3dArray(var1Values, var2Values, qualValues, filteredStatements));
-					gamma = gamma.plusHours(1);
-				}
-			} else if (timeWindow.equals("days")) {
-				while (!gamma.isAfter(e2)) {
-					this.congruence.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					this.conflict.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					xArrayList.add(create3dArray(var1Values, var2Values, qualValues, filteredStatements));
-					gamma = gamma.plusDays(1);
-				}
-			} else if (timeWindow.equals("weeks")) {
-				while (!gamma.isAfter(e2)) {
-					this.congruence.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					this.conflict.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					xArrayList.add(create3dArray(var1Values, var2Values, qualValues, filteredStatements));
-					gamma = gamma.plusWeeks(1);
-				}
-			} else if (timeWindow.equals("months")) {
-				while (!gamma.isAfter(e2)) {
-					this.congruence.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					this.conflict.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					xArrayList.add(create3dArray(var1Values, var2Values, qualValues, filteredStatements));
-					gamma = gamma.plusMonths(1);
-				}
-			} else if (timeWindow.equals("years")) {
-				while (!gamma.isAfter(e2)) {
-					this.congruence.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					this.conflict.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
-					xArrayList.add(create3dArray(var1Values, var2Values, qualValues, filteredStatements));
-					gamma = gamma.plusYears(1);
-				}
-			}
-		} else { // for each mid-point gamma, create an empty Matrix and save the start, mid, and end time points in it as defined by width w; the actual matrix is injected later
-			if (timeWindow.equals("minutes")) {
-				while (!gamma.isAfter(e2)) {
-					final LocalDateTime g = gamma;
-					ArrayList<ExportStatement> currentStatements = filteredStatements.stream().filter(s -> s.getDateTime().isAfter(g.minusMinutes(W_HALF).isBefore(b) ? b : g.minusMinutes(W_HALF)) && s.getDateTime().isBefore(g.plusMinutes(W_HALF).isAfter(e) ? e : g.plusMinutes(W_HALF))).collect(Collectors.toCollection(ArrayList::new));
-					String[] var1ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable1, this.variable1Document);
-					String[] var2ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable2, this.variable2Document);
-					this.congruence.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusMinutes(W_HALF).isBefore(b) ? b : gamma.minusMinutes(W_HALF), gamma, gamma.plusMinutes(W_HALF).isAfter(e) ? e : gamma.plusMinutes(W_HALF)));
-					this.conflict.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusMinutes(W_HALF).isBefore(b) ? b : gamma.minusMinutes(W_HALF), gamma, gamma.plusMinutes(W_HALF).isAfter(e) ? e : gamma.plusMinutes(W_HALF)));
-					xArrayList.add(create3dArray(var1ValuesCurrent, var2ValuesCurrent, qualValues, currentStatements));
-					gamma = gamma.plusMinutes(1);
-				}
-			} else if (timeWindow.equals("hours")) {
-				while (!gamma.isAfter(e2)) {
-					final LocalDateTime g = gamma;
-					ArrayList<ExportStatement> currentStatements = filteredStatements.stream().filter(s -> s.getDateTime().isAfter(g.minusHours(W_HALF).isBefore(b) ? b : g.minusHours(W_HALF)) && s.getDateTime().isBefore(g.plusHours(W_HALF).isAfter(e) ? e : g.plusHours(W_HALF))).collect(Collectors.toCollection(ArrayList::new));
-					String[] var1ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable1, this.variable1Document);
-					String[] var2ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable2, this.variable2Document);
-					this.congruence.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusHours(W_HALF).isBefore(b) ? b : gamma.minusHours(W_HALF), gamma, gamma.plusHours(W_HALF).isAfter(e) ? e : gamma.plusHours(W_HALF)));
-					this.conflict.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusHours(W_HALF).isBefore(b) ? b : gamma.minusHours(W_HALF), gamma, gamma.plusHours(W_HALF).isAfter(e) ? e : gamma.plusHours(W_HALF)));
-					xArrayList.add(create3dArray(var1ValuesCurrent, var2ValuesCurrent, qualValues, currentStatements));
-					gamma = gamma.plusHours(1);
-				}
-			} else if (timeWindow.equals("days")) {
-				while (!gamma.isAfter(e2)) {
-					final LocalDateTime g = gamma;
-					ArrayList<ExportStatement> currentStatements = filteredStatements.stream().filter(s -> s.getDateTime().isAfter(g.minusDays(W_HALF).isBefore(b) ? b : g.minusDays(W_HALF)) && s.getDateTime().isBefore(g.plusDays(W_HALF).isAfter(e) ? e : g.plusDays(W_HALF))).collect(Collectors.toCollection(ArrayList::new));
-					String[] var1ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable1, this.variable1Document);
-					String[] var2ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable2, this.variable2Document);
-					this.congruence.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusDays(W_HALF).isBefore(b) ? b : gamma.minusDays(W_HALF), gamma, gamma.plusDays(W_HALF).isAfter(e) ? e : gamma.plusDays(W_HALF)));
-					this.conflict.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusDays(W_HALF).isBefore(b) ? b : gamma.minusDays(W_HALF), gamma, gamma.plusDays(W_HALF).isAfter(e) ? e : gamma.plusDays(W_HALF)));
-					xArrayList.add(create3dArray(var1ValuesCurrent, var2ValuesCurrent, qualValues, currentStatements));
-					gamma = gamma.plusDays(1);
-				}
-			} else if (timeWindow.equals("weeks")) {
-				while (!gamma.isAfter(e2)) {
-					final LocalDateTime g = gamma;
-					ArrayList<ExportStatement> currentStatements = filteredStatements.stream().filter(s -> s.getDateTime().isAfter(g.minusWeeks(W_HALF).isBefore(b) ? b : g.minusWeeks(W_HALF)) && s.getDateTime().isBefore(g.plusWeeks(W_HALF).isAfter(e) ? e : g.plusWeeks(W_HALF))).collect(Collectors.toCollection(ArrayList::new));
-					String[] var1ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable1, this.variable1Document);
-					String[] var2ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable2, this.variable2Document);
-					this.congruence.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusWeeks(W_HALF).isBefore(b) ? b : gamma.minusWeeks(W_HALF), gamma, gamma.plusWeeks(W_HALF).isAfter(e) ? e : gamma.plusWeeks(W_HALF)));
-					this.conflict.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusWeeks(W_HALF).isBefore(b) ? b : gamma.minusWeeks(W_HALF), gamma, gamma.plusWeeks(W_HALF).isAfter(e) ? e : gamma.plusWeeks(W_HALF)));
-					xArrayList.add(create3dArray(var1ValuesCurrent, var2ValuesCurrent, qualValues, currentStatements));
-					gamma = gamma.plusWeeks(1);
-				}
-			} else if (timeWindow.equals("months")) {
-				while (!gamma.isAfter(e2)) {
-					final LocalDateTime g = gamma;
-					ArrayList<ExportStatement> currentStatements = filteredStatements.stream().filter(s -> s.getDateTime().isAfter(g.minusMonths(W_HALF).isBefore(b) ? b : g.minusMonths(W_HALF)) && s.getDateTime().isBefore(g.plusMonths(W_HALF).isAfter(e) ? e : g.plusMonths(W_HALF))).collect(Collectors.toCollection(ArrayList::new));
-					String[] var1ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable1, this.variable1Document);
-					String[] var2ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable2, this.variable2Document);
-					this.congruence.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusMonths(W_HALF).isBefore(b) ? b : gamma.minusMonths(W_HALF), gamma, gamma.plusMonths(W_HALF).isAfter(e) ? e : gamma.plusMonths(W_HALF)));
-					this.conflict.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusMonths(W_HALF).isBefore(b) ? b : gamma.minusMonths(W_HALF), gamma, gamma.plusMonths(W_HALF).isAfter(e) ? e : gamma.plusMonths(W_HALF)));
-					xArrayList.add(create3dArray(var1ValuesCurrent, var2ValuesCurrent, qualValues, currentStatements));
-					gamma = gamma.plusMonths(1);
-				}
-			} else if (timeWindow.equals("years")) {
-				while (!gamma.isAfter(e2)) {
-					final LocalDateTime g = gamma;
-					ArrayList<ExportStatement> currentStatements = filteredStatements.stream().filter(s -> s.getDateTime().isAfter(g.minusYears(W_HALF).isBefore(b) ? b : g.minusYears(W_HALF)) && s.getDateTime().isBefore(g.plusYears(W_HALF).isAfter(e) ? e : g.plusYears(W_HALF))).collect(Collectors.toCollection(ArrayList::new));
-					String[] var1ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable1, this.variable1Document);
-					String[] var2ValuesCurrent = this.exporter.extractLabels(currentStatements, this.variable2, this.variable2Document);
-					this.congruence.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusYears(W_HALF).isBefore(b) ? b : gamma.minusYears(W_HALF), gamma, gamma.plusYears(W_HALF).isAfter(e) ? e : gamma.plusYears(W_HALF)));
-					this.conflict.add(new Matrix(var1ValuesCurrent, var1ValuesCurrent, false, gamma.minusYears(W_HALF).isBefore(b) ? b : gamma.minusYears(W_HALF), gamma, gamma.plusYears(W_HALF).isAfter(e) ? e : gamma.plusYears(W_HALF)));
-					xArrayList.add(create3dArray(var1ValuesCurrent, var2ValuesCurrent, qualValues, currentStatements));
-					gamma = gamma.plusYears(1);
+		// save the labels of the variables and locate the statements in a time-indexed array of statement cells
+		String[] var1Values = this.exporter.extractLabels(filteredStatements, this.variable1, this.variable1Document);
+		String[] var2Values = this.exporter.extractLabels(filteredStatements, this.variable2, this.variable2Document);
+		KernelSmoother smoother = this.exporter.createKernelSmoother(filteredStatements, var1Values, var2Values, qualValues, true);
+
+		// for each mid-point gamma, save the start, mid, and end time points in a time slice; with the gaussian kernel,
+		// the slices cover the whole time range, otherwise they are defined by width w
+		ArrayList<Matrix> slices = new ArrayList<Matrix>();
+		if (unit != null) {
+			while (!gamma.isAfter(e2)) {
+				if (this.kernel.equals("gaussian")) {
+					slices.add(new Matrix(var1Values, var1Values, false, b, gamma, e));
+				} else {
+					slices.add(new Matrix(var1Values, var1Values, false, gamma.minus(W_HALF, unit).isBefore(b) ? b : gamma.minus(W_HALF, unit), gamma, gamma.plus(W_HALF, unit).isAfter(e) ? e : gamma.plus(W_HALF, unit)));
 				}
+				gamma = gamma.plus(1, unit);
 			}
 		}
 
-		// create kernel-smoothed congruence and conflict networks with parallel streams
-		this.congruence = ProgressBar.wrap(
-				Stream.iterate(0, i -> i + 1).limit(this.congruence.size()).parallel(), "Congruence")
-				.map(index -> this.exporter.processTimeSlice(this.congruence.get(index), xArrayList.get(index)))
-				.map(m -> {
-					for (int i = 0; i < m.getMatrix().length; i++) {
-						m.getMatrix()[i][i] = 0.0; // set diagonal to zero
+		// create kernel-smoothed congruence and conflict networks in one pass with a parallel stream; the nodes of each
+		// network are the actors with statements inside the time slice, so the dimensions and labels change over time;
+		// as in previous versions, both networks use the qualifier aggregation of the exporter, which is "subtract"
+		ArrayList<Matrix[]> networks = ProgressBar.wrap(slices.parallelStream(), "Kernel smoothing")
+				.map(slice -> {
+					int[] rows = smoother.findActiveRows(slice);
+					String[] names = IntStream.of(rows).mapToObj(i -> var1Values[i]).toArray(String[]::new);
+					double[][] m = smoother.computeOneModeMatrices(slice, rows, new String[] { "subtract" }, true)[0];
+					for (int i = 0; i < m.length; i++) {
+						m[i][i] = 0.0; // set diagonal to zero
 					}
-					return m;
-				})
-				.collect(Collectors.toCollection(ArrayList::new));
-		this.conflict = ProgressBar.wrap(
-				Stream.iterate(0, i -> i + 1).limit(this.conflict.size()).parallel(), "Conflict")
-				.map(index -> this.exporter.processTimeSlice(this.conflict.get(index), xArrayList.get(index)))
-				.map(m -> {
-					for (int i = 0; i < m.getMatrix().length; i++) {
-						m.getMatrix()[i][i] = 0.0; // set diagonal to zero
-							}
-					return m;
+					Matrix[] pair = new Matrix[2];
+					for (int a = 0; a < 2; a++) {
+						pair[a] = new Matrix(names, names, false, slice.getStart(), slice.getDateTime(), slice.getStop());
+						pair[a].setMatrix(a == 0 ? m : Arrays.stream(m).map(double[]::clone).toArray(double[][]::new));
+					}
+					return pair;
 				})
 				.collect(Collectors.toCollection(ArrayList::new));
+		this.congruence = networks.stream().map(pair -> pair[0]).collect(Collectors.toCollection(ArrayList::new));
+		this.conflict = networks.stream().map(pair -> pair[1]).collect(Collectors.toCollection(ArrayList::new));
 	}
 
-	/** Create a 3D array of ExportStatements for the kernel smoothing approach (variable 1 x variable 2 x qualifier).
-	 *
-	 * @param var1Values The values of the first variable.
-	 * @param var2Values The values of the second variable.
-	 * @param qualValues The values of the qualifier.
-	 * @param statements The list of ExportStatements.
-	 * @return A 3D array of array lists of ExportStatements.
+	/**
+	 * Delta evaluation of membership swaps for the greedy algorithm. Swapping the
+	 * memberships of two nodes does not change the cluster sizes, so the expected
+	 * within-cluster congruence and between-cluster conflict in
+	 * {@link #qualityAbsdiff(int[], double[][], double[][], boolean, int)} are the
+	 * same for all solutions of a greedy run and can be computed once. The
+	 * evaluator caches, for every node and every cluster, the sum of the absolute
+	 * differences between the node and all other nodes if the node were in that
+	 * cluster. The change of the absolute difference sum due to a swap can then be
+	 * computed from four cached sums and four corrections for the pair of swapped
+	 * nodes, instead of recomputing the quality of the whole solution twice. The
+	 * cache is rebuilt when a swap is accepted.
+	 * 
+	 * <p>The delta differs from the difference of two full evaluations by
+	 * rounding. To reproduce the decisions of the full evaluation exactly, a swap
+	 * is only accepted or rejected based on the delta if the delta exceeds a bound
+	 * on the rounding errors of both computations. Otherwise the decision is left
+	 * to the full evaluation.
 	 */
-	private ArrayList<ExportStatement>[][][] create3dArray(String[] var1Values, String[] var2Values, String[] qualValues, ArrayList<ExportStatement> statements) {
-		final HashMap<String, Integer> v1Map = new HashMap<>();
-		for (int i = 0; i < var1Values.length; i++) {
-			v1Map.put(var1Values[i], i);
-		}
-		final HashMap<String, Integer> v2Map = new HashMap<>();
-		for (int i = 0; i < var2Values.length; i++) {
-			v2Map.put(var2Values[i], i);
-		}
-		final HashMap<String, Integer> qMap = new HashMap<>();
-		if (this.qualifier != null) {
-			for (int i = 0; i < qualValues.length; i++) {
-				qMap.put(qualValues[i], i);
+	private class SwapEvaluator {
+		private final double[][] congruenceNetwork;
+		private final double[][] conflictNetwork;
+		private final int n;
+		private final int numClusters;
+		private final double[] expectedWithinClusterCongruence; // by cluster
+		private final double[][] expectedBetweenClusterConflict; // by pair of clusters
+		private final double[][] contributions; // by node and cluster
+		private final double errorFactor; // relative rounding error bound
+		private int[] memberships;
+		private double absdiff; // absolute difference sum of the current solution
+
+		/**
+		 * Create a new swap evaluator and compute the contribution sums for the
+		 * initial solution.
+		 * 
+		 * @param memberships The initial cluster memberships.
+		 * @param congruenceNetwork The congruence matrix.
+		 * @param conflictNetwork The conflict matrix.
+		 * @param numClusters The number of clusters.
+		 * @param congruenceNorm The entrywise 1-norm of the congruence matrix.
+		 * @param conflictNorm The entrywise 1-norm of the conflict matrix.
+		 */
+		SwapEvaluator(int[] memberships, double[][] congruenceNetwork, double[][] conflictNetwork, int numClusters, double congruenceNorm, double conflictNorm) {
+			this.congruenceNetwork = congruenceNetwork;
+			this.conflictNetwork = conflictNetwork;
+			this.n = memberships.length;
+			this.numClusters = numClusters;
+
+			// expected values, computed as in qualityAbsdiff
+			int[] clusterMembers = new int[numClusters];
+			for (int i = 0; i < n; i++) {
+				clusterMembers[memberships[i]]++;
 			}
-		}
-		
-		@SuppressWarnings("unchecked")
-		ArrayList<ExportStatement>[][][] X = (ArrayList<ExportStatement>[][][]) new ArrayList<?>[var1Values.length][var2Values.length][qualValues.length];
-		for (int i = 0; i < var1Values.length; i++) {
-			for (int j = 0; j < var2Values.length; j++) {
-				if (this.qualifier == null) {
-					X[i][j][0] = new ArrayList<ExportStatement>();
-				} else {
-					for (int k = 0; k < qualValues.length; k++) {
-						X[i][j][k] = new ArrayList<ExportStatement>();
-					}
+			int numWithinClusterDyads = 0;
+			for (int i = 0; i < numClusters; i++) {
+				numWithinClusterDyads += clusterMembers[i] * (clusterMembers[i] - 1);
+			}
+			int numBetweenClusterDyads = n * (n - 1) - numWithinClusterDyads;
+			this.expectedWithinClusterCongruence = new double[numClusters];
+			this.expectedBetweenClusterConflict = new double[numClusters][numClusters];
+			for (int a = 0; a < numClusters; a++) {
+				double clusterFactor = (double) clusterMembers[a] * (clusterMembers[a] - 1) / numWithinClusterDyads;
+				this.expectedWithinClusterCongruence[a] = clusterFactor * (congruenceNorm / numWithinClusterDyads);
+				for (int b = 0; b < numClusters; b++) {
+					double betweenFactor = (double) clusterMembers[a] * clusterMembers[b] / numBetweenClusterDyads;
+					this.expectedBetweenClusterConflict[a][b] = betweenFactor * (conflictNorm / numBetweenClusterDyads);
 				}
 			}
+
+			// the full evaluation sums 2n(n-1) terms; the contribution sums have up to 4n terms each
+			this.errorFactor = (2.0 * n * n + 16.0 * n + 64.0) * Math.ulp(1.0) * 4.0;
+			this.contributions = new double[n][numClusters];
+			update(memberships);
 		}
 
-		statements.stream().forEach(s -> {
-			int var1Index = -1;
-			if (this.variable1Document) {
-				if (this.variable1.equals("author")) {
-					var1Index = v1Map.get(s.getAuthor());
-				} else if (this.variable1.equals("source")) {
-					var1Index = v1Map.get(s.getSource());
-				} else if (this.variable1.equals("section")) {
-					var1Index = v1Map.get(s.getSection());
-				} else if (this.variable1.equals("type")) {
-					var1Index = v1Map.get(s.getType());
-				} else if (this.variable1.equals("id")) {
-					var1Index = v1Map.get(s.getDocumentIdAsString());
-				} else if (this.variable1.equals("title")) {
-					var1Index = v1Map.get(s.getTitle());
-				}
+		/**
+		 * The absolute differences of the two dyads between node p and node q if p
+		 * were in cluster x, with q in cluster y.
+		 */
+		private double pairContribution(int p, int x, int q, int y) {
+			if (x == y) {
+				return Math.abs(congruenceNetwork[p][q] - expectedWithinClusterCongruence[x])
+						+ Math.abs(conflictNetwork[p][q])
+						+ Math.abs(congruenceNetwork[q][p] - expectedWithinClusterCongruence[x])
+						+ Math.abs(conflictNetwork[q][p]);
 			} else {
-				var1Index = v1Map.get(((Entity) s.get(this.variable1)).getValue());
+				return Math.abs(congruenceNetwork[p][q])
+						+ Math.abs(conflictNetwork[p][q] - expectedBetweenClusterConflict[x][y])
+						+ Math.abs(congruenceNetwork[q][p])
+						+ Math.abs(conflictNetwork[q][p] - expectedBetweenClusterConflict[y][x]);
 			}
-			int var2Index = -1;
-			if (this.variable2Document) {
-				if (this.variable2.equals("author")) {
-					var2Index = v2Map.get(s.getAuthor());
-				} else if (this.variable2.equals("source")) {
-					var2Index = v2Map.get(s.getSource());
-				} else if (this.variable2.equals("section")) {
-					var2Index = v2Map.get(s.getSection());
-				} else if (this.variable2.equals("type")) {
-					var2Index = v2Map.get(s.getType());
-				} else if (this.variable2.equals("id")) {
-					var2Index = v2Map.get(s.getDocumentIdAsString());
-				} else if (this.variable2.equals("title")) {
-					var2Index = v2Map.get(s.getTitle());
+		}
+
+		/**
+		 * Recompute the contribution sums for a new solution with the same cluster
+		 * sizes, for example after a swap has been accepted.
+		 * 
+		 * @param memberships The new cluster memberships.
+		 */
+		void update(int[] memberships) {
+			this.memberships = memberships.clone();
+			double total = 0.0;
+			for (int p = 0; p < n; p++) {
+				double[] c = contributions[p];
+				Arrays.fill(c, 0.0);
+				for (int q = 0; q < n; q++) {
+					if (q != p) {
+						for (int x = 0; x < numClusters; x++) {
+							c[x] += pairContribution(p, x, q, this.memberships[q]);
+						}
+					}
 				}
-			} else {
-				var2Index = v2Map.get(((Entity) s.get(this.variable2)).getValue());
+				total += c[this.memberships[p]];
 			}
-			int qualIndex = -1;
-			if (this.qualifierDocument && this.qualifier != null) {
-				if (this.qualifier.equals("author")) {
-					qualIndex = qMap.get(s.getAuthor());
-				} else if (this.qualifier.equals("source")) {
-					qualIndex = qMap.get(s.getSource());
-				} else if (this.qualifier.equals("section")) {
-					qualIndex = qMap.get(s.getSection());
-				} else if (this.qualifier.equals("type")) {
-					qualIndex = qMap.get(s.getType());
-				} else if (this.qualifier.equals("id")) {
-					qualIndex = qMap.get(s.getDocumentIdAsString());
-				} else if (this.qualifier.equals("title")) {
-					qualIndex = qMap.get(s.getTitle());
-				}
+			this.absdiff = 0.5 * total; // every dyad has been counted for both of its nodes
+		}
+
+		/**
+		 * Decide whether swapping the memberships of two nodes in different
+		 * clusters improves the quality of the current solution.
+		 * 
+		 * @param i The first node.
+		 * @param j The second node.
+		 * @return {@code 1} if the swap certainly improves the quality,
+		 *   {@code -1} if it certainly does not, or {@code 0} if the difference is
+		 *   within the rounding error and the full evaluation must decide.
+		 */
+		int compareSwap(int i, int j) {
+			int a = memberships[i];
+			int b = memberships[j];
+			double iToB = contributions[i][b] - pairContribution(i, b, j, b);
+			double iInA = contributions[i][a] - pairContribution(i, a, j, b);
+			double jToA = contributions[j][a] - pairContribution(j, a, i, a);
+			double jInB = contributions[j][b] - pairContribution(j, b, i, a);
+			double delta = (iToB - iInA) + (jToA - jInB); // change of the absolute difference sum; higher is better
+			double bound = errorFactor * (absdiff + Math.abs(delta) + Math.abs(contributions[i][a]) + Math.abs(contributions[i][b])
+					+ Math.abs(contributions[j][a]) + Math.abs(contributions[j][b]));
+			if (delta > bound) {
+				return 1;
+			} else if (delta < -bound) {
+				return -1;
 			} else {
-				if (this.qualifier == null) {
-					qualIndex = 0;
-				} else if (this.exporter.getDataType(this.qualifier).equals("integer") || this.exporter.getDataType(this.qualifier).equals("boolean")) {
-					qualIndex = qMap.get(String.valueOf((int) s.get(this.qualifier)));
-				} else {
-					qualIndex = qMap.get(((Entity) s.get(this.qualifier)).getValue());
-				}
+				return 0; // also if delta or bound is NaN
 			}
-			X[var1Index][var2Index][qualIndex].add(s);
-		});
-
-		return X;
+		}
 	}
 
-
 	/**
 	 * Prepare the greedy membership swapping algorithm and run all the iterations.
 	 * Take out the maximum quality measure at the last step and create an object
@@ -1471,16 +1533,23 @@ public class Polarization {
 	 * time windows.
 	 */
 	private PolarizationResultTimeSeries greedyAlgorithm () {
-		Random rng = (this.randomSeed == 0) ? new Random() : new Random(this.randomSeed); // Initialize random number generator
-
-		ArrayList<PolarizationResult> polarizationResults = ProgressBar
-		.wrap(IntStream.range(0, Polarization.this.congruence.size()).parallel(), "Greedy algorithm")
-		.map(t -> greedyTimeStep(Polarization.this.congruence.get(t),
+		long[] seeds = createSeeds();
+		TimeStepAlgorithm algorithm = (t, seed, previous) -> greedyTimeStep(Polarization.this.congruence.get(t),
 				Polarization.this.conflict.get(t),
 				Polarization.this.normalizeScores,
 				Polarization.this.numClusters,
-				rng.nextLong()))
-		.collect(Collectors.toCollection(ArrayList::new));
+				seed,
+				previous);
+
+		ArrayList<PolarizationResult> polarizationResults;
+		if (this.warmStart) {
+			polarizationResults = warmStartTimeSteps("Greedy algorithm", seeds, algorithm);
+		} else {
+			polarizationResults = ProgressBar
+			.wrap(IntStream.range(0, Polarization.this.congruence.size()).parallel(), "Greedy algorithm")
+			.map(t -> algorithm.run(t, seeds[t], null))
+			.collect(Collectors.toCollection(ArrayList::new));
+		}
 
 		PolarizationResultTimeSeries polarizationResultTimeSeries = new PolarizationResultTimeSeries(polarizationResults);
 		return polarizationResultTimeSeries;
@@ -1494,9 +1563,10 @@ public class Polarization {
 	 * @param normalizeScores Normalize the absdiff quality/fitness scores to 1.0?
 	 * @param numClusters     The number of clusters.
 	 * @param seed            A random seed, which is used to create a new random number generator for this algorithm run. The seed should have been itself generated by a random number generator to ensure variability across time steps and reproducibility.
+	 * @param previous        The result of the previous time step to start from (warm start), or {@code null} to start from a random cluster solution.
 	 * @return a PolarizationResult object
 	 */
-	private PolarizationResult greedyTimeStep(Matrix congruence, Matrix conflict, boolean normalizeScores, int numClusters, long seed) {
+	private PolarizationResult greedyTimeStep(Matrix congruence, Matrix conflict, boolean normalizeScores, int numClusters, long seed, PolarizationResult previous) {
 
 		// for each time step, run the algorithm over the cluster solutions; retain quality and memberships
 		double[][] congruenceMatrix = congruence.getMatrix();
@@ -1514,15 +1584,21 @@ public class Polarization {
 
 		if (congruenceMatrix.length >= numClusters || combinedNorm == 0.0) { // if the network has no (or too few) nodes or edges, skip this step and return 0 directly
 
-			// Create initially random cluster solution to update
+			// Create initially random cluster solution, or start from the previous solution, to update
 			Random random = new Random(seed);
-			ClusterSolution cs = new ClusterSolution(congruenceMatrix.length, numClusters, random);
+			ClusterSolution cs = (previous == null)
+					? new ClusterSolution(congruenceMatrix.length, numClusters, random)
+					: new ClusterSolution(congruence.getRowNames(), previous, numClusters, random);
 			int[] mem = cs.getMemberships();
 
 			// evaluate quality of initial solution
-			maxQArray.add(qualityAbsdiff(mem, congruenceMatrix, conflictMatrix, normalizeScores, numClusters));
+			double congruenceNorm = calculateMatrixNorm(congruenceMatrix);
+			double conflictNorm = calculateMatrixNorm(conflictMatrix);
+			double q1 = qualityAbsdiff(mem, congruenceMatrix, conflictMatrix, normalizeScores, numClusters, congruenceNorm, conflictNorm);
+			maxQArray.add(q1);
 			int[] bestMemberships = mem.clone();
 			double maxQ = maxQArray.get(0);
+			SwapEvaluator evaluator = new SwapEvaluator(mem, congruenceMatrix, conflictMatrix, numClusters, congruenceNorm, conflictNorm);
 
 			boolean convergence  = false;
 			while (!convergence) { // run the two nested for-loops repeatedly until there are no more swaps
@@ -1530,19 +1606,24 @@ public class Polarization {
 				for (int i = 0; i < mem.length; i++) {
 					for (int j = 1; j < mem.length; j++) { // swap positions i and j in the membership vector and see if leads to higher fitness
 						if (i < j && mem[i] != mem[j]) {
+							int comparison = evaluator.compareSwap(i, j);
+							if (comparison < 0) {
+								continue; // certainly not better; skip the full evaluation
+							}
 							int[] mem2 = mem.clone();
 							int oldI = mem2[i];
 							int oldJ = mem2[j];
 							mem2[i] = oldJ;
 							mem2[j] = oldI;
-							double q1 = qualityAbsdiff(mem, congruenceMatrix, conflictMatrix, normalizeScores, numClusters);
-							double q2 = qualityAbsdiff(mem2, congruenceMatrix, conflictMatrix, normalizeScores, numClusters);
+							double q2 = qualityAbsdiff(mem2, congruenceMatrix, conflictMatrix, normalizeScores, numClusters, congruenceNorm, conflictNorm);
 							if (q2 > q1) { // candidate solution has higher fitness -> keep it
 								mem = mem2.clone(); // accept the new solution if it was better than the previous
+								q1 = q2;
 								maxQArray.add(q2);
 								maxQ = q2;
 								bestMemberships = mem.clone();
 								noChanges = false;
+								evaluator.update(mem);
 							}
 						}
 					}
@@ -0,0 +1,55 @@
+package dna.export;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fork/join task that splits a range of matrix rows (or columns) into contiguous blocks and computes each block
+ * exactly once. The blocks do not overlap, and every cell of the result is written by exactly one block, so the result
+ * is identical to a sequential computation over the whole range, irrespective of the number of threads and the order
+ * in which the blocks are executed.
+ */
+class RowBlockTask extends RecursiveAction {
+	private static final long serialVersionUID = 3093426911871623506L;
+
+	/**
+	 * A computation over a block of rows.
+	 */
+	interface Block {
+		/**
+		 * Compute a block of rows.
+		 *
+		 * @param fromRow The first row of the block (inclusive).
+		 * @param toRow The last row of the block (exclusive).
+		 */
+		void compute(int fromRow, int toRow);
+	}
+
+	private final Block block;
+	private final int fromRow, toRow, blockSize;
+
+	/**
+	 * Create a new row block task.
+	 *
+	 * @param block The computation to apply to each block of rows.
+	 * @param fromRow The first row of the range (inclusive).
+	 * @param toRow The last row of the range (exclusive).
+	 * @param blockSize The maximal number of rows per block. Ranges with more rows are split in half.
+	 */
+	RowBlockTask(Block block, int fromRow, int toRow, int blockSize) {
+		this.block = block;
+		this.fromRow = fromRow;
+		this.toRow = toRow;
+		this.blockSize = Math.max(1, blockSize);
+	}
+
+	@Override
+	protected void compute() {
+		if (this.toRow - this.fromRow <= this.blockSize) {
+			this.block.compute(this.fromRow, this.toRow);
+		} else {
+			int middle = (this.fromRow + this.toRow) >>> 1;
+			invokeAll(new RowBlockTask(this.block, this.fromRow, middle, this.blockSize),
+					new RowBlockTask(this.block, middle, this.toRow, this.blockSize));
+		}
+	}
+}
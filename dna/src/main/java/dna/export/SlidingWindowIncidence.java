@@ -0,0 +1,272 @@
+package dna.export;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running incidence counts (variable 1 x variable 2 x qualifier level) for a window that slides along a timeline of
+ * statements sorted by date and time. Every statement on the timeline is located once, i.e., its row, column, and
+ * qualifier level among the labels of the whole timeline are computed when the object is created. When the window
+ * moves, only the statements that enter the window are added to the counts, and only the statements that leave the
+ * window are subtracted, so the cost of a step depends on the number of statements that change rather than the length
+ * of the timeline or the window.
+ *
+ * <p>The labels of the current window are the subset of timeline labels with at least one statement in the window
+ * (or all labels if isolates are included). Because the timeline labels are sorted, this subset is in the same order
+ * as the labels that would be extracted from the window statements directly, and the {@link SparseIncidence} array
+ * derived for the window is identical to the one created from the window statements.
+ */
+class SlidingWindowIncidence {
+	private final String[] rowLabels, columnLabels, levelLabels;
+	private final int numLevels;
+	/**
+	 * Row, column, and qualifier level index of each statement on the timeline.
+	 */
+	private final int[] rows, columns, levels;
+	/**
+	 * Number of statements in the current window per row label, column label, and qualifier level.
+	 */
+	private final int[] rowCount, columnCount, levelCount;
+	/**
+	 * Non-zero cells of the current window, with the row-major cell key among all timeline labels as key and the
+	 * number of statements as value. The tree map keeps the cells sorted by key.
+	 */
+	private final TreeMap<Long, Integer> cells = new TreeMap<Long, Integer>();
+	/**
+	 * Keep all row and column labels, even if they are not present in the current window (i.e., include isolates)?
+	 */
+	private final boolean isolates;
+	/**
+	 * Retain only the qualifier levels present in the current window (e.g., for document-level qualifiers, whose
+	 * levels are extracted from the statements in the window)?
+	 */
+	private final boolean compactLevels;
+	/**
+	 * The current window: statement indices on the timeline from {@code from} (inclusive) to {@code to} (exclusive).
+	 */
+	private int from = 0, to = 0;
+
+	/**
+	 * Create a new sliding window over a timeline of statements. The window is initially empty.
+	 *
+	 * @param rowLabels Sorted row labels of all statements on the timeline.
+	 * @param columnLabels Sorted column labels of all statements on the timeline.
+	 * @param levelLabels Sorted short text or document-level qualifier levels on the timeline, or {@code null} for
+	 *   other qualifiers.
+	 * @param numLevels Number of qualifier levels on the timeline ({@code 1} if there is no qualifier).
+	 * @param rows Row index of each statement on the timeline.
+	 * @param columns Column index of each statement on the timeline.
+	 * @param levels Qualifier level index of each statement on the timeline.
+	 * @param isolates Keep all row and column labels in every window?
+	 * @param compactLevels Keep only the qualifier levels present in the window?
+	 */
+	SlidingWindowIncidence(String[] rowLabels, String[] columnLabels, String[] levelLabels, int numLevels, int[] rows,
+			int[] columns, int[] levels, boolean isolates, boolean compactLevels) {
+		this.rowLabels = rowLabels;
+		this.columnLabels = columnLabels;
+		this.levelLabels = levelLabels;
+		this.numLevels = numLevels;
+		this.rows = rows;
+		this.columns = columns;
+		this.levels = levels;
+		this.rowCount = new int[rowLabels.length];
+		this.columnCount = new int[columnLabels.length];
+		this.levelCount = new int[numLevels];
+		this.isolates = isolates;
+		this.compactLevels = compactLevels;
+	}
+
+	/**
+	 * Move the window to a new range of statements on the timeline. The statements in the old window that are not in
+	 * the new window are subtracted, and the statements in the new window that were not in the old window are added.
+	 *
+	 * @param from The first statement in the new window (inclusive).
+	 * @param to The last statement in the new window (exclusive).
+	 */
+	void moveTo(int from, int to) {
+		if (from >= this.to || to <= this.from) { // no overlap: replace the whole window
+			for (int i = this.from; i < this.to; i++) {
+				remove(i);
+			}
+			for (int i = from; i < to; i++) {
+				add(i);
+			}
+		} else {
+			for (int i = this.from; i < from; i++) { // statements leaving at the start
+				remove(i);
+			}
+			for (int i = from; i < this.from; i++) { // statements entering at the start
+				add(i);
+			}
+			for (int i = to; i < this.to; i++) { // statements leaving at the end
+				remove(i);
+			}
+			for (int i = this.to; i < to; i++) { // statements entering at the end
+				add(i);
+			}
+		}
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Get the number of statements in the current window.
+	 *
+	 * @return The number of statements.
+	 */
+	int size() {
+		return this.to - this.from;
+	}
+
+	/**
+	 * Get the row labels of the current window.
+	 *
+	 * @return The sorted row labels.
+	 */
+	String[] getRowLabels() {
+		return selectLabels(this.rowLabels, this.rowCount, this.isolates);
+	}
+
+	/**
+	 * Get the column labels of the current window.
+	 *
+	 * @return The sorted column labels.
+	 */
+	String[] getColumnLabels() {
+		return selectLabels(this.columnLabels, this.columnCount, this.isolates);
+	}
+
+	/**
+	 * Get the short text or document-level qualifier levels of the current window.
+	 *
+	 * @return The sorted qualifier levels, or {@code null} if the qualifier has a different data type.
+	 */
+	String[] getLevelLabels() {
+		if (this.levelLabels == null) {
+			return null;
+		}
+		return selectLabels(this.levelLabels, this.levelCount, !this.compactLevels);
+	}
+
+	/**
+	 * Derive the sparse incidence array of the current window from the running counts, using the labels and levels
+	 * of the current window.
+	 *
+	 * @return The sparse incidence array.
+	 */
+	SparseIncidence toSparseIncidence() {
+		int[] rowMap = indexMap(this.rowCount, this.isolates);
+		int[] columnMap = indexMap(this.columnCount, this.isolates);
+		int[] levelMap = indexMap(this.levelCount, !this.compactLevels);
+		int windowRows = rowMap[rowMap.length - 1];
+		int windowColumns = columnMap[columnMap.length - 1];
+		int windowLevels = levelMap[levelMap.length - 1];
+
+		// the index maps are monotonic, so the cells remain sorted after translating their keys
+		long[] cellKeys = new long[this.cells.size()];
+		double[] cellCounts = new double[this.cells.size()];
+		int c = 0;
+		for (Map.Entry<Long, Integer> cell : this.cells.entrySet()) {
+			long key = cell.getKey();
+			int level = (int) (key % this.numLevels);
+			int column = (int) ((key / this.numLevels) % this.columnLabels.length);
+			int row = (int) (key / this.numLevels / this.columnLabels.length);
+			cellKeys[c] = ((long) rowMap[row] * windowColumns + columnMap[column]) * windowLevels + levelMap[level];
+			cellCounts[c] = cell.getValue();
+			c++;
+		}
+		return new SparseIncidence(windowRows, windowColumns, windowLevels, cellKeys, cellCounts);
+	}
+
+	/**
+	 * Add a statement to the running counts.
+	 *
+	 * @param i The index of the statement on the timeline.
+	 */
+	private void add(int i) {
+		this.rowCount[this.rows[i]]++;
+		this.columnCount[this.columns[i]]++;
+		this.levelCount[this.levels[i]]++;
+		this.cells.merge(key(i), 1, Integer::sum);
+	}
+
+	/**
+	 * Subtract a statement from the running counts.
+	 *
+	 * @param i The index of the statement on the timeline.
+	 */
+	private void remove(int i) {
+		this.rowCount[this.rows[i]]--;
+		this.columnCount[this.columns[i]]--;
+		this.levelCount[this.levels[i]]--;
+		long key = key(i);
+		int count = this.cells.get(key) - 1;
+		if (count == 0) {
+			this.cells.remove(key);
+		} else {
+			this.cells.put(key, count);
+		}
+	}
+
+	/**
+	 * Compute the row-major cell key of a statement among the labels of the timeline.
+	 *
+	 * @param i The index of the statement on the timeline.
+	 * @return The cell key.
+	 */
+	private long key(int i) {
+		return ((long) this.rows[i] * this.columnLabels.length + this.columns[i]) * this.numLevels + this.levels[i];
+	}
+
+	/**
+	 * Map the labels of the timeline onto the labels of the current window.
+	 *
+	 * @param counts The number of statements per label in the current window.
+	 * @param all Keep all labels, even those without statements in the window?
+	 * @return An array with the window index of each timeline label ({@code -1} if the label is not in the window),
+	 *   followed by the number of labels in the window as the last element.
+	 */
+	private static int[] indexMap(int[] counts, boolean all) {
+		int[] map = new int[counts.length + 1];
+		int n = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (all || counts[i] > 0) {
+				map[i] = n;
+				n++;
+			} else {
+				map[i] = -1;
+			}
+		}
+		map[counts.length] = n;
+		return map;
+	}
+
+	/**
+	 * Select the labels present in the current window.
+	 *
+	 * @param labels The labels of the timeline.
+	 * @param counts The number of statements per label in the current window.
+	 * @param all Keep all labels, even those without statements in the window?
+	 * @return The selected labels.
+	 */
+	private static String[] selectLabels(String[] labels, int[] counts, boolean all) {
+		if (all) {
+			return labels.clone();
+		}
+		int n = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				n++;
+			}
+		}
+		String[] selected = new String[n];
+		n = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				selected[n] = labels[i];
+				n++;
+			}
+		}
+		return selected;
+	}
+}
@@ -0,0 +1,166 @@
+package dna.export;
+
+import java.util.Arrays;
+
+/**
+ * A sparse three-dimensional incidence array (variable 1 x variable 2 x qualifier level) holding statement counts.
+ * It replaces the dense {@code double[][][]} array for network projections where most cells are zero. Non-zero cells
+ * are stored twice: once in compressed sparse row (CSR) order, where each row (e.g., an actor) holds its cells sorted
+ * by column (e.g., concept) and qualifier level, and once in compressed sparse column (CSC) order, where each column
+ * holds its cells sorted by row and qualifier level. The row order is used to iterate over the statements of a node,
+ * and the column order is used to find all other nodes that share a column with it.
+ */
+class SparseIncidence {
+	/**
+	 * Number of rows, columns, and qualifier levels of the (virtual) dense array.
+	 */
+	final int numRows, numColumns, numLevels;
+	/**
+	 * CSR storage: the cells of row {@code i} are found at positions {@code rowPointer[i]} to
+	 * {@code rowPointer[i + 1] - 1} of the {@link #rowColumn}, {@link #rowLevel}, and {@link #rowCount} arrays.
+	 */
+	final int[] rowPointer, rowColumn, rowLevel;
+	final double[] rowCount;
+	/**
+	 * CSC storage: the cells of column {@code j} are found at positions {@code columnPointer[j]} to
+	 * {@code columnPointer[j + 1] - 1} of the {@link #columnRow}, {@link #columnLevel}, and {@link #columnCount}
+	 * arrays.
+	 */
+	final int[] columnPointer, columnRow, columnLevel;
+	final double[] columnCount;
+	/**
+	 * Sum of all counts in each row, i.e., the number of statements of each row node.
+	 */
+	final double[] rowTotal;
+
+	/**
+	 * Create a sparse incidence array from the row, column, and qualifier level indices of a list of statements. Each
+	 * statement adds a count of one to its cell.
+	 *
+	 * @param numRows Number of row labels (e.g., actors).
+	 * @param numColumns Number of column labels (e.g., concepts).
+	 * @param numLevels Number of qualifier levels ({@code 1} if there is no qualifier).
+	 * @param rows Row index of each statement.
+	 * @param columns Column index of each statement.
+	 * @param levels Qualifier level index of each statement.
+	 * @return The sparse incidence array.
+	 * @throws ArrayIndexOutOfBoundsException If a statement has an index of {@code -1}, i.e., an unknown label.
+	 */
+	static SparseIncidence fromStatements(int numRows, int numColumns, int numLevels, int[] rows, int[] columns, int[] levels) {
+		// encode each statement as a row-major cell key, sort the keys, and collapse identical keys into counts
+		long[] keys = new long[rows.length];
+		for (int i = 0; i < rows.length; i++) {
+			if (rows[i] < 0 || columns[i] < 0 || levels[i] < 0) {
+				throw new ArrayIndexOutOfBoundsException("Statement " + i + " refers to an unknown label.");
+			}
+			keys[i] = ((long) rows[i] * numColumns + columns[i]) * numLevels + levels[i];
+		}
+		Arrays.sort(keys);
+		int numCells = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (i == 0 || keys[i] != keys[i - 1]) {
+				numCells++;
+			}
+		}
+		long[] cellKeys = new long[numCells];
+		double[] cellCounts = new double[numCells];
+		int c = -1;
+		for (int i = 0; i < keys.length; i++) {
+			if (i == 0 || keys[i] != keys[i - 1]) {
+				c++;
+				cellKeys[c] = keys[i];
+			}
+			cellCounts[c] = cellCounts[c] + 1.0;
+		}
+		return new SparseIncidence(numRows, numColumns, numLevels, cellKeys, cellCounts);
+	}
+
+	/**
+	 * Create a sparse incidence array from its non-zero cells.
+	 *
+	 * @param numRows Number of row labels (e.g., actors).
+	 * @param numColumns Number of column labels (e.g., concepts).
+	 * @param numLevels Number of qualifier levels ({@code 1} if there is no qualifier).
+	 * @param cellKeys Row-major keys {@code (row * numColumns + column) * numLevels + level} of the non-zero cells,
+	 *   sorted in ascending order and without duplicates.
+	 * @param cellCounts The count of each cell.
+	 */
+	SparseIncidence(int numRows, int numColumns, int numLevels, long[] cellKeys, double[] cellCounts) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+		this.numLevels = numLevels;
+		this.rowTotal = new double[numRows];
+		int numCells = cellKeys.length;
+
+		// CSR arrays; the row-major sort order already groups the cells by row, then column, then level
+		this.rowPointer = new int[numRows + 1];
+		this.rowColumn = new int[numCells];
+		this.rowLevel = new int[numCells];
+		this.rowCount = cellCounts;
+		for (int i = 0; i < numCells; i++) {
+			int row = (int) (cellKeys[i] / ((long) numColumns * numLevels));
+			int rest = (int) (cellKeys[i] % ((long) numColumns * numLevels));
+			this.rowColumn[i] = rest / numLevels;
+			this.rowLevel[i] = rest % numLevels;
+			this.rowPointer[row + 1]++;
+			this.rowTotal[row] = this.rowTotal[row] + cellCounts[i];
+		}
+		for (int i = 0; i < numRows; i++) {
+			this.rowPointer[i + 1] = this.rowPointer[i + 1] + this.rowPointer[i];
+		}
+
+		// CSC arrays by counting sort over columns; iterating in row order keeps rows sorted within each column
+		this.columnPointer = new int[numColumns + 1];
+		this.columnRow = new int[numCells];
+		this.columnLevel = new int[numCells];
+		this.columnCount = new double[numCells];
+		for (int i = 0; i < numCells; i++) {
+			this.columnPointer[this.rowColumn[i] + 1]++;
+		}
+		for (int j = 0; j < numColumns; j++) {
+			this.columnPointer[j + 1] = this.columnPointer[j + 1] + this.columnPointer[j];
+		}
+		int[] next = Arrays.copyOf(this.columnPointer, numColumns);
+		for (int row = 0; row < numRows; row++) {
+			for (int i = this.rowPointer[row]; i < this.rowPointer[row + 1]; i++) {
+				int position = next[this.rowColumn[i]]++;
+				this.columnRow[position] = row;
+				this.columnLevel[position] = this.rowLevel[i];
+				this.columnCount[position] = this.rowCount[i];
+			}
+		}
+	}
+
+	/**
+	 * Compute the sum of the counts of each row in a subset of the columns.
+	 *
+	 * @param columns The selected columns.
+	 * @return The row totals, summed in the same order as {@link #rowTotal}.
+	 */
+	double[] getRowTotals(boolean[] columns) {
+		double[] totals = new double[this.numRows];
+		for (int row = 0; row < this.numRows; row++) {
+			for (int i = this.rowPointer[row]; i < this.rowPointer[row + 1]; i++) {
+				if (columns[this.rowColumn[i]]) {
+					totals[row] = totals[row] + this.rowCount[i];
+				}
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Convert the sparse incidence array into a dense three-dimensional array.
+	 *
+	 * @return 3D double array (rows x columns x qualifier levels).
+	 */
+	double[][][] toArray() {
+		double[][][] array = new double[this.numRows][this.numColumns][this.numLevels];
+		for (int row = 0; row < this.numRows; row++) {
+			for (int i = this.rowPointer[row]; i < this.rowPointer[row + 1]; i++) {
+				array[row][this.rowColumn[i]][this.rowLevel[i]] = this.rowCount[i];
+			}
+		}
+		return array;
+	}
+}
@@ -0,0 +1,256 @@
+package dna.export;
+
+import model.Entity;
+import model.Value;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Columnar, dictionary-encoded representation of the original statements of an {@link Exporter}. The table is created
+ * once after loading the data. Each statement-level and document-level variable is stored as an array of integer
+ * codes, one per statement, which point into a sorted dictionary of the distinct values of the variable. Because the
+ * dictionary is sorted, the codes of two statements are equal if and only if their values are equal, and the order of
+ * the codes is the order of the values. Boolean and integer variables are additionally stored as their raw integer
+ * values. The date and time of the statements are stored as seconds since 1 January 1970 (UTC), and the documents as
+ * indices into the sorted document list of the exporter.
+ *
+ * <p>Each {@link ExportStatement} knows its row in the table (see {@link ExportStatement#getRow()}), and copies of the
+ * statement, for example in the filtered statement list, keep the row. Filtering statements, extracting node labels,
+ * and locating statements in incidence arrays can therefore compare and look up integers rather than strings.
+ *
+ * <p>Missing values ({@code null}) are stored as empty strings, which are ignored by the exporter like empty fields.
+ */
+class StatementTable {
+	/**
+	 * The document-level variables that are available for every statement.
+	 */
+	private static final List<String> DOCUMENT_VARIABLES = Arrays.asList("id", "title", "author", "source", "section", "type");
+
+	private final int size;
+	private final long[] dateTimes;
+	private final int[] documentIndices;
+	private final HashMap<String, int[]> statementCodes = new HashMap<String, int[]>();
+	private final HashMap<String, String[]> statementDictionaries = new HashMap<String, String[]>();
+	private final HashMap<String, int[]> statementIntegers = new HashMap<String, int[]>();
+	private final HashMap<String, int[]> documentCodes = new HashMap<String, int[]>();
+	private final HashMap<String, String[]> documentDictionaries = new HashMap<String, String[]>();
+
+	/**
+	 * Create a new statement table and assign each statement its row in the table.
+	 *
+	 * @param statements The original statements of the exporter.
+	 * @param dataTypes The data types of the statement-level variables, with the variable names as keys.
+	 * @param docMap A map from document IDs to indices in the sorted document list.
+	 */
+	StatementTable(List<ExportStatement> statements, HashMap<String, String> dataTypes, HashMap<Integer, Integer> docMap) {
+		this.size = statements.size();
+		this.dateTimes = new long[this.size];
+		this.documentIndices = new int[this.size];
+		for (int i = 0; i < this.size; i++) {
+			ExportStatement s = statements.get(i);
+			s.setRow(i);
+			this.dateTimes[i] = s.getDateTime().toEpochSecond(ZoneOffset.UTC);
+			Integer documentIndex = docMap.get(s.getDocumentId());
+			this.documentIndices[i] = documentIndex == null ? -1 : documentIndex;
+		}
+
+		// statement-level variables, read from the values of each statement without building its lookup map
+		HashMap<String, String[]> statementValues = new HashMap<String, String[]>();
+		HashMap<String, int[]> integers = new HashMap<String, int[]>();
+		for (String variable : dataTypes.keySet()) {
+			String[] values = new String[this.size];
+			Arrays.fill(values, "");
+			statementValues.put(variable, values);
+			String dataType = dataTypes.get(variable);
+			if (dataType.equals("boolean") || dataType.equals("integer")) {
+				integers.put(variable, new int[this.size]);
+			}
+		}
+		for (int i = 0; i < this.size; i++) {
+			for (Value v : statements.get(i).getValues()) {
+				String[] values = statementValues.get(v.getKey());
+				if (values == null) {
+					continue;
+				}
+				Object value = v.getValue();
+				if (value == null) {
+					values[i] = "";
+				} else if (value instanceof Entity) {
+					values[i] = ((Entity) value).getValue();
+				} else {
+					values[i] = value.toString();
+				}
+				int[] integerValues = integers.get(v.getKey());
+				if (integerValues != null) {
+					integerValues[i] = value == null ? 0 : (int) value;
+				}
+			}
+		}
+		for (String variable : dataTypes.keySet()) {
+			encode(statementValues.get(variable), variable, this.statementCodes, this.statementDictionaries);
+			if (integers.containsKey(variable)) {
+				this.statementIntegers.put(variable, integers.get(variable));
+			}
+		}
+
+		// document-level variables
+		String[] values = new String[this.size];
+		for (String variable : DOCUMENT_VARIABLES) {
+			for (int i = 0; i < this.size; i++) {
+				ExportStatement s = statements.get(i);
+				String value;
+				if (variable.equals("id")) {
+					value = s.getDocumentIdAsString();
+				} else if (variable.equals("title")) {
+					value = s.getTitle();
+				} else if (variable.equals("author")) {
+					value = s.getAuthor();
+				} else if (variable.equals("source")) {
+					value = s.getSource();
+				} else if (variable.equals("section")) {
+					value = s.getSection();
+				} else {
+					value = s.getType();
+				}
+				values[i] = value == null ? "" : value;
+			}
+			encode(values, variable, this.documentCodes, this.documentDictionaries);
+		}
+	}
+
+	/**
+	 * Encode the values of a variable as codes into a sorted dictionary of distinct values.
+	 *
+	 * @param values The values of the variable for all statements.
+	 * @param variable The name of the variable.
+	 * @param codes The map to which the codes are added.
+	 * @param dictionaries The map to which the dictionary is added.
+	 */
+	private void encode(String[] values, String variable, HashMap<String, int[]> codes, HashMap<String, String[]> dictionaries) {
+		HashMap<String, Integer> firstSeen = new HashMap<String, Integer>();
+		int[] c = new int[this.size];
+		for (int i = 0; i < this.size; i++) {
+			Integer code = firstSeen.get(values[i]);
+			if (code == null) {
+				code = firstSeen.size();
+				firstSeen.put(values[i], code);
+			}
+			c[i] = code;
+		}
+		String[] dictionary = firstSeen.keySet().toArray(new String[0]);
+		Arrays.sort(dictionary);
+		int[] sortedCode = new int[dictionary.length];
+		for (int j = 0; j < dictionary.length; j++) {
+			sortedCode[firstSeen.get(dictionary[j])] = j;
+		}
+		for (int i = 0; i < this.size; i++) {
+			c[i] = sortedCode[c[i]];
+		}
+		codes.put(variable, c);
+		dictionaries.put(variable, dictionary);
+	}
+
+	/**
+	 * Get the number of statements in the table.
+	 *
+	 * @return The number of rows.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Get the date and time of the statements.
+	 *
+	 * @return The date and time of each row as seconds since 1 January 1970 (UTC).
+	 */
+	long[] getDateTimes() {
+		return this.dateTimes;
+	}
+
+	/**
+	 * Get the documents of the statements.
+	 *
+	 * @return The index of the document of each row in the sorted document list of the exporter.
+	 */
+	int[] getDocumentIndices() {
+		return this.documentIndices;
+	}
+
+	/**
+	 * Get the dictionary codes of a variable.
+	 *
+	 * @param variable The name of the variable.
+	 * @param document Is the variable a document-level variable?
+	 * @return The code of each row, or {@code null} if the variable does not exist.
+	 */
+	int[] getCodes(String variable, boolean document) {
+		return document ? this.documentCodes.get(variable) : this.statementCodes.get(variable);
+	}
+
+	/**
+	 * Get the sorted dictionary of distinct values of a variable.
+	 *
+	 * @param variable The name of the variable.
+	 * @param document Is the variable a document-level variable?
+	 * @return The distinct values, indexed by code, or {@code null} if the variable does not exist.
+	 */
+	String[] getDictionary(String variable, boolean document) {
+		return document ? this.documentDictionaries.get(variable) : this.statementDictionaries.get(variable);
+	}
+
+	/**
+	 * Get the raw values of a boolean or integer variable.
+	 *
+	 * @param variable The name of the variable.
+	 * @return The value of each row, or {@code null} if the variable does not exist or is not a boolean or integer
+	 *   variable.
+	 */
+	int[] getIntegers(String variable) {
+		return this.statementIntegers.get(variable);
+	}
+
+	/**
+	 * Map the dictionary codes of a variable onto the indices of a sorted array of labels, for example the row labels
+	 * of a network matrix.
+	 *
+	 * @param variable The name of the variable.
+	 * @param document Is the variable a document-level variable?
+	 * @param labels The labels. If a label occurs more than once, its first occurrence is used.
+	 * @return An array with the label index of each code, or {@code -1} if the value of the code is not among the
+	 *   labels.
+	 */
+	int[] indexCodes(String variable, boolean document, String[] labels) {
+		String[] dictionary = this.getDictionary(variable, document);
+		int[] index = new int[dictionary.length];
+		Arrays.fill(index, -1);
+		for (int j = labels.length - 1; j >= 0; j--) { // backwards, so the first occurrence wins
+			int code = Arrays.binarySearch(dictionary, labels[j]);
+			if (code >= 0) {
+				index[code] = j;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Find the dictionary codes of a variable whose values are in a collection of values.
+	 *
+	 * @param variable The name of the variable.
+	 * @param document Is the variable a document-level variable?
+	 * @param values The values to select.
+	 * @return An array indicating for each code whether its value is in the collection.
+	 */
+	boolean[] selectCodes(String variable, boolean document, Collection<String> values) {
+		String[] dictionary = this.getDictionary(variable, document);
+		boolean[] selected = new boolean[dictionary.length];
+		for (int j = 0; j < dictionary.length; j++) {
+			selected[j] = values.contains(dictionary[j]);
+		}
+		return selected;
+	}
+}
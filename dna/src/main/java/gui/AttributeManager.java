@@ -11,9 +11,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -445,68 +442,17 @@ public class AttributeManager extends JDialog {
 		 */
 		@Override
 		protected List<Entity> doInBackground() {
-			// all entities with a given variable ID and an additional variable that checks if the entity was used in a statement, i.e., exists in DATASHORTTEXT
-			String q1 = "SELECT E.ID, E.VariableId, E.Value, E.Red, E.Green, E.Blue, E.ChildOf, " + 
-					"CASE WHEN EXISTS (SELECT ID from DATASHORTTEXT D WHERE D.Entity = E.ID AND D.VariableId = E.VariableId) " + 
-					"THEN 1 " + 
-					"ELSE 0 " + 
-					"END AS InDatabase " + 
-					"FROM " + 
-					"ENTITIES E WHERE E.VariableId = ?;";
+			// all entities with a given variable ID, their attributes, and whether they were used in a statement, i.e., exist in DATASHORTTEXT
+			ArrayList<Integer> variableIds = new ArrayList<Integer>();
+			variableIds.add(variableId);
+			ArrayList<Entity> l = Dna.sql.getEntities(variableIds, true).get(0);
 			
-			// attribute variables and their values corresponding to a given entity ID
-			String q2 = "SELECT EntityId, AttributeVariable, AttributeValue "
-					+ "FROM ATTRIBUTEVALUES AS AVAL "
-					+ "INNER JOIN ATTRIBUTEVARIABLES AS AVAR ON AVAL.AttributeVariableId = AVAR.ID "
-					+ "WHERE VariableId = ?;";
-			
-			try (Connection conn = Dna.sql.getDataSource().getConnection();
-					PreparedStatement s1 = conn.prepareStatement(q1);
-					PreparedStatement s2 = conn.prepareStatement(q2)) {
-				ArrayList<Entity> l = new ArrayList<Entity>();
-				HashMap<Integer, Integer> indexMap = new HashMap<Integer, Integer>(); // entity ID to index
-				ResultSet r;
-				
-				// save entities in a list
-				model.Color color;
-				int entityId;
-				s1.setInt(1, variableId);
-				r = s1.executeQuery();
-				while (!isCancelled() && !isDone() && r.next()) {
-					if (isCancelled() || isDone()) {
-						return null;
-					}
-	            	color = new model.Color(r.getInt("Red"), r.getInt("Green"), r.getInt("Blue"));
-	            	entityId = r.getInt("ID");
-	            	indexMap.put(entityId, l.size());
-	            	l.add(new Entity(entityId, variableId, r.getString("Value"), color, r.getInt("ChildOf"), r.getInt("InDatabase") == 1, new HashMap<String, String>()));
-	            }
-				r.close();
-				
-				// add attributes to the list elements via map
-				s2.setInt(1, variableId);
-				r = s2.executeQuery();
-				while (!isCancelled() && !isDone() && r.next()) {
-					if (isCancelled() || isDone()) {
-						return null;
-					}
-	            	l.get(indexMap.get(r.getInt("EntityId"))).getAttributeValues().put(r.getString("AttributeVariable"), r.getString("AttributeValue"));
-	            }
-				r.close();
-				
-				// publish complete entities
-            	if (!isCancelled()) {
-            		for (int i = 0; i < l.size(); i++) {
-            			publish(l.get(i));
-            		}
-            	}
-			} catch (SQLException e1) {
-	        	LogEvent e = new LogEvent(Logger.WARNING,
-	        			"[SQL] Entities for Variable " + variableId + " could not be retrieved.",
-	        			"Entities for Variable " + variableId + " could not be retrieved. Check if the database is still there and/or if the connection has been interrupted, then try again.",
-	        			e1);
-	        	Dna.logger.log(e);
-			}
+			// publish complete entities
+        	if (!isCancelled()) {
+        		for (int i = 0; i < l.size(); i++) {
+        			publish(l.get(i));
+        		}
+        	}
 			return null;
 		}
         
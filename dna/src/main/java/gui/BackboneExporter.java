@@ -1197,6 +1197,7 @@ public class BackboneExporter extends JDialog {
 			if (proceed) {
 				progressMonitor.setNote("Initializing algorithm...");
 				if (this.method.equals("nested")) {
+					exporter.setParallelism(Runtime.getRuntime().availableProcessors()); // evaluate the candidates on all cores; the results do not depend on the number of threads
 					exporter.initializeNestedBackbone();
 				} else if (this.method.equals("fixed")) {
 					exporter.initializeSimulatedAnnealingBackbone(false, p, T, backboneSize); // p is inconsequential because penalty = false
@@ -22,7 +22,16 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -54,6 +63,7 @@ import logger.LogEvent;
 import logger.Logger;
 import model.Document;
 import model.Statement;
+import sql.Sql;
 
 /**
  * Represents a dialog window that can batch-import documents from a folder.
@@ -645,10 +655,35 @@ public class DocumentBatchImporter extends JDialog {
 	 * @return         The substring that matches the pattern.
 	 */
 	private static String patternToString(String text, String pattern) {
-		Pattern p;
+		return patternToString(text, compilePattern(pattern));
+	}
+
+	/**
+	 * Compile a pattern for matching it repeatedly with
+	 * {@link #patternToString(String, Pattern)}.
+	 * 
+	 * @param pattern  The pattern.
+	 * @return         The compiled pattern, or {@code null} if the pattern is
+	 *   invalid.
+	 */
+	private static Pattern compilePattern(String pattern) {
 		try {
-			p = Pattern.compile(pattern);
+			return Pattern.compile(pattern);
 		} catch (PatternSyntaxException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Match a compiled pattern in a String and return the resulting match.
+	 * 
+	 * @param text     The input text.
+	 * @param p        The compiled pattern, or {@code null} for an invalid
+	 *   pattern.
+	 * @return         The substring that matches the pattern.
+	 */
+	private static String patternToString(String text, Pattern p) {
+		if (p == null) {
 			return("");
 		}
 		Matcher m = p.matcher(text);
@@ -698,22 +733,31 @@ public class DocumentBatchImporter extends JDialog {
 	
 	/**
 	 * Represents a Swing worker for batch-importing documents into the DNA
-	 * database.
+	 * database. The files are read and parsed by a pool of worker threads.
+	 * The parsed documents are passed on in the order of the files through a
+	 * bounded queue and added to the database in batches, with a commit after
+	 * each batch, so only a limited number of documents is held in memory at
+	 * any time.
 	 */
-	private static class ImportWorker extends SwingWorker<Void, Document> {
+	private static class ImportWorker extends SwingWorker<Void, Integer> {
+		/**
+		 * The maximal number of parsed documents waiting in the queue per
+		 * worker thread.
+		 */
+		private static final int QUEUE_SIZE_PER_THREAD = 16;
+		/**
+		 * A completed task that marks the end of the queue.
+		 */
+		private static final Future<Document> END = CompletableFuture.completedFuture(null);
 		JDialog dialog;
 		File[] files;
 		boolean parseDate, parseTitle, parseAuthor, parseSource, parseSection, parseType, parseNotes;
 		String datePattern, dateFormat, titlePattern, authorPattern, sourcePattern, sectionPattern, typePattern, notesPattern;
-		String fn, sCurrentLine, document, title, dateString, author, source, section, notes, type;
-		FileInputStream is = null;
-		InputStreamReader isr = null;
-		BufferedReader br = null;
-		LocalDateTime date;
-		Document article;
-		ArrayList<Document> documents;
-		int coderId;
-        int good, bad, numDocumentsBefore;
+		Pattern dateRegex, titleRegex, authorRegex, sourceRegex, sectionRegex, typeRegex, notesRegex;
+		int coderId, batchSize;
+        int good, numDocumentsBefore;
+        AtomicInteger bad;
+        volatile boolean canceled;
         ProgressMonitor progressMonitor;
         
         /**
@@ -763,7 +807,7 @@ public class DocumentBatchImporter extends JDialog {
 			
         	this.dialog = dialog;
             this.files = files;
-        	progressMonitor = new ProgressMonitor(null, "Importing text files...", "", 0, this.files.length - 1);
+        	progressMonitor = new ProgressMonitor(null, "Importing text files...", "", 0, this.files.length);
 			progressMonitor.setMillisToDecideToPopup(1);
 			numDocumentsBefore = Dna.sql.countDocuments();
             this.parseDate = parseDate;
@@ -773,7 +817,6 @@ public class DocumentBatchImporter extends JDialog {
             this.parseSection = parseSection;
             this.parseType = parseType;
             this.parseNotes = parseNotes;
-            this.documents = new ArrayList<Document>();
             this.datePattern = datePattern;
             this.dateFormat = dateFormat;
             this.titlePattern = titlePattern;
@@ -782,111 +825,158 @@ public class DocumentBatchImporter extends JDialog {
             this.sectionPattern = sectionPattern;
             this.typePattern = typePattern;
             this.notesPattern = notesPattern;
+            this.dateRegex = compilePattern(datePattern);
+            this.titleRegex = compilePattern(titlePattern);
+            this.authorRegex = compilePattern(authorPattern);
+            this.sourceRegex = compilePattern(sourcePattern);
+            this.sectionRegex = compilePattern(sectionPattern);
+            this.typeRegex = compilePattern(typePattern);
+            this.notesRegex = compilePattern(notesPattern);
             coderId = Dna.sql.getConnectionProfile().getCoderId();
+            batchSize = Sql.DOCUMENT_BATCH_SIZE;
             good = 0;
-            bad = 0;
+            bad = new AtomicInteger(0);
+            canceled = false;
         }
 
         @Override
-        protected void process(List<Document> chunks) {
-        	for (Document row : chunks) {
-                documents.add(row);
-                progressMonitor.setProgress(documents.size() - 1);
-    			if (progressMonitor.isCanceled()) {
-    				this.cancel(true);
-    			}
-            }
+        protected void process(List<Integer> chunks) {
+        	progressMonitor.setProgress(chunks.get(chunks.size() - 1));
+			if (progressMonitor.isCanceled()) {
+				canceled = true; // stop after the current batch; completed batches remain in the database
+			}
         }
 
         @Override
         protected Void doInBackground() throws Exception {
-        	for (int i = 0; i < files.length; i++) {
-            	fn = this.files[i].getName();
-    			try {
-    				is = new FileInputStream(files[i]);
-    				isr = new InputStreamReader(is, "UTF-8");
-    				br = new BufferedReader(isr);
-    				document = "";
-    				while ((sCurrentLine = br.readLine()) != null) {
-    					document = document + sCurrentLine + "\n";
-    				}
-    				
-    				dateString = "";
-    				if (parseDate == true) {
-    					dateString = patternToString(fn, datePattern);
-    				} else {
-    					dateString = datePattern;
-    				}
-    				date = stringToDateTime(dateString, dateFormat);
-    				
-    				if (parseTitle == true) {
-    					title = patternToString(fn, titlePattern);
-    				} else {
-    					title = titlePattern;
-    				}
-    				
-    				if (parseAuthor == true) {
-    					author = patternToString(fn, authorPattern);
-    				} else {
-    					author = authorPattern;
-    				}
-
-    				if (parseSource == true) {
-    					source = patternToString(fn, sourcePattern);
-    				} else {
-    					source = sourcePattern;
-    				}
-
-    				if (parseSection == true) {
-    					section = patternToString(fn, sectionPattern);
-    				} else {
-    					section = sectionPattern;
-    				}
-
-    				if (parseType == true) {
-    					type = patternToString(fn, typePattern);
-    				} else {
-    					type = typePattern;
-    				}
-
-    				if (parseNotes == true) {
-    					notes = patternToString(fn, notesPattern);
-    				} else {
-    					notes = notesPattern;
-    				}
-    				
-    				article = new Document(
-    						-1, 
-    						coderId,
-    						title, 
-    						document, 
-    						author, 
-    						source, 
-    						section, 
-    						type, 
-    						notes, 
-    						date, 
-    						new ArrayList<Statement>()
-    				);
-    				publish(article);
-    				good++;
-    			} catch (Exception ex) {
-    				bad++;
-    			}
+        	int numThreads = Runtime.getRuntime().availableProcessors();
+        	ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        	BlockingQueue<Future<Document>> queue = new ArrayBlockingQueue<Future<Document>>(QUEUE_SIZE_PER_THREAD * numThreads);
+
+        	// submit the files to the pool in their original order; blocks while the queue is full
+        	Thread producer = new Thread(() -> {
+        		try {
+        			for (int i = 0; i < files.length && !canceled; i++) {
+        				File file = files[i];
+        				queue.put(pool.submit(() -> parseFile(file)));
+        			}
+        			queue.put(END);
+        		} catch (InterruptedException e) {
+        			Thread.currentThread().interrupt();
+        		}
+        	}, "Batch import file reader");
+        	producer.start();
+
+        	// take the parsed documents from the queue, in the order of the files, and skip files that could not be read
+        	Iterator<Document> documents = new Iterator<Document>() {
+        		private int numFiles = 0;
+        		private Document next = advance();
+
+        		private Document advance() {
+        			while (!canceled) {
+        				Future<Document> future;
+        				try {
+        					future = queue.take();
+        				} catch (InterruptedException e) {
+        					Thread.currentThread().interrupt();
+        					return null;
+        				}
+        				if (future == END) {
+        					return null;
+        				}
+        				numFiles++;
+        				publish(numFiles);
+        				try {
+        					Document document = future.get();
+        					if (document != null) {
+        						return document;
+        					}
+        				} catch (InterruptedException e) {
+        					Thread.currentThread().interrupt();
+        					return null;
+        				} catch (ExecutionException e) {
+        					// counted as skipped below
+        				}
+        				bad.incrementAndGet();
+        			}
+        			return null;
+        		}
+
+        		@Override
+        		public boolean hasNext() {
+        			return next != null;
+        		}
+
+        		@Override
+        		public Document next() {
+        			Document document = next;
+        			next = advance();
+        			return document;
+        		}
+        	};
+
+        	try {
+        		good = Dna.sql.addDocuments(documents, batchSize, true, null).length;
+        	} finally {
+        		canceled = true; // let the producer finish if the import stopped early
+        		queue.clear();
+        		producer.interrupt();
+        		pool.shutdownNow();
         	}
             return null;
         }
 
+        /**
+         * Read a file and parse its metadata from the file name.
+         * 
+         * @param file  The file.
+         * @return      The document, or {@code null} if the file could not be
+         *   read.
+         */
+        private Document parseFile(File file) {
+        	String fn = file.getName();
+        	try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+        		StringBuilder document = new StringBuilder();
+        		String sCurrentLine;
+        		while ((sCurrentLine = br.readLine()) != null) {
+        			document.append(sCurrentLine).append("\n");
+        		}
+        		String dateString = parseDate ? patternToString(fn, dateRegex) : datePattern;
+        		LocalDateTime date = stringToDateTime(dateString, dateFormat);
+        		String title = parseTitle ? patternToString(fn, titleRegex) : titlePattern;
+        		String author = parseAuthor ? patternToString(fn, authorRegex) : authorPattern;
+        		String source = parseSource ? patternToString(fn, sourceRegex) : sourcePattern;
+        		String section = parseSection ? patternToString(fn, sectionRegex) : sectionPattern;
+        		String type = parseType ? patternToString(fn, typeRegex) : typePattern;
+        		String notes = parseNotes ? patternToString(fn, notesRegex) : notesPattern;
+        		return new Document(
+        				-1,
+        				coderId,
+        				title,
+        				document.toString(),
+        				author,
+        				source,
+        				section,
+        				type,
+        				notes,
+        				date,
+        				new ArrayList<Statement>()
+        		);
+        	} catch (Exception ex) {
+        		return null;
+        	}
+        }
+
         @Override
         protected void done() {
-			Dna.sql.addDocuments(documents);
+        	progressMonitor.close();
 			int numDocumentsAfter = Dna.sql.countDocuments();
 			LogEvent l = new LogEvent(Logger.MESSAGE,
-					"[GUI] Batch import: " + good + " document(s) imported, " + bad + " skipped.",
+					"[GUI] Batch import: " + good + " document(s) imported, " + bad.get() + " skipped.",
 					"There were " + numDocumentsBefore + " document(s) before the batch import, and there are " + numDocumentsAfter + " document(s) after completing the import.");
 			Dna.logger.log(l);
 			if (numDocumentsAfter > numDocumentsBefore) {
-				JOptionPane.showMessageDialog(dialog, good + " documents were imported, " + bad + " skipped.");
+				JOptionPane.showMessageDialog(dialog, good + " documents were imported, " + bad.get() + " skipped.");
 			} else {
 				JOptionPane.showMessageDialog(dialog, "No new documents were imported.");
 			}
@@ -897,4 +987,4 @@ public class DocumentBatchImporter extends JDialog {
 			dialog.dispose();
         }
     }
-}
\ No newline at end of file
+}
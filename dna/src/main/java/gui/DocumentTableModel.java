@@ -4,7 +4,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 import javax.swing.table.AbstractTableModel;
@@ -26,12 +29,18 @@ import model.TableDocument;
 @SuppressWarnings("serial")
 class DocumentTableModel extends AbstractTableModel {
 	private ArrayList<TableDocument> rows;
+	/**
+	 * Model row by document ID, or {@code null} if the rows have been inserted
+	 * or removed since the index was last built.
+	 */
+	private HashMap<Integer, Integer> rowsById;
 	
 	/**
 	 * Create an instance of the document table model class.
 	 */
 	DocumentTableModel() {
 		rows = new ArrayList<TableDocument>();
+		rowsById = new HashMap<Integer, Integer>();
 	}
 	
 	@Override
@@ -169,12 +178,13 @@ class DocumentTableModel extends AbstractTableModel {
 	 * @see {@link #getIdByModelRow(int row)}
 	 */
 	public int getModelRowById(int documentId) {
-		for (int i = 0; i < rows.size(); i++) {
-			if (rows.get(i).getId() == documentId) {
-				return i;
+		if (rowsById == null) {
+			rowsById = new HashMap<Integer, Integer>();
+			for (int i = 0; i < rows.size(); i++) {
+				rowsById.put(rows.get(i).getId(), i);
 			}
 		}
-		return -1;
+		return rowsById.getOrDefault(documentId, -1);
 	}
 	
 	/**
@@ -197,6 +207,9 @@ class DocumentTableModel extends AbstractTableModel {
 	 */
 	public void increaseFrequency(int documentId) {
 		int row = getModelRowById(documentId);
+		if (row == -1) {
+			return;
+		}
 		rows.get(row).setFrequency(rows.get(row).getFrequency() + 1);
 		fireTableCellUpdated(row, 2);
 	}
@@ -227,6 +240,7 @@ class DocumentTableModel extends AbstractTableModel {
 	public void removeDocuments(int[] modelRowIndices) {
 		for (int i = modelRowIndices.length - 1; i >= 0; i--) {
 			rows.remove(modelRowIndices[i]);
+			rowsById = null;
 			fireTableRowsDeleted(modelRowIndices[i], modelRowIndices[i]);
 		}
 	}
@@ -237,6 +251,7 @@ class DocumentTableModel extends AbstractTableModel {
 	 */
 	void clear() {
 		rows.clear();
+		rowsById = new HashMap<Integer, Integer>();
 		fireTableDataChanged();
 	}
 
@@ -263,6 +278,7 @@ class DocumentTableModel extends AbstractTableModel {
 			newRowIndex = rows.size();
 		}
 		rows.add(newRowIndex, d);
+		rowsById = null;
 		fireTableRowsInserted(newRowIndex, newRowIndex);
 		return newRowIndex;
 	}
@@ -276,6 +292,9 @@ class DocumentTableModel extends AbstractTableModel {
 	void addRows(List<TableDocument> chunks) {
     	int n = this.rows.size();
         for (TableDocument row : chunks) {
+            if (rowsById != null) {
+            	rowsById.put(row.getId(), rows.size());
+            }
             rows.add(row);
         }
         fireTableRowsInserted(n, n + chunks.size() - 1); // subtract one because we don't need the cursor to be at the next position; it should refer to the last position
@@ -286,6 +305,46 @@ class DocumentTableModel extends AbstractTableModel {
 	 */
 	void sort() {
 		Collections.sort(rows);
+		rowsById = null;
 		fireTableDataChanged();
 	}
+
+	/**
+	 * Merge changed documents into the sorted table model. Documents that
+	 * already exist are replaced, documents that do not exist yet are inserted
+	 * at their sorted position, and changed documents that are not contained
+	 * in the list of reloaded documents are removed because they have been
+	 * deleted from the database. Unchanged rows are not touched, so the cost
+	 * depends on the number of changes rather than the number of documents.
+	 * 
+	 * @param changedIds  The IDs of all changed documents.
+	 * @param documents   The changed documents that still exist in the
+	 *   database, as reloaded from the database.
+	 */
+	void mergeDocuments(Collection<Integer> changedIds, List<TableDocument> documents) {
+		HashSet<Integer> deletedIds = new HashSet<Integer>(changedIds);
+		ArrayList<TableDocument> inserted = new ArrayList<TableDocument>();
+		for (TableDocument d : documents) {
+			deletedIds.remove(d.getId());
+			int row = getModelRowById(d.getId());
+			if (row > -1 && (row == 0 || rows.get(row - 1).compareTo(d) <= 0) && (row == rows.size() - 1 || d.compareTo(rows.get(row + 1)) <= 0)) {
+				rows.set(row, d); // still at the right position
+				fireTableRowsUpdated(row, row);
+			} else {
+				if (row > -1) { // moved, for example because its date changed
+					deletedIds.add(d.getId());
+				}
+				inserted.add(d);
+			}
+		}
+		int[] deletedRows = deletedIds.stream().mapToInt(id -> getModelRowById(id)).filter(row -> row > -1).sorted().toArray();
+		removeDocuments(deletedRows);
+		for (TableDocument d : inserted) {
+			int row = Collections.binarySearch(rows, d);
+			row = row < 0 ? -row - 1 : row;
+			rows.add(row, d);
+			rowsById = null;
+			fireTableRowsInserted(row, row);
+		}
+	}
 }
\ No newline at end of file
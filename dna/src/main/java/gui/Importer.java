@@ -788,7 +788,7 @@ class Importer extends JDialog {
 		@Override
 		protected List<TableDocument> doInBackground() {
 			try (Connection conn = Importer.this.sql.getDataSource().getConnection();
-					PreparedStatement s = conn.prepareStatement("SELECT D.ID, Title, (SELECT COUNT(ID) FROM STATEMENTS WHERE DocumentId = D.ID) AS Frequency, C.ID AS CoderId, Name AS CoderName, Red, Green, Blue, Date, Author, Source, Section, Type, Notes FROM CODERS C INNER JOIN DOCUMENTS D ON D.Coder = C.ID;");
+					PreparedStatement s = conn.prepareStatement("SELECT D.ID, Title, COALESCE(F.Frequency, 0) AS Frequency, C.ID AS CoderId, Name AS CoderName, Red, Green, Blue, Date, Author, Source, Section, Type, Notes FROM CODERS C INNER JOIN DOCUMENTS D ON D.Coder = C.ID LEFT JOIN (SELECT DocumentId, COUNT(ID) AS Frequency FROM STATEMENTS GROUP BY DocumentId) F ON F.DocumentId = D.ID;");
 					ResultSet rs = s.executeQuery();) {
 				LocalDateTime dateTime;
 				Date dateV2;
@@ -1770,7 +1770,10 @@ class Importer extends JDialog {
 					d10.close();
 				}
 				
+				Dna.sql.recordChanges(connDomestic, Sql.CHANGE_ALL, null); // other DNA instances reload their tables
 				connDomestic.commit();
+				Dna.sql.resetDocumentFrequencies(); // statements were added without going through Sql.addStatement
+				Dna.sql.resetEntityCache(); // entities and attributes were added without going through Sql.addEntity
 				
 				// log the results
 				long elapsed = System.nanoTime(); // measure time again for calculating difference
@@ -14,9 +14,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -40,7 +38,7 @@ import model.Coder;
 import model.Statement;
 import model.StatementType;
 import model.TableDocument;
-import model.Value;
+import sql.ChangeFeed;
 import sql.ConnectionProfile;
 import sql.Sql;
 
@@ -97,6 +95,14 @@ public class MainWindow extends JFrame {
 	 * A statement table swing worker thread.
 	 */
 	private StatementTableRefreshWorker statementTableWorker;
+
+	/**
+	 * Change feeds for the document and statement tables. They are
+	 * synchronized with the database whenever a table is reloaded completely
+	 * and then return the changes since then, so a refresh only needs to
+	 * reload the changed rows.
+	 */
+	private ChangeFeed documentChanges = new ChangeFeed(Dna.sql), statementChanges = new ChangeFeed(Dna.sql);
 	
 	/**
 	 * Create a new main window.
@@ -330,7 +336,7 @@ public class MainWindow extends JFrame {
 				getStatementPanel().setMenuItemStatementsSelected(rowCount + " statements selected");
 				long statementTypeCount = IntStream.of(statementTable.getSelectedRows())
 					.map(r -> statementTable.convertRowIndexToModel(r))
-					.map(i -> statementTableModel.getRow(i).getStatementTypeId())
+					.map(i -> statementTableModel.getStatementTypeIdByModelRow(i))
 					.distinct()
 					.count();
 				getStatementPanel().setMenuItemStatementTypesSelected("of " + statementTypeCount + " statement type(s)");
@@ -341,7 +347,7 @@ public class MainWindow extends JFrame {
 					MainWindow.this.actionRecodeStatements.setEnabled(false);
 					int selectedRow = statementTable.getSelectedRow();
 					int selectedModelIndex = statementTable.convertRowIndexToModel(selectedRow);
-					int statementId = statementTableModel.getRow(selectedModelIndex).getId();
+					int statementId = statementTableModel.getIdByModelRow(selectedModelIndex);
 					Statement s = Dna.sql.getStatement(statementId);
 					documentTablePanel.setSelectedDocumentId(s.getDocumentId());
 					if (Dna.sql.getActiveCoder().isPermissionDeleteStatements() == true &&
@@ -404,10 +410,10 @@ public class MainWindow extends JFrame {
 					int[] selectedRows = statementTable.getSelectedRows();
 					int[] modelRows = new int[selectedRows.length];
 					int[] coderIds = new int[selectedRows.length];
-					int statementTypeId = statementTableModel.getRow(statementTable.convertRowIndexToModel(selectedRows[0])).getStatementTypeId();
+					int statementTypeId = statementTableModel.getStatementTypeIdByModelRow(statementTable.convertRowIndexToModel(selectedRows[0]));
 					for (int i = 0; i < selectedRows.length; i++) {
 						modelRows[i] = statementTable.convertRowIndexToModel(selectedRows[i]);
-						coderIds[i] = statementTableModel.getRow(modelRows[i]).getCoderId();
+						coderIds[i] = statementTableModel.getCoderIdByModelRow(modelRows[i]);
 						if (coderIds[i] != Dna.sql.getActiveCoder().getId()) {
 							allOwned = false;
 						}
@@ -420,7 +426,7 @@ public class MainWindow extends JFrame {
 						if (!Dna.sql.getActiveCoder().isPermissionEditOthersStatements() && Dna.sql.getActiveCoder().getId() != coderIds[i]) {
 							permitRecode = false;
 						}
-						if (statementTypeId != statementTableModel.getRow(modelRows[i]).getStatementTypeId()) {
+						if (statementTypeId != statementTableModel.getStatementTypeIdByModelRow(modelRows[i])) {
 							permitRecode = false;
 						}
 					}
@@ -573,17 +579,23 @@ public class MainWindow extends JFrame {
 					int pos = textWindow.getCaretPosition(); // click caret position
 					Point p = me.getPoint();
 					
-					// filter statements from statement table using stream API
-					List<Statement> currentStatements = statementTableModel.getRows().stream().filter(
-							s -> s.getDocumentId() == documentTablePanel.getSelectedDocumentId() &&
-							s.getStart() < pos &&
-							s.getStop() > pos &&
-							(s.getCoderId() == Dna.sql.getActiveCoder().getId() || Dna.sql.getActiveCoder().isPermissionViewOthersStatements()) &&
-							(s.getCoderId() == Dna.sql.getActiveCoder().getId() || Dna.sql.getActiveCoder().getCoderRelations().get(s.getCoderId()).isViewStatements())).collect(Collectors.toList());
+					// find the first statement at the caret position using the keys in the statement table model
+					int documentId = documentTablePanel.getSelectedDocumentId();
+					int statementId = -1;
+					for (int i = 0; i < statementTableModel.getRowCount() && statementId == -1 && Dna.sql.getActiveCoder() != null; i++) {
+						int coderId = statementTableModel.getCoderIdByModelRow(i);
+						if (statementTableModel.getDocumentIdByModelRow(i) == documentId &&
+								statementTableModel.getStartByModelRow(i) < pos &&
+								statementTableModel.getStopByModelRow(i) > pos &&
+								(coderId == Dna.sql.getActiveCoder().getId() || Dna.sql.getActiveCoder().isPermissionViewOthersStatements()) &&
+								(coderId == Dna.sql.getActiveCoder().getId() || Dna.sql.getActiveCoder().getCoderRelations().get(coderId).isViewStatements())) {
+							statementId = statementTableModel.getIdByModelRow(i);
+						}
+					}
 					
 					// if the text selection contains a statement, get it from the database and display it
-					if (currentStatements.size() > 0 && Dna.sql.getActiveCoder() != null) {
-						Statement s = Dna.sql.getStatement(currentStatements.get(0).getId());
+					if (statementId > -1) {
+						Statement s = Dna.sql.getStatement(statementId);
 						Point location = textWindow.getLocationOnScreen();
 						textWindow.setSelectionStart(s.getStart());
 						textWindow.setSelectionEnd(s.getStop());
@@ -786,10 +798,7 @@ public class MainWindow extends JFrame {
 					// update statement table with changes to old statement that was saved
 					statusBar.statementRefreshStart();
 					Statement updatedOldStatement = popup.getStatementCopy();
-					int modelRow = statementTableModel.getModelRowById(updatedOldStatement.getId());
-					statementTableModel.getRow(modelRow).setCoderName(updatedOldStatement.getCoderName());
-					statementTableModel.getRow(modelRow).setCoderColor(updatedOldStatement.getCoderColor());
-					statementTableModel.fireTableRowsUpdated(modelRow, modelRow);
+					statementTableModel.updateRow(updatedOldStatement);
 					
 					// clone the statement
 					int newStatementId = Dna.sql.cloneStatement(s.getId(), Dna.sql.getActiveCoder().getId());
@@ -903,10 +912,7 @@ public class MainWindow extends JFrame {
 				textPanel.paintStatements();
 			}
 			Statement s = popup.getStatementCopy();
-			int modelRow = statementTableModel.getModelRowById(s.getId());
-			statementTableModel.getRow(modelRow).setCoderName(s.getCoderName());
-			statementTableModel.getRow(modelRow).setCoderColor(s.getCoderColor());
-			statementTableModel.fireTableRowsUpdated(modelRow, modelRow);
+			statementTableModel.updateRow(s);
 		}
 	}
 
@@ -916,6 +922,7 @@ public class MainWindow extends JFrame {
 	private void refreshDocumentTable() {
 		if (Dna.sql.getConnectionProfile() == null) {
 			documentTableModel.clear();
+			documentChanges.reset();
 		} else {
 			if (documentTableWorker != null) {
 				documentTableWorker.cancel(true);
@@ -937,6 +944,7 @@ public class MainWindow extends JFrame {
 	private void refreshStatementTable(int[] statementIds) {
 		if (Dna.sql.getConnectionProfile() == null) {
 			statementTableModel.clear();
+			statementChanges.reset();
 		} else {
 			if (statementTableWorker != null) {
 				statementTableWorker.cancel(true);
@@ -947,6 +955,146 @@ public class MainWindow extends JFrame {
 		}
 	}
 
+	/**
+	 * Refresh the document and statement tables. If both tables have been
+	 * loaded completely before and the database has a change log, only the
+	 * documents and statements that have been changed since then, possibly by
+	 * other coders, are reloaded and merged into the table models. Otherwise,
+	 * both tables are reloaded completely.
+	 */
+	private void refreshTables() {
+		if (Dna.sql.getConnectionProfile() != null
+				&& documentChanges.isSynchronized()
+				&& statementChanges.isSynchronized()
+				&& (documentTableWorker == null || documentTableWorker.isDone())
+				&& (statementTableWorker == null || statementTableWorker.isDone())) {
+			new TableUpdateWorker(LocalTime.now().toString()).execute();
+		} else {
+			refreshDocumentTable();
+			refreshStatementTable(new int[0]);
+		}
+	}
+
+	/**
+	 * Swing worker class for retrieving the changes since the last refresh
+	 * from the change log of the database and merging the changed documents
+	 * into the document table in a background thread. The changed statements
+	 * are reloaded by a {@link StatementTableRefreshWorker} for the changed
+	 * statement IDs. If a change affects all documents or statements, or if
+	 * the change log cannot be read, the respective table is reloaded
+	 * completely instead.
+	 */
+	private class TableUpdateWorker extends SwingWorker<Void, Void> {
+		private long time;
+		private String name;
+		private boolean reloadDocuments = false, reloadStatements = false;
+		private HashSet<Integer> documentIds = new HashSet<Integer>();
+		private ArrayList<TableDocument> documents = new ArrayList<TableDocument>();
+		private HashSet<Integer> statementIds = new HashSet<Integer>();
+		/**
+		 * Changed documents that no longer exist; their statements have been
+		 * deleted along with them.
+		 */
+		private HashSet<Integer> deletedDocumentIds = new HashSet<Integer>();
+
+		/**
+		 * Create a new table update swing worker.
+		 * 
+		 * @param name  The name of the thread.
+		 */
+		private TableUpdateWorker(String name) {
+			this.name = name;
+			actionRefresh.setEnabled(false);
+			time = System.nanoTime();
+			LogEvent le = new LogEvent(Logger.MESSAGE,
+					"[GUI] Initializing thread to update document and statement tables: " + this.name + ".",
+					"A new swing worker thread has been started to retrieve changed documents and statements from the database in the background: " + this.name + ".");
+			Dna.logger.log(le);
+		}
+
+		@Override
+		protected Void doInBackground() {
+			try {
+				ChangeFeed.Changes changes = documentChanges.poll();
+				if (changes == null || changes.isAll()) {
+					reloadDocuments = true;
+				} else if (!changes.isEmpty()) {
+					documentIds = changes.getDocumentIds();
+					if (documentIds.size() > 0) {
+						documents = Dna.sql.getTableDocuments(documentIds.stream().mapToInt(Integer::intValue).toArray());
+					}
+				}
+			} catch (SQLException e) {
+				reloadDocuments = true;
+			}
+			if (reloadDocuments) {
+				Dna.sql.resetDocumentFrequencies(); // other clients may have added or deleted statements in any document
+			}
+			try {
+				ChangeFeed.Changes changes = statementChanges.poll();
+				if (changes == null || !changes.isEmpty()) {
+					Dna.sql.resetEntityCache(); // other clients may have added or changed entities along with their statements
+				}
+				if (changes == null || changes.isAll()) {
+					reloadStatements = true;
+				} else {
+					statementIds.addAll(changes.getStatementIds());
+					if (changes.getDocumentIds().size() > 0) {
+						// the statements of changed documents may have a new date or have been deleted with their document
+						String idList = changes.getDocumentIds().stream().map(String::valueOf).collect(Collectors.joining(", "));
+						deletedDocumentIds.addAll(changes.getDocumentIds());
+						try (Connection conn = Dna.sql.getDataSource().getConnection();
+								PreparedStatement s1 = conn.prepareStatement("SELECT ID FROM DOCUMENTS WHERE ID IN (" + idList + ");");
+								PreparedStatement s2 = conn.prepareStatement("SELECT ID FROM STATEMENTS WHERE DocumentId IN (" + idList + ");")) {
+							ResultSet r1 = s1.executeQuery();
+							while (r1.next()) {
+								deletedDocumentIds.remove(r1.getInt("ID"));
+							}
+							ResultSet r2 = s2.executeQuery();
+							while (r2.next()) {
+								statementIds.add(r2.getInt("ID"));
+							}
+						}
+					}
+				}
+			} catch (SQLException e) {
+				Dna.sql.resetEntityCache();
+				reloadStatements = true;
+			}
+			return null;
+		}
+
+		@Override
+		protected void done() {
+			if (reloadDocuments) {
+				refreshDocumentTable();
+			} else if (documentIds.size() > 0) {
+				documentTableModel.mergeDocuments(documentIds, documents);
+				changedDocumentTableSelection();
+			}
+			if (reloadStatements) {
+				refreshStatementTable(new int[0]);
+			} else {
+				if (deletedDocumentIds.size() > 0) {
+					statementTableModel.removeStatementsByDocuments(deletedDocumentIds);
+				}
+				if (statementIds.size() > 0) {
+					refreshStatementTable(statementIds.stream().mapToInt(Integer::intValue).toArray()); // merges the changed statements
+				}
+			}
+			long elapsed = System.nanoTime();
+			LogEvent le = new LogEvent(Logger.MESSAGE,
+					"[GUI]  └─ Retrieved " + (reloadDocuments ? "all" : documentIds.size()) + " changed documents and " + (reloadStatements ? "all" : statementIds.size()) + " changed statements in " + (elapsed - time) / 1000000 + " milliseconds.",
+					"The table update swing worker retrieved the changes since the last refresh from the change log of the database in " + (elapsed - time) / 1000000 + " milliseconds. "
+					+ (reloadDocuments ? "All documents are reloaded. " : documentIds.size() + " changed documents were merged into the document table. ")
+					+ (reloadStatements ? "All statements are reloaded." : statementIds.size() + " changed statements are reloaded and merged into the statement table."));
+			Dna.logger.log(le);
+			if (!statusBar.isRefreshInProgress() && Dna.sql.getConnectionProfile() != null) {
+				actionRefresh.setEnabled(true);
+			}
+		}
+	}
+
 	/**
 	 * Swing worker class for loading documents from the database and adding
 	 * them to the document table in a background thread.
@@ -1004,27 +1152,19 @@ public class MainWindow extends JFrame {
 		
 		@Override
 		protected List<TableDocument> doInBackground() {
-			try (Connection conn = Dna.sql.getDataSource().getConnection();
-					PreparedStatement s = conn.prepareStatement("SELECT D.ID, Title, (SELECT COUNT(ID) FROM STATEMENTS WHERE DocumentId = D.ID) AS Frequency, C.ID AS CoderId, Name AS CoderName, Red, Green, Blue, Date, Author, Source, Section, Type, Notes FROM CODERS C INNER JOIN DOCUMENTS D ON D.Coder = C.ID;");
-					ResultSet rs = s.executeQuery();) {
-				while (!isCancelled() && rs.next()) {
-					if (isCancelled()) {
-						return null;
+			documentChanges.synchronize(); // changes from now on will be retrieved by the next incremental refresh
+			try {
+				int lastId = 0;
+				while (!isCancelled()) {
+					// page through the documents by ID; the statement counts come from the cache in the Sql class
+					ArrayList<TableDocument> page = Dna.sql.getTableDocumentPage(lastId, Sql.DOCUMENT_PAGE_SIZE);
+					if (page.size() > 0) {
+						publish(page.toArray(new TableDocument[0])); // send the new document rows out of the background thread
+						lastId = page.get(page.size() - 1).getId();
+					}
+					if (page.size() < Sql.DOCUMENT_PAGE_SIZE) {
+						break;
 					}
-					TableDocument r = new TableDocument(
-							rs.getInt("ID"),
-							rs.getString("Title"),
-							rs.getInt("Frequency"),
-							new Coder(rs.getInt("CoderId"),
-									rs.getString("CoderName"),
-									new model.Color(rs.getInt("Red"), rs.getInt("Green"), rs.getInt("Blue"))),
-							rs.getString("Author"),
-							rs.getString("Source"),
-							rs.getString("Section"),
-							rs.getString("Type"),
-							rs.getString("Notes"),
-							LocalDateTime.ofEpochSecond(rs.getLong("Date"), 0, ZoneOffset.UTC));
-					publish(r); // send the new document row out of the background thread
 				}
 			} catch (SQLException e) {
 				if (e.getMessage().matches(".*Interrupted during connection acquisition.*")) {
@@ -1034,6 +1174,7 @@ public class MainWindow extends JFrame {
 							e);
 					Dna.logger.log(l);
 				} else {
+					documentChanges.reset(); // the table is incomplete
 					LogEvent le = new LogEvent(Logger.WARNING,
 							"[SQL]  ├─ Could not retrieve documents from database.",
 							"The document table model swing worker tried to retrieve all documents from the database to display them in the document table, but some or all documents could not be retrieved because there was a problem while processing the result set. The document table may be incomplete.",
@@ -1041,6 +1182,9 @@ public class MainWindow extends JFrame {
 					Dna.logger.log(le);
 				}
 			}
+			if (isCancelled()) {
+				documentChanges.reset(); // the table is incomplete
+			}
 			return null;
 		}
 	    
@@ -1116,6 +1260,11 @@ public class MainWindow extends JFrame {
 		 */
 		private int selectedId;
 
+		/**
+		 * The statements reloaded for the given statement IDs, if any.
+		 */
+		private ArrayList<Statement> reloadedStatements = new ArrayList<Statement>();
+
 		/**
 		 * A Swing worker that reloads all statements from the database and
 		 * stores them in the table model for displaying them in the statement
@@ -1162,152 +1311,11 @@ public class MainWindow extends JFrame {
 		
 		@Override
 		protected List<Statement> doInBackground() {
-			String subString = "SUBSTRING(DOCUMENTS.Text, Start + 1, Stop - Start) AS Text ";
-			if (Dna.sql.getConnectionProfile().getType().equals("postgresql")) {
-				subString = "SUBSTRING(DOCUMENTS.Text, CAST(Start + 1 AS INT4), CAST(Stop - Start AS INT4)) AS Text ";
+			if (statementIds.length == 0) {
+				statementChanges.synchronize(); // changes from now on will be retrieved by the next incremental refresh
 			}
-			String stid = "";
-			if (statementIds.length > 0) {
-				stid = "WHERE STATEMENTS.ID IN ("
-						+ IntStream.of(statementIds)
-						.mapToObj(i -> ((Integer) i).toString()) // i is an int, not an Integer
-						.collect(Collectors.joining(", "))
-						.toString()
-						+ ") ";
-			}
-			String q1 = "SELECT STATEMENTS.ID AS StatementId, "
-					+ "StatementTypeId, "
-					+ "STATEMENTTYPES.Label AS StatementTypeLabel, "
-					+ "STATEMENTTYPES.Red AS StatementTypeRed, "
-					+ "STATEMENTTYPES.Green AS StatementTypeGreen, "
-					+ "STATEMENTTYPES.Blue AS StatementTypeBlue, "
-					+ "Start, "
-					+ "Stop, "
-					+ "STATEMENTS.Coder AS CoderId, "
-					+ "CODERS.Name AS CoderName, "
-					+ "CODERS.Red AS CoderRed, "
-					+ "CODERS.Green AS CoderGreen, "
-					+ "CODERS.Blue AS CoderBlue, "
-					+ "DocumentId, "
-					+ "DOCUMENTS.Date AS Date, "
-					+ subString
-					+ "FROM STATEMENTS "
-					+ "INNER JOIN CODERS ON STATEMENTS.Coder = CODERS.ID "
-					+ "INNER JOIN STATEMENTTYPES ON STATEMENTS.StatementTypeId = STATEMENTTYPES.ID "
-					+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
-					+ stid
-					+ "ORDER BY DOCUMENTS.DATE ASC;";
-			
-			String q2 = "SELECT ID FROM STATEMENTTYPES;";
-			
-			String q3 = "SELECT ID, Variable, DataType FROM VARIABLES;";
-			
-			String q4castBoolean = "DATABOOLEAN.Value";
-			String q4castInteger = "DATAINTEGER.Value";
-			if (Dna.sql.getConnectionProfile().getType().equals("postgresql")) {
-				q4castBoolean = "CAST(DATABOOLEAN.Value AS TEXT)";
-				q4castInteger = "CAST(DATAINTEGER.Value AS TEXT)";
-			}
-			
-			String stidShort = "";
-			String stidLong = "";
-			String stidBool = "";
-			String stidInt = "";
-			if (statementIds.length > 0) {
-				stid = IntStream.of(statementIds)
-						.mapToObj(i -> ((Integer) i).toString()) // i is an int, not an Integer
-						.collect(Collectors.joining(", "))
-						.toString()
-						+ ") ";
-				stidShort = "AND DATASHORTTEXT.StatementId IN (" + stid;
-				stidLong = "AND DATALONGTEXT.StatementId IN (" + stid;
-				stidBool = "AND DATABOOLEAN.StatementId IN (" + stid;
-				stidInt = "AND DATAINTEGER.StatementId IN (" + stid;
-			}
-			String q4 = "SELECT DATASHORTTEXT.StatementId, VARIABLES.ID AS VariableId, ENTITIES.Value AS Value FROM DATASHORTTEXT "
-					+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATASHORTTEXT.VariableId "
-					+ "INNER JOIN ENTITIES ON ENTITIES.VariableId = VARIABLES.ID AND ENTITIES.ID = DATASHORTTEXT.Entity WHERE VARIABLES.StatementTypeId = ? "
-					+ stidShort
-					+ "UNION "
-					+ "SELECT DATALONGTEXT.StatementId, VARIABLES.ID AS VariableId, DATALONGTEXT.Value FROM DATALONGTEXT "
-					+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATALONGTEXT.VariableId WHERE VARIABLES.StatementTypeId = ? "
-					+ stidLong
-					+ "UNION "
-					+ "SELECT DATABOOLEAN.StatementId, VARIABLES.ID AS VariableId, " + q4castBoolean + " FROM DATABOOLEAN "
-					+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATABOOLEAN.VariableId WHERE VARIABLES.StatementTypeId = ? "
-					+ stidBool
-					+ "UNION "
-					+ "SELECT DATAINTEGER.StatementId, VARIABLES.ID AS VariableId, " + q4castInteger + " FROM DATAINTEGER "
-					+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATAINTEGER.VariableId WHERE VARIABLES.StatementTypeId = ? "
-					+ stidInt
-					+ "ORDER BY 1, 2 ASC;";
-			
-			int statementTypeId, statementId, variableId;
-			model.Color sColor, cColor;
-			HashMap<Integer, String> variableNameMap = new HashMap<Integer, String>(); // variable ID to variable name
-			HashMap<Integer, String> variableDataTypeMap = new HashMap<Integer, String>(); // variable ID to data type
-			HashMap<Integer, Statement> statementMap = new HashMap<Integer, Statement>(); // statement ID to Statement
-			ResultSet r3, r4;
-			try (Connection conn = Dna.sql.getDataSource().getConnection();
-					PreparedStatement s1 = conn.prepareStatement(q1);
-					PreparedStatement s2 = conn.prepareStatement(q2);
-					PreparedStatement s3 = conn.prepareStatement(q3);
-					PreparedStatement s4 = conn.prepareStatement(q4);) {
-				
-				// assemble statements without values for now and save them in a hash map
-				ResultSet r1 = s1.executeQuery();
-				while (r1.next()) {
-					statementId = r1.getInt("StatementId");
-				    statementTypeId = r1.getInt("StatementTypeId");
-				    sColor = new model.Color(r1.getInt("StatementTypeRed"), r1.getInt("StatementTypeGreen"), r1.getInt("StatementTypeBlue"));
-				    cColor = new model.Color(r1.getInt("CoderRed"), r1.getInt("CoderGreen"), r1.getInt("CoderBlue"));
-				    Statement statement = new Statement(statementId,
-				    		r1.getInt("Start"),
-				    		r1.getInt("Stop"),
-				    		statementTypeId,
-				    		r1.getString("StatementTypeLabel"),
-				    		sColor,
-				    		r1.getInt("CoderId"),
-				    		r1.getString("CoderName"),
-				    		cColor,
-				    		new ArrayList<Value>(),
-				    		r1.getInt("DocumentId"),
-				    		r1.getString("Text"),
-				    		LocalDateTime.ofEpochSecond(r1.getLong("Date"), 0, ZoneOffset.UTC));
-				    statementMap.put(statementId, statement);
-				}
-				
-				// get variables
-				r3 = s3.executeQuery();
-				while (r3.next()) {
-					variableNameMap.put(r3.getInt("ID"), r3.getString("Variable"));
-					variableDataTypeMap.put(r3.getInt("ID"), r3.getString("DataType"));
-				}
-				
-				// get statement types
-				ResultSet r2 = s2.executeQuery();
-				while (r2.next()) {
-					statementTypeId = r2.getInt("ID");
-					
-					// get values and put them into the statements
-					s4.setInt(1, statementTypeId);
-					s4.setInt(2, statementTypeId);
-					s4.setInt(3, statementTypeId);
-					s4.setInt(4, statementTypeId);
-					r4 = s4.executeQuery();
-					while (r4.next()) {
-						variableId = r4.getInt("VariableId");
-						statementMap.get(r4.getInt("StatementId")).getValues().add(new Value(variableId, variableNameMap.get(variableId), variableDataTypeMap.get(variableId), r4.getString("Value")));
-					}
-				}
-				
-				// publish all statements
-				Collection<Statement> s = statementMap.values();
-		        ArrayList<Statement> listOfStatements = new ArrayList<Statement>(s);
-				Collections.sort(listOfStatements);
-		        for (int i = 0; i < listOfStatements.size(); i++) {
-		        	publish(listOfStatements.get(i));
-		        }
+			try {
+				Dna.sql.getTableStatementKeys(statementIds, s -> publish(s)); // only the keys; the text and values are loaded when the statements are displayed
 			} catch (SQLException e) {
 				if (e.getMessage().matches(".*Interrupted during connection acquisition.*")) {
 					LogEvent l = new LogEvent(Logger.MESSAGE,
@@ -1316,6 +1324,7 @@ public class MainWindow extends JFrame {
 							e);
 					Dna.logger.log(l);
 				} else {
+					statementChanges.reset(); // the table may be incomplete
 					LogEvent l = new LogEvent(Logger.WARNING,
 							"[SQL] Failed to retrieve statements.",
 							"Attempted to retrieve all statements from the database, but something went wrong. You should double-check if the statements are all shown!",
@@ -1330,9 +1339,11 @@ public class MainWindow extends JFrame {
         protected void process(List<Statement> chunks) {
         	if (statementIds.length == 0) {
         		statementTableModel.addRows(chunks); // transfer a batch of rows to the statement table model
-    			getStatementPanel().setSelectedStatementId(selectedId); // select the statement from before; skipped if the statement not found in this batch
+        		if (chunks.stream().anyMatch(s -> s.getId() == selectedId)) {
+        			getStatementPanel().setSelectedStatementId(selectedId); // select the statement from before as soon as it has been loaded
+        		}
         	} else {
-        		statementTableModel.updateStatements(chunks); // transfer a batch of statements to update
+        		reloadedStatements.addAll(chunks); // merged into the table model when done
         	}
         }
 
@@ -1349,6 +1360,11 @@ public class MainWindow extends JFrame {
         				+ "background and stored them in the statement table. This took " + (elapsed - time) / 1000000 + " milliseconds.");
         		Dna.logger.log(le);
     		} else {
+    			if (isCancelled()) {
+    				statementChanges.reset(); // the changes were not merged; reload all statements next time
+    			} else {
+    				statementTableModel.mergeStatements(IntStream.of(statementIds).boxed().collect(Collectors.toList()), reloadedStatements); // update, insert, or remove the changed statements
+    			}
         		long elapsed = System.nanoTime(); // measure time again for calculating difference
     			LogEvent le = new LogEvent(Logger.MESSAGE,
     					"[GUI]  ├─ Refreshed " + statementIds.length + " statement(s) in " + (elapsed - time) / 1000000 + " milliseconds.",
@@ -1907,8 +1923,7 @@ public class MainWindow extends JFrame {
 				}
 				
 				if (cm.isDeletedCoder()) {
-					refreshDocumentTable();
-					refreshStatementTable(new int[0]);
+					refreshTables();
 				}
 				cm.dispose();
 				Dna.sql.selectCoder(Dna.sql.getActiveCoder().getId()); // refresh permissions in case they were updated
@@ -2130,7 +2145,7 @@ public class MainWindow extends JFrame {
 		
 		public void actionPerformed(ActionEvent e) {
 			new DocumentBatchImporter();
-	    	refreshDocumentTable();
+			refreshTables();
 			LogEvent l = new LogEvent(Logger.MESSAGE,
 					"[GUI] Action executed: used document batch importer.",
 					"Batch-imported documents to the database.");
@@ -2214,8 +2229,7 @@ public class MainWindow extends JFrame {
 		}
 		
 		public void actionPerformed(ActionEvent e) {
-	    	refreshDocumentTable();
-			refreshStatementTable(new int[0]);
+			refreshTables();
 		}
 	}
 
@@ -2239,18 +2253,18 @@ public class MainWindow extends JFrame {
 			int[] statementIds = new int[selectedRows.length];
 			int[] coderIds = new int[selectedRows.length];
 			boolean permissions = Dna.sql.getActiveCoder().isPermissionEditStatements();
-			int statementTypeId = statementTableModel.getRow(statementTable.convertRowIndexToModel(selectedRows[0])).getStatementTypeId();
+			int statementTypeId = statementTableModel.getStatementTypeIdByModelRow(statementTable.convertRowIndexToModel(selectedRows[0]));
 			for (int i = 0; i < selectedRows.length; i++) {
 				modelRows[i] = statementTable.convertRowIndexToModel(selectedRows[i]);
-				statementIds[i] = statementTableModel.getRow(modelRows[i]).getId();
-				coderIds[i] = statementTableModel.getRow(modelRows[i]).getCoderId();
+				statementIds[i] = statementTableModel.getIdByModelRow(modelRows[i]);
+				coderIds[i] = statementTableModel.getCoderIdByModelRow(modelRows[i]);
 				if (!Dna.sql.getActiveCoder().isPermissionEditOthersStatements(coderIds[i]) && Dna.sql.getActiveCoder().getId() != coderIds[i]) {
 					permissions = false;
 				}
 				if (!Dna.sql.getActiveCoder().isPermissionEditOthersStatements() && Dna.sql.getActiveCoder().getId() != coderIds[i]) {
 					permissions = false;
 				}
-				if (statementTypeId != statementTableModel.getRow(modelRows[i]).getStatementTypeId()) {
+				if (statementTypeId != statementTableModel.getStatementTypeIdByModelRow(modelRows[i])) {
 					permissions = false;
 				}
 			}
@@ -2297,8 +2311,8 @@ public class MainWindow extends JFrame {
 			int[] documentIds = new int[selectedRows.length];
 			for (int i = 0; i < selectedRows.length; i++) {
 				modelRows[i] = statementTable.convertRowIndexToModel(selectedRows[i]);
-				statementIds[i] = statementTableModel.getRow(modelRows[i]).getId();
-				documentIds[i] = statementTableModel.getRow(modelRows[i]).getDocumentId();
+				statementIds[i] = statementTableModel.getIdByModelRow(modelRows[i]);
+				documentIds[i] = statementTableModel.getDocumentIdByModelRow(modelRows[i]);
 			}
 			
 			// confirmation dialog, then delete statements from database and table
@@ -34,7 +34,7 @@ public class NetworkExporter extends JDialog {
 	private JComboBox<String> networkModesBox, fileFormatBox, var1Box, var2Box, qualifierBox, aggregationBox, normalizationBox,	isolatesBox, duplicatesBox, timeWindowBox;
 	private StatementType[] statementTypes;
 	private JComboBox<StatementType> statementTypeBox;
-	private JSpinner timeWindowSpinner;
+	private JSpinner timeWindowSpinner, parallelismSpinner;
 	private JList<String> excludeVariableList, excludeValueList;
 	private HashMap<String, ArrayList<String>> excludeValues;
 	private ArrayList<String> excludeAuthor, excludeSource, excludeSection, excludeType;
@@ -533,6 +533,16 @@ public class NetworkExporter extends JDialog {
 		duplicatesLabel.setToolTipText(duplicatesToolTip);
 		settingsPanel.add(duplicatesLabel, gbc);
 
+		gbc.gridx = 3;
+		JLabel parallelismLabel = new JLabel("Threads");
+		String parallelismToolTip = "<html><p width=\"500\">The number of processor cores used for computing one-mode and "
+				+ "two-mode network matrices. With more than one thread, the rows of the network matrix are split into "
+				+ "blocks that are computed simultaneously. This can speed up the export of large networks considerably. "
+				+ "The resulting network is identical irrespective of the number of threads. By default, one thread is "
+				+ "used, as in the export functions of rDNA.</p></html>";
+		parallelismLabel.setToolTipText(parallelismToolTip);
+		settingsPanel.add(parallelismLabel, gbc);
+
 		gbc.insets = new java.awt.Insets(3, 3, 3, 3);
 		gbc.gridx = 0;
 		gbc.gridy = 5;
@@ -558,6 +568,13 @@ public class NetworkExporter extends JDialog {
 		duplicatesBox.setToolTipText(duplicatesToolTip);
 		settingsPanel.add(duplicatesBox, gbc);
 		duplicatesBox.setPreferredSize(new java.awt.Dimension(WIDTH, HEIGHT2));
+
+		gbc.gridx = 3;
+		int processors = Runtime.getRuntime().availableProcessors();
+		parallelismSpinner = new JSpinner(new SpinnerNumberModel(1, 1, processors, 1));
+		parallelismSpinner.setToolTipText(parallelismToolTip);
+		settingsPanel.add(parallelismSpinner, gbc);
+		parallelismSpinner.setPreferredSize(new java.awt.Dimension(WIDTH, HEIGHT2));
 		
 		// fourth row of options
 		gbc.insets = new java.awt.Insets(10, 3, 3, 3);
@@ -1060,6 +1077,7 @@ public class NetworkExporter extends JDialog {
 						timeWindow = "years";
 					}
 					int windowSize = (int) timeWindowSpinner.getModel().getValue();
+					int parallelism = (int) parallelismSpinner.getModel().getValue();
 					String fileFormat = (String) fileFormatBox.getSelectedItem();
 					if (fileFormat.equals(".csv")) {
 						fileFormat = "csv";
@@ -1076,7 +1094,7 @@ public class NetworkExporter extends JDialog {
 							timeWindow, windowSize,	NetworkExporter.this.excludeValues, NetworkExporter.this.excludeAuthor,
 							NetworkExporter.this.excludeSource, NetworkExporter.this.excludeSection,
 							NetworkExporter.this.excludeType, false, false, false,
-							false, false, fileFormat, fileName), "Export network" );
+							false, false, fileFormat, fileName, parallelism), "Export network" );
 					exportThread.start();
 				}
 			}
@@ -1162,7 +1180,8 @@ public class NetworkExporter extends JDialog {
 				boolean invertSections,
 				boolean invertTypes,
 				String fileFormat,
-				String outfile) {
+				String outfile,
+				int parallelism) {
 			this.fileName = outfile;
 			this.exporter = new Exporter(
 					networkType,
@@ -1193,6 +1212,7 @@ public class NetworkExporter extends JDialog {
 					invertTypes,
 					fileFormat,
 					outfile);
+			this.exporter.setParallelism(parallelism);
 		}
 		
 		public void run() {
@@ -1229,6 +1249,8 @@ public class NetworkExporter extends JDialog {
 						"An unexpected error occurred while exporting a network. See the stack trace for details. Consider reporting this error.",
 						e);
 				Dna.logger.log(le);
+			} finally {
+				exporter.shutdownForkJoinPool();
 			}
 			progressMonitor.setProgress(3);
 			
@@ -216,7 +216,7 @@ class Popup extends JDialog {
 				variableIds.add(variables.get(i).getVariableId());
 			}
 		}
-		ArrayList<ArrayList<Entity>> entities = Dna.sql.getEntities(variableIds, false); // switch to true to color unused entities in red; but it takes much longer with large databases
+		ArrayList<ArrayList<Entity>> entities = Dna.sql.getEntities(variableIds, true); // with attributes to color unused entities in red
 
 		// create boxes with values
 		for (int i = 0; i < variables.size(); i++) {
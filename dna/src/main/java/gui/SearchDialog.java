@@ -12,19 +12,15 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.IntStream;
 
 import javax.swing.*;
@@ -42,6 +38,8 @@ import org.jdesktop.swingx.JXTextField;
 import dna.Dna;
 import logger.LogEvent;
 import logger.Logger;
+import model.Document;
+import sql.DocumentSearch;
 
 /**
  * Search dialog for performing a regex search on all document texts.
@@ -341,47 +339,60 @@ public class SearchDialog extends JDialog implements DocumentTablePanel.Document
 		
 		@Override
 		protected List<SearchResult> doInBackground() {
-			// get comma-separate string of IDs of coders with the permission to view their documents
-			String ids = Dna.sql.getCoders()
+			// get IDs of coders with the permission to view their documents
+			int[] coderIds = Dna.sql.getCoders()
 					.stream()
 					.map(c -> c.getId())
 					.mapToInt(c -> c)
 					.filter(c -> c == Dna.sql.getActiveCoder().getId() || (Dna.sql.getActiveCoder().isPermissionViewOthersDocuments() && Dna.sql.getActiveCoder().isPermissionViewOthersDocuments(c)))
-					.mapToObj(i -> ((Integer) i).toString()) // i is an int, not an Integer
-					.collect(Collectors.joining(", "))
-					.toString();
-			
-			try (Connection conn = Dna.sql.getDataSource().getConnection();
-					PreparedStatement s = conn.prepareStatement("SELECT ID, Date, Title, Text FROM DOCUMENTS WHERE Text LIKE '%" + regex + "%' AND CODER IN (" + ids + ");");
-					ResultSet rs = s.executeQuery();) {
+					.toArray();
+
+			Pattern pattern;
+			try {
+				pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+			} catch (PatternSyntaxException e) {
+				LogEvent l = new LogEvent(Logger.WARNING,
+						"[GUI]  ├─ Invalid regular expression: " + regex,
+						"The search term is not a valid regular expression, so the documents could not be searched.",
+						e);
+				Dna.logger.log(l);
+				return null;
+			}
+
+			// retrieve candidate documents page by page, narrowed down by the database, and confirm the matches
+			DocumentSearch search = new DocumentSearch(Dna.sql, regex, coderIds);
+			try {
 				String text, title, match;
 				int documentId, start, stop;
 				LocalDateTime date;
-				while (!isCancelled() && rs.next()) {
-					if (isCancelled()) {
-						return null;
+				ArrayList<Document> page = search.nextPage();
+				while (!isCancelled() && page.size() > 0) {
+					for (int i = 0; i < page.size(); i++) {
+						if (isCancelled()) {
+							return null;
+						}
+						title = page.get(i).getTitle();
+						text = page.get(i).getText();
+						documentId = page.get(i).getId();
+						date = page.get(i).getDateTime();
+						
+				        Matcher matcher = pattern.matcher(text);
+				        while (matcher.find()) {
+				        	start = matcher.start();
+				        	stop = matcher.end();
+				        	int a = start - 30; // include 30 characters before match in table
+				        	if (a < 0) {
+				        		a = 0;
+				        	}
+				        	int b = stop + 30; // include 30 characters after match in table
+				        	if (b > text.length() - 1) {
+				        		b = text.length() - 1;
+				        	}
+				        	match = text.substring(a, b);
+				        	publish(new SearchResult(documentId, title, date, start, stop, match));
+				        }
 					}
-					title = rs.getString("Title");
-					text = rs.getString("Text");
-					documentId = rs.getInt("ID");
-					date = LocalDateTime.ofEpochSecond(rs.getLong("Date"), 0, ZoneOffset.UTC);
-					
-			        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-			        Matcher matcher = pattern.matcher(text);
-			        while (matcher.find()) {
-			        	start = matcher.start();
-			        	stop = matcher.end();
-			        	int a = start - 30; // include 30 characters before match in table
-			        	if (a < 0) {
-			        		a = 0;
-			        	}
-			        	int b = stop + 30; // include 30 characters after match in table
-			        	if (b > text.length() - 1) {
-			        		b = text.length() - 1;
-			        	}
-			        	match = text.substring(a, b);
-			        	publish(new SearchResult(documentId, title, date, start, stop, match));
-			        }
+					page = search.nextPage();
 				}
 			} catch (SQLException e) {
 				if (e.getMessage().matches(".*Interrupted during connection acquisition.*")) {
@@ -14,8 +14,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
+import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -51,7 +53,6 @@ import gui.MainWindow.ActionRemoveStatements;
 import logger.LogEvent;
 import logger.Logger;
 import model.Coder;
-import model.Entity;
 import model.Statement;
 import model.StatementType;
 import model.Value;
@@ -65,6 +66,21 @@ class StatementPanel extends JPanel {
 	private StatementTableModel statementTableModel;
 	private ArrayList<Value> variables;
 	private String idFieldPattern = "";
+	/**
+	 * The compiled statement ID filter, or {@code null} if statements are not
+	 * filtered by ID.
+	 */
+	private Pattern idPattern;
+	/**
+	 * The sorted IDs of the statements whose values match the variable filter
+	 * fields, or {@code null} if statements are not filtered by values.
+	 */
+	private int[] valueFilterIds;
+	/**
+	 * Have the patterns and the matching statement IDs been updated since the
+	 * filter fields or the statements last changed?
+	 */
+	private boolean filterPrepared = false;
 	private JRadioButton allButton, docButton, filterButton;
 	private JComboBox<StatementType> statementTypeBox;
 	private int documentId; // needed for the filter to check if a statement is in the current document; updated by listener
@@ -85,9 +101,10 @@ class StatementPanel extends JPanel {
 		this.setLayout(new BorderLayout());
 		this.statementTableModel = statementTableModel;
 		statementTable = new JTable(statementTableModel);
+		statementTableModel.addTableModelListener(e -> filterPrepared = false); // notified before the table, so the filter is updated before the rows are filtered again
 
 		statementTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
-		sorter = new TableRowSorter<StatementTableModel>(statementTableModel);
+		sorter = new StatementTableRowSorter(statementTableModel);
 		statementTable.setRowSorter(sorter);
 
 		// set column visibility
@@ -246,8 +263,7 @@ class StatementPanel extends JPanel {
 		// row filter
 		RowFilter<StatementTableModel, Integer> statementFilter = new RowFilter<StatementTableModel, Integer>() {
 			public boolean include(Entry<? extends StatementTableModel, ? extends Integer> entry) {
-				Statement s = statementTableModel.getRow(entry.getIdentifier());
-				return filter(s, documentId);
+				return filter(entry.getIdentifier(), documentId);
 			}
 		};
 		sorter.setRowFilter(statementFilter);
@@ -345,6 +361,9 @@ class StatementPanel extends JPanel {
         	Component c = renderer.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
         	StatementTableModel model = (StatementTableModel) table.getModel();
         	Statement s = model.getRow(table.convertRowIndexToModel(row));
+        	if (s == null || value == null) { // statement could not be loaded from the database
+        		return c;
+        	}
         	if (value.getClass().toString().endsWith("Coder")) {
         		Coder coder = (Coder) value;
 				CoderBadgePanel cbp = new CoderBadgePanel(coder, 13, 1, 22);
@@ -378,29 +397,32 @@ class StatementPanel extends JPanel {
 	 * in the table and {@code false} otherwise. This depends on the document
 	 * that is currently being displayed and on the settings of the filter
 	 * fields, which always keep the {@code variables} list up-to-date with the
-	 * current filter contents, using a document filter.
+	 * current filter contents, using a document filter. Only the keys of the
+	 * statement in the table model are used, so the statements do not need to
+	 * be loaded from the database for filtering.
 	 * 
-	 * @param s           The statement that should be assessed on whether it
-	 *   should be displayed.
+	 * @param modelRow    The model row of the statement that should be
+	 *   assessed on whether it should be displayed.
 	 * @param documentId  The ID of the document that is currently being
 	 *   displayed.
 	 * @return            Whether the statement should be shown or not.
 	 */
-	private boolean filter(Statement s, int documentId) {
+	private boolean filter(int modelRow, int documentId) {
 		if (Dna.sql.getActiveCoder() == null || Dna.sql.getConnectionProfile() == null) {
 			return false;
 		}
-		if (s.getCoderId() != Dna.sql.getActiveCoder().getId()) {
+		int coderId = statementTableModel.getCoderIdByModelRow(modelRow);
+		if (coderId != Dna.sql.getActiveCoder().getId()) {
 			if (Dna.sql.getActiveCoder().isPermissionViewOthersStatements() == false) {
 				return false;
-			} else if (Dna.sql.getActiveCoder().isPermissionViewOthersStatements(s.getCoderId()) == false) {
+			} else if (Dna.sql.getActiveCoder().isPermissionViewOthersStatements(coderId) == false) {
 				return false;
 			}
 		}
 		if (allButton.isSelected()) {
 			return true; // show all statements
 		} else if (docButton.isSelected()) {
-			if (s.getDocumentId() == documentId) {
+			if (statementTableModel.getDocumentIdByModelRow(modelRow) == documentId) {
 				return true; // show statement if it's in the right document
 			} else {
 				return false;
@@ -408,46 +430,154 @@ class StatementPanel extends JPanel {
 		} else if (variables == null || variables.size() == 0) {
 			if (statementTypeBox.getSelectedItem() == null) {
 				return true; // no statement type -> something went wrong; show the statement
-			} else if (s.getStatementTypeId() == ((StatementType) statementTypeBox.getSelectedItem()).getId()) {
+			} else if (statementTableModel.getStatementTypeIdByModelRow(modelRow) == ((StatementType) statementTypeBox.getSelectedItem()).getId()) {
 				return true; // statement type matches, variables cannot be found; show the statement
 			} else {
 				return false; // statement type does not match and there are no variables; don't show the statement
 			}
 		} else {
 			// check statement type from statement type box for a non-match
-			if (s.getStatementTypeId() != ((StatementType) statementTypeBox.getSelectedItem()).getId()) {
+			if (statementTableModel.getStatementTypeIdByModelRow(modelRow) != ((StatementType) statementTypeBox.getSelectedItem()).getId()) {
 				return false;
 			} else {
+				if (!filterPrepared) {
+					prepareFilter();
+				}
 				// check ID field for a non-match
-				Pattern pattern = Pattern.compile(idFieldPattern);
-				Matcher m = pattern.matcher(String.valueOf((int) s.getId()));
-				if (!m.find()) {
+				int statementId = statementTableModel.getIdByModelRow(modelRow);
+				if (idPattern != null && !idPattern.matcher(String.valueOf(statementId)).find()) {
 					return false;
 				}
-				// check variables for a non-match 
-				for (int i = 0; i < variables.size(); i++) {
-					try {
-						pattern = Pattern.compile((String) variables.get(i).getValue());
-						if (s.getValues().get(i).getValue().getClass().toString().endsWith("Entity")) {
-							m = pattern.matcher(((Entity) s.getValues().get(i).getValue()).getValue());
-						} else if (s.getValues().get(i).getValue().getClass().toString().endsWith("Integer")) {
-							m = pattern.matcher(String.valueOf((int) s.getValues().get(i).getValue()));
-						} else {
-							m = pattern.matcher((String) s.getValues().get(i).getValue());
-						}
-						if (!m.find()) {
-							return false;
-						}
-					} catch (PatternSyntaxException pse) {
-						return true; // pattern could not be compiled, perhaps open parentheses or similar while typing in the regex, so do not filter out the entry
-					}
-
+				// check variables for a non-match
+				if (valueFilterIds != null && Arrays.binarySearch(valueFilterIds, statementId) < 0) {
+					return false;
 				}
 			}
 		}
 		return true;
 	}
 
+	/**
+	 * Compile the regular expressions of the filter fields and retrieve the
+	 * IDs of the statements whose values match the variable filter fields from
+	 * the database, once after the filter fields or the statements have
+	 * changed rather than once per statement.
+	 */
+	private void prepareFilter() {
+		idPattern = null;
+		valueFilterIds = null;
+		try {
+			if (!idFieldPattern.equals("")) {
+				idPattern = Pattern.compile(idFieldPattern);
+			}
+		} catch (PatternSyntaxException pse) {
+			// pattern could not be compiled, perhaps open parentheses or similar while typing in the regex, so do not filter by ID
+		}
+		for (int i = 0; i < variables.size(); i++) {
+			String regex = (String) variables.get(i).getValue();
+			if (regex == null || regex.equals("")) {
+				continue; // an empty pattern matches all values
+			}
+			Pattern pattern;
+			try {
+				pattern = Pattern.compile(regex);
+			} catch (PatternSyntaxException pse) {
+				break; // pattern could not be compiled, perhaps open parentheses or similar while typing in the regex, so do not filter by this and the following variables
+			}
+			try {
+				int[] matches = Dna.sql.getStatementIdsByValue(variables.get(i).getVariableId(), variables.get(i).getDataType(), pattern);
+				valueFilterIds = valueFilterIds == null ? matches : intersect(valueFilterIds, matches);
+			} catch (SQLException e) {
+				LogEvent l = new LogEvent(Logger.WARNING,
+						"[SQL] Failed to filter statements by variable \"" + variables.get(i).getKey() + "\".",
+						"Attempted to retrieve the statements whose value of variable \"" + variables.get(i).getKey() + "\" matches the filter field from the database, but something went wrong. The statements are not filtered by this variable.",
+						e);
+				Dna.logger.log(l);
+			}
+		}
+		filterPrepared = true;
+	}
+
+	/**
+	 * Compute the intersection of two sorted arrays of statement IDs.
+	 * 
+	 * @param a  The first array, in ascending order.
+	 * @param b  The second array, in ascending order.
+	 * @return   The IDs contained in both arrays, in ascending order.
+	 */
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int n = 0;
+		for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * A row sorter for the statement table that sorts by the sort keys of the
+	 * {@link StatementTableModel} rather than by the displayed values, so the
+	 * statements do not need to be loaded from the database for sorting the
+	 * table by coder or text.
+	 */
+	private static class StatementTableRowSorter extends TableRowSorter<StatementTableModel> {
+
+		/**
+		 * Create a new row sorter.
+		 * 
+		 * @param model  The statement table model.
+		 */
+		StatementTableRowSorter(StatementTableModel model) {
+			super(model);
+			setComparator(4, Comparator.naturalOrder());
+			setComparator(5, Comparator.naturalOrder());
+		}
+
+		@Override
+		public void setModel(StatementTableModel model) {
+			super.setModel(model);
+			setModelWrapper(new ModelWrapper<StatementTableModel, Integer>() {
+				@Override
+				public StatementTableModel getModel() {
+					return model;
+				}
+
+				@Override
+				public int getColumnCount() {
+					return model.getColumnCount();
+				}
+
+				@Override
+				public int getRowCount() {
+					return model.getRowCount();
+				}
+
+				@Override
+				public Object getValueAt(int row, int column) {
+					return model.getSortKey(row, column);
+				}
+
+				@Override
+				public String getStringValueAt(int row, int column) {
+					return String.valueOf(model.getSortKey(row, column));
+				}
+
+				@Override
+				public Integer getIdentifier(int row) {
+					return row;
+				}
+			});
+		}
+	}
+
 	/**
 	 * The panel at the bottom of the filter panel, which takes care of
 	 * filtering statements. The panel can dynamically rebuild the required
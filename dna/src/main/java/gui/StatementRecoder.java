@@ -349,7 +349,7 @@ public class StatementRecoder extends JDialog {
 				variableIds.add(statementType.getVariables().get(i).getVariableId());
 			}
 		}
-		ArrayList<ArrayList<Entity>> entities = Dna.sql.getEntities(variableIds, false); // switch to true to color unused entities in red; but it takes much longer with large databases
+		ArrayList<ArrayList<Entity>> entities = Dna.sql.getEntities(variableIds, true); // with attributes to color unused entities in red
 
 		// create boxes with values
 		for (int i = 0; i < statementType.getVariables().size(); i++) {
@@ -792,7 +792,7 @@ public class StatementRecoder extends JDialog {
 			nextButton.setEnabled(currentIndex < tableModel.getRowCount() - 1);
 			
 			// content combo boxes
-			ArrayList<ArrayList<Entity>> entities = Dna.sql.getEntities(variableIds, false); // switch to true to color unused entities in red; but it takes much longer with large databases
+			ArrayList<ArrayList<Entity>> entities = Dna.sql.getEntities(variableIds, true); // with attributes to color unused entities in red
 			for (int i = 0; i < statementType.getVariables().size(); i++) {
 				String dataType = statementType.getVariables().get(i).getDataType();
 				String key = statementType.getVariables().get(i).getKey();
@@ -1,26 +1,96 @@
 package gui;
 
+import java.sql.SQLException;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.table.AbstractTableModel;
 
+import dna.Dna;
+import logger.LogEvent;
+import logger.Logger;
 import model.Coder;
 import model.Statement;
 
 /**
  * A table model for the statements shown in the statement panel.
+ *
+ * <p>The model is virtual: for each statement, it only stores the ID and the
+ * sort key (date, document, start and stop position), the coder, and the
+ * statement type in primitive arrays, in the natural sort order of
+ * statements. The text, coder name, statement type label, colors, and values
+ * are only needed for the rows that are displayed. They are loaded from the
+ * database in pages of {@link #PAGE_SIZE} rows when a row is first accessed
+ * and kept in a cache of the {@link #CACHE_SIZE} most recently used
+ * statements, so the memory use of the model hardly depends on the length of
+ * the statements and the number of variables.
  */
 class StatementTableModel extends AbstractTableModel {
 	private static final long serialVersionUID = 3231569380143470667L;
-	private ArrayList<Statement> rows;
-	
+	/**
+	 * Number of consecutive model rows that are loaded together from the
+	 * database when a row is accessed that is not in the cache.
+	 */
+	static final int PAGE_SIZE = 100;
+	/**
+	 * Maximum number of fully loaded statements kept in memory.
+	 */
+	static final int CACHE_SIZE = 10000;
+	private int size;
+	private int[] ids, documentIds, starts, stops, coderIds, statementTypeIds;
+	private long[] dates;
+	/**
+	 * Statement IDs in the upper and model rows in the lower 32 bits, sorted
+	 * by statement ID, or {@code null} if rows have been inserted or removed
+	 * since the index was last built.
+	 */
+	private long[] rowsById;
+	/**
+	 * Position of each model row when the statements are sorted by text, or
+	 * {@code null} if it has not been retrieved from the database since the
+	 * rows were last changed.
+	 */
+	private int[] textRanks;
+	/**
+	 * Fully loaded statements by statement ID, in the order of last access.
+	 */
+	private LinkedHashMap<Integer, Statement> cache;
+	/**
+	 * IDs of the statements that could not be loaded from the database, for
+	 * example because the connection failed or because the statements have
+	 * been deleted in the meantime. They are displayed as empty rows and not
+	 * requested again until the rows are refreshed or the statements change,
+	 * so repainting the table does not query the database and log a warning
+	 * every time.
+	 */
+	private HashSet<Integer> unavailable;
+
 	/**
 	 * Create a new statement table model.
 	 */
 	StatementTableModel() {
-		rows = new ArrayList<Statement>();
+		ids = new int[0];
+		documentIds = new int[0];
+		starts = new int[0];
+		stops = new int[0];
+		coderIds = new int[0];
+		statementTypeIds = new int[0];
+		dates = new long[0];
+		cache = new LinkedHashMap<Integer, Statement>(16, 0.75f, true) {
+			private static final long serialVersionUID = -3712883153573858335L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Statement> eldest) {
+				return size() > CACHE_SIZE;
+			}
+		};
+		unavailable = new HashSet<Integer>();
 	}
 
 	@Override
@@ -30,28 +100,52 @@ class StatementTableModel extends AbstractTableModel {
 
 	@Override
 	public int getRowCount() {
-		return rows.size();
+		return size;
 	}
 
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
-		if (rows.size() == 0 || rowIndex > rows.size() - 1) {
+		if (size == 0 || rowIndex > size - 1) {
 			return null;
 		}
 		switch(columnIndex) {
-		case 0: return rows.get(rowIndex).getId();
-		case 1: return rows.get(rowIndex).getDocumentId();
-		case 2: return rows.get(rowIndex).getStart();
-		case 3: return rows.get(rowIndex).getStop();
-		case 4: return new Coder(rows.get(rowIndex).getCoderId(), rows.get(rowIndex).getCoderName(), rows.get(rowIndex).getCoderColor());
-		case 5: return rows.get(rowIndex).getText();
+		case 0: return ids[rowIndex];
+		case 1: return documentIds[rowIndex];
+		case 2: return starts[rowIndex];
+		case 3: return stops[rowIndex];
+		case 4:
+			Statement s = getRow(rowIndex);
+			return s == null ? null : new Coder(s.getCoderId(), s.getCoderName(), s.getCoderColor());
+		case 5:
+			s = getRow(rowIndex);
+			return s == null ? null : s.getText();
 		default: return null;
 		}
 	}
 
+	/**
+	 * Return the value by which a cell is sorted in the table. This is the
+	 * same value as in {@link #getValueAt(int, int)} for the ID and position
+	 * columns, the coder ID for the coder column (coders are compared by ID),
+	 * and the position of the statement in the list of statements sorted by
+	 * text for the text column, which is retrieved from the database, so the
+	 * statements do not need to be loaded for sorting.
+	 *
+	 * @param rowIndex     The model row.
+	 * @param columnIndex  The column.
+	 * @return             The sort key.
+	 */
+	Integer getSortKey(int rowIndex, int columnIndex) {
+		switch(columnIndex) {
+		case 4: return coderIds[rowIndex];
+		case 5: return getTextRank(rowIndex);
+		default: return (Integer) getValueAt(rowIndex, columnIndex);
+		}
+	}
+
 	/**
 	 * Return the name of a column.
-	 * 
+	 *
 	 * @param column  Column position, starting with {@code 0} for the first
 	 *   column.
 	 * @return        Name of the column.
@@ -70,7 +164,7 @@ class StatementTableModel extends AbstractTableModel {
 
 	/**
 	 * Which type of object (i.e., class) shall be shown in the columns?
-	 * 
+	 *
 	 * @param columnIndex  Index of the column.
 	 * @return             Class of the column.
 	 */
@@ -88,7 +182,7 @@ class StatementTableModel extends AbstractTableModel {
 
 	/**
 	 * Is the respective cell editable?
-	 * 
+	 *
 	 * @param rowIndex     The row.
 	 * @param columnIndex  The column.
 	 * @return boolean indicating whether the cell is editable.
@@ -99,152 +193,522 @@ class StatementTableModel extends AbstractTableModel {
 
 	/**
 	 * Get the ID of a statement stored in a specific model row.
-	 * 
+	 *
 	 * @param row  The model row.
 	 * @return     The ID of the statement.
-	 * 
+	 *
 	 * @see {@link #getModelRowById(int statementId)}
 	 */
 	public int getIdByModelRow(int row) {
-		return rows.get(row).getId();
+		return ids[row];
 	}
-	
+
+	/**
+	 * Get the document ID of a statement stored in a specific model row.
+	 *
+	 * @param row  The model row.
+	 * @return     The ID of the document that contains the statement.
+	 */
+	int getDocumentIdByModelRow(int row) {
+		return documentIds[row];
+	}
+
+	/**
+	 * Get the start position of a statement stored in a specific model row.
+	 *
+	 * @param row  The model row.
+	 * @return     The start position of the statement in the document.
+	 */
+	int getStartByModelRow(int row) {
+		return starts[row];
+	}
+
+	/**
+	 * Get the stop position of a statement stored in a specific model row.
+	 *
+	 * @param row  The model row.
+	 * @return     The stop position of the statement in the document.
+	 */
+	int getStopByModelRow(int row) {
+		return stops[row];
+	}
+
+	/**
+	 * Get the coder ID of a statement stored in a specific model row.
+	 *
+	 * @param row  The model row.
+	 * @return     The ID of the coder who owns the statement.
+	 */
+	int getCoderIdByModelRow(int row) {
+		return coderIds[row];
+	}
+
+	/**
+	 * Get the statement type ID of a statement stored in a specific model row.
+	 *
+	 * @param row  The model row.
+	 * @return     The ID of the statement type of the statement.
+	 */
+	int getStatementTypeIdByModelRow(int row) {
+		return statementTypeIds[row];
+	}
+
 	/**
 	 * Get the model row in which a statement with a specific ID is stored.
-	 * 
+	 *
 	 * @param statementId  ID of the statement.
 	 * @return             Row in the model.
-	 * 
+	 *
 	 * @see {@link #getIdByModelRow(int row)}
 	 */
 	public int getModelRowById(int statementId) {
-		for (int i = 0; i < rows.size(); i++) {
-			if (rows.get(i).getId() == statementId) {
-				return i;
+		if (rowsById == null) {
+			rowsById = new long[size];
+			for (int i = 0; i < size; i++) {
+				rowsById[i] = ((long) ids[i] << 32) | i;
 			}
+			Arrays.sort(rowsById);
+		}
+		int index = Arrays.binarySearch(rowsById, (long) statementId << 32);
+		index = index < 0 ? -index - 1 : index; // the first entry with the statement ID, if any
+		if (index < rowsById.length && (int) (rowsById[index] >>> 32) == statementId) {
+			return (int) rowsById[index];
 		}
 		return -1;
 	}
 
 	/**
-	 * Return the table statement that corresponds to a model index. This is
-	 * useful for filtering the table in the GUI and rendering contents.
-	 * 
+	 * Return the statement that corresponds to a model index, with its text,
+	 * coder, statement type, and values. If the statement is not in the cache,
+	 * the statements of the surrounding page of rows that are not in the cache
+	 * are loaded from the database as well, because the table usually accesses
+	 * rows that are close to each other. Statements that could not be loaded
+	 * are not requested again until the rows are refreshed.
+	 *
 	 * @param modelRowIndex The index of the statement in the model.
-	 * @return              A {@link model.TableStatement TableStatement}
-	 *   object.
+	 * @return              A {@link model.Statement Statement} object, or
+	 *   {@code null} if the statement could not be loaded from the database.
 	 */
 	public Statement getRow(int modelRowIndex) {
-		return rows.get(modelRowIndex);
+		Statement s = cache.get(ids[modelRowIndex]);
+		if (s == null && !unavailable.contains(ids[modelRowIndex]) && Dna.sql.getConnectionProfile() != null) {
+			int first = (modelRowIndex / PAGE_SIZE) * PAGE_SIZE;
+			int last = Math.min(size, first + PAGE_SIZE);
+			int[] missing = Arrays.stream(ids, first, last).filter(id -> !cache.containsKey(id) && !unavailable.contains(id)).toArray();
+			try {
+				for (Statement loaded : Dna.sql.getTableStatements(missing)) {
+					cache.put(loaded.getId(), loaded);
+				}
+			} catch (SQLException e) {
+				LogEvent l = new LogEvent(Logger.WARNING,
+						"[SQL] Failed to retrieve statements for the statement table.",
+						"Attempted to retrieve " + missing.length + " statements from the database for displaying them in the statement table, but something went wrong.",
+						e);
+				Dna.logger.log(l);
+			}
+			for (int id : missing) {
+				if (!cache.containsKey(id)) {
+					unavailable.add(id);
+				}
+			}
+			s = cache.get(ids[modelRowIndex]);
+		}
+		return s;
 	}
 
 	/**
-	 * Get all statements from the table.
-	 * 
-	 * @return An array list of all statements.
+	 * Get the position of a statement when all statements are sorted by text.
+	 * The order is retrieved from the database when it is first needed after
+	 * the rows have changed.
+	 *
+	 * @param modelRowIndex  The model row.
+	 * @return               The rank of the statement.
 	 */
-	public ArrayList<Statement> getRows() {
-		return rows;
+	private int getTextRank(int modelRowIndex) {
+		if (textRanks == null) {
+			textRanks = new int[size];
+			Arrays.fill(textRanks, Integer.MAX_VALUE);
+			try {
+				int[] sortedIds = Dna.sql.getStatementIdsByText();
+				for (int i = 0; i < sortedIds.length; i++) {
+					int row = getModelRowById(sortedIds[i]);
+					if (row > -1) {
+						textRanks[row] = i;
+					}
+				}
+			} catch (SQLException e) {
+				LogEvent l = new LogEvent(Logger.WARNING,
+						"[SQL] Failed to sort statements by text.",
+						"Attempted to retrieve the order of the statements by text from the database for sorting the statement table, but something went wrong.",
+						e);
+				Dna.logger.log(l);
+			}
+		}
+		return textRanks[modelRowIndex];
 	}
-	
+
 	/**
 	 * Remove an array of statement indices from the model and notify the table.
-	 * 
-	 * @param rows  The model rows of the statements.
+	 *
+	 * @param modelRowIndices  The model rows of the statements, in ascending
+	 *   order.
 	 */
 	public void removeStatements(int[] modelRowIndices) {
 		for (int i = modelRowIndices.length - 1; i >= 0; i--) {
-			rows.remove(modelRowIndices[i]);
-			fireTableRowsDeleted(modelRowIndices[i], modelRowIndices[i]);
+			int row = modelRowIndices[i];
+			cache.remove(ids[row]);
+			unavailable.remove(ids[row]);
+			removeKeys(row);
+			fireTableRowsDeleted(row, row);
 		}
 	}
 
 	/**
 	 * Remove statements from a set of documents from the model and notify the
 	 * table.
-	 * 
+	 *
 	 * @param documentIds  An array list of document IDs.
 	 */
-	public void removeStatementsByDocuments(ArrayList<Integer> documentIds) {
-		for (int i = rows.size() - 1; i >= 0; i--) {
-			if (documentIds.contains(rows.get(i).getDocumentId())) {
-				rows.remove(i);
-				fireTableRowsDeleted(i, i);
+	public void removeStatementsByDocuments(Collection<Integer> documentIds) {
+		HashSet<Integer> documents = new HashSet<Integer>(documentIds);
+		int n = 0;
+		for (int i = 0; i < size; i++) {
+			if (documents.contains(this.documentIds[i])) {
+				cache.remove(ids[i]);
+				unavailable.remove(ids[i]);
+			} else {
+				setKeys(n, ids[i], this.documentIds[i], starts[i], stops[i], coderIds[i], statementTypeIds[i], dates[i]);
+				n++;
 			}
 		}
+		if (n < size) {
+			size = n;
+			rowsById = null;
+			textRanks = null;
+			fireTableDataChanged();
+		}
 	}
-	
+
 	/**
-	 * Delete all {@link model.TableStatement TableStatement} objects from the
-	 * table model and notify the listeners.
+	 * Delete all statements from the table model and notify the listeners.
 	 */
 	void clear() {
-		rows.clear();
+		size = 0;
+		ids = new int[0];
+		documentIds = new int[0];
+		starts = new int[0];
+		stops = new int[0];
+		coderIds = new int[0];
+		statementTypeIds = new int[0];
+		dates = new long[0];
+		rowsById = null;
+		textRanks = null;
+		cache.clear();
+		unavailable.clear();
 		fireTableDataChanged();
 	}
-	
+
 	/**
-	 * Insert a statement into the array list of statements at the right index
-	 * and fire table update.
-	 * 
+	 * Insert a statement into the model at the right index and fire table
+	 * update. The statement is also kept in the cache, so it does not need to
+	 * be loaded from the database again for displaying it.
+	 *
 	 * @param s  The statement to insert.
 	 * @return   New row index of the added statement.
 	 */
 	int addRow(Statement s) {
-		int newRowIndex = -1;
-		if (rows.size() > 0) {
-			for (int i = 0; i < rows.size(); i++) {
-				if (s.compareTo(rows.get(i)) == -1) {
-					newRowIndex = i;
-					break;
-				}
-			}
-		} else {
-			newRowIndex = 0;
-		}
-		if (newRowIndex == -1) { // there were other statements, but the new statement is more recent than all of them
-			newRowIndex = rows.size();
-		}
-		rows.add(newRowIndex, s);
+		int newRowIndex = findRow(s);
+		newRowIndex = newRowIndex < 0 ? -newRowIndex - 1 : newRowIndex;
+		insertKeys(newRowIndex, s);
+		cache.put(s.getId(), s);
+		unavailable.remove(s.getId());
 		fireTableRowsInserted(newRowIndex, newRowIndex);
 		return newRowIndex;
 	}
-	
+
 	/**
-	 * Add a list of {@link model.TableStatement TableStatement} objects to
-	 * the table model and notify the listeners.
-	 * 
-	 * @param chunks A list of {@link model.TableStatement TableStatement}
-	 *   objects.
+	 * Add a list of statements to the end of the table model and notify the
+	 * listeners. Only the keys of the statements are stored, so statements
+	 * without text and values, as read by
+	 * {@link sql.Sql#getTableStatementKeys(int[], java.util.function.Consumer)
+	 * Sql.getTableStatementKeys}, are sufficient.
+	 *
+	 * @param chunks A list of {@link model.Statement Statement} objects.
 	 */
 	void addRows(List<Statement> chunks) {
-    	int n = this.rows.size();
-        for (Statement row : chunks) {
-            rows.add(row);
-        }
-        fireTableRowsInserted(n, n + chunks.size() - 1); // subtract one because we don't need the cursor to be at the next position; it should refer to the last position
+		int n = size;
+		ensureCapacity(size + chunks.size());
+		for (Statement row : chunks) {
+			setKeys(size, row);
+			size++;
+		}
+		rowsById = null;
+		textRanks = null;
+		fireTableRowsInserted(n, n + chunks.size() - 1); // subtract one because we don't need the cursor to be at the next position; it should refer to the last position
 	}
-	
+
 	/**
-	 * Take a list of statements and replace any existing statements with the
-	 * same IDs by these statements.
-	 * 
-	 * @param chunks
-	 */
-	void updateStatements(List<Statement> chunks) {
-		for (int i = 0; i < chunks.size(); i++) {
-			for (int j = 0; j < rows.size(); j++) {
-				if (rows.get(j).getId() == chunks.get(i).getId()) {
-					rows.set(j, chunks.get(i));
-					this.fireTableRowsUpdated(j, j);
-					break;
+	 * Replace a statement after it has been edited, for example after its coder
+	 * has been changed in a popup window. The statement is loaded again from
+	 * the database when it is displayed next time.
+	 *
+	 * @param s  The edited statement.
+	 */
+	void updateRow(Statement s) {
+		int row = getModelRowById(s.getId());
+		if (row > -1) {
+			cache.remove(s.getId());
+			unavailable.remove(s.getId());
+			coderIds[row] = s.getCoderId();
+			statementTypeIds[row] = s.getStatementTypeId();
+			textRanks = null;
+			fireTableRowsUpdated(row, row);
+		}
+	}
+
+	/**
+	 * Merge changed statements into the sorted table model. Statements that
+	 * already exist are replaced, statements that do not exist yet are
+	 * inserted at their sorted position, and changed statements that are not
+	 * contained in the list of reloaded statements are removed because they
+	 * have been deleted from the database. Unchanged rows are not touched, so
+	 * the cost depends on the number of changes rather than the number of
+	 * statements. The changed statements are removed from the cache, so they
+	 * are loaded again from the database when they are displayed.
+	 *
+	 * @param changedIds  The IDs of all changed statements.
+	 * @param statements  The changed statements that still exist in the
+	 *   database, as reloaded from the database.
+	 */
+	void mergeStatements(Collection<Integer> changedIds, List<Statement> statements) {
+		HashSet<Integer> deletedIds = new HashSet<Integer>(changedIds);
+		unavailable.removeAll(changedIds);
+		ArrayList<Statement> inserted = new ArrayList<Statement>();
+		for (Statement s : statements) {
+			deletedIds.remove(s.getId());
+			cache.remove(s.getId());
+			int row = getModelRowById(s.getId());
+			if (row > -1 && (row == 0 || compareToRow(s, row - 1) >= 0) && (row == size - 1 || compareToRow(s, row + 1) <= 0)) {
+				setKeys(row, s); // still at the right position
+				fireTableRowsUpdated(row, row);
+			} else {
+				if (row > -1) { // moved, for example to another document
+					deletedIds.add(s.getId());
 				}
+				inserted.add(s);
 			}
 		}
+		textRanks = null;
+		int[] deletedRows = deletedIds.stream().mapToInt(id -> getModelRowById(id)).filter(row -> row > -1).sorted().toArray();
+		removeStatements(deletedRows);
+		for (Statement s : inserted) {
+			int row = findRow(s);
+			row = row < 0 ? -row - 1 : row;
+			insertKeys(row, s);
+			fireTableRowsInserted(row, row);
+		}
 	}
 	
+	/**
+	 * Sort the statements in their natural order, if they are not sorted yet.
+	 * The statements are usually read from the database in the right order,
+	 * in which case no sorting is necessary.
+	 */
 	void sort() {
-		Collections.sort(rows);
+		boolean sorted = true;
+		for (int i = 1; i < size && sorted; i++) {
+			sorted = compareRows(i - 1, i) <= 0;
+		}
+		if (!sorted) {
+			Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> compareRows(a, b));
+			int[] newIds = new int[size], newDocumentIds = new int[size], newStarts = new int[size], newStops = new int[size], newCoderIds = new int[size], newStatementTypeIds = new int[size];
+			long[] newDates = new long[size];
+			for (int i = 0; i < size; i++) {
+				int j = order[i];
+				newIds[i] = ids[j];
+				newDocumentIds[i] = documentIds[j];
+				newStarts[i] = starts[j];
+				newStops[i] = stops[j];
+				newCoderIds[i] = coderIds[j];
+				newStatementTypeIds[i] = statementTypeIds[j];
+				newDates[i] = dates[j];
+			}
+			ids = newIds;
+			documentIds = newDocumentIds;
+			starts = newStarts;
+			stops = newStops;
+			coderIds = newCoderIds;
+			statementTypeIds = newStatementTypeIds;
+			dates = newDates;
+			rowsById = null;
+			textRanks = null;
+		}
 		fireTableDataChanged();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Compare a statement to the statement in a model row, in the natural sort
+	 * order of statements (date, document, start, stop, and ID).
+	 *
+	 * @param s    The statement.
+	 * @param row  The model row.
+	 * @return     A negative number, zero, or a positive number if the
+	 *   statement comes before, at the same position as, or after the row.
+	 */
+	private int compareToRow(Statement s, int row) {
+		int c = Long.compare(dateOf(s), dates[row]);
+		if (c == 0) {
+			c = Integer.compare(s.getDocumentId(), documentIds[row]);
+		}
+		if (c == 0) {
+			c = Integer.compare(s.getStart(), starts[row]);
+		}
+		if (c == 0) {
+			c = Integer.compare(s.getStop(), stops[row]);
+		}
+		if (c == 0) {
+			c = Integer.compare(s.getId(), ids[row]);
+		}
+		return c;
+	}
+
+	/**
+	 * Compare two model rows in the natural sort order of statements.
+	 *
+	 * @param a  The first model row.
+	 * @param b  The second model row.
+	 * @return   A negative number, zero, or a positive number if the first row
+	 *   comes before, at the same position as, or after the second row.
+	 */
+	private int compareRows(int a, int b) {
+		int c = Long.compare(dates[a], dates[b]);
+		if (c == 0) {
+			c = Integer.compare(documentIds[a], documentIds[b]);
+		}
+		if (c == 0) {
+			c = Integer.compare(starts[a], starts[b]);
+		}
+		if (c == 0) {
+			c = Integer.compare(stops[a], stops[b]);
+		}
+		if (c == 0) {
+			c = Integer.compare(ids[a], ids[b]);
+		}
+		return c;
+	}
+
+	/**
+	 * Find the sorted position of a statement using binary search.
+	 *
+	 * @param s  The statement.
+	 * @return   The model row of the statement if it exists, or
+	 *   {@code (-(insertion point) - 1)}, as in
+	 *   {@link java.util.Arrays#binarySearch(int[], int)}.
+	 */
+	private int findRow(Statement s) {
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int c = compareToRow(s, mid);
+			if (c > 0) {
+				low = mid + 1;
+			} else if (c < 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Get the sort date of a statement in seconds since 1 January 1970.
+	 *
+	 * @param s  The statement.
+	 * @return   The date and time of the document of the statement, or
+	 *   {@code 0} if the statement has no date.
+	 */
+	private static long dateOf(Statement s) {
+		return s.getDateTime() == null ? 0 : s.getDateTime().toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * Make sure the arrays can hold a number of rows, growing them if
+	 * necessary.
+	 *
+	 * @param capacity  The number of rows.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > ids.length) {
+			int newCapacity = Math.max(capacity, Math.max(16, ids.length + (ids.length >> 1)));
+			ids = Arrays.copyOf(ids, newCapacity);
+			documentIds = Arrays.copyOf(documentIds, newCapacity);
+			starts = Arrays.copyOf(starts, newCapacity);
+			stops = Arrays.copyOf(stops, newCapacity);
+			coderIds = Arrays.copyOf(coderIds, newCapacity);
+			statementTypeIds = Arrays.copyOf(statementTypeIds, newCapacity);
+			dates = Arrays.copyOf(dates, newCapacity);
+		}
+	}
+
+	private void setKeys(int row, Statement s) {
+		setKeys(row, s.getId(), s.getDocumentId(), s.getStart(), s.getStop(), s.getCoderId(), s.getStatementTypeId(), dateOf(s));
+	}
+
+	private void setKeys(int row, int id, int documentId, int start, int stop, int coderId, int statementTypeId, long date) {
+		ids[row] = id;
+		documentIds[row] = documentId;
+		starts[row] = start;
+		stops[row] = stop;
+		coderIds[row] = coderId;
+		statementTypeIds[row] = statementTypeId;
+		dates[row] = date;
+	}
+
+	/**
+	 * Insert the keys of a statement at a model row, shifting the subsequent
+	 * rows down.
+	 *
+	 * @param row  The model row.
+	 * @param s    The statement.
+	 */
+	private void insertKeys(int row, Statement s) {
+		ensureCapacity(size + 1);
+		int n = size - row;
+		System.arraycopy(ids, row, ids, row + 1, n);
+		System.arraycopy(documentIds, row, documentIds, row + 1, n);
+		System.arraycopy(starts, row, starts, row + 1, n);
+		System.arraycopy(stops, row, stops, row + 1, n);
+		System.arraycopy(coderIds, row, coderIds, row + 1, n);
+		System.arraycopy(statementTypeIds, row, statementTypeIds, row + 1, n);
+		System.arraycopy(dates, row, dates, row + 1, n);
+		setKeys(row, s);
+		size++;
+		rowsById = null;
+		textRanks = null;
+	}
+
+	/**
+	 * Remove the keys in a model row, shifting the subsequent rows up.
+	 *
+	 * @param row  The model row.
+	 */
+	private void removeKeys(int row) {
+		int n = size - row - 1;
+		System.arraycopy(ids, row + 1, ids, row, n);
+		System.arraycopy(documentIds, row + 1, documentIds, row, n);
+		System.arraycopy(starts, row + 1, starts, row, n);
+		System.arraycopy(stops, row + 1, stops, row, n);
+		System.arraycopy(coderIds, row + 1, coderIds, row, n);
+		System.arraycopy(statementTypeIds, row + 1, statementTypeIds, row, n);
+		System.arraycopy(dates, row + 1, dates, row, n);
+		size--;
+		rowsById = null;
+		textRanks = null;
+	}
+}
@@ -14,6 +14,7 @@ import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 
 import dna.Dna;
+import logger.Logger;
 import logger.Logger.LogListener;
 import logger.LoggerDialog;
 import sql.Sql;
@@ -209,15 +210,6 @@ class StatusBar extends JPanel implements LogListener {
 	 */
 	@Override
 	public void processLogEvents() {
-		int numWarnings = 0;
-		int numErrors = 0;
-		for (int i = 0; i < Dna.logger.getRowCount(); i++) {
-			if (Dna.logger.getRow(i).getPriority() == 2) {
-				numWarnings++;
-			} else if (Dna.logger.getRow(i).getPriority() == 3) {
-				numErrors++;
-			}
-		}
-		updateLog(numWarnings, numErrors);
+		updateLog(Dna.logger.getNumEvents(Logger.WARNING), Dna.logger.getNumEvents(Logger.ERROR));
 	}
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,7 +16,10 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextPane;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyleContext;
@@ -21,6 +27,7 @@ import javax.swing.text.StyleContext;
 import dna.Dna;
 import logger.LogEvent;
 import logger.Logger;
+import model.Coder;
 import model.Regex;
 import model.Statement;
 
@@ -36,6 +43,7 @@ class TextPanel extends JPanel {
 	private DefaultStyledDocument doc;
 	private StyleContext sc;
 	private int documentId;
+	private PaintWorker paintWorker;
 	
 	/**
 	 * Create a new text panel.
@@ -124,50 +132,159 @@ class TextPanel extends JPanel {
 	}
 
 	/**
-	 * Highlight statements and regex in the text by adding color.
+	 * Highlight statements and regex in the text by adding color. The colors
+	 * are determined by a {@link PaintWorker} in the background and then
+	 * applied to the document on the event dispatch thread. A paint job that
+	 * is still running is cancelled.
 	 */
 	void paintStatements() {
 		if (documentId > -1) {
-			//remove all initial foreground color styles
-			int initialStart = 0;
-			int initialEnd = textWindow.getText().length();
-			Style blackStyle = sc.addStyle("ConstantWidth", null);
-			StyleConstants.setForeground(blackStyle, Color.black);
-			StyleConstants.setBackground(blackStyle, Color.white);
-			doc.setCharacterAttributes(initialStart, initialEnd - initialStart, blackStyle, false);
+			if (paintWorker != null) {
+				paintWorker.cancel(false);
+			}
+			try {
+				paintWorker = new PaintWorker(documentId, doc.getText(0, doc.getLength()));
+				paintWorker.execute();
+			} catch (BadLocationException e) {
+				LogEvent l = new LogEvent(Logger.ERROR,
+						"Statements could not be painted in text.",
+						"The text of Document " + documentId + " could not be read from the text panel, so the statements could not be painted.",
+						e);
+				Dna.logger.log(l);
+			}
+		}
+	}
+
+	/**
+	 * A run of characters with the same foreground and background color.
+	 */
+	private static class StyleRun {
+		private final int start, length, foreground, background;
+
+		/**
+		 * Create a new style run.
+		 * 
+		 * @param start       Start position of the run in the text.
+		 * @param length      Number of characters in the run.
+		 * @param foreground  RGB value of the foreground color.
+		 * @param background  RGB value of the background color.
+		 */
+		StyleRun(int start, int length, int foreground, int background) {
+			this.start = start;
+			this.length = length;
+			this.foreground = foreground;
+			this.background = background;
+		}
+	}
+
+	/**
+	 * Swing worker class for determining the colors of the text in a
+	 * background thread. The statements of the document are retrieved from
+	 * the database, and the cached regex patterns (see {@link
+	 * sql.Sql#getRegexes()}) are matched against a single copy of the text.
+	 * Statement colors are painted into a background color array and regex
+	 * matches into a foreground color array, in the same order as they would
+	 * be applied to the document, such that later statements and regexes take
+	 * precedence. The arrays are then merged into runs of equal colors, which
+	 * are applied to the document in one pass, with one attribute set per
+	 * color combination.
+	 */
+	private class PaintWorker extends SwingWorker<ArrayList<StyleRun>, Void> {
+		private final int documentId;
+		private final String text;
+
+		/**
+		 * Create a new paint worker.
+		 * 
+		 * @param documentId  The ID of the document to paint.
+		 * @param text        The text of the document as shown in the panel.
+		 */
+		PaintWorker(int documentId, String text) {
+			this.documentId = documentId;
+			this.text = text;
+		}
+
+		@Override
+		protected ArrayList<StyleRun> doInBackground() {
+			int n = text.length();
+			int[] foreground = new int[n];
+			int[] background = new int[n];
+			Arrays.fill(foreground, Color.black.getRGB());
+			Arrays.fill(background, Color.white.getRGB());
 
 			// color statements
 			ArrayList<Statement> statements = Dna.sql.getShallowStatements(documentId);
-			int i, start;
-			for (i = 0; i < statements.size(); i++) {
-				start = statements.get(i).getStart();
-				Style bgStyle = sc.addStyle("ConstantWidth", null);
-				if (Dna.sql.getActiveCoder() != null &&
-						(statements.get(i).getCoderId() == Dna.sql.getActiveCoder().getId() || Dna.sql.getActiveCoder().isPermissionViewOthersStatements()) &&
-						(statements.get(i).getCoderId() == Dna.sql.getActiveCoder().getId() || Dna.sql.getActiveCoder().getCoderRelations().get(statements.get(i).getCoderId()).isViewStatements())) {
-					if (Dna.sql.getActiveCoder().isColorByCoder() == true) {
-						StyleConstants.setBackground(bgStyle, statements.get(i).getCoderColor().toAWTColor());
+			Coder coder = Dna.sql.getActiveCoder();
+			for (int i = 0; i < statements.size() && !isCancelled(); i++) {
+				Statement s = statements.get(i);
+				if (coder != null &&
+						(s.getCoderId() == coder.getId() || coder.isPermissionViewOthersStatements()) &&
+						(s.getCoderId() == coder.getId() || coder.getCoderRelations().get(s.getCoderId()).isViewStatements())) {
+					int color;
+					if (coder.isColorByCoder() == true) {
+						color = s.getCoderColor().toAWTColor().getRGB();
 					} else {
-						StyleConstants.setBackground(bgStyle, statements.get(i).getStatementTypeColor().toAWTColor());
+						color = s.getStatementTypeColor().toAWTColor().getRGB();
 					}
+					Arrays.fill(background, Math.min(Math.max(s.getStart(), 0), n), Math.min(Math.max(s.getStop(), 0), n), color);
 				}
-				doc.setCharacterAttributes(start, statements.get(i).getStop() - start, bgStyle, false);
 			}
-			
+
 			// color regex
 			ArrayList<Regex> regex = Dna.sql.getRegexes();
-			for (i = 0; i < regex.size(); i++) {
-				String label = regex.get(i).getLabel();
-				model.Color color = regex.get(i).getColor();
-				Pattern p = Pattern.compile(label, Pattern.CASE_INSENSITIVE);
-				Matcher m = p.matcher(textWindow.getText());
-				while(m.find()) {
-					start = m.start();
-					Style fgStyle = sc.addStyle("ConstantWidth", null);
-					StyleConstants.setForeground(fgStyle, color.toAWTColor());
-					doc.setCharacterAttributes(start, m.end() - start, fgStyle, false);
+			for (int i = 0; i < regex.size() && !isCancelled(); i++) {
+				Pattern p = regex.get(i).getPattern();
+				if (p == null) {
+					continue; // not a valid regular expression
+				}
+				int color = regex.get(i).getColor().toAWTColor().getRGB();
+				Matcher m = p.matcher(text);
+				while (m.find()) {
+					Arrays.fill(foreground, m.start(), m.end(), color);
+				}
+			}
+			if (isCancelled()) {
+				return null;
+			}
+
+			// merge into runs of equal colors
+			ArrayList<StyleRun> runs = new ArrayList<StyleRun>();
+			int start = 0;
+			for (int i = 1; i <= n; i++) {
+				if (i == n || foreground[i] != foreground[start] || background[i] != background[start]) {
+					runs.add(new StyleRun(start, i - start, foreground[start], background[start]));
+					start = i;
 				}
 			}
+			return runs;
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled() || documentId != TextPanel.this.documentId || text.length() != doc.getLength()) {
+				return; // another paint job has been started or a different document is shown
+			}
+			try {
+				ArrayList<StyleRun> runs = get();
+				HashMap<Long, SimpleAttributeSet> styles = new HashMap<Long, SimpleAttributeSet>();
+				for (StyleRun run : runs) {
+					long key = ((long) run.foreground << 32) | (run.background & 0xFFFFFFFFL);
+					SimpleAttributeSet style = styles.get(key);
+					if (style == null) {
+						style = new SimpleAttributeSet();
+						StyleConstants.setForeground(style, new Color(run.foreground, true));
+						StyleConstants.setBackground(style, new Color(run.background, true));
+						styles.put(key, style);
+					}
+					doc.setCharacterAttributes(run.start, run.length, style, false);
+				}
+			} catch (InterruptedException | ExecutionException e) {
+				LogEvent l = new LogEvent(Logger.ERROR,
+						"Statements could not be painted in text.",
+						"The statements could not be painted in the current document. This could be because you attempted to open a database that was created with DNA 2.0. Please create a new DNA 3 database and import documents from the old file if that is the case. Make sure you close the current database as soon as possible to avoid damage.",
+						e);
+				Dna.logger.log(l);
+			}
 		}
 	}
 	
@@ -9,15 +9,31 @@ import dna.Dna;
 /**
  * A throwable event that captures details like the priority/severity of the
  * event, a summary and details of the event, the stack trace, and the coder ID.
- * It generates the stack trace automatically. Upon instantiation, a log event
- * tries to set the current coder ID. If unsuccessful, it sets -1.
+ * Upon instantiation, a log event tries to set the current coder ID. If
+ * unsuccessful, it sets -1.
+ * 
+ * <p>The stack trace of the log event is only captured for warnings and errors
+ * (or for all events after {@link #setCaptureAllStackTraces(boolean)}), and
+ * the stack traces of the log event and the exception are only converted into
+ * strings when they are requested, because routine messages are logged in
+ * tight loops.
  */
 public class LogEvent extends Throwable {
 	private static final long serialVersionUID = 776936228209151721L;
+	/**
+	 * Capture the stack trace also for updates and messages?
+	 */
+	private static volatile boolean captureAllStackTraces = false;
 	LocalDateTime time;
 	String summary, details, exceptionStackTraceString, logStackTraceString;
+	private transient Throwable exception;
 	int priority; // 0 = update; 1 = message; 2 = warning; 3 = error
 	int coder;
+	/**
+	 * The position of the event in the sequence of all events added to the
+	 * {@link Logger}, or {@code -1} if the event has not been logged yet.
+	 */
+	volatile long sequence = -1;
 	
 	/**
 	 * Create a new log event with empty exception stack trace string.
@@ -28,17 +44,7 @@ public class LogEvent extends Throwable {
 	 * @param details A more detailed description of the event.
 	 */
 	public LogEvent(int priority, String summary, String details) {
-		this.priority = priority;
-		this.summary = summary;
-		this.details = details;
-		this.exceptionStackTraceString = "";
-		if (Dna.sql.getConnectionProfile() == null) {
-			this.coder = -1;
-		} else {
-			this.coder = Dna.sql.getConnectionProfile().getCoderId();
-		}
-		this.time = LocalDateTime.now();
-		this.logStackTraceString = this.stackTraceToString(this);
+		this(priority, summary, details, null);
 	}
 
 	/**
@@ -51,17 +57,28 @@ public class LogEvent extends Throwable {
 	 * @param exception The Throwable object from which the exception should be parsed.
 	 */
 	public LogEvent(int priority, String summary, String details, Throwable exception) {
+		super(null, null, false, captureAllStackTraces || priority >= Logger.WARNING);
 		this.priority = priority;
 		this.summary = summary;
 		this.details = details;
-		this.exceptionStackTraceString = this.stackTraceToString(exception);
-		if (Dna.sql.getConnectionProfile() == null) {
+		this.exception = exception;
+		if (Dna.sql == null || Dna.sql.getConnectionProfile() == null) {
 			this.coder = -1;
 		} else {
 			this.coder = Dna.sql.getConnectionProfile().getCoderId();
 		}
 		this.time = LocalDateTime.now();
-		this.logStackTraceString = this.stackTraceToString(this);
+	}
+
+	/**
+	 * Capture the stack trace of all log events, including updates and
+	 * messages, for example for debugging? By default, only the stack traces
+	 * of warnings and errors are captured.
+	 * 
+	 * @param capture Capture the stack traces of all new log events?
+	 */
+	public static void setCaptureAllStackTraces(boolean capture) {
+		captureAllStackTraces = capture;
 	}
 	
 	/**
@@ -95,7 +112,16 @@ public class LogEvent extends Throwable {
 		}
 	}
 
+	/**
+	 * Get the stack trace of the exception of the event. It is converted into
+	 * a string when it is requested for the first time.
+	 * 
+	 * @return The stack trace, or an empty string if there is no exception.
+	 */
 	public String getExceptionStackTraceString() {
+		if (exceptionStackTraceString == null) {
+			exceptionStackTraceString = exception == null ? "" : this.stackTraceToString(exception);
+		}
 		return exceptionStackTraceString;
 	}
 
@@ -103,7 +129,17 @@ public class LogEvent extends Throwable {
 		this.exceptionStackTraceString = exceptionStackTraceString;
 	}
 
+	/**
+	 * Get the stack trace of the place where the event was created. It is
+	 * converted into a string when it is requested for the first time.
+	 * 
+	 * @return The stack trace, or an empty string if the stack trace was not
+	 *   captured.
+	 */
 	public String getLogStackTraceString() {
+		if (logStackTraceString == null) {
+			logStackTraceString = this.getStackTrace().length == 0 ? "" : this.stackTraceToString(this);
+		}
 		return logStackTraceString;
 	}
 
@@ -1,9 +1,12 @@
 package logger;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
@@ -13,6 +16,14 @@ import logger.Logger.LogListener;
 /**
  * The Logger class contains an error and warning log. It extends
  * {@link AbstractTableModel} to display the log more easily in a {@link JTable}.
+ * 
+ * <p>The log is a ring buffer with a fixed capacity: once it is full, each new
+ * event replaces the oldest event. Events are appended without locking, so
+ * parallel threads can log without waiting for each other. Table model events
+ * and listener notifications are coalesced into a single task on the event
+ * dispatch thread, no matter how many events are logged in the meantime. In
+ * headless mode, the logger does not use Swing at all and notifies the
+ * listeners directly after each event.
  */
 public class Logger extends AbstractTableModel {
 	private static final long serialVersionUID = -4311166671521091151L;
@@ -20,16 +31,97 @@ public class Logger extends AbstractTableModel {
 	public static final int MESSAGE = 1;
 	public static final int WARNING = 2;
 	public static final int ERROR = 3;
+	/**
+	 * The default maximal number of events kept in the log.
+	 */
+	public static final int DEFAULT_CAPACITY = 50000;
 
-	private final List<LogEvent> rows;
+	private final int capacity;
+	private final AtomicReferenceArray<LogEvent> rows;
+	/**
+	 * The sequence number of the next event and of the first event after the
+	 * log was last cleared.
+	 */
+	private final AtomicLong next, first;
+	/**
+	 * The number of events in the log by priority.
+	 */
+	private final AtomicIntegerArray counts;
     private final List<LogListener> listeners;
+    private volatile boolean headless = false;
+    /**
+     * Is a notification already scheduled on the event dispatch thread?
+     */
+    private final AtomicBoolean notificationPending;
+    /**
+     * The range of sequence numbers the table listeners were last notified
+     * of; only accessed on the event dispatch thread.
+     */
+    private long notifiedStart = 0, notifiedEnd = 0;
 
 	/**
-	 * Create a new logger.
+	 * Create a new logger with the default capacity.
 	 */
 	public Logger() {
-		this.rows = Collections.synchronizedList(new ArrayList<>()); // thread-safe for parallel access
-        this.listeners = Collections.synchronizedList(new ArrayList<>()); // thread-safe for parallel access
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new logger.
+	 * 
+	 * @param capacity The maximal number of events kept in the log.
+	 */
+	public Logger(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.rows = new AtomicReferenceArray<LogEvent>(this.capacity);
+		this.next = new AtomicLong(0);
+		this.first = new AtomicLong(0);
+		this.counts = new AtomicIntegerArray(4);
+        this.listeners = new CopyOnWriteArrayList<LogListener>(); // thread-safe for parallel access
+        this.notificationPending = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Switch headless mode on or off. In headless mode, the logger does not
+	 * notify table model listeners and does not use the event dispatch thread;
+	 * log listeners are notified directly on the logging thread.
+	 * 
+	 * @param headless Use the logger without a GUI?
+	 */
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
+
+	/**
+	 * Get the maximal number of events kept in the log.
+	 * 
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Get the sequence number of the oldest event in the log.
+	 * 
+	 * @param n The sequence number of the next event.
+	 * @return The sequence number of the oldest event.
+	 */
+	private long start(long n) {
+		return Math.max(this.first.get(), n - this.capacity);
+	}
+
+	/**
+	 * Get the number of events of a certain priority in the log.
+	 * 
+	 * @param priority The priority, for example {@link #WARNING}.
+	 * @return The number of events.
+	 */
+	public int getNumEvents(int priority) {
+		if (priority < 0 || priority >= this.counts.length()) {
+			return 0;
+		}
+		return Math.max(0, this.counts.get(priority));
 	}
 
 	@Override
@@ -39,26 +131,24 @@ public class Logger extends AbstractTableModel {
 
 	@Override
 	public int getRowCount() {
-		synchronized (rows) { // synchronise for parallel access
-            return rows.size();
-        }
+		long n = this.next.get();
+		return (int) (n - start(n));
 	}
 
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
-		synchronized (rows) { // synchronise for parallel access
-			if (rows.size() == 0 || rowIndex > rows.size() - 1) {
-				return null;
-			}
-			switch(columnIndex) {
-			case 0: return rows.get(rowIndex).getTime();
-			case 1: return rows.get(rowIndex).getSummary();
-			case 2: return rows.get(rowIndex).getDetails();
-			case 3: return rows.get(rowIndex).getLogStackTraceString();
-			case 4: return rows.get(rowIndex).getExceptionStackTraceString();
-			case 5: return rows.get(rowIndex).getCoder();
-			default: return null;
-			}
+		if (rowIndex < 0 || rowIndex >= getRowCount()) {
+			return null;
+		}
+		LogEvent l = getRow(rowIndex);
+		switch(columnIndex) {
+		case 0: return l.getTime();
+		case 1: return l.getSummary();
+		case 2: return l.getDetails();
+		case 3: return l.getLogStackTraceString();
+		case 4: return l.getExceptionStackTraceString();
+		case 5: return l.getCoder();
+		default: return null;
 		}
 	}
 
@@ -109,35 +199,46 @@ public class Logger extends AbstractTableModel {
 	}
 	
 	/**
-	 * Return a row of the table based on the internal array list in the Logger
-	 * object.
+	 * Return a row of the table, i.e., a log event. Row 0 is the oldest event
+	 * in the log.
 	 * 
-	 * @param row Index of the {@link LogEvent} object in the array list.
+	 * @param row Index of the {@link LogEvent} object in the log.
 	 * @return The {@link LogEvent} object.
+	 * @throws IndexOutOfBoundsException If there is no such row.
 	 */
 	public LogEvent getRow(int row) {
-		synchronized (rows) { // synchronise for parallel access
-            return rows.get(row);
-        }
+		while (true) {
+			long n = this.next.get();
+			long sequence = start(n) + row;
+			if (row < 0 || sequence >= n) {
+				throw new IndexOutOfBoundsException("Row " + row + " does not exist in the log.");
+			}
+			LogEvent l = this.rows.get((int) (sequence % this.capacity));
+			if (l != null && l.sequence == sequence) {
+				return l;
+			}
+			if (l == null || l.sequence < sequence) {
+				Thread.onSpinWait(); // the event is still being added by another thread
+			} // else the event was replaced by a newer one in the meantime; look up the row again
+		}
 	}
 
 	/**
-	 * Add a {@link LogEvent} object to the array list and notify listeners.
+	 * Add a {@link LogEvent} object to the log and notify listeners.
 	 * 
 	 * @param l The {@link LogEvent} object to be added.
 	 */
 	public void log(LogEvent l) {
-		int newSize;
-		synchronized (rows) { // synchronise for parallel access
-			rows.add(l);
-			newSize = rows.size();
+		long sequence = this.next.getAndIncrement();
+		l.sequence = sequence;
+		LogEvent replaced = this.rows.getAndSet((int) (sequence % this.capacity), l);
+		if (replaced != null && replaced.sequence >= this.first.get() && replaced.getPriority() >= 0 && replaced.getPriority() < this.counts.length()) {
+			this.counts.decrementAndGet(replaced.getPriority());
+		}
+		if (l.getPriority() >= 0 && l.getPriority() < this.counts.length()) {
+			this.counts.incrementAndGet(l.getPriority());
 		}
-		SwingUtilities.invokeLater(() -> fireTableRowsInserted(newSize - 1, newSize - 1)); // on the event dispatch thread for thread safety
-		synchronized (listeners) { // synchronise for parallel access
-            for (LogListener listener : listeners) {
-                listener.processLogEvents();
-            }
-        }
+		notifyListeners();
 	}
 	
 	/**
@@ -147,25 +248,55 @@ public class Logger extends AbstractTableModel {
 	 * @param listener An object implementing the {@link LogListener} interface.
 	 */
 	public void addListener(LogListener listener) {
-		synchronized (listeners) { // synchronise for parallel access
-            listeners.add(listener);
-        }
+		listeners.add(listener);
     }
 	
 	/**
 	 * Clear all log events and notify listeners.
 	 */
 	public void clear() {
-		synchronized (rows) { // synchronise for parallel access
-            rows.clear();
-        }
-        SwingUtilities.invokeLater(this::fireTableDataChanged); // on the event dispatch thread for thread safety
-
-        synchronized (listeners) { // synchronise for parallel access
-            for (LogListener listener : listeners) {
-                listener.processLogEvents();
-            }
-        }
+		this.first.set(this.next.get());
+		for (int i = 0; i < this.counts.length(); i++) {
+			this.counts.set(i, 0);
+		}
+		notifyListeners();
+	}
+
+	/**
+	 * Notify the table model listeners and the log listeners of changes. In
+	 * headless mode, the log listeners are notified immediately. Otherwise, a
+	 * notification is scheduled on the event dispatch thread unless one is
+	 * already pending, which then covers all changes up to its execution.
+	 */
+	private void notifyListeners() {
+		if (this.headless) {
+			for (LogListener listener : listeners) {
+				listener.processLogEvents();
+			}
+		} else if (this.notificationPending.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(this::fireChanges); // on the event dispatch thread for thread safety
+		}
+	}
+
+	/**
+	 * Notify the table model listeners of the events added since the last
+	 * notification, or of a change of all rows if events were removed, and
+	 * notify the log listeners. Runs on the event dispatch thread.
+	 */
+	private void fireChanges() {
+		this.notificationPending.set(false);
+		long n = this.next.get();
+		long start = start(n);
+		if (start == this.notifiedStart && n > this.notifiedEnd) {
+			fireTableRowsInserted((int) (this.notifiedEnd - start), (int) (n - start - 1));
+		} else if (start != this.notifiedStart || n != this.notifiedEnd) {
+			fireTableDataChanged();
+		}
+		this.notifiedStart = start;
+		this.notifiedEnd = n;
+		for (LogListener listener : listeners) {
+			listener.processLogEvents();
+		}
 	}
 
 	/**
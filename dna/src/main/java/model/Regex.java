@@ -1,5 +1,8 @@
 package model;
 
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 /**
  * A class for regular expression patterns to be highlighted in the document
  * text in a specified color. 
@@ -7,6 +10,8 @@ package model;
 public class Regex implements Comparable<Regex> {
 	private String label;
 	private Color color;
+	private Pattern pattern;
+	private boolean compiled = false;
 	
 	/**
 	 * Create a new Regex object.
@@ -37,6 +42,26 @@ public class Regex implements Comparable<Regex> {
 		return color;
 	}
 
+	/**
+	 * Retrieve the case-insensitive pattern of the regular expression. The
+	 * pattern is compiled when it is first needed and then kept with the
+	 * regex, so it can be matched against many documents.
+	 * 
+	 * @return  The compiled pattern, or {@code null} if the label is not a
+	 *   valid regular expression.
+	 */
+	public synchronized Pattern getPattern() {
+		if (!compiled) {
+			try {
+				pattern = Pattern.compile(label, Pattern.CASE_INSENSITIVE);
+			} catch (PatternSyntaxException e) {
+				pattern = null;
+			}
+			compiled = true;
+		}
+		return pattern;
+	}
+
 	/**
 	 * How should entries be sorted in a list?
 	 * 
@@ -0,0 +1,187 @@
+package sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * A reader for the {@code CHANGES} table of a database, which tells a client which documents and statements were
+ * added, updated, or deleted since the client last looked. The feed remembers the last revision (i.e., change log ID)
+ * it has seen. Call {@link #synchronize()} right before reloading a table completely, and {@link #poll()} to retrieve
+ * the changes since then, so only the changed rows need to be reloaded.
+ *
+ * <p>With MySQL and PostgreSQL, revision numbers are assigned when a change is written, not when its transaction is
+ * committed, so a change with a lower revision may become visible after a change with a higher revision. The feed
+ * therefore remembers the revisions it has skipped and asks for them again in later polls, until they appear or until
+ * they are more than {@link #GAP_WINDOW} revisions old, as is the case for revisions of rolled-back transactions.
+ */
+public class ChangeFeed {
+	/**
+	 * The number of revisions for which a skipped revision is looked up again.
+	 */
+	private static final int GAP_WINDOW = 1000;
+	private final Sql sql;
+	/**
+	 * The last revision that has been seen, or {@code -1} if the feed is not synchronized with the database.
+	 */
+	private long revision = -1;
+	/**
+	 * Revisions below {@link #revision} that have not been seen yet.
+	 */
+	private final TreeSet<Long> gaps = new TreeSet<Long>();
+
+	/**
+	 * Create a new change feed. The feed is not synchronized until {@link #synchronize()} is called.
+	 *
+	 * @param sql The {@link Sql} object with the connection to the database.
+	 */
+	public ChangeFeed(Sql sql) {
+		this.sql = sql;
+	}
+
+	/**
+	 * Set the revision of the feed to the current revision of the database. Call this method before reloading all
+	 * documents or statements from the database; changes made while they are being reloaded are then returned by the
+	 * next {@link #poll()} and merged again, which does no harm.
+	 *
+	 * @return Is the feed synchronized? {@code false} if the database does not have a change log or if the revision
+	 *   could not be read.
+	 */
+	public synchronized boolean synchronize() {
+		this.revision = -1;
+		this.gaps.clear();
+		if (this.sql.getConnectionProfile() == null || !this.sql.isChangeTracking()) {
+			return false;
+		}
+		try (Connection conn = this.sql.getDataSource().getConnection();
+				PreparedStatement s = conn.prepareStatement("SELECT MAX(ID) FROM CHANGES;")) {
+			ResultSet r = s.executeQuery();
+			this.revision = r.next() ? r.getLong(1) : 0; // MAX is NULL, read as 0, if there are no changes yet
+		} catch (SQLException e) {
+			this.revision = -1;
+		}
+		return this.revision > -1;
+	}
+
+	/**
+	 * Forget the revision, for example because a table has been cleared. The next {@link #poll()} returns
+	 * {@code null} until the feed is synchronized again.
+	 */
+	public synchronized void reset() {
+		this.revision = -1;
+		this.gaps.clear();
+	}
+
+	/**
+	 * Is the feed synchronized with the database, such that {@link #poll()} can return the changes?
+	 *
+	 * @return {@code true} if the feed has a revision.
+	 */
+	public synchronized boolean isSynchronized() {
+		return this.revision > -1;
+	}
+
+	/**
+	 * Retrieve the changes since the last call of this method or of {@link #synchronize()}, and advance the revision.
+	 *
+	 * @return The changes, or {@code null} if the feed is not synchronized with the database.
+	 * @throws SQLException If the change log cannot be read. The revision is not advanced in this case.
+	 */
+	public synchronized Changes poll() throws SQLException {
+		if (this.revision < 0 || this.sql.getConnectionProfile() == null || !this.sql.isChangeTracking()) {
+			return null;
+		}
+		String query = "SELECT ID, ItemType, ItemId FROM CHANGES WHERE ID > ?";
+		if (this.gaps.size() > 0) {
+			query = query + " OR ID IN (" + this.gaps.stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")";
+		}
+		query = query + " ORDER BY ID;";
+		Changes changes = new Changes();
+		long newRevision = this.revision;
+		TreeSet<Long> newGaps = new TreeSet<Long>(this.gaps);
+		try (Connection conn = this.sql.getDataSource().getConnection();
+				PreparedStatement s = conn.prepareStatement(query)) {
+			s.setLong(1, this.revision);
+			ResultSet r = s.executeQuery();
+			while (r.next()) {
+				long id = r.getLong("ID");
+				if (id > newRevision) {
+					for (long skipped = newRevision + 1; skipped < id; skipped++) { // not committed yet or rolled back
+						newGaps.add(skipped);
+					}
+					newRevision = id;
+				} else {
+					newGaps.remove(id);
+				}
+				String itemType = r.getString("ItemType");
+				if (itemType.equals(Sql.CHANGE_DOCUMENT)) {
+					changes.documentIds.add(r.getInt("ItemId"));
+				} else if (itemType.equals(Sql.CHANGE_STATEMENT)) {
+					changes.statementIds.add(r.getInt("ItemId"));
+				} else if (itemType.equals(Sql.CHANGE_ENTITIES)) {
+					changes.variableIds.add(r.getInt("ItemId"));
+				} else {
+					changes.all = true;
+				}
+			}
+		}
+		this.revision = newRevision;
+		this.gaps.clear();
+		this.gaps.addAll(newGaps.tailSet(newRevision - GAP_WINDOW, false));
+		return changes;
+	}
+
+	/**
+	 * The changes retrieved by one {@link ChangeFeed#poll()}: the IDs of the documents and statements that were added,
+	 * updated, or deleted, the IDs of the variables whose entities or attributes were changed, and whether a change
+	 * affected all of them.
+	 */
+	public static class Changes {
+		private boolean all = false;
+		private final HashSet<Integer> documentIds = new HashSet<Integer>();
+		private final HashSet<Integer> statementIds = new HashSet<Integer>();
+		private final HashSet<Integer> variableIds = new HashSet<Integer>();
+
+		/**
+		 * @return Did a change potentially affect all documents and statements, such that they should be reloaded
+		 *   completely?
+		 */
+		public boolean isAll() {
+			return this.all;
+		}
+
+		/**
+		 * @return The IDs of the added, updated, or deleted documents, including the documents whose statement counts
+		 *   have changed.
+		 */
+		public HashSet<Integer> getDocumentIds() {
+			return this.documentIds;
+		}
+
+		/**
+		 * @return The IDs of the added, updated, or deleted statements.
+		 */
+		public HashSet<Integer> getStatementIds() {
+			return this.statementIds;
+		}
+
+		/**
+		 * @return The IDs of the variables whose entities or attributes were changed without changing any statements,
+		 *   for example by setting an entity color or an attribute value.
+		 */
+		public HashSet<Integer> getVariableIds() {
+			return this.variableIds;
+		}
+
+		/**
+		 * @return Are there any changes?
+		 */
+		public boolean isEmpty() {
+			return !this.all && this.documentIds.isEmpty() && this.statementIds.isEmpty() && this.variableIds.isEmpty();
+		}
+	}
+}
@@ -21,7 +21,9 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.function.IntConsumer;
 
 public class DataExchange {
 
@@ -43,10 +45,7 @@ public class DataExchange {
         Object[][] data = null;
         ArrayList<String> attributeVariableNames = new ArrayList<String>();
         try (Connection conn = Dna.sql.getDataSource().getConnection();
-             PreparedStatement s1 = conn.prepareStatement("SELECT AttributeVariable FROM ATTRIBUTEVARIABLES WHERE VariableId = ? ORDER BY ATTRIBUTEVARIABLES.ID ASC;");
-             PreparedStatement s2 = conn.prepareStatement("SELECT COUNT(ID) FROM ENTITIES WHERE VariableId = ?;");
-             PreparedStatement s3 = conn.prepareStatement("SELECT ID, Value, Red, Green, Blue FROM ENTITIES WHERE VariableId = ?;");
-             PreparedStatement s4 = conn.prepareStatement("SELECT ATTRIBUTEVARIABLES.AttributeVariable, ATTRIBUTEVALUES.AttributeValue FROM ATTRIBUTEVALUES INNER JOIN ATTRIBUTEVARIABLES ON ATTRIBUTEVARIABLES.ID = AttributeVariableId WHERE VariableId = ? AND EntityId = ? ORDER BY ATTRIBUTEVARIABLES.ID ASC;")) {
+             PreparedStatement s1 = conn.prepareStatement("SELECT AttributeVariable FROM ATTRIBUTEVARIABLES WHERE VariableId = ? ORDER BY ATTRIBUTEVARIABLES.ID ASC;")) {
 
             // get attribute variable names
             s1.setInt(1, variableId);
@@ -55,38 +54,21 @@ public class DataExchange {
                 attributeVariableNames.add(r1.getString("AttributeVariable"));
             }
 
-            // get number of entities and initialize 2D array for the data
-            int numEntities = 0;
-            s2.setInt(1, variableId);
-            r1 = s2.executeQuery();
-            while (r1.next()) {
-                numEntities = r1.getInt(1);
-            }
-            data = new Object[numEntities][attributeVariableNames.size() + 3]; // + entity ID, value, color
-
-            // populate the data array; go through entities in outer loop
-            s3.setInt(1, variableId);
-            r1 = s3.executeQuery();
-            ResultSet r2;
-            int entityId;
-            int rowCounter = 0;
-            int columnCounter;
-            while(r1.next()) {
-                entityId = r1.getInt("ID");
-                data[rowCounter][0] = entityId; // entity ID
-                data[rowCounter][1] = r1.getString("Value"); // entity value
-                data[rowCounter][2] = String.format("#%02X%02X%02X", r1.getInt("Red"), r1.getInt("Green"), r1.getInt("Blue")); // entity color as hex RGB value with leading hashtag
-
-                // go through attribute values in inner loop
-                columnCounter = 0;
-                s4.setInt(1, variableId);
-                s4.setInt(2, entityId);
-                r2 = s4.executeQuery();
-                while (r2.next()) {
-                    data[rowCounter][columnCounter + 3] = r2.getString("AttributeValue");
-                    columnCounter++;
+            // get the entities with their attribute values in two queries (not one query per entity)
+            ArrayList<Integer> variableIds = new ArrayList<Integer>();
+            variableIds.add(variableId);
+            ArrayList<Entity> entities = Dna.sql.getEntities(variableIds, true).get(0);
+            data = new Object[entities.size()][attributeVariableNames.size() + 3]; // + entity ID, value, color
+
+            // populate the data array
+            for (int i = 0; i < entities.size(); i++) {
+                Entity entity = entities.get(i);
+                data[i][0] = entity.getId(); // entity ID
+                data[i][1] = entity.getValue(); // entity value
+                data[i][2] = String.format("#%02X%02X%02X", entity.getColor().getRed(), entity.getColor().getGreen(), entity.getColor().getBlue()); // entity color as hex RGB value with leading hashtag
+                for (int j = 0; j < attributeVariableNames.size(); j++) {
+                    data[i][j + 3] = entity.getAttributeValues().get(attributeVariableNames.get(j));
                 }
-                rowCounter++;
             }
         } catch (SQLException ex) {
             LogEvent l = new LogEvent(Logger.ERROR,
@@ -692,6 +674,9 @@ public class DataExchange {
                     currentStateStatements = previousStateStatements - deletedStatements; // record keeping
                 }
 
+                // other clients need to reload their documents and statements, which may have been renamed or deleted
+                Dna.sql.recordChanges(conn, Sql.CHANGE_ALL, null);
+
                 // commit the changes to the database or roll back if simulation
                 pb.stepTo(15);
                 if (simulate) {
@@ -726,6 +711,8 @@ public class DataExchange {
                 throw new RuntimeException("setAttributes failed (see stack trace above)", e);
             }
         }
+        Dna.sql.resetEntityCache(); // entities and attributes were written without going through the Sql class
+        Dna.sql.resetDocumentFrequencies(); // statements may have been deleted
         System.out.println(s);
     }
 
@@ -825,12 +812,6 @@ public class DataExchange {
      *         Stop, Coder, and all variables of the statement type.
      */
     public static DataFrame getStatements(int statementTypeId, int[] statementIds) {
-        ArrayList<Statement> statements = Dna.sql.getStatements(statementIds, statementTypeId, null, null, null, false,
-                null, false, null, false, null, false);
-
-        if (statements.isEmpty())
-            return new DataFrame();
-
         DataFrame df = new DataFrame();
 
         // Standard columns
@@ -846,35 +827,50 @@ public class DataExchange {
         ArrayList<String> dataTypes = new ArrayList<>();
         ArrayList<ArrayList<Object>> variableColumns = new ArrayList<>();
 
-        Statement first = statements.get(0);
-        for (int i = 0; i < first.getValues().size(); i++) {
-            String name = first.getValues().get(i).getKey();
-            String type = first.getValues().get(i).getDataType();
-            if (type.equals("short text") || type.equals("long text")) {
-                type = "String";
-            } else if (type.equals("integer") || type.equals("boolean")) {
-                type = "int";
+        // stream the statements from the database into the columns without keeping the statements and their texts
+        try (StatementCursor cursor = Dna.sql.getStatementCursor(statementIds, statementTypeId, null, null, null,
+                false, null, false, null, false, null, false, false, Sql.STATEMENT_FETCH_SIZE)) {
+            Statement s = cursor.next();
+            if (s == null)
+                return new DataFrame();
+
+            for (int i = 0; i < s.getValues().size(); i++) {
+                String name = s.getValues().get(i).getKey();
+                String type = s.getValues().get(i).getDataType();
+                if (type.equals("short text") || type.equals("long text")) {
+                    type = "String";
+                } else if (type.equals("integer") || type.equals("boolean")) {
+                    type = "int";
+                }
+                variableNames.add(name);
+                dataTypes.add(type);
+                variableColumns.add(new ArrayList<>());
             }
-            variableNames.add(name);
-            dataTypes.add(type);
-            variableColumns.add(new ArrayList<>());
-        }
 
-        for (Statement s : statements) {
-            ids.add(s.getId());
-            statementTypeIds.add(statementTypeId);
-            docIds.add(s.getDocumentId());
-            starts.add(s.getStart());
-            stops.add(s.getStop());
-            coders.add(s.getCoderId());
-
-            for (int j = 0; j < s.getValues().size(); j++) {
-                Object value = s.getValues().get(j).getValue();
-                if ("short text".equals(s.getValues().get(j).getDataType())) {
-                    value = ((Entity) value).getValue();
+            while (s != null) {
+                ids.add(s.getId());
+                statementTypeIds.add(statementTypeId);
+                docIds.add(s.getDocumentId());
+                starts.add(s.getStart());
+                stops.add(s.getStop());
+                coders.add(s.getCoderId());
+
+                for (int j = 0; j < s.getValues().size(); j++) {
+                    Object value = s.getValues().get(j).getValue();
+                    if ("short text".equals(s.getValues().get(j).getDataType())) {
+                        value = ((Entity) value).getValue();
+                    }
+                    variableColumns.get(j).add(value);
                 }
-                variableColumns.get(j).add(value);
+                s = cursor.next();
             }
+        } catch (SQLException ex) {
+            LogEvent l = new LogEvent(Logger.ERROR,
+                    "Could not retrieve statements.",
+                    "Could not retrieve the statements of statement type " + statementTypeId + " from the database.",
+                    ex);
+            Dna.logger.log(l);
+            return new DataFrame();
         }
 
         // Add standard columns
@@ -1075,13 +1071,58 @@ public class DataExchange {
 			return new int[0];
 		}
 
-		ArrayList<Document> documents = new ArrayList<Document>();
-		for (int i = 0; i < title.length; i++) {
-			documents.add(new Document(-1, coderId, title[i], text[i], author[i], source[i], section[i], type[i], notes[i], LocalDateTime.ofEpochSecond(dateTime[i], 0, ZoneOffset.UTC), new ArrayList<Statement>()));
+		return addDocuments(coderId, title, text, author, source, section, type, notes, dateTime, Sql.DOCUMENT_BATCH_SIZE, null);
+    }
+
+    /**
+     * Add new documents to the database in batches of a given size. The
+     * {@link Document} objects are created one at a time while the batches
+     * are filled, and all documents are added in a single transaction.
+     * 
+     * @param coderId    The ID of the coder that adds the documents.
+     * @param title      The document titles.
+	 * @param text		 The document texts.
+	 * @param author	 The document authors.
+	 * @param source	 The document sources.
+	 * @param section	 The document sections.
+	 * @param type		 The document types.
+	 * @param notes		 The document notes.
+	 * @param dateTime   The document dates as seconds since 1 January 1970.
+	 * @param batchSize  The number of documents per batch.
+	 * @param progress   A callback that is notified of the number of documents
+	 *   added so far after every batch, or {@code null}.
+	 * @return			 New IDs of the documents that were added, or an empty
+	 *   array if the documents could not be added.
+     */
+    static public int[] addDocuments(int coderId, String[] title, String[] text, String[] author, String[] source, String[] section, String[] type, String[] notes, long[] dateTime, int batchSize, IntConsumer progress) {
+        if (title.length != text.length || title.length != author.length || title.length != source.length || title.length != section.length || title.length != type.length || title.length != notes.length || title.length != dateTime.length) {
+			LogEvent l = new LogEvent(Logger.ERROR,
+					"Document arrays have different lengths.",
+					"The arrays for the document titles, texts, authors, sources, sections, types, notes, and dates must all have the same length. Please check the input parameters.");
+			Dna.logger.log(l);
+			return new int[0];
 		}
 
-        int[] documentId = Dna.sql.addDocuments(documents);
-        return documentId;
+		Iterator<Document> documents = new Iterator<Document>() {
+			private int i = 0;
+
+			@Override
+			public boolean hasNext() {
+				return i < title.length;
+			}
+
+			@Override
+			public Document next() {
+				Document document = new Document(-1, coderId, title[i], text[i], author[i], source[i], section[i], type[i], notes[i], LocalDateTime.ofEpochSecond(dateTime[i], 0, ZoneOffset.UTC), new ArrayList<Statement>());
+				i++;
+				return document;
+			}
+		};
+        int[] documentIds = Dna.sql.addDocuments(documents, batchSize, false, progress);
+        if (documentIds.length < title.length) { // the transaction was rolled back
+        	return new int[0];
+        }
+        return documentIds;
     }
 
     /**
@@ -0,0 +1,393 @@
+package sql;
+
+import model.Document;
+import model.Statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A regex search over the documents of a database, which retrieves the candidate documents in pages. The candidates are
+ * narrowed down in the database before any document text is transferred: the regex is analyzed for literal text that
+ * every match must contain, and only documents that contain this text are returned. If the database has a full-text
+ * index (see {@link Sql#updateSearchIndex()}), the index is used to find the candidates without scanning all
+ * documents. The candidates are a superset of the documents in which the regex matches, so the caller still needs to
+ * match the regex against the text of each candidate.
+ *
+ * <p>The regex is matched case-insensitively, as in {@link Pattern#CASE_INSENSITIVE}. Regexes for which no literal
+ * text can be derived safely, for example because they contain alternations, inline flags, or back references, are
+ * matched against all documents.
+ */
+public class DocumentSearch {
+	/**
+	 * The number of documents per page.
+	 */
+	private static final int PAGE_SIZE = 50;
+	/**
+	 * Words that MySQL does not include in a {@code FULLTEXT} index by default.
+	 */
+	private static final HashSet<String> MYSQL_STOPWORDS = new HashSet<String>(Arrays.asList("a", "about", "an", "are",
+			"as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i", "in", "is", "it", "la", "of", "on", "or",
+			"that", "the", "this", "to", "was", "what", "when", "where", "who", "will", "with", "und", "www"));
+	private final Sql sql;
+	private final int[] coderIds;
+	/**
+	 * Substrings that every match of the regex contains.
+	 */
+	private final ArrayList<String> literals = new ArrayList<String>();
+	/**
+	 * Words (in lower case) that every match of the regex contains with whitespace or the beginning or end of the text
+	 * on both sides, such that a word-based full-text index contains them.
+	 */
+	private final ArrayList<String> words = new ArrayList<String>();
+	/**
+	 * The ID of the last document that has been returned.
+	 */
+	private int lastId = 0;
+	private boolean exhausted = false;
+
+	/**
+	 * Create a new document search. The database is not queried until {@link #nextPage()} is called.
+	 *
+	 * @param sql      The {@link Sql} object with the connection to the database.
+	 * @param regex    The regular expression to search for.
+	 * @param coderIds The IDs of the coders whose documents are searched.
+	 */
+	public DocumentSearch(Sql sql, String regex, int[] coderIds) {
+		this.sql = sql;
+		this.coderIds = coderIds;
+		ArrayList<Literal> runs = getLiterals(regex);
+		for (Literal run : runs) {
+			this.literals.add(run.text.toString());
+			String[] pieces = run.text.toString().split("[ \\t\\n\\r]", -1);
+			for (int i = 0; i < pieces.length; i++) {
+				if ((i > 0 || run.left) && (i < pieces.length - 1 || run.right) && pieces[i].matches("[A-Za-z]{3,}")) {
+					this.words.add(pieces[i].toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieve the next page of candidate documents, in the order of their IDs.
+	 *
+	 * @return The documents, without statements, or an empty list if all candidates have been returned.
+	 * @throws SQLException If the documents cannot be retrieved.
+	 */
+	public ArrayList<Document> nextPage() throws SQLException {
+		ArrayList<Document> documents = new ArrayList<Document>();
+		if (this.exhausted || this.coderIds.length == 0) {
+			return documents;
+		}
+		String type = this.sql.getConnectionProfile().getType();
+		ArrayList<String> parameters = new ArrayList<String>();
+		StringBuilder query = new StringBuilder("SELECT ID, Coder, Title, Text, Author, Source, Section, Type, Notes, Date "
+				+ "FROM DOCUMENTS WHERE ID > ? AND Coder IN ("
+				+ Arrays.stream(this.coderIds).mapToObj(String::valueOf).collect(Collectors.joining(", ")) + ")");
+
+		// narrow down the candidates using the full-text index
+		if (this.sql.isSearchIndex()) {
+			if (type.equals("sqlite")) {
+				String match = this.literals.stream()
+						.filter(l -> l.length() >= 3) // the trigram tokenizer cannot look up shorter strings
+						.map(l -> "\"" + l.replace("\"", "\"\"") + "\"")
+						.collect(Collectors.joining(" AND "));
+				if (!match.isEmpty()) {
+					query.append(" AND ID IN (SELECT rowid FROM DOCUMENTSEARCH WHERE DOCUMENTSEARCH MATCH ?)");
+					parameters.add(match);
+				}
+			} else if (type.equals("mysql")) {
+				String match = this.words.stream()
+						.filter(w -> !MYSQL_STOPWORDS.contains(w))
+						.map(w -> "+" + w)
+						.collect(Collectors.joining(" "));
+				if (!match.isEmpty()) {
+					query.append(" AND MATCH(Text) AGAINST (? IN BOOLEAN MODE)");
+					parameters.add(match);
+				}
+			} else if (type.equals("postgresql")) {
+				if (this.words.size() > 0) {
+					// the index only covers the beginning of long texts, so these documents are always confirmed below
+					query.append(" AND (length(Text) > " + Sql.SEARCH_INDEX_PREFIX_LENGTH
+							+ " OR strip(to_tsvector('simple', left(Text, " + Sql.SEARCH_INDEX_PREFIX_LENGTH + "))) @@ to_tsquery('simple', ?))");
+					parameters.add(String.join(" & ", this.words));
+				}
+			}
+		}
+
+		// confirm the literal text before transferring the documents
+		for (String literal : this.literals) {
+			query.append(type.equals("postgresql") ? " AND Text ILIKE ? ESCAPE '!'" : " AND Text LIKE ? ESCAPE '!'");
+			parameters.add("%" + literal.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+		}
+		query.append(" ORDER BY ID LIMIT ?;");
+
+		try (Connection conn = this.sql.getDataSource().getConnection();
+				PreparedStatement s = conn.prepareStatement(query.toString())) {
+			s.setInt(1, this.lastId);
+			for (int i = 0; i < parameters.size(); i++) {
+				s.setString(i + 2, parameters.get(i));
+			}
+			s.setInt(parameters.size() + 2, PAGE_SIZE);
+			ResultSet r = s.executeQuery();
+			while (r.next()) {
+				documents.add(new Document(
+						r.getInt("ID"),
+						r.getInt("Coder"),
+						r.getString("Title"),
+						r.getString("Text"),
+						r.getString("Author"),
+						r.getString("Source"),
+						r.getString("Section"),
+						r.getString("Type"),
+						r.getString("Notes"),
+						LocalDateTime.ofEpochSecond(r.getLong("Date"), 0, ZoneOffset.UTC),
+						new ArrayList<Statement>()));
+			}
+		}
+		if (documents.size() < PAGE_SIZE) {
+			this.exhausted = true;
+		}
+		if (documents.size() > 0) {
+			this.lastId = documents.get(documents.size() - 1).getId();
+		}
+		return documents;
+	}
+
+	/**
+	 * A run of literal characters that every match of a regex contains.
+	 */
+	private static class Literal {
+		private final StringBuilder text = new StringBuilder();
+		/**
+		 * Is the run preceded by whitespace or the beginning of the text in every match?
+		 */
+		private boolean left;
+		/**
+		 * Is the run followed by whitespace or the end of the text in every match?
+		 */
+		private boolean right;
+	}
+
+	/**
+	 * Derive the runs of literal characters that every match of a regex contains. The analysis is conservative: only
+	 * characters outside of groups and character classes that are not optional or repeated are considered, and an
+	 * empty list is returned for regexes with alternations, inline flags, quotations, or escape sequences other than
+	 * escaped punctuation and simple predefined character classes.
+	 *
+	 * @param regex The regular expression.
+	 * @return The literal runs, which may be empty.
+	 */
+	private static ArrayList<Literal> getLiterals(String regex) {
+		ArrayList<Literal> runs = new ArrayList<Literal>();
+		ArrayList<Literal> none = new ArrayList<Literal>();
+		if (regex.contains("(?")) {
+			return none; // inline flags, e.g., (?x), can change the meaning of all literals
+		}
+		Literal current = new Literal();
+		int i = 0;
+		int n = regex.length();
+		while (i < n) {
+			char c = regex.charAt(i);
+			if (c == '(') { // skip groups, which may be optional or contain alternations
+				int depth = 0;
+				while (i < n) {
+					c = regex.charAt(i);
+					if (c == '\\') {
+						i++;
+					} else if (c == '[') {
+						i = skipClass(regex, i);
+						if (i < 0) {
+							return none;
+						}
+						continue;
+					} else if (c == '(') {
+						depth++;
+					} else if (c == ')') {
+						depth--;
+						if (depth == 0) {
+							break;
+						}
+					}
+					i++;
+				}
+				if (i >= n) {
+					return none;
+				}
+				current = endRun(runs, current, false);
+				i = skipQuantifier(regex, i + 1);
+				continue;
+			}
+			if (c == '[') {
+				i = skipClass(regex, i);
+				if (i < 0) {
+					return none;
+				}
+				current = endRun(runs, current, false);
+				i = skipQuantifier(regex, i);
+				continue;
+			}
+			if (c == '|' || c == ')') {
+				return none;
+			}
+			if (c == '^' || c == '$') {
+				int next = skipQuantifier(regex, i + 1);
+				current = endRun(runs, current, next == i + 1 || !isOptional(regex, i + 1));
+				i = next;
+				continue;
+			}
+			if (c == '*' || c == '+' || c == '?' || c == '{') { // quantifier without an atom
+				current = endRun(runs, current, false);
+				i = skipQuantifier(regex, i);
+				continue;
+			}
+			if (c == '.' || c == ']' || c == '}') {
+				current = endRun(runs, current, false);
+				i = skipQuantifier(regex, i + 1);
+				continue;
+			}
+
+			// an atom that is a literal character or an escape sequence
+			int end = i + 1;
+			boolean literal = true;
+			boolean boundary = false;
+			if (c == '\\') {
+				if (i + 1 >= n) {
+					return none;
+				}
+				c = regex.charAt(i + 1);
+				end = i + 2;
+				if ("AzZs".indexOf(c) > -1) {
+					literal = false;
+					boundary = true; // whitespace or the beginning or end of the text
+				} else if ("bBdDwWSvVhHRX".indexOf(c) > -1) {
+					literal = false;
+				} else if (Character.isLetterOrDigit(c)) {
+					return none; // back references, hexadecimal or Unicode escapes, quotations etc.
+				}
+			}
+			int next = skipQuantifier(regex, end);
+			boolean quantified = next > end;
+			boolean optional = quantified && isOptional(regex, end);
+			if (literal && !optional) {
+				current.text.append(c);
+				if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+					if (quantified) {
+						current = endRun(runs, current, true);
+					}
+				} else if (quantified) {
+					current = endRun(runs, current, false);
+				}
+			} else {
+				current = endRun(runs, current, boundary && !optional);
+			}
+			i = next;
+		}
+		endRun(runs, current, false);
+		return runs;
+	}
+
+	/**
+	 * Finish a literal run and start a new one.
+	 *
+	 * @param runs     The list of runs to which the current run is added if it is not empty.
+	 * @param current  The current run.
+	 * @param boundary Is there whitespace or the beginning or end of the text between the current and the next run?
+	 * @return The new run.
+	 */
+	private static Literal endRun(ArrayList<Literal> runs, Literal current, boolean boundary) {
+		current.right = boundary;
+		if (current.text.length() > 0) {
+			runs.add(current);
+		}
+		Literal next = new Literal();
+		next.left = boundary;
+		return next;
+	}
+
+	/**
+	 * Find the end of a character class, taking into account nested classes and escaped brackets.
+	 *
+	 * @param regex The regular expression.
+	 * @param start The position of the opening bracket.
+	 * @return The position after the closing bracket, or {@code -1} if the class is not closed.
+	 */
+	private static int skipClass(String regex, int start) {
+		int depth = 0;
+		for (int i = start; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (c == '[') {
+				depth++;
+			} else if (c == ']' && i > start + 1 && !(i == start + 2 && regex.charAt(start + 1) == '^')) {
+				depth--;
+				if (depth == 0) {
+					return i + 1;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Skip a quantifier, including a lazy or possessive modifier.
+	 *
+	 * @param regex The regular expression.
+	 * @param start The position after the quantified atom.
+	 * @return The position after the quantifier, or {@code start} if there is no quantifier.
+	 */
+	private static int skipQuantifier(String regex, int start) {
+		int i = start;
+		if (i < regex.length()) {
+			char c = regex.charAt(i);
+			if (c == '*' || c == '+' || c == '?') {
+				i++;
+			} else if (c == '{') {
+				int close = regex.indexOf('}', i);
+				i = close < 0 ? regex.length() : close + 1;
+			} else {
+				return start;
+			}
+			if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+				i++;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * Does a quantifier allow zero occurrences of the quantified atom?
+	 *
+	 * @param regex The regular expression.
+	 * @param start The position of the quantifier.
+	 * @return {@code true} for {@code *}, {@code ?}, and ranges with a minimum of zero or a minimum that cannot be
+	 *   read.
+	 */
+	private static boolean isOptional(String regex, int start) {
+		char c = regex.charAt(start);
+		if (c == '*' || c == '?') {
+			return true;
+		}
+		if (c == '{') {
+			int close = regex.indexOf('}', start);
+			String min = (close < 0 ? regex.substring(start + 1) : regex.substring(start + 1, close)).split(",", -1)[0].trim();
+			try {
+				return Integer.parseInt(min) == 0;
+			} catch (NumberFormatException e) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
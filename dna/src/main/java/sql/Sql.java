@@ -10,11 +10,20 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.sql.DataSource;
 
@@ -61,6 +70,56 @@ public class Sql {
 	 * The active {@link model.Coder Coder} including permissions.
 	 */
 	private Coder activeCoder;
+
+	/**
+	 * The number of statements per document, by document ID, or {@code null}
+	 * if the counts have not been loaded from the current database yet. The
+	 * counts are computed once with a grouped aggregate over the
+	 * {@code STATEMENTS} table and then updated whenever statements are added,
+	 * cloned, moved, or deleted through this class, so the document table can
+	 * be reloaded without counting the statements again. Only accessed while
+	 * holding the lock of the map reference holder {@link #frequencyLock}.
+	 */
+	private HashMap<Integer, Integer> documentFrequencies = null;
+	private final Object frequencyLock = new Object();
+
+	/**
+	 * Entities with their attributes and usage indicators by variable ID, as
+	 * loaded by {@link #getEntities(ArrayList, boolean)} with attributes. The
+	 * cache is cleared whenever entities, attributes, or statements are
+	 * written through this class; see {@link #resetEntityCache()}. Changes
+	 * made by other clients are recorded in the change log, and the
+	 * {@link gui.MainWindow MainWindow} clears the cache whenever its
+	 * {@link ChangeFeed} reports any changes. Only accessed while holding the
+	 * lock of the map itself.
+	 */
+	private final HashMap<Integer, ArrayList<Entity>> entityCache = new HashMap<Integer, ArrayList<Entity>>();
+	/**
+	 * Number of times the entity cache has been cleared, so entities that were
+	 * loaded while the cache was cleared are not cached.
+	 */
+	private long entityCacheGeneration = 0;
+
+	/**
+	 * The regexes for highlighting in the text, kept in memory with their
+	 * compiled patterns, or {@code null} if they have not been loaded yet. See
+	 * {@link #getRegexes()}.
+	 */
+	private ArrayList<Regex> regexes = null;
+	private final Object regexLock = new Object();
+
+	/**
+	 * Does the database have a {@code CHANGES} table in which changes to
+	 * documents and statements are recorded? See
+	 * {@link #recordChanges(Connection, String, Collection)}.
+	 */
+	private boolean changeTracking = false;
+
+	/**
+	 * Does the database have a full-text index of the document texts? See
+	 * {@link #updateSearchIndex()}.
+	 */
+	private boolean searchIndex = false;
 	
 	
 	/* =========================================================================
@@ -110,6 +169,11 @@ public class Sql {
 	public boolean setConnectionProfile(ConnectionProfile cp, boolean test) {
 		boolean success = false;
 		this.cp = cp;
+		resetDocumentFrequencies();
+		resetEntityCache();
+		resetRegexes();
+		this.changeTracking = false;
+		this.searchIndex = false;
 		if (cp == null) { // null connection
 			ds = null;
 			this.cp = null;
@@ -159,6 +223,11 @@ public class Sql {
 	        Dna.logger.log(l);
 		}
 		if (test == false && cp != null) {
+			if (success) {
+				updateIndexes(); // add missing secondary indexes to databases created with an older version
+				updateChangeTable(); // add the change log to databases created with an older version
+				updateSearchIndex(); // add the full-text index to databases created with an older version
+			}
 			selectCoder(cp.getCoderId());
 		}
 		return success;
@@ -737,10 +806,460 @@ public class Sql {
 					e);
 			Dna.logger.log(l);
 		}
+		if (success) {
+			updateIndexes();
+			updateChangeTable();
+			updateSearchIndex();
+		}
 		return success;
 	}
 
+	/**
+	 * The version of the set of secondary indexes defined in {@link #INDEXES}.
+	 * Increase the version whenever indexes are added, so existing databases
+	 * receive the new indexes the next time they are opened. The version of a
+	 * database is stored in the {@code SETTINGS} table under the property
+	 * {@code indexes}.
+	 */
+	public static final int INDEX_VERSION = 1;
+
+	/**
+	 * Secondary indexes on the columns that are used for joining and filtering
+	 * statements, values, and entities. Each entry contains the name of the
+	 * index, the table, and the indexed columns. Columns that are already
+	 * covered by a primary key or a unique constraint (for example, the
+	 * statement ID in the value tables) do not need an additional index.
+	 * Columns with only a few distinct values, such as the statement type or
+	 * the variable ID, are deliberately not indexed on their own: without table
+	 * statistics, SQLite would prefer them over the date and document indexes
+	 * and then sort the whole result in a temporary B-tree.
+	 */
+	private static final String[][] INDEXES = {
+			{"IDX_DOCUMENTS_DATE", "DOCUMENTS", "Date"},
+			{"IDX_STATEMENTS_DOCUMENTID", "STATEMENTS", "DocumentId, Start"},
+			{"IDX_DATASHORTTEXT_ENTITY", "DATASHORTTEXT", "Entity, VariableId"},
+			{"IDX_ENTITIES_CHILDOF", "ENTITIES", "ChildOf"},
+			{"IDX_ATTRIBUTEVALUES_ATTRIBUTEVARIABLEID", "ATTRIBUTEVALUES", "AttributeVariableId"}
+	};
+
+	/**
+	 * Get the version of the secondary indexes of the database.
+	 * 
+	 * @return The index version stored in the {@code SETTINGS} table, or
+	 *   {@code 0} if the database does not have any secondary indexes yet.
+	 * @throws SQLException If the {@code SETTINGS} table cannot be read, for
+	 *   example because the database has no tables yet.
+	 */
+	public int getIndexVersion() throws SQLException {
+		int indexVersion = 0;
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s = conn.prepareStatement("SELECT Value FROM SETTINGS WHERE Property = 'indexes';")) {
+			ResultSet r = s.executeQuery();
+			while (r.next()) {
+				indexVersion = Integer.parseInt(r.getString("Value"));
+			}
+		}
+		return indexVersion;
+	}
+
+	/**
+	 * Migrate the secondary indexes of a DNA 3 database to the current
+	 * {@link #INDEX_VERSION}. Indexes that do not exist yet are created in a
+	 * single transaction, and the new index version is saved in the
+	 * {@code SETTINGS} table. Databases that are already up to date, databases
+	 * without tables, and databases created with other major versions of DNA
+	 * are left unchanged.
+	 * 
+	 * @return Are the indexes of the database up to date after the migration?
+	 */
+	public boolean updateIndexes() {
+		int indexVersion;
+		String version = "";
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s = conn.prepareStatement("SELECT Value FROM SETTINGS WHERE Property = 'version';")) {
+			ResultSet r = s.executeQuery();
+			while (r.next()) {
+				version = r.getString("Value");
+			}
+			indexVersion = getIndexVersion();
+		} catch (SQLException | NumberFormatException e) {
+			return false; // no DNA database (yet)
+		}
+		if (!version.startsWith("3.")) {
+			return false;
+		}
+		if (indexVersion >= INDEX_VERSION) {
+			return true;
+		}
+		boolean mysql = cp.getType().equals("mysql");
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s2 = conn.prepareStatement("DELETE FROM SETTINGS WHERE Property = 'indexes';");
+				PreparedStatement s3 = conn.prepareStatement("INSERT INTO SETTINGS (Property, Value) VALUES ('indexes', ?);");
+				SQLCloseable finish = conn::rollback) {
+			conn.setAutoCommit(false);
+			int created = 0;
+			for (int i = 0; i < INDEXES.length; i++) {
+				if (mysql) { // MySQL does not support CREATE INDEX IF NOT EXISTS
+					try (PreparedStatement s1 = conn.prepareStatement("SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?;")) {
+						s1.setString(1, INDEXES[i][1]);
+						s1.setString(2, INDEXES[i][0]);
+						ResultSet r = s1.executeQuery();
+						if (r.next() && r.getInt(1) > 0) {
+							continue;
+						}
+					}
+				}
+				try (PreparedStatement s4 = conn.prepareStatement("CREATE INDEX " + (mysql ? "" : "IF NOT EXISTS ") + INDEXES[i][0] + " ON " + INDEXES[i][1] + " (" + INDEXES[i][2] + ");")) {
+					s4.executeUpdate();
+				}
+				created++;
+			}
+			s2.executeUpdate();
+			s3.setString(1, String.valueOf(INDEX_VERSION));
+			s3.executeUpdate();
+			conn.commit();
+			LogEvent l = new LogEvent(Logger.MESSAGE,
+					"[SQL] Updated database indexes to version " + INDEX_VERSION + ".",
+					"The secondary indexes of the database were updated from version " + indexVersion + " to version " + INDEX_VERSION + ". " + created + " indexes were created.");
+			Dna.logger.log(l);
+			return true;
+		} catch (SQLException e) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"[SQL] Failed to update database indexes.",
+					"Attempted to add secondary indexes (version " + INDEX_VERSION + ") to the database, but the transaction failed and was rolled back. The database can still be used, but some queries may be slow. Check your SQL user rights.",
+					e);
+			Dna.logger.log(l);
+			return false;
+		}
+	}
+
+
+
+	/* =========================================================================
+	 * Change tracking
+	 * ====================================================================== */
+
+	/**
+	 * Item type of a change to a document in the {@code CHANGES} table. The
+	 * item ID is the document ID.
+	 */
+	public static final String CHANGE_DOCUMENT = "document";
+	/**
+	 * Item type of a change to a statement in the {@code CHANGES} table. The
+	 * item ID is the statement ID.
+	 */
+	public static final String CHANGE_STATEMENT = "statement";
+	/**
+	 * Item type of a change to the entities or attributes of a variable in
+	 * the {@code CHANGES} table, for example a new entity color. The item ID
+	 * is the variable ID.
+	 */
+	public static final String CHANGE_ENTITIES = "entities";
+	/**
+	 * Item type of a change that potentially affects all documents and
+	 * statements, for example a new coder name or a deleted statement type.
+	 * The item ID is {@code 0}.
+	 */
+	public static final String CHANGE_ALL = "all";
+	/**
+	 * Number of most recent entries that are kept in the {@code CHANGES}
+	 * table when older entries are pruned. See {@link #pruneChangeTable()}.
+	 */
+	public static final int CHANGE_LOG_SIZE = 100000;
+
+	/**
+	 * Create the {@code CHANGES} table if it does not exist yet. The table is
+	 * a change log in which every transaction that adds, updates, or deletes
+	 * documents or statements records the IDs of the affected items. The
+	 * auto-incremented row ID serves as a monotonically increasing revision
+	 * number, which a {@link ChangeFeed} uses to retrieve only the changes
+	 * since the last refresh. Databases created with earlier versions of DNA
+	 * receive the table the next time they are opened. Old entries are pruned
+	 * whenever the table is checked (see {@link #pruneChangeTable()}).
+	 * 
+	 * @return Is the change log available?
+	 */
+	public boolean updateChangeTable() {
+		this.changeTracking = false;
+		String sql;
+		if (cp.getType().equals("sqlite")) {
+			sql = "CREATE TABLE IF NOT EXISTS CHANGES("
+					+ "ID INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, "
+					+ "ItemType TEXT NOT NULL CHECK (LENGTH(ItemType) < 191), "
+					+ "ItemId INTEGER NOT NULL);";
+		} else if (cp.getType().equals("mysql")) {
+			sql = "CREATE TABLE IF NOT EXISTS CHANGES("
+					+ "ID BIGINT UNSIGNED NOT NULL AUTO_INCREMENT, "
+					+ "ItemType VARCHAR(190) NOT NULL, "
+					+ "ItemId MEDIUMINT UNSIGNED NOT NULL, "
+					+ "PRIMARY KEY(ID));";
+		} else {
+			sql = "CREATE TABLE IF NOT EXISTS CHANGES("
+					+ "ID BIGSERIAL NOT NULL PRIMARY KEY, "
+					+ "ItemType VARCHAR(190) NOT NULL, "
+					+ "ItemId INT NOT NULL);";
+		}
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s1 = conn.prepareStatement("SELECT Value FROM SETTINGS WHERE Property = 'version';");
+				PreparedStatement s2 = conn.prepareStatement(sql)) {
+			ResultSet r = s1.executeQuery();
+			if (!r.next() || !r.getString("Value").startsWith("3.")) {
+				return false;
+			}
+			s2.executeUpdate();
+			this.changeTracking = true;
+		} catch (SQLException e) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"[SQL] Failed to create change log.",
+					"Attempted to add the CHANGES table to the database, but this failed. The database can still be used, but the document and statement tables will be reloaded completely on every refresh. Check your SQL user rights.",
+					e);
+			Dna.logger.log(l);
+		}
+		if (this.changeTracking) {
+			pruneChangeTable();
+		}
+		return this.changeTracking;
+	}
+
+	/**
+	 * Delete all but the most recent {@link #CHANGE_LOG_SIZE} entries from the
+	 * {@code CHANGES} table once it has grown to twice this size. The positions of the {@link ChangeFeed} objects of
+	 * other clients are not known, so a change affecting all documents and
+	 * statements is recorded in the same transaction. Clients whose position
+	 * precedes the pruned entries therefore reload all documents and
+	 * statements instead of missing the pruned changes.
+	 */
+	private void pruneChangeTable() {
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s1 = conn.prepareStatement("SELECT MIN(ID), MAX(ID) FROM CHANGES;");
+				PreparedStatement s2 = conn.prepareStatement("DELETE FROM CHANGES WHERE ID <= ?;");
+				SQLCloseable finish = conn::rollback) {
+			conn.setAutoCommit(false);
+			ResultSet r = s1.executeQuery();
+			if (!r.next()) {
+				return;
+			}
+			long oldest = r.getLong(1);
+			long newest = r.getLong(2);
+			if (r.wasNull() || newest - oldest < 2L * CHANGE_LOG_SIZE) { // prune only once per CHANGE_LOG_SIZE changes
+				return;
+			}
+			long threshold = newest - CHANGE_LOG_SIZE;
+			s2.setLong(1, threshold);
+			int numDeleted = s2.executeUpdate();
+			recordChanges(conn, CHANGE_ALL, null);
+			conn.commit();
+			LogEvent l = new LogEvent(Logger.MESSAGE,
+					"[SQL] Pruned change log.",
+					"Deleted " + numDeleted + " old entries from the CHANGES table, keeping the most recent " + CHANGE_LOG_SIZE + " entries.");
+			Dna.logger.log(l);
+		} catch (SQLException e) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"[SQL] Failed to prune change log.",
+					"Attempted to delete old entries from the CHANGES table, but this failed. The change log keeps growing, but this does not affect the data.",
+					e);
+			Dna.logger.log(l);
+		}
+	}
+
+	/**
+	 * Is the change log available in the current database?
+	 * 
+	 * @return Are changes recorded in the {@code CHANGES} table?
+	 */
+	public boolean isChangeTracking() {
+		return this.changeTracking;
+	}
+
+	/**
+	 * Record changes to documents or statements in the {@code CHANGES} table.
+	 * Should be called within the transaction that makes the changes, so the
+	 * change log is committed or rolled back together with the changes. Does
+	 * nothing if the database does not have a change log.
+	 * 
+	 * @param conn      The connection of the transaction.
+	 * @param itemType  The item type, e.g., {@link #CHANGE_STATEMENT}.
+	 * @param itemIds   The IDs of the changed items. Ignored (and can be
+	 *   {@code null}) for {@link #CHANGE_ALL}.
+	 * @throws SQLException If the changes cannot be recorded.
+	 */
+	public void recordChanges(Connection conn, String itemType, Collection<Integer> itemIds) throws SQLException {
+		if (!this.changeTracking) {
+			return;
+		}
+		try (PreparedStatement s = conn.prepareStatement("INSERT INTO CHANGES (ItemType, ItemId) VALUES (?, ?);")) {
+			if (itemType.equals(CHANGE_ALL)) {
+				s.setString(1, itemType);
+				s.setInt(2, 0);
+				s.executeUpdate();
+				return;
+			}
+			int batch = 0;
+			for (int itemId : itemIds) {
+				s.setString(1, itemType);
+				s.setInt(2, itemId);
+				s.addBatch();
+				batch++;
+				if (batch == STATEMENT_UPDATE_BATCH_SIZE) {
+					s.executeBatch();
+					batch = 0;
+				}
+			}
+			if (batch > 0) {
+				s.executeBatch();
+			}
+		}
+	}
+
+	/**
+	 * Record a change that affects all documents and statements in the
+	 * {@code CHANGES} table, in a transaction of its own.
+	 * 
+	 * @see #recordChanges(Connection, String, Collection)
+	 */
+	private void recordChangeAll() {
+		if (!this.changeTracking) {
+			return;
+		}
+		try (Connection conn = ds.getConnection()) {
+			recordChanges(conn, CHANGE_ALL, null);
+		} catch (SQLException e) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"[SQL] Failed to record change in change log.",
+					"Attempted to record a change affecting all documents and statements in the CHANGES table, but this failed. Other DNA instances may only show the change after restarting.",
+					e);
+			Dna.logger.log(l);
+		}
+	}
 	
+	/* =========================================================================
+	 * Full-text search
+	 * ====================================================================== */
+
+	/**
+	 * Number of leading characters of each document text that the full-text
+	 * index covers in PostgreSQL. A {@code tsvector} cannot exceed 1 MB. Even
+	 * a text of this length that consists of distinct short words with
+	 * three-byte characters stays below the limit. Documents with longer
+	 * texts are always passed on to the pattern matching in a
+	 * {@link DocumentSearch}.
+	 */
+	public static final int SEARCH_INDEX_PREFIX_LENGTH = 100000;
+
+	/**
+	 * Create a full-text index of the document texts if it does not exist yet,
+	 * for narrowing down the documents in a {@link DocumentSearch}. The index
+	 * uses the native full-text search of each database type:
+	 * 
+	 * <ul>
+	 * <li>SQLite: an FTS5 table {@code DOCUMENTSEARCH} with the trigram
+	 *   tokenizer, which supports case-insensitive substring queries. The table
+	 *   refers to the texts in the {@code DOCUMENTS} table rather than storing
+	 *   a copy, and it is kept in sync by triggers on the {@code DOCUMENTS}
+	 *   table, so documents that are added, updated, or deleted by any means
+	 *   (including cascading deletes of coders) are indexed.</li>
+	 * <li>MySQL: a {@code FULLTEXT} index {@code DOCUMENTSEARCH} on the text
+	 *   column, which supports word queries.</li>
+	 * <li>PostgreSQL: a GIN index {@code DOCUMENTSEARCHPREFIX} on the
+	 *   {@code tsvector} of the first {@link #SEARCH_INDEX_PREFIX_LENGTH}
+	 *   characters of the text with the {@code simple} configuration (i.e.,
+	 *   lower-case words without stemming or stop words), which supports word
+	 *   queries. A {@code tsvector} cannot exceed 1 MB, so an index on the
+	 *   whole text would fail for very long texts, both when it is created and
+	 *   when such a document is added. Longer documents are found through a
+	 *   partial index {@code DOCUMENTSEARCHLONG} and are only searched with
+	 *   the slower pattern matching.</li>
+	 * </ul>
+	 * 
+	 * <p>MySQL and PostgreSQL maintain their indexes themselves. Creating the
+	 * index for a large existing database may take a while, but is only done
+	 * once. Databases created with earlier versions of DNA receive the index
+	 * the next time they are opened.
+	 * 
+	 * @return Is the full-text index available?
+	 */
+	public boolean updateSearchIndex() {
+		this.searchIndex = false;
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s1 = conn.prepareStatement("SELECT Value FROM SETTINGS WHERE Property = 'version';")) {
+			ResultSet r = s1.executeQuery();
+			if (!r.next() || !r.getString("Value").startsWith("3.")) {
+				return false;
+			}
+			if (cp.getType().equals("sqlite")) {
+				try (PreparedStatement s2 = conn.prepareStatement("SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'DOCUMENTSEARCH';");
+						SQLCloseable finish = conn::rollback) {
+					r = s2.executeQuery();
+					if (!r.next() || r.getInt(1) == 0) {
+						conn.setAutoCommit(false);
+						String[] sql = {
+								"CREATE VIRTUAL TABLE DOCUMENTSEARCH USING fts5(Text, content = 'DOCUMENTS', content_rowid = 'ID', tokenize = 'trigram');",
+								"CREATE TRIGGER IF NOT EXISTS DOCUMENTSEARCH_INSERT AFTER INSERT ON DOCUMENTS BEGIN "
+										+ "INSERT INTO DOCUMENTSEARCH (rowid, Text) VALUES (new.ID, new.Text); END;",
+								"CREATE TRIGGER IF NOT EXISTS DOCUMENTSEARCH_DELETE AFTER DELETE ON DOCUMENTS BEGIN "
+										+ "INSERT INTO DOCUMENTSEARCH (DOCUMENTSEARCH, rowid, Text) VALUES ('delete', old.ID, old.Text); END;",
+								"CREATE TRIGGER IF NOT EXISTS DOCUMENTSEARCH_UPDATE AFTER UPDATE OF ID, Text ON DOCUMENTS BEGIN "
+										+ "INSERT INTO DOCUMENTSEARCH (DOCUMENTSEARCH, rowid, Text) VALUES ('delete', old.ID, old.Text); "
+										+ "INSERT INTO DOCUMENTSEARCH (rowid, Text) VALUES (new.ID, new.Text); END;",
+								"INSERT INTO DOCUMENTSEARCH (DOCUMENTSEARCH) VALUES ('rebuild');"
+						};
+						for (int i = 0; i < sql.length; i++) {
+							try (PreparedStatement s3 = conn.prepareStatement(sql[i])) {
+								s3.executeUpdate();
+							}
+						}
+						conn.commit();
+						LogEvent l = new LogEvent(Logger.MESSAGE,
+								"[SQL] Created full-text index.",
+								"The document texts were added to a full-text index (FTS5 table DOCUMENTSEARCH) for the search dialog.");
+						Dna.logger.log(l);
+					}
+				}
+			} else if (cp.getType().equals("mysql")) {
+				try (PreparedStatement s2 = conn.prepareStatement("SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'DOCUMENTS' AND index_name = 'DOCUMENTSEARCH';")) {
+					r = s2.executeQuery();
+					if (!r.next() || r.getInt(1) == 0) {
+						try (PreparedStatement s3 = conn.prepareStatement("ALTER TABLE DOCUMENTS ADD FULLTEXT INDEX DOCUMENTSEARCH (Text);")) {
+							s3.executeUpdate();
+						}
+						LogEvent l = new LogEvent(Logger.MESSAGE,
+								"[SQL] Created full-text index.",
+								"The document texts were added to a full-text index (FULLTEXT index DOCUMENTSEARCH) for the search dialog.");
+						Dna.logger.log(l);
+					}
+				}
+			} else {
+				String[] sql = {
+						"DROP INDEX IF EXISTS DOCUMENTSEARCH;", // index on the whole text, which fails for very long texts
+						"CREATE INDEX IF NOT EXISTS DOCUMENTSEARCHPREFIX ON DOCUMENTS USING GIN (strip(to_tsvector('simple', left(Text, " + SEARCH_INDEX_PREFIX_LENGTH + "))));",
+						"CREATE INDEX IF NOT EXISTS DOCUMENTSEARCHLONG ON DOCUMENTS (ID) WHERE length(Text) > " + SEARCH_INDEX_PREFIX_LENGTH + ";"
+				};
+				for (int i = 0; i < sql.length; i++) {
+					try (PreparedStatement s2 = conn.prepareStatement(sql[i])) {
+						s2.executeUpdate();
+					}
+				}
+			}
+			this.searchIndex = true;
+		} catch (SQLException e) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"[SQL] Failed to create full-text index.",
+					"Attempted to add a full-text index of the document texts to the database, but this failed. The database can still be used, but searching the documents will be slower. Check your SQL user rights.",
+					e);
+			Dna.logger.log(l);
+		}
+		return this.searchIndex;
+	}
+
+	/**
+	 * Is the full-text index available in the current database?
+	 * 
+	 * @return Can a {@link DocumentSearch} use a full-text index?
+	 */
+	public boolean isSearchIndex() {
+		return this.searchIndex;
+	}
+
 	/* =========================================================================
 	 * Coders
 	 * ====================================================================== */
@@ -1571,6 +2090,7 @@ public class Sql {
         		}
         	}
         	
+        	recordChanges(conn, CHANGE_ALL, null);
         	conn.commit();
         	success = true;
         	LogEvent l = new LogEvent(Logger.MESSAGE,
@@ -1602,6 +2122,8 @@ public class Sql {
 			s.setInt(1, coderId);
 			s.executeUpdate();
 			success = true;
+			resetDocumentFrequencies(); // the deletion cascades to statements
+			recordChangeAll();
 			LogEvent l = new LogEvent(Logger.MESSAGE,
         			"[SQL] Successfully deleted Coder " + coderId + " from the database.",
         			"Successfully deleted Coder " + coderId + " from the database.");
@@ -1614,6 +2136,7 @@ public class Sql {
         			e);
         	Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return success;
 	}
 	
@@ -1708,7 +2231,21 @@ public class Sql {
 	 * ====================================================================== */
 
 	/**
-	 * Add a batch of documents to the database.
+	 * Default number of documents sent to the database in one JDBC batch
+	 * when documents are added.
+	 */
+	public static final int DOCUMENT_BATCH_SIZE = 500;
+
+	/**
+	 * Default number of documents retrieved in one page when the document
+	 * table is populated.
+	 */
+	public static final int DOCUMENT_PAGE_SIZE = 1000;
+
+	/**
+	 * Add a batch of documents to the database. The documents are inserted in
+	 * JDBC batches of {@link #DOCUMENT_BATCH_SIZE} documents within a single
+	 * transaction.
 	 * 
 	 * @param documents An {@link java.util.ArrayList ArrayList} of
 	 *   {@link model.Document Document} objects, containing the documents to
@@ -1716,43 +2253,124 @@ public class Sql {
 	 * @return          Array of generated document IDs.
 	 */
 	public int[] addDocuments(ArrayList<Document> documents) {
-		int[] documentIds = new int[documents.size()];
+		int[] documentIds = addDocuments(documents.iterator(), DOCUMENT_BATCH_SIZE, false, null);
+		if (documentIds.length < documents.size()) { // the transaction was rolled back
+			return new int[documents.size()];
+		}
+		return documentIds;
+	}
+
+	/**
+	 * Add a stream of documents to the database in JDBC batches. The
+	 * documents are taken from the iterator one at a time and sent to the
+	 * database in batches with one round trip each, so only one batch needs to
+	 * be held in memory if the iterator creates the documents lazily, for
+	 * example while reading text files. On SQLite, the rows are inserted one
+	 * by one within the transaction because the driver does not report the
+	 * generated keys of a batch; the file is local, so there are no round
+	 * trips to save.
+	 * 
+	 * @param documents     An iterator over the documents to be added. The
+	 *   import ends when the iterator has no more documents.
+	 * @param batchSize     The number of documents per batch.
+	 * @param commitBatches Commit the transaction after every batch? If
+	 *   {@code true}, the documents of completed batches remain in the
+	 *   database if a later batch fails. If {@code false}, all documents are
+	 *   added in a single transaction, which is rolled back completely if any
+	 *   batch fails.
+	 * @param progress      A callback that is notified of the number of
+	 *   documents added so far after every batch, or {@code null}.
+	 * @return              Array of generated IDs of the documents that were
+	 *   added and committed, in the order of the iterator.
+	 */
+	public int[] addDocuments(Iterator<Document> documents, int batchSize, boolean commitBatches, IntConsumer progress) {
+		batchSize = Math.max(1, batchSize);
+		int[] documentIds = new int[batchSize];
+		int numAdded = 0, numCommitted = 0;
 		try (Connection conn = ds.getConnection();
 				PreparedStatement stmt = conn.prepareStatement("INSERT INTO DOCUMENTS (Title, Text, Coder, Author, Source, Section, Notes, Type, Date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);", PreparedStatement.RETURN_GENERATED_KEYS);
 				SQLCloseable finish = conn::rollback) {
 			conn.setAutoCommit(false);
-			ResultSet generatedKeysResultSet;
-			for (int i = 0; i < documents.size(); i++) {
-				stmt.setString(1, documents.get(i).getTitle());
-				stmt.setString(2, documents.get(i).getText());
-				stmt.setInt(3, documents.get(i).getCoder());
-				stmt.setString(4, documents.get(i).getAuthor());
-				stmt.setString(5, documents.get(i).getSource());
-				stmt.setString(6, documents.get(i).getSection());
-				stmt.setString(7, documents.get(i).getNotes());
-				stmt.setString(8, documents.get(i).getType());
-				stmt.setLong(9, documents.get(i).getDateTime().toEpochSecond(ZoneOffset.UTC)); // convert date-time to seconds since 01/01/1970 at 00:00:00 in UTC time zone
-				stmt.executeUpdate();
-				
-				// get generated document ID and save in array
-				generatedKeysResultSet = stmt.getGeneratedKeys();
-				while (generatedKeysResultSet.next()) {
-					documentIds[i] = generatedKeysResultSet.getInt(1);
+			boolean sqlite = cp.getType().equals("sqlite");
+			int batch = 0;
+			while (documents.hasNext()) {
+				Document document = documents.next();
+				stmt.setString(1, document.getTitle());
+				stmt.setString(2, document.getText());
+				stmt.setInt(3, document.getCoder());
+				stmt.setString(4, document.getAuthor());
+				stmt.setString(5, document.getSource());
+				stmt.setString(6, document.getSection());
+				stmt.setString(7, document.getNotes());
+				stmt.setString(8, document.getType());
+				stmt.setLong(9, document.getDateTime().toEpochSecond(ZoneOffset.UTC)); // convert date-time to seconds since 01/01/1970 at 00:00:00 in UTC time zone
+				if (documentIds.length < numAdded + batch + 1) {
+					documentIds = Arrays.copyOf(documentIds, Math.max(2 * documentIds.length, numAdded + batch + 1));
+				}
+				if (sqlite) { // the SQLite driver only reports the key of the last row of a batch, so insert and read the keys row by row
+					stmt.executeUpdate();
+					readGeneratedKeys(stmt, documentIds, numAdded + batch, 1);
+				} else {
+					stmt.addBatch();
+				}
+				batch++;
+				if (batch == batchSize || !documents.hasNext()) {
+					if (!sqlite) {
+						stmt.executeBatch();
+						readGeneratedKeys(stmt, documentIds, numAdded, batch);
+					}
+					recordChanges(conn, CHANGE_DOCUMENT, Arrays.stream(documentIds, numAdded, numAdded + batch).boxed().collect(Collectors.toList()));
+					numAdded = numAdded + batch;
+					batch = 0;
+					if (commitBatches) {
+						conn.commit();
+						numCommitted = numAdded;
+					}
+					if (progress != null) {
+						progress.accept(numAdded);
+					}
 				}
 			}
 			conn.commit();
+			numCommitted = numAdded;
 			LogEvent l = new LogEvent(Logger.MESSAGE,
-					"[SQL] Added " + documents.size() + " documents to the DOCUMENTS table in the database.",
-					"Successfully added " + documents.size() + " new documents to the DOCUMENTS table in the database. The transaction is complete and has been committed to the database.");
+					"[SQL] Added " + numAdded + " documents to the DOCUMENTS table in the database.",
+					"Successfully added " + numAdded + " new documents to the DOCUMENTS table in the database in batches of up to " + batchSize + " documents. The transaction is complete and has been committed to the database.");
 			Dna.logger.log(l);
 		} catch (SQLException e) {
 			LogEvent l = new LogEvent(Logger.ERROR,
 					"[SQL] Failed to add documents to the database.",
-					"Attempted to add " + documents.size() + " new documents to the DOCUMENTS table in the database, but something went wrong. The transaction has been rolled back; nothing has been committed to the database. Check your connection.",
+					"Attempted to add new documents to the DOCUMENTS table in the database, but something went wrong after " + numAdded + " documents. " + (numCommitted > 0 ? numCommitted + " documents in completed batches have been committed to the database; the remaining batch has been rolled back." : "The transaction has been rolled back; nothing has been committed to the database.") + " Check your connection.",
 					e);
 			Dna.logger.log(l);
 		}
-		return documentIds;
+		return Arrays.copyOf(documentIds, numCommitted);
+	}
+
+	/**
+	 * Read the generated IDs of an executed insert or batch of inserts.
+	 * 
+	 * @param stmt      The prepared statement after executing the insert.
+	 * @param ids       The array in which the IDs are stored.
+	 * @param offset    The index in the array of the first inserted row.
+	 * @param batchSize The number of inserted rows.
+	 * @throws SQLException If the generated keys cannot be read or the driver
+	 *   did not return exactly one key per inserted row.
+	 */
+	private static void readGeneratedKeys(PreparedStatement stmt, int[] ids, int offset, int batchSize) throws SQLException {
+		int n = 0;
+		try (ResultSet keys = stmt.getGeneratedKeys()) {
+			while (keys.next()) {
+				if (n == batchSize) {
+					throw new SQLException("The database returned more than " + batchSize + " generated keys for " + batchSize + " inserted rows.");
+				}
+				ids[offset + n] = keys.getInt(1);
+				n++;
+			}
+		}
+		if (n != batchSize) {
+			throw new SQLException("The database returned " + n + " generated keys for " + batchSize + " inserted rows.");
+		}
 	}
 	
 	/**
@@ -1816,45 +2434,49 @@ public class Sql {
 	}
 	
 	/**
-	 * Get documents for a batch of document IDs. The documents are of class
-	 * {@link model.TableDocument TableDocument} and contain neither the
-	 * document text nor any statement statements. They do contain the full
-	 * coder and the number of statements at the time of execution of the method
-	 * as a field. If the document ID list is empty, all documents are returned.
+	 * Get a page of documents for the document table, ordered by document ID.
+	 * The documents are of class {@link model.TableDocument TableDocument} and
+	 * contain the full coder and the number of statements, but not the
+	 * document text. Pages are selected by the last document ID of the
+	 * previous page rather than by an offset, so each page is a range scan on
+	 * the primary key.
 	 * 
-	 * @param documentIds    An array of document IDs for which the data should
-	 *   be queried. Can be empty (to select all documents).
-	 * @return             An {@link java.util.ArrayList ArrayList} of
-	 *   {@link model.TableDocument TableDocument} objects, containing the
-	 *   document meta-data.
+	 * <p>The statement counts are not computed per document. When the first
+	 * page is requested, all counts are retrieved with a single grouped
+	 * aggregate over the {@code STATEMENTS} table and kept in memory; they are
+	 * then maintained incrementally by {@link #addStatement(Statement)},
+	 * {@link #cloneStatement(int, int)}, {@link #moveStatements(ArrayList)},
+	 * {@link #deleteStatements(int[])}, and {@link #deleteDocuments(int[])}.
+	 * Changes made to the database by other means (e.g., by another DNA
+	 * instance) are only reflected after {@link #resetDocumentFrequencies()}.
+	 * 
+	 * @param afterId   The last document ID of the previous page, or {@code 0}
+	 *   for the first page.
+	 * @param pageSize  The maximal number of documents to return.
+	 * @return          An {@link java.util.ArrayList ArrayList} of
+	 *   {@link model.TableDocument TableDocument} objects, which is shorter
+	 *   than the page size for the last page.
+	 * @throws SQLException If the documents cannot be retrieved, for example
+	 *   because the worker thread was interrupted while waiting for a
+	 *   connection.
 	 */
-	public ArrayList<TableDocument> getTableDocuments(int[] documentIds) {
-		ArrayList<TableDocument> documents = new ArrayList<TableDocument>();
-		String sql = "SELECT DOCUMENTS.ID, Title, Author, Source, Section, Type, Notes, Date, "
-				+ "CODERS.ID AS CoderId, Name AS CoderName, Red, Green, Blue, "
-				+ "COALESCE(Frequency, 0) AS Frequency "
-				+ "FROM DOCUMENTS LEFT JOIN "
-				+ "(SELECT DocumentId, COUNT(DocumentId) AS Frequency FROM STATEMENTS GROUP BY DocumentId) AS C ON C.DocumentId = DOCUMENTS.ID "
-				+ "LEFT JOIN CODERS ON CODERS.ID = DOCUMENTS.Coder";
-		if (documentIds.length > 0) {
-			sql = sql + " WHERE DOCUMENTS.ID IN(";
-			for (int i = 0; i < documentIds.length; i++) {
-				sql = sql + documentIds[i];
-				if (i < documentIds.length - 1) {
-					sql = sql + ", ";
+	public ArrayList<TableDocument> getTableDocumentPage(int afterId, int pageSize) throws SQLException {
+		ArrayList<TableDocument> documents = new ArrayList<TableDocument>(pageSize);
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s = conn.prepareStatement("SELECT D.ID, Title, C.ID AS CoderId, Name AS CoderName, Red, Green, Blue, Date, Author, Source, Section, Type, Notes FROM CODERS C INNER JOIN DOCUMENTS D ON D.Coder = C.ID WHERE D.ID > ? ORDER BY D.ID LIMIT ?;")) {
+			synchronized (frequencyLock) {
+				if (documentFrequencies == null) {
+					documentFrequencies = countStatementsPerDocument(conn);
 				}
 			}
-			sql = sql + ")";
-		}
-		sql = sql + ";";
-		try (Connection conn = getDataSource().getConnection();
-				PreparedStatement s = conn.prepareStatement(sql)) {
+			s.setInt(1, afterId);
+			s.setInt(2, pageSize);
 			ResultSet rs = s.executeQuery();
 			while (rs.next()) {
-				TableDocument d = new TableDocument(
+				documents.add(new TableDocument(
 						rs.getInt("ID"),
 						rs.getString("Title"),
-						rs.getInt("Frequency"),
+						0,
 						new Coder(rs.getInt("CoderId"),
 								rs.getString("CoderName"),
 								new Color(rs.getInt("Red"), rs.getInt("Green"), rs.getInt("Blue"))),
@@ -1863,10 +2485,152 @@ public class Sql {
 						rs.getString("Section"),
 						rs.getString("Type"),
 						rs.getString("Notes"),
-						LocalDateTime.ofEpochSecond(rs.getLong("Date"), 0, ZoneOffset.UTC));
-				documents.add(d);
+						LocalDateTime.ofEpochSecond(rs.getLong("Date"), 0, ZoneOffset.UTC)));
 			}
-		} catch (SQLException e) {
+		}
+		synchronized (frequencyLock) {
+			if (documentFrequencies != null) { // may have been reset concurrently; the next page will reload the counts
+				for (TableDocument d : documents) {
+					d.setFrequency(documentFrequencies.getOrDefault(d.getId(), 0));
+				}
+			}
+		}
+		return documents;
+	}
+
+	/**
+	 * Count the statements in each document with a single grouped aggregate.
+	 * 
+	 * @param conn  An open connection.
+	 * @return      The number of statements by document ID. Documents without
+	 *   statements are not contained.
+	 * @throws SQLException If the query fails.
+	 */
+	private static HashMap<Integer, Integer> countStatementsPerDocument(Connection conn) throws SQLException {
+		HashMap<Integer, Integer> frequencies = new HashMap<Integer, Integer>();
+		try (PreparedStatement s = conn.prepareStatement("SELECT DocumentId, COUNT(ID) AS Frequency FROM STATEMENTS GROUP BY DocumentId;")) {
+			ResultSet rs = s.executeQuery();
+			while (rs.next()) {
+				frequencies.put(rs.getInt("DocumentId"), rs.getInt("Frequency"));
+			}
+		}
+		return frequencies;
+	}
+
+	/**
+	 * Discard the statement counts per document that are kept in memory for
+	 * the document table. They are counted again when the next page of
+	 * documents is requested with {@link #getTableDocumentPage(int, int)}.
+	 * This is necessary after the statements in the database were changed
+	 * other than through this class, for example by the {@link gui.Importer
+	 * Importer} or by deleting a coder or statement type, which cascades to
+	 * the statements.
+	 */
+	public void resetDocumentFrequencies() {
+		synchronized (frequencyLock) {
+			documentFrequencies = null;
+		}
+	}
+
+	/**
+	 * Add to the statement counts of documents if the counts are kept in
+	 * memory. Called after a transaction has been committed.
+	 * 
+	 * @param changes  The changes of the statement count by document ID.
+	 */
+	private void changeDocumentFrequencies(HashMap<Integer, Integer> changes) {
+		synchronized (frequencyLock) {
+			if (documentFrequencies == null) {
+				return;
+			}
+			for (Map.Entry<Integer, Integer> change : changes.entrySet()) {
+				int frequency = documentFrequencies.getOrDefault(change.getKey(), 0) + change.getValue();
+				if (frequency > 0) {
+					documentFrequencies.put(change.getKey(), frequency);
+				} else {
+					documentFrequencies.remove(change.getKey());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add to the statement count of a single document if the counts are kept
+	 * in memory.
+	 * 
+	 * @param documentId  The document ID.
+	 * @param change      The change of the statement count, e.g., {@code 1}.
+	 */
+	private void changeDocumentFrequency(int documentId, int change) {
+		HashMap<Integer, Integer> changes = new HashMap<Integer, Integer>();
+		changes.put(documentId, change);
+		changeDocumentFrequencies(changes);
+	}
+
+	/**
+	 * Get documents for a batch of document IDs. The documents are of class
+	 * {@link model.TableDocument TableDocument} and contain neither the
+	 * document text nor any statement statements. They do contain the full
+	 * coder and the number of statements at the time of execution of the method
+	 * as a field. If the document ID list is empty, all documents are returned.
+	 * 
+	 * @param documentIds    An array of document IDs for which the data should
+	 *   be queried. Can be empty (to select all documents).
+	 * @return             An {@link java.util.ArrayList ArrayList} of
+	 *   {@link model.TableDocument TableDocument} objects, containing the
+	 *   document meta-data.
+	 */
+	public ArrayList<TableDocument> getTableDocuments(int[] documentIds) {
+		ArrayList<TableDocument> documents = new ArrayList<TableDocument>();
+		String idList = Arrays.stream(documentIds).mapToObj(String::valueOf).collect(Collectors.joining(", "));
+		String sql = "SELECT DOCUMENTS.ID, Title, Author, Source, Section, Type, Notes, Date, "
+				+ "CODERS.ID AS CoderId, Name AS CoderName, Red, Green, Blue, "
+				+ "COALESCE(Frequency, 0) AS Frequency "
+				+ "FROM DOCUMENTS LEFT JOIN "
+				+ "(SELECT DocumentId, COUNT(DocumentId) AS Frequency FROM STATEMENTS "
+				+ (documentIds.length > 0 ? "WHERE DocumentId IN (" + idList + ") " : "") // count only the statements of the selected documents
+				+ "GROUP BY DocumentId) AS C ON C.DocumentId = DOCUMENTS.ID "
+				+ "LEFT JOIN CODERS ON CODERS.ID = DOCUMENTS.Coder";
+		if (documentIds.length > 0) {
+			sql = sql + " WHERE DOCUMENTS.ID IN(" + idList + ")";
+		}
+		sql = sql + ";";
+		try (Connection conn = getDataSource().getConnection();
+				PreparedStatement s = conn.prepareStatement(sql)) {
+			ResultSet rs = s.executeQuery();
+			while (rs.next()) {
+				TableDocument d = new TableDocument(
+						rs.getInt("ID"),
+						rs.getString("Title"),
+						rs.getInt("Frequency"),
+						new Coder(rs.getInt("CoderId"),
+								rs.getString("CoderName"),
+								new Color(rs.getInt("Red"), rs.getInt("Green"), rs.getInt("Blue"))),
+						rs.getString("Author"),
+						rs.getString("Source"),
+						rs.getString("Section"),
+						rs.getString("Type"),
+						rs.getString("Notes"),
+						LocalDateTime.ofEpochSecond(rs.getLong("Date"), 0, ZoneOffset.UTC));
+				documents.add(d);
+			}
+			synchronized (frequencyLock) { // the counts are up to date, including changes made by other DNA instances
+				if (documentFrequencies != null) {
+					if (documentIds.length == 0) {
+						documentFrequencies.clear();
+					} else {
+						for (int i = 0; i < documentIds.length; i++) {
+							documentFrequencies.remove(documentIds[i]);
+						}
+					}
+					for (TableDocument d : documents) {
+						if (d.getFrequency() > 0) {
+							documentFrequencies.put(d.getId(), d.getFrequency());
+						}
+					}
+				}
+			}
+		} catch (SQLException e) {
 			LogEvent l = new LogEvent(Logger.WARNING,
 					"[SQL] Failed to retrieve document meta-data from the database.",
 					"Attempted to retrieve document data (other than the document text) for " + documentIds.length + " documents, but this failed. Check if all documents are being displayed in the user interface.",
@@ -2186,6 +2950,7 @@ public class Sql {
 				u.setInt(10, documentIds[i]);
 				u.executeUpdate();
 			}
+			recordChanges(conn, CHANGE_DOCUMENT, Arrays.stream(documentIds).boxed().collect(Collectors.toList()));
 			conn.commit();
 			LogEvent l = new LogEvent(Logger.MESSAGE,
 					"[SQL] The meta-data of " + documentIds.length + " documents have been updated.",
@@ -2216,8 +2981,16 @@ public class Sql {
 				s.setInt(1, documentIds[i]);
 				s.executeUpdate();
 			}
+			recordChanges(conn, CHANGE_DOCUMENT, Arrays.stream(documentIds).boxed().collect(Collectors.toList()));
 			conn.commit();
 			success = true;
+			synchronized (frequencyLock) {
+				if (documentFrequencies != null) {
+					for (int i = 0; i < documentIds.length; i++) {
+						documentFrequencies.remove(documentIds[i]);
+					}
+				}
+			}
 			LogEvent l = new LogEvent(Logger.MESSAGE,
 					"[SQL] Deleted " + documentIds.length + " documents (and their statements).",
 					"Successfully deleted " + documentIds.length + " documents from the DOCUMENTS table in the database, and also deleted all statements that may have been contained in these documents. The transaction has been committed to the database.");
@@ -2229,6 +3002,7 @@ public class Sql {
 					e);
 			Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return success;
 	}
 
@@ -2404,7 +3178,10 @@ public class Sql {
 					Dna.logger.log(l);
 				}
 			}
+			recordChanges(conn, CHANGE_STATEMENT, Collections.singletonList((int) statementId));
+			recordChanges(conn, CHANGE_DOCUMENT, Collections.singletonList(documentId));
 			conn.commit();
+			changeDocumentFrequency(documentId, 1);
 			l = new LogEvent(Logger.MESSAGE,
 					"[SQL]  └─ Completed SQL transaction to add Statement " + statementId + ".",
 					"Completed SQL transaction to add a new statement with ID " + statementId + " to Document " + documentId + ". The contents have been written into the database.");
@@ -2416,6 +3193,7 @@ public class Sql {
 					e);
 			Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return (int) statementId;
 	}
 
@@ -2425,6 +3203,7 @@ public class Sql {
 	 * @param statements  An ArrayList of {@link model.Statement Statement} objects to be moved.
 	 */
 	public void moveStatements(ArrayList<Statement> statements) {
+		HashMap<Integer, Integer> frequencyChanges = new HashMap<Integer, Integer>();
 		try (Connection conn = ds.getConnection();
 				PreparedStatement s1 = conn.prepareStatement("UPDATE STATEMENTS SET DocumentId = ?, Start = ?, Stop = ?, Coder = ? WHERE ID = ?;");
 				PreparedStatement s2 = conn.prepareStatement("SELECT Text FROM DOCUMENTS WHERE ID = ?;");
@@ -2449,8 +3228,9 @@ public class Sql {
 				// check 1: any changes?
 				s3.setInt(1, statements.get(i).getId());
 				ResultSet r = s3.executeQuery();
+				int oldDocumentId = -1;
 				if (r.next()) {
-					int oldDocumentId = r.getInt("DocumentId");
+					oldDocumentId = r.getInt("DocumentId");
 					int oldStart = r.getInt("Start");
 					int oldStop = r.getInt("Stop");
 					int oldCoderId = r.getInt("Coder");
@@ -2504,12 +3284,19 @@ public class Sql {
 				s1.setInt(4, statements.get(i).getCoderId());
 				s1.setInt(5, statements.get(i).getId());
 				s1.executeUpdate();
+				if (oldDocumentId != statements.get(i).getDocumentId()) {
+					frequencyChanges.merge(oldDocumentId, -1, Integer::sum);
+					frequencyChanges.merge(statements.get(i).getDocumentId(), 1, Integer::sum);
+				}
 				LogEvent l5 = new LogEvent(Logger.MESSAGE,
 						"[SQL]  ├─ Statement " + statements.get(i).getId() + " was recoded in the database.",
 						"Statement " + statements.get(i).getId() + " was recoded in the database with new Document ID " + statements.get(i).getDocumentId() + ", start caret position " + statements.get(i).getStart() + ", end caret position " + statements.get(i).getStop() + ", and coder ID " + statements.get(i).getCoderId() + ".");
 				Dna.logger.log(l5);
 			}
+			recordChanges(conn, CHANGE_STATEMENT, statements.stream().map(Statement::getId).collect(Collectors.toList()));
+			recordChanges(conn, CHANGE_DOCUMENT, frequencyChanges.keySet());
 			conn.commit();
+			changeDocumentFrequencies(frequencyChanges);
 			LogEvent l8 = new LogEvent(Logger.MESSAGE,
 					"[SQL]  └─ Completed SQL transaction to recode " + statements.size() + " statements.",
 					"Completed SQL transaction to recode " + statements.size() + " statements in the database. The contents have been written into the database.");
@@ -2536,7 +3323,8 @@ public class Sql {
 				PreparedStatement s2 = conn.prepareStatement("UPDATE DATAINTEGER SET Value = ? WHERE StatementId = ? AND VariableId = ?;");
 				PreparedStatement s3 = conn.prepareStatement("UPDATE DATALONGTEXT SET Value = ? WHERE StatementId = ? AND VariableId = ?;");
 				PreparedStatement s4 = conn.prepareStatement("UPDATE DATASHORTTEXT SET Entity = ? WHERE StatementId = ? AND VariableId = ?;");
-				PreparedStatement s5 = conn.prepareStatement("INSERT INTO ENTITIES (VariableId, Value, Red, Green, Blue) VALUES (?, ?, ?, ?, ?);");
+				PreparedStatement s5 = conn.prepareStatement("INSERT INTO ENTITIES (VariableId, Value, Red, Green, Blue) VALUES (?, ?, ?, ?, ?) "
+						+ (getConnectionProfile().getType().equals("mysql") ? "ON DUPLICATE KEY UPDATE ID = ID;" : "ON CONFLICT DO NOTHING;"));
 				PreparedStatement s6 = conn.prepareStatement("SELECT ID FROM ENTITIES WHERE VariableId = ? AND Value = ?;");
 				PreparedStatement s7 = conn.prepareStatement("SELECT ID, AttributeVariable FROM ATTRIBUTEVARIABLES WHERE VariableId = ?;");
 				PreparedStatement s8 = conn.prepareStatement("INSERT INTO ATTRIBUTEVALUES (EntityId, AttributeVariableId, AttributeValue) VALUES (?, ?, ?);");
@@ -2660,6 +3448,7 @@ public class Sql {
 			s10.setInt(1, coderId);
 			s10.setInt(2, statementId);
 			s10.executeUpdate();
+			recordChanges(conn, CHANGE_STATEMENT, Collections.singletonList(statementId));
 			conn.commit();
 			LogEvent e2 = new LogEvent(Logger.MESSAGE,
 					"[SQL]  └─ Completed SQL transaction to update Statement " + statementId + ".",
@@ -2672,10 +3461,34 @@ public class Sql {
 					e);
 			Dna.logger.log(e2);
 		}
+		resetEntityCache();
 	}
 
+	/**
+	 * Number of statements whose updates are sent to the database in one JDBC
+	 * batch when multiple statements are updated.
+	 */
+	public static final int STATEMENT_UPDATE_BATCH_SIZE = 1000;
+
+	/**
+	 * Number of entity values that are looked up in one query when multiple
+	 * statements are updated. It stays below the limit of 999 parameters per
+	 * query in older SQLite versions.
+	 */
+	public static final int ENTITY_LOOKUP_BATCH_SIZE = 500;
+
 	/**
 	 * Update the variable contents of multiple statements using new values.
+	 * The entities of each short text variable are looked up with one query
+	 * per {@link #ENTITY_LOOKUP_BATCH_SIZE} values. Missing entities are
+	 * inserted in one batch that skips values the unique index of the
+	 * database already contains, so the collation of the database decides
+	 * which values are equal (e.g., "Foo" and "foo " in MySQL), and their IDs
+	 * are looked up again in the same way. Only values that are stored with
+	 * a different spelling under the collation are looked up one at a time.
+	 * The attribute values of the new entities are created in a batch. The
+	 * new values and coders are written in batches of
+	 * {@link #STATEMENT_UPDATE_BATCH_SIZE} statements, all in one transaction.
 	 * 
 	 * @param statementIds  The IDs of the statements to be updated.
 	 * @param values        An ArrayList of ArrayLists of {@link model.Value
@@ -2685,141 +3498,145 @@ public class Sql {
 	 * @param coderIds      An ArrayList of new coder IDs for the statements.
 	 */
 	public void updateStatements(ArrayList<Integer> statementIds, ArrayList<ArrayList<Value>> values, ArrayList<Integer> coderIds) {
+		// distinct short text values by variable ID, in order of first occurrence
+		HashMap<Integer, LinkedHashMap<String, Entity>> shortTextValues = new HashMap<Integer, LinkedHashMap<String, Entity>>();
+		for (int i = 0; i < values.size(); i++) {
+			for (int j = 0; j < values.get(i).size(); j++) {
+				if (values.get(i).get(j).getDataType().equals("short text")) {
+					Entity entity = (Entity) values.get(i).get(j).getValue();
+					shortTextValues.computeIfAbsent(values.get(i).get(j).getVariableId(), k -> new LinkedHashMap<String, Entity>()).putIfAbsent(entity.getValue(), entity);
+				}
+			}
+		}
+
+		int numValues = 0, numEntities = 0, numAttributeValues = 0;
 		try (Connection conn = ds.getConnection();
 				PreparedStatement s1 = conn.prepareStatement("UPDATE DATABOOLEAN SET Value = ? WHERE StatementId = ? AND VariableId = ?;");
 				PreparedStatement s2 = conn.prepareStatement("UPDATE DATAINTEGER SET Value = ? WHERE StatementId = ? AND VariableId = ?;");
 				PreparedStatement s3 = conn.prepareStatement("UPDATE DATALONGTEXT SET Value = ? WHERE StatementId = ? AND VariableId = ?;");
 				PreparedStatement s4 = conn.prepareStatement("UPDATE DATASHORTTEXT SET Entity = ? WHERE StatementId = ? AND VariableId = ?;");
-				PreparedStatement s5 = conn.prepareStatement("INSERT INTO ENTITIES (VariableId, Value, Red, Green, Blue) VALUES (?, ?, ?, ?, ?);");
+				PreparedStatement s5 = conn.prepareStatement("INSERT INTO ENTITIES (VariableId, Value, Red, Green, Blue) VALUES (?, ?, ?, ?, ?) "
+						+ (getConnectionProfile().getType().equals("mysql") ? "ON DUPLICATE KEY UPDATE ID = ID;" : "ON CONFLICT DO NOTHING;"));
 				PreparedStatement s6 = conn.prepareStatement("SELECT ID FROM ENTITIES WHERE VariableId = ? AND Value = ?;");
-				PreparedStatement s7 = conn.prepareStatement("SELECT ID, AttributeVariable FROM ATTRIBUTEVARIABLES WHERE VariableId = ?;");
+				PreparedStatement s7 = conn.prepareStatement("SELECT ID FROM ATTRIBUTEVARIABLES WHERE VariableId = ?;");
 				PreparedStatement s8 = conn.prepareStatement("INSERT INTO ATTRIBUTEVALUES (EntityId, AttributeVariableId, AttributeValue) VALUES (?, ?, ?);");
-				PreparedStatement s9 = conn.prepareStatement("SELECT COUNT(ID) FROM ATTRIBUTEVALUES WHERE EntityId = ? AND AttributeVariableId = ?;");
 				PreparedStatement s10 = conn.prepareStatement("UPDATE STATEMENTS SET Coder = ? WHERE ID = ?;");
 				SQLCloseable finish = conn::rollback) {
 			conn.setAutoCommit(false);
-			LogEvent e1 = new LogEvent(Logger.MESSAGE,
-					"[SQL] Started SQL transaction to update " + statementIds.size() + " statements.",
-					"Started a new SQL transaction to update the variables in a set of " + statementIds.size() + " statements. The contents will not be written into the database until the transaction is committed.");
-			Dna.logger.log(e1);
-			Entity entity;
-			int entityId, variableId, attributeVariableId;
-			ResultSet r, r2;
-			for (int i = 0; i < values.size(); i++) {
-				for (int j = 0; j < values.get(i).size(); j++) {
-					variableId = values.get(i).get(j).getVariableId();
-					if (values.get(i).get(j).getDataType().equals("boolean")) {
-						s1.setInt(1, (int) values.get(i).get(j).getValue());
-						s1.setInt(2, statementIds.get(i));
-						s1.setInt(3, variableId);
-						s1.executeUpdate();
-						LogEvent e2 = new LogEvent(Logger.MESSAGE,
-								"[SQL]  ├─ Variable " + variableId + " in Statement " + statementIds.get(i) + " was updated in the transaction.",
-								"Variable " + variableId + " (boolean) in Statement " + statementIds.get(i) + " was updated in the SQL transaction with value: " + (int) values.get(i).get(j).getValue() + ".");
-						Dna.logger.log(e2);
-					} else if (values.get(i).get(j).getDataType().equals("integer")) {
-						s2.setInt(1, (int) values.get(i).get(j).getValue());
-						s2.setInt(2, statementIds.get(i));
-						s2.setInt(3, variableId);
-						s2.executeUpdate();
-						LogEvent e2 = new LogEvent(Logger.MESSAGE,
-								"[SQL]  ├─ Variable " + variableId + " in Statement " + statementIds.get(i) + " was updated in the transaction.",
-								"Variable " + variableId + " (integer) in Statement " + statementIds.get(i) + " was updated in the SQL transaction with value: " + (int) values.get(i).get(j).getValue() + ".");
-						Dna.logger.log(e2);
-					} else if (values.get(i).get(j).getDataType().equals("long text")) {
-						s3.setString(1, (String) values.get(i).get(j).getValue());
-						s3.setInt(2, statementIds.get(i));
-						s3.setInt(3, variableId);
-						s3.executeUpdate();
-						LogEvent e2 = new LogEvent(Logger.MESSAGE,
-								"[SQL]  ├─ Variable " + variableId + " in Statement " + statementIds.get(i) + " was updated in the transaction.",
-								"Variable " + variableId + " (long text) in Statement " + statementIds.get(i) + " was updated in the SQL transaction.");
-						Dna.logger.log(e2);
-					} else if (values.get(i).get(j).getDataType().equals("short text")) {
-						// try to recognise entity ID from database; should be more reliable (e.g., with empty Strings)
-						entity = (Entity) values.get(i).get(j).getValue();
-						entityId = -1;
-						s6.setInt(1, variableId);
-						s6.setString(2, entity.getValue());
-						r = s6.executeQuery();
-						while (r.next()) {
-							entityId = r.getInt("ID");
-						}
-						
-						if (entityId == -1) {
-							// if the attribute does not exist, insert new attribute with given String value
-							s5.setInt(1, variableId);
-							s5.setString(2, entity.getValue());
-							s5.setInt(3, entity.getColor().getRed());
-							s5.setInt(4, entity.getColor().getGreen());
-							s5.setInt(5, entity.getColor().getBlue());
-							s5.executeUpdate();
-							
-							// new attribute has been created; now we have to get its ID
-							s6.setInt(1, variableId);
-							s6.setString(2, entity.getValue());
-							r = s6.executeQuery();
-							while (r.next()) {
-								entityId = r.getInt(1);
-							}
-							LogEvent e2 = new LogEvent(Logger.MESSAGE,
-									"[SQL]  ├─ Entity with ID " + entityId + " added to the transaction.",
-									"An entity with ID " + entityId + " and value \"" + entity.getValue() + "\" was created for variable ID " + variableId + " and added to the SQL transaction.");
-							Dna.logger.log(e2);
-							
-							// since the attribute did not exist, we also need to add attributes;
-							// first get the IDs of the attribute variables, then add the attribute values
-							s7.setInt(1, variableId); // set variable ID to find all attribute variables by ID corresponding to the variable
-							r = s7.executeQuery();
-							while (r.next()) {
-								try {
-									attributeVariableId = r.getInt("ID");
-									s9.setInt(1, entityId);
-									s9.setInt(2, attributeVariableId);
-									r2 = s9.executeQuery();
-									while (r2.next()) {
-										if (r2.getInt(1) > 0) {
-											// attribute value already exists in the ATTRIBUTEVALUES table; don't do anything
-										} else {
-											s8.setInt(1, entityId); // entity ID
-											s8.setInt(2, attributeVariableId); // attribute variable ID
-											s8.setString(3, ""); // put an empty value into the attribute variable field initially
-											s8.executeUpdate();
-											LogEvent l = new LogEvent(Logger.MESSAGE,
-													"[SQL]  ├─ Transaction: Added value for attribute \"" + r.getString("AttributeVariable") + "\" for Entity " + entityId + " to the ATTRIBUTEVALUES table.",
-													"Added attribute \"" + r.getString("AttributeVariable") + "\" for Entity " + entityId + " to the ATTRIBUTEVALUES table during the transaction.");
-											Dna.logger.log(l);
-										}
-									}
-								} catch (Exception e3) {
-									LogEvent l = new LogEvent(Logger.WARNING,
-											"[SQL]  ├─ Failed to add a new value for attribute \"" + r.getString("AttributeVariable") + "\" for Entity " + entityId + " to the ATTRIBUTEVALUES table.",
-											"Failed to add a new value for attribute \"" + r.getString("AttributeVariable") + "\" for Entity " + entityId + " to the ATTRIBUTEVALUES table. The next step will check if the attribute is already there. If so, no problem. If not, there will be another log event with an error message.",
-											e3);
-									Dna.logger.log(l);
-								}
+			ResultSet r;
+
+			// resolve the entity IDs of the short text values and create the missing entities
+			HashMap<Integer, HashMap<String, Integer>> entityIds = new HashMap<Integer, HashMap<String, Integer>>();
+			for (int variableId : shortTextValues.keySet()) {
+				HashMap<String, Integer> ids = new HashMap<String, Integer>();
+				HashSet<Integer> existingIds = new HashSet<Integer>();
+				selectEntityIds(conn, variableId, shortTextValues.get(variableId).keySet(), ids, existingIds);
+
+				// insert the entities whose values are not stored with the same spelling; the insert skips values that the
+				// unique index considers equal to an existing or previously inserted value under the collation of the database
+				ArrayList<String> missing = new ArrayList<String>();
+				for (Entity entity : shortTextValues.get(variableId).values()) {
+					if (!ids.containsKey(entity.getValue())) {
+						s5.setInt(1, variableId);
+						s5.setString(2, entity.getValue());
+						s5.setInt(3, entity.getColor().getRed());
+						s5.setInt(4, entity.getColor().getGreen());
+						s5.setInt(5, entity.getColor().getBlue());
+						s5.addBatch();
+						missing.add(entity.getValue());
+					}
+				}
+				ArrayList<Integer> newIds = new ArrayList<Integer>();
+				if (missing.size() > 0) {
+					s5.executeBatch();
+					HashSet<Integer> foundIds = new HashSet<Integer>();
+					selectEntityIds(conn, variableId, missing, ids, foundIds);
+					for (String value : missing) {
+						if (!ids.containsKey(value)) { // stored with a different spelling that the collation considers equal
+							int entityId = selectEntityId(s6, variableId, value);
+							if (entityId == -1) {
+								throw new SQLException("Entity \"" + value + "\" of variable " + variableId + " could not be created.");
 							}
+							ids.put(value, entityId);
+							foundIds.add(entityId);
+						}
+					}
+					for (int entityId : foundIds) {
+						if (!existingIds.contains(entityId)) {
+							newIds.add(entityId);
+						}
+					}
+					Collections.sort(newIds);
+					numEntities = numEntities + newIds.size();
+				}
+
+				// new entities need an empty value for each attribute variable
+				if (newIds.size() > 0) {
+					ArrayList<Integer> attributeVariableIds = new ArrayList<Integer>();
+					s7.setInt(1, variableId);
+					r = s7.executeQuery();
+					while (r.next()) {
+						attributeVariableIds.add(r.getInt("ID"));
+					}
+					for (int entityId : newIds) {
+						for (int attributeVariableId : attributeVariableIds) {
+							s8.setInt(1, entityId);
+							s8.setInt(2, attributeVariableId);
+							s8.setString(3, "");
+							s8.addBatch();
+							numAttributeValues++;
 						}
+					}
+					s8.executeBatch();
+				}
+				entityIds.put(variableId, ids);
+			}
 
-						// write the attribute ID as the value in the DATASHORTTEXT table
-						s4.setInt(1, entityId);
-						s4.setInt(2, statementIds.get(i));
-						s4.setInt(3, variableId);
-						s4.executeUpdate();
-						LogEvent e2 = new LogEvent(Logger.MESSAGE,
-								"[SQL]  ├─ Variable " + variableId + " in Statement " + statementIds.get(i) + " was updated in the transaction.",
-								"Variable " + variableId + " (short text) in Statement " + statementIds.get(i) + " was updated in the SQL transaction with Entity " + entityId + ".");
-						Dna.logger.log(e2);
+			// write the values and coders in batches
+			int batch = 0;
+			for (int i = 0; i < values.size(); i++) {
+				for (int j = 0; j < values.get(i).size(); j++) {
+					Value value = values.get(i).get(j);
+					int variableId = value.getVariableId();
+					PreparedStatement s;
+					if (value.getDataType().equals("boolean")) {
+						s = s1;
+						s.setInt(1, (int) value.getValue());
+					} else if (value.getDataType().equals("integer")) {
+						s = s2;
+						s.setInt(1, (int) value.getValue());
+					} else if (value.getDataType().equals("long text")) {
+						s = s3;
+						s.setString(1, (String) value.getValue());
+					} else if (value.getDataType().equals("short text")) {
+						s = s4;
+						s.setInt(1, entityIds.get(variableId).get(((Entity) value.getValue()).getValue()));
+					} else {
+						continue;
 					}
+					s.setInt(2, statementIds.get(i));
+					s.setInt(3, variableId);
+					s.addBatch();
+					numValues++;
 				}
 				s10.setInt(1, coderIds.get(i));
 				s10.setInt(2, statementIds.get(i));
-				s10.executeUpdate();
+				s10.addBatch();
+				batch++;
+				if (batch == STATEMENT_UPDATE_BATCH_SIZE || i == values.size() - 1) {
+					s1.executeBatch();
+					s2.executeBatch();
+					s3.executeBatch();
+					s4.executeBatch();
+					s10.executeBatch();
+					batch = 0;
+				}
 			}
+			recordChanges(conn, CHANGE_STATEMENT, statementIds);
 			conn.commit();
 			LogEvent e2 = new LogEvent(Logger.MESSAGE,
-					"[SQL]  └─ Completed SQL transaction to update " + statementIds.size() + " statements.",
-					"Completed SQL transaction to update the variables in " + statementIds.size() + " statements. The contents have been written into the database.");
+					"[SQL] Updated " + statementIds.size() + " statements.",
+					"Completed SQL transaction to update " + numValues + " variable values and the coders in " + statementIds.size() + " statements, creating " + numEntities + " new entities with " + numAttributeValues + " attribute values. The contents have been written into the database.");
 			Dna.logger.log(e2);
 		} catch (SQLException e) {
 			LogEvent e2 = new LogEvent(Logger.ERROR,
@@ -2828,6 +3645,70 @@ public class Sql {
 					e);
 			Dna.logger.log(e2);
 		}
+		resetEntityCache();
+	}
+
+	/**
+	 * Look up the IDs of the entities of a variable whose values are among
+	 * the given values, in queries of {@link #ENTITY_LOOKUP_BATCH_SIZE}
+	 * values. The database compares the values with its collation, so an
+	 * entity may be found for a value that is stored with a different
+	 * spelling; such entities are only added to the found IDs, not to the
+	 * map of values.
+	 * 
+	 * @param conn       The connection.
+	 * @param variableId The variable ID of the entities.
+	 * @param values     The entity values to look up.
+	 * @param ids        A map from values to entity IDs, to which the
+	 *   entities whose stored values are spelled exactly as one of the given
+	 *   values are added.
+	 * @param foundIds   A set to which the IDs of all entities found are added.
+	 * @throws SQLException If the query fails.
+	 */
+	private static void selectEntityIds(Connection conn, int variableId, Collection<String> values, HashMap<String, Integer> ids, HashSet<Integer> foundIds) throws SQLException {
+		ArrayList<String> list = new ArrayList<String>(values);
+		HashSet<String> valueSet = new HashSet<String>(values);
+		for (int from = 0; from < list.size(); from = from + ENTITY_LOOKUP_BATCH_SIZE) {
+			int to = Math.min(list.size(), from + ENTITY_LOOKUP_BATCH_SIZE);
+			String sql = "SELECT ID, Value FROM ENTITIES WHERE VariableId = ? AND Value IN (" + String.join(", ", Collections.nCopies(to - from, "?")) + ");";
+			try (PreparedStatement s = conn.prepareStatement(sql)) {
+				s.setInt(1, variableId);
+				for (int i = from; i < to; i++) {
+					s.setString(i - from + 2, list.get(i));
+				}
+				try (ResultSet r = s.executeQuery()) {
+					while (r.next()) {
+						foundIds.add(r.getInt("ID"));
+						if (valueSet.contains(r.getString("Value"))) {
+							ids.put(r.getString("Value"), r.getInt("ID"));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Look up the ID of an entity by variable ID and value, using the
+	 * collation of the database for comparing the value.
+	 * 
+	 * @param stmt       A prepared statement that selects the entity ID by
+	 *   variable ID and value.
+	 * @param variableId The variable ID of the entity.
+	 * @param value      The value of the entity.
+	 * @return The entity ID, or {@code -1} if the entity does not exist.
+	 * @throws SQLException If the query fails.
+	 */
+	private static int selectEntityId(PreparedStatement stmt, int variableId, String value) throws SQLException {
+		int entityId = -1;
+		stmt.setInt(1, variableId);
+		stmt.setString(2, value);
+		try (ResultSet r = stmt.executeQuery()) {
+			while (r.next()) {
+				entityId = r.getInt("ID");
+			}
+		}
+		return entityId;
 	}
 	
 	/**
@@ -2850,6 +3731,7 @@ public class Sql {
 				PreparedStatement s8 = conn.prepareStatement("INSERT INTO DATASHORTTEXT (StatementId, VariableId, Entity) VALUES (?, ?, ?);");
 				PreparedStatement s9 = conn.prepareStatement("SELECT VariableId, Value FROM DATALONGTEXT WHERE StatementId = ?;");
 				PreparedStatement s10 = conn.prepareStatement("INSERT INTO DATALONGTEXT (StatementId, VariableId, Value) VALUES (?, ?, ?);");
+				PreparedStatement s11 = conn.prepareStatement("SELECT DocumentId FROM STATEMENTS WHERE ID = ?;");
 				SQLCloseable finish = conn::rollback) {
 			ResultSet r;
 			conn.setAutoCommit(false);
@@ -2861,6 +3743,9 @@ public class Sql {
 			while (generatedKeysResultSet.next()) {
 				id = generatedKeysResultSet.getInt(1);
 			}
+			s11.setInt(1, statementId);
+			r = s11.executeQuery();
+			int documentId = r.next() ? r.getInt("DocumentId") : -1;
 			
 			// set new coder
 			s2.setInt(1, newCoderId);
@@ -2907,7 +3792,12 @@ public class Sql {
 				s10.executeUpdate();
 			}
 			
+			recordChanges(conn, CHANGE_STATEMENT, Collections.singletonList(id));
+			recordChanges(conn, CHANGE_DOCUMENT, Collections.singletonList(documentId));
 			conn.commit();
+			if (documentId > -1) {
+				changeDocumentFrequency(documentId, 1);
+			}
 			LogEvent e = new LogEvent(Logger.MESSAGE,
 					"[SQL] Cloned Statement " + statementId + " --> " + id + ".",
 					"Cloned Statement " + statementId + ". The new statement ID of the copy is " + id + " (new Coder ID: " + newCoderId + ") and successfully saved to the database.");
@@ -2919,6 +3809,7 @@ public class Sql {
 					e1);
 			Dna.logger.log(e);
 		}
+		resetEntityCache();
 		return id;
 	}
 
@@ -3060,6 +3951,12 @@ public class Sql {
 		return statement;
 	}
 
+	/**
+	 * Default number of rows fetched from the database at a time when
+	 * statements are read using a {@link StatementCursor}.
+	 */
+	public static final int STATEMENT_FETCH_SIZE = 1000;
+
 	/**
 	 * Get statements, potentially filtered by statement IDs, statement type
 	 * IDs, document meta-data, date/time range, and duplicates setting.
@@ -3098,270 +3995,172 @@ public class Sql {
 			boolean sectionInclude,
 			ArrayList<String> types,
 			boolean typeInclude) {
-		String whereStatements = "";
-		String whereShortText = "";
-		String whereLongText = "";
-		String whereBoolean = "";
-		String whereInteger = "";
-		if (statementIds != null && statementIds.length > 0) {
-			String ids = "";
-			for (int i = 0; i < statementIds.length; i++) {
-				ids = ids + statementIds[i];
-				if (i < statementIds.length - 1) {
-					ids = ids + ", ";
-				}
+		ArrayList<Statement> listOfStatements = null;
+		try (StatementCursor cursor = this.getStatementCursor(statementIds, statementTypeId, startDateTime,
+				stopDateTime, authors, authorInclude, sources, sourceInclude, sections, sectionInclude, types,
+				typeInclude, true, STATEMENT_FETCH_SIZE)) {
+			listOfStatements = new ArrayList<Statement>();
+			Statement statement;
+			while ((statement = cursor.next()) != null) {
+				listOfStatements.add(statement);
 			}
-			whereStatements = "WHERE STATEMENTS.ID IN (" + ids + ") ";
-			whereShortText = "AND DATASHORTTEXT.StatementId IN (" + ids + ") ";
-			whereLongText = "AND DATALONGTEXT.StatementId IN (" + ids + ") ";
-			whereBoolean = "AND DATABOOLEAN.StatementId IN (" + ids + ") ";
-			whereInteger = "AND DATAINTEGER.StatementId IN (" + ids + ") ";
+		} catch (SQLException e) {
+			LogEvent l = new LogEvent(Logger.WARNING,
+					"[SQL] Failed to retrieve statements.",
+					"Attempted to retrieve a set of " + statementIds.length + " statements from the database, but something went wrong.",
+					e);
+			Dna.logger.log(l);
+			listOfStatements = null;
+		}
+		return listOfStatements;
+	}
+
+	/**
+	 * Open a cursor for reading statements one by one, potentially filtered by
+	 * statement IDs, document meta-data, and date/time range. The statements
+	 * are returned in their natural sort order (by date, document, and
+	 * position in the document), and their values are merged in a single pass
+	 * over sorted result sets, so the statements do not need to be held in
+	 * memory at the same time. The cursor must be closed after use.
+	 * 
+	 * @param statementIds Array of statement IDs to retrieve. Can be empty or
+	 *   {@code null}, in which case all statements are selected.
+	 * @param statementTypeId The statement type ID of the statements.
+	 * @param startDateTime Date/time before which statements are discarded.
+	 * @param stopDateTime Date/time after which statements are discarded.
+	 * @param authors Array list of document authors to exclude. Can be empty or
+	 *   {@code null}, in which case all statements are selected.
+	 * @param authorInclude Include authors instead of excluding them?
+	 * @param sources Array list of document sources to exclude. Can be empty or
+	 *   {@code null}, in which case all statements are selected.
+	 * @param sourceInclude Include sources instead of excluding them?
+	 * @param sections Array list of document sections to exclude. Can be empty
+	 *   or {@code null}, in which case all statements are selected.
+	 * @param sectionInclude Include sections instead of excluding them?
+	 * @param types Array list of document types to exclude. Can be empty or
+	 *   {@code null}, in which case all statements are selected.
+	 * @param typeInclude Include types instead of excluding them?
+	 * @param includeText Retrieve the text of the statements from the
+	 *   documents? If {@code false}, the text of the statements is
+	 *   {@code null}, which saves memory and database traffic.
+	 * @param fetchSize The number of rows fetched from the database at a time,
+	 *   for example {@link #STATEMENT_FETCH_SIZE}.
+	 * @return A {@link StatementCursor} over the statements.
+	 * @throws SQLException If the queries cannot be executed.
+	 */
+	public StatementCursor getStatementCursor(
+			int[] statementIds,
+			int statementTypeId,
+			LocalDateTime startDateTime,
+			LocalDateTime stopDateTime,
+			ArrayList<String> authors,
+			boolean authorInclude,
+			ArrayList<String> sources,
+			boolean sourceInclude,
+			ArrayList<String> sections,
+			boolean sectionInclude,
+			ArrayList<String> types,
+			boolean typeInclude,
+			boolean includeText,
+			int fetchSize) throws SQLException {
+		String where = ""; // conditions on the STATEMENTS and DOCUMENTS tables, which are joined in all queries
+		if (statementIds != null && statementIds.length > 0) {
+			where = where + "AND STATEMENTS.ID IN (" + Arrays.stream(statementIds)
+					.mapToObj(String::valueOf)
+					.collect(Collectors.joining(", ")) + ") ";
 		}
 		if (startDateTime != null) {
-			whereStatements = whereStatements + "AND Date >= " + startDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereShortText = whereShortText + "AND Date >= " + startDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereLongText = whereLongText + "AND Date >= " + startDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereBoolean = whereBoolean + "AND Date >= " + startDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereInteger = whereInteger + "AND Date >= " + startDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
+			where = where + "AND DOCUMENTS.Date >= " + startDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
 		}
 		if (stopDateTime != null) {
-			whereStatements = whereStatements + "AND Date <= " + stopDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereShortText = whereShortText + "AND Date <= " + stopDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereLongText = whereLongText + "AND Date <= " + stopDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereBoolean = whereBoolean + "AND Date <= " + stopDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-			whereInteger = whereInteger + "AND Date <= " + stopDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
-		}
-		if (authors != null && authors.size() > 0) {
-			String authorNot = "";
-			if (!authorInclude) {
-				authorNot = "NOT ";
-			}
-			String authorWhere = "AND DOCUMENTS.Author "
-					+ authorNot
-					+ "IN ('"
-					+ authors.stream().collect(Collectors.joining("', '"))
-					+ "') ";
-			whereStatements = whereStatements + authorWhere;
-			whereShortText = whereShortText + authorWhere;
-			whereLongText = whereLongText + authorWhere;
-			whereBoolean = whereBoolean + authorWhere;
-			whereInteger = whereInteger + authorWhere;
+			where = where + "AND DOCUMENTS.Date <= " + stopDateTime.toEpochSecond(ZoneOffset.UTC) + " ";
 		}
-		if (sources != null && sources.size() > 0) {
-			String sourceNot = "";
-			if (!sourceInclude) {
-				sourceNot = "NOT ";
-			}
-			String sourceWhere = "AND DOCUMENTS.Source "
-					+ sourceNot
-					+ "IN ('"
-					+ sources.stream().collect(Collectors.joining("', '"))
-					+ "') ";
-			whereStatements = whereStatements + sourceWhere;
-			whereShortText = whereShortText + sourceWhere;
-			whereLongText = whereLongText + sourceWhere;
-			whereBoolean = whereBoolean + sourceWhere;
-			whereInteger = whereInteger + sourceWhere;
-		}
-		if (sections != null && sections.size() > 0) {
-			String sectionNot = "";
-			if (!sectionInclude) {
-				sectionNot = "NOT ";
-			}
-			String sectionWhere = "AND DOCUMENTS.Section "
-					+ sectionNot
-					+ "IN ('"
-					+ sections.stream().collect(Collectors.joining("', '"))
-					+ "') ";
-			whereStatements = whereStatements + sectionWhere;
-			whereShortText = whereShortText + sectionWhere;
-			whereLongText = whereLongText + sectionWhere;
-			whereBoolean = whereBoolean + sectionWhere;
-			whereInteger = whereInteger + sectionWhere;
-		}
-		if (types != null && types.size() > 0) {
-			String typeNot = "";
-			if (!typeInclude) {
-				typeNot = "NOT ";
+		where = where + documentFilter("Author", authors, authorInclude);
+		where = where + documentFilter("Source", sources, sourceInclude);
+		where = where + documentFilter("Section", sections, sectionInclude);
+		where = where + documentFilter("Type", types, typeInclude);
+
+		// all queries are sorted in the natural order of statements, so the values can be merged in a single pass
+		String order = "ORDER BY DOCUMENTS.Date ASC, STATEMENTS.DocumentId ASC, STATEMENTS.Start ASC, STATEMENTS.Stop ASC, STATEMENTS.ID ASC";
+		String key = "STATEMENTS.ID AS StatementId, DOCUMENTS.Date AS Date, STATEMENTS.DocumentId AS DocumentId, STATEMENTS.Start AS Start, STATEMENTS.Stop AS Stop";
+
+		String subString = "";
+		if (includeText) {
+			subString = ", SUBSTRING(DOCUMENTS.Text, STATEMENTS.Start + 1, STATEMENTS.Stop - STATEMENTS.Start) AS Text ";
+			if (this.getConnectionProfile().getType().equals("postgresql")) {
+				subString = ", SUBSTRING(DOCUMENTS.Text, CAST(STATEMENTS.Start + 1 AS INT4), CAST(STATEMENTS.Stop - STATEMENTS.Start AS INT4)) AS Text ";
 			}
-			String typeWhere = "AND DOCUMENTS.Type "
-					+ typeNot
-					+ "IN ('"
-					+ types.stream().collect(Collectors.joining("', '"))
-					+ "') ";
-			whereStatements = whereStatements + typeWhere;
-			whereShortText = whereShortText + typeWhere;
-			whereLongText = whereLongText + typeWhere;
-			whereBoolean = whereBoolean + typeWhere;
-			whereInteger = whereInteger + typeWhere;
-		}
-		if (whereStatements.startsWith("AND")) { // ensure correct form if no statement ID filtering
-			whereStatements = whereStatements.replaceFirst("AND", "WHERE");
 		}
-		
-		String subString = "SUBSTRING(DOCUMENTS.Text, Start + 1, Stop - Start) AS Text ";
-		if (Dna.sql.getConnectionProfile().getType().equals("postgresql")) {
-			subString = "SUBSTRING(DOCUMENTS.Text, CAST(Start + 1 AS INT4), CAST(Stop - Start AS INT4)) AS Text ";
-		}
-		String q1 = "SELECT STATEMENTS.ID AS StatementId, "
+		String q1 = "SELECT " + key + ", "
 				+ "StatementTypeId, "
 				+ "STATEMENTTYPES.Label AS StatementTypeLabel, "
 				+ "STATEMENTTYPES.Red AS StatementTypeRed, "
 				+ "STATEMENTTYPES.Green AS StatementTypeGreen, "
 				+ "STATEMENTTYPES.Blue AS StatementTypeBlue, "
-				+ "Start, "
-				+ "Stop, "
 				+ "STATEMENTS.Coder AS CoderId, "
 				+ "CODERS.Name AS CoderName, "
 				+ "CODERS.Red AS CoderRed, "
 				+ "CODERS.Green AS CoderGreen, "
-				+ "CODERS.Blue AS CoderBlue, "
-				+ "DocumentId, "
-				+ "DOCUMENTS.Date AS Date, "
-				+ subString
+				+ "CODERS.Blue AS CoderBlue"
+				+ subString + " "
 				+ "FROM STATEMENTS "
 				+ "INNER JOIN CODERS ON STATEMENTS.Coder = CODERS.ID "
 				+ "INNER JOIN STATEMENTTYPES ON STATEMENTS.StatementTypeId = STATEMENTTYPES.ID "
 				+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
-				+ whereStatements
-				+ "AND STATEMENTTYPES.ID = " + statementTypeId + " "
-				+ "ORDER BY DOCUMENTS.DATE ASC;";
+				+ "WHERE STATEMENTTYPES.ID = " + statementTypeId + " " + where + order + ";";
 
 		String q3 = "SELECT ID, Variable, DataType FROM VARIABLES WHERE StatementTypeId = " + statementTypeId + ";";
-		
-		String q4a = "SELECT DATASHORTTEXT.StatementId, VARIABLES.ID AS VariableId, ENTITIES.ID AS EntityId, ENTITIES.Value AS Value, ENTITIES.Red AS Red, ENTITIES.Green AS Green, ENTITIES.Blue AS Blue, ENTITIES.ChildOf AS ChildOf FROM DATASHORTTEXT "
+
+		String q4a = "SELECT " + key + ", VARIABLES.ID AS VariableId, ENTITIES.ID AS EntityId, ENTITIES.Value AS Value, ENTITIES.Red AS Red, ENTITIES.Green AS Green, ENTITIES.Blue AS Blue, ENTITIES.ChildOf AS ChildOf FROM DATASHORTTEXT "
 				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATASHORTTEXT.VariableId "
 				+ "INNER JOIN ENTITIES ON ENTITIES.VariableId = VARIABLES.ID AND ENTITIES.ID = DATASHORTTEXT.Entity "
 				+ "INNER JOIN STATEMENTS ON STATEMENTS.ID = DATASHORTTEXT.StatementId "
 				+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
-				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + whereShortText + "ORDER BY 1, 2 ASC;";
-		String q4b = "SELECT DATALONGTEXT.StatementId, VARIABLES.ID AS VariableId, DATALONGTEXT.Value FROM DATALONGTEXT "
+				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + where + order + ", VARIABLES.ID ASC;";
+		String q4b = "SELECT " + key + ", VARIABLES.ID AS VariableId, DATALONGTEXT.Value FROM DATALONGTEXT "
 				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATALONGTEXT.VariableId "
 				+ "INNER JOIN STATEMENTS ON STATEMENTS.ID = DATALONGTEXT.StatementId "
 				+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
-				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + whereLongText + "ORDER BY 1, 2 ASC;";
-		String q4c = "SELECT DATABOOLEAN.StatementId, VARIABLES.ID AS VariableId, DATABOOLEAN.Value FROM DATABOOLEAN "
+				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + where + order + ", VARIABLES.ID ASC;";
+		String q4c = "SELECT " + key + ", VARIABLES.ID AS VariableId, DATABOOLEAN.Value FROM DATABOOLEAN "
 				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATABOOLEAN.VariableId "
 				+ "INNER JOIN STATEMENTS ON STATEMENTS.ID = DATABOOLEAN.StatementId "
 				+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
-				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + whereBoolean + "ORDER BY 1, 2 ASC;";
-		String q4d = "SELECT DATAINTEGER.StatementId, VARIABLES.ID AS VariableId, DATAINTEGER.Value FROM DATAINTEGER "
+				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + where + order + ", VARIABLES.ID ASC;";
+		String q4d = "SELECT " + key + ", VARIABLES.ID AS VariableId, DATAINTEGER.Value FROM DATAINTEGER "
 				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATAINTEGER.VariableId "
 				+ "INNER JOIN STATEMENTS ON STATEMENTS.ID = DATAINTEGER.StatementId "
 				+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
-				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + whereInteger + "ORDER BY 1, 2 ASC;";
+				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + " " + where + order + ", VARIABLES.ID ASC;";
 
 		String q5 = "SELECT ATTRIBUTEVALUES.EntityId, AttributeVariable, AttributeValue FROM ATTRIBUTEVALUES "
 				+ "INNER JOIN ATTRIBUTEVARIABLES ON ATTRIBUTEVARIABLES.ID = AttributeVariableId "
 				+ "INNER JOIN VARIABLES ON VARIABLES.ID = ATTRIBUTEVARIABLES.VariableId "
 				+ "WHERE VARIABLES.StatementTypeId = " + statementTypeId + ";";
-		
-		ArrayList<Statement> listOfStatements = null;
-		int statementId, variableId, entityId;
-		Color sColor, cColor;
-		HashMap<Integer, String> variableNameMap = new HashMap<Integer, String>(); // variable ID to variable name
-		HashMap<Integer, String> variableDataTypeMap = new HashMap<Integer, String>(); // variable ID to data type
-		HashMap<Integer, Statement> statementMap = new HashMap<Integer, Statement>(); // statement ID to Statement
-		ResultSet r3, r4, r5;
-		try (Connection conn = Dna.sql.getDataSource().getConnection();
-				PreparedStatement s1 = conn.prepareStatement(q1);
-				PreparedStatement s3 = conn.prepareStatement(q3);
-				PreparedStatement s4a = conn.prepareStatement(q4a);
-				PreparedStatement s4b = conn.prepareStatement(q4b);
-				PreparedStatement s4c = conn.prepareStatement(q4c);
-				PreparedStatement s4d = conn.prepareStatement(q4d);
-				PreparedStatement s5 = conn.prepareStatement(q5);) {
-			
-			// assemble statements without values for now and save them in a hash map
-			ResultSet r1 = s1.executeQuery();
-			while (r1.next()) {
-				statementId = r1.getInt("StatementId");
-			    statementTypeId = r1.getInt("StatementTypeId");
-			    sColor = new Color(r1.getInt("StatementTypeRed"), r1.getInt("StatementTypeGreen"), r1.getInt("StatementTypeBlue"));
-			    cColor = new Color(r1.getInt("CoderRed"), r1.getInt("CoderGreen"), r1.getInt("CoderBlue"));
-			    Statement statement = new Statement(statementId,
-			    		r1.getInt("Start"),
-			    		r1.getInt("Stop"),
-			    		statementTypeId,
-			    		r1.getString("StatementTypeLabel"),
-			    		sColor,
-			    		r1.getInt("CoderId"),
-			    		r1.getString("CoderName"),
-			    		cColor,
-			    		new ArrayList<Value>(),
-			    		r1.getInt("DocumentId"),
-			    		r1.getString("Text"),
-			    		LocalDateTime.ofEpochSecond(r1.getLong("Date"), 0, ZoneOffset.UTC));
-			    statementMap.put(statementId, statement);
-			}
-			
-			// get variables
-			r3 = s3.executeQuery();
-			while (r3.next()) {
-				variableNameMap.put(r3.getInt("ID"), r3.getString("Variable"));
-				variableDataTypeMap.put(r3.getInt("ID"), r3.getString("DataType"));
-			}
 
-			// attributes
-			r5 = s5.executeQuery();
-			HashMap<Integer, HashMap<String, String>> attributeMap = new HashMap<Integer, HashMap<String, String>>();
-			String attributeKey;
-			String attributeValue;
-			while (r5.next()) {
-				entityId = r5.getInt("EntityId");
-				attributeKey = r5.getString("AttributeVariable");
-				attributeValue = r5.getString("AttributeValue");
-				if (!attributeMap.containsKey(entityId)) {
-					attributeMap.put(entityId, new HashMap<String, String>());
-				}
-				attributeMap.get(entityId).put(attributeKey, attributeValue);
-			}
-			
-			// get values and put them into the statements
-			r4 = s4a.executeQuery();
-			while (r4.next()) {
-				variableId = r4.getInt("VariableId");
-				entityId = r4.getInt("EntityId");
-				Entity e = new Entity(entityId,
-						variableId,
-						r4.getString("Value"),
-						new Color(r4.getInt("Red"), r4.getInt("Green"), r4.getInt("Blue")),
-						r4.getInt("ChildOf"),
-						true,
-						attributeMap.get(entityId));
-				statementMap.get(r4.getInt("StatementId")).getValues().add(new Value(variableId, variableNameMap.get(variableId), variableDataTypeMap.get(variableId), e));
-			}
-			r4 = s4b.executeQuery();
-			while (r4.next()) {
-				variableId = r4.getInt("VariableId");
-				String value = r4.getString("Value");
-				statementMap.get(r4.getInt("StatementId")).getValues().add(new Value(variableId, variableNameMap.get(variableId), variableDataTypeMap.get(variableId), value));
-			}
-			r4 = s4c.executeQuery();
-			while (r4.next()) {
-				variableId = r4.getInt("VariableId");
-				int value = r4.getInt("Value");
-				statementMap.get(r4.getInt("StatementId")).getValues().add(new Value(variableId, variableNameMap.get(variableId), variableDataTypeMap.get(variableId), value));
-			}
-			r4 = s4d.executeQuery();
-			while (r4.next()) {
-				variableId = r4.getInt("VariableId");
-				int value = r4.getInt("Value");
-				statementMap.get(r4.getInt("StatementId")).getValues().add(new Value(variableId, variableNameMap.get(variableId), variableDataTypeMap.get(variableId), value));
-			}
-			
-			// assemble and sort all statements
-			Collection<Statement> s = statementMap.values();
-	        listOfStatements = new ArrayList<Statement>(s);
-			Collections.sort(listOfStatements);
-		} catch (SQLException e) {
-			LogEvent l = new LogEvent(Logger.WARNING,
-					"[SQL] Failed to retrieve statements.",
-					"Attempted to retrieve a set of " + statementIds.length + " statements from the database, but something went wrong.",
-					e);
-			Dna.logger.log(l);
+		return new StatementCursor(this.getDataSource(), this.getConnectionProfile().getType(), q1,
+				new String[] { q4a, q4b, q4c, q4d }, q3, q5, includeText, fetchSize);
+	}
+
+	/**
+	 * Create an SQL condition for including or excluding documents based on
+	 * the values of a document meta-data field.
+	 * 
+	 * @param field The field in the DOCUMENTS table, e.g., {@code "Author"}.
+	 * @param values The values to include or exclude. Can be empty or
+	 *   {@code null}, in which case no condition is created.
+	 * @param include Include the values instead of excluding them?
+	 * @return The condition, starting with {@code "AND "}, or an empty string.
+	 */
+	private static String documentFilter(String field, ArrayList<String> values, boolean include) {
+		if (values == null || values.size() == 0) {
+			return "";
 		}
-		return listOfStatements;
+		return "AND DOCUMENTS." + field + " "
+				+ (include ? "" : "NOT ")
+				+ "IN ('"
+				+ values.stream().collect(Collectors.joining("', '"))
+				+ "') ";
 	}
 	
 	/**
@@ -3417,6 +4216,253 @@ public class Sql {
 		return statements;
 	}
 
+	/**
+	 * Read the sort keys of statements for the statement table, i.e., the
+	 * statement ID, document, position, coder, statement type, and date, in
+	 * the natural sort order of statements. The text, coder names, statement
+	 * type labels, and values are not retrieved; the statement table loads
+	 * them later for the rows that are actually displayed, using
+	 * {@link #getTableStatements(int[])}. The statements are passed on one by
+	 * one while the result set is streamed from the database, so they do not
+	 * need to be held in memory at the same time.
+	 * 
+	 * @param statementIds  The IDs of the statements to read. Can be empty or
+	 *   {@code null}, in which case all statements are read.
+	 * @param consumer      A consumer for the statements, for example a swing
+	 *   worker that publishes them.
+	 * @throws SQLException If the statements cannot be retrieved, for example
+	 *   because the worker thread was interrupted while waiting for a
+	 *   connection.
+	 */
+	public void getTableStatementKeys(int[] statementIds, Consumer<Statement> consumer) throws SQLException {
+		String where = "";
+		if (statementIds != null && statementIds.length > 0) {
+			where = "WHERE STATEMENTS.ID IN (" + Arrays.stream(statementIds)
+					.mapToObj(String::valueOf)
+					.collect(Collectors.joining(", ")) + ") ";
+		}
+		String query = "SELECT STATEMENTS.ID AS StatementId, StatementTypeId, Start, Stop, STATEMENTS.Coder AS CoderId, DocumentId, DOCUMENTS.Date AS Date "
+				+ "FROM STATEMENTS INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
+				+ where
+				+ "ORDER BY DOCUMENTS.Date ASC, STATEMENTS.DocumentId ASC, STATEMENTS.Start ASC, STATEMENTS.Stop ASC, STATEMENTS.ID ASC;";
+		boolean mysql = getConnectionProfile().getType().equals("mysql");
+		boolean postgresql = getConnectionProfile().getType().equals("postgresql");
+		try (Connection conn = ds.getConnection()) {
+			if (postgresql) {
+				conn.setAutoCommit(false); // PostgreSQL only uses a server-side cursor outside of auto-commit mode
+			}
+			try (PreparedStatement s = conn.prepareStatement(query)) {
+				s.setFetchSize(mysql ? Integer.MIN_VALUE : STATEMENT_FETCH_SIZE); // MySQL streams row by row only with this value
+				ResultSet r = s.executeQuery();
+				while (r.next()) {
+					consumer.accept(new Statement(r.getInt("StatementId"),
+							r.getInt("Start"),
+							r.getInt("Stop"),
+							r.getInt("StatementTypeId"),
+							null,
+							null,
+							r.getInt("CoderId"),
+							null,
+							null,
+							new ArrayList<Value>(),
+							r.getInt("DocumentId"),
+							null,
+							LocalDateTime.ofEpochSecond(r.getLong("Date"), 0, ZoneOffset.UTC)));
+				}
+			} finally {
+				if (postgresql) {
+					conn.setAutoCommit(true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get statements with their text, coder, statement type, and values for
+	 * displaying them in the statement table. The values are stored as strings
+	 * because they are only shown, not edited, in the table.
+	 * 
+	 * @param statementIds  The IDs of the statements.
+	 * @return              The statements that exist in the database, in no
+	 *   particular order.
+	 * @throws SQLException If the statements cannot be retrieved.
+	 */
+	public ArrayList<Statement> getTableStatements(int[] statementIds) throws SQLException {
+		ArrayList<Statement> statements = new ArrayList<Statement>(statementIds.length);
+		if (statementIds.length == 0) {
+			return statements;
+		}
+		String ids = Arrays.stream(statementIds)
+				.mapToObj(String::valueOf)
+				.collect(Collectors.joining(", "));
+		String subString = "SUBSTRING(DOCUMENTS.Text, Start + 1, Stop - Start) AS Text ";
+		String castBoolean = "DATABOOLEAN.Value";
+		String castInteger = "DATAINTEGER.Value";
+		if (getConnectionProfile().getType().equals("postgresql")) {
+			subString = "SUBSTRING(DOCUMENTS.Text, CAST(Start + 1 AS INT4), CAST(Stop - Start AS INT4)) AS Text ";
+			castBoolean = "CAST(DATABOOLEAN.Value AS TEXT)";
+			castInteger = "CAST(DATAINTEGER.Value AS TEXT)";
+		}
+		String q1 = "SELECT STATEMENTS.ID AS StatementId, "
+				+ "StatementTypeId, "
+				+ "STATEMENTTYPES.Label AS StatementTypeLabel, "
+				+ "STATEMENTTYPES.Red AS StatementTypeRed, "
+				+ "STATEMENTTYPES.Green AS StatementTypeGreen, "
+				+ "STATEMENTTYPES.Blue AS StatementTypeBlue, "
+				+ "Start, "
+				+ "Stop, "
+				+ "STATEMENTS.Coder AS CoderId, "
+				+ "CODERS.Name AS CoderName, "
+				+ "CODERS.Red AS CoderRed, "
+				+ "CODERS.Green AS CoderGreen, "
+				+ "CODERS.Blue AS CoderBlue, "
+				+ "DocumentId, "
+				+ "DOCUMENTS.Date AS Date, "
+				+ subString
+				+ "FROM STATEMENTS "
+				+ "INNER JOIN CODERS ON STATEMENTS.Coder = CODERS.ID "
+				+ "INNER JOIN STATEMENTTYPES ON STATEMENTS.StatementTypeId = STATEMENTTYPES.ID "
+				+ "INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId "
+				+ "WHERE STATEMENTS.ID IN (" + ids + ");";
+		String q2 = "SELECT DATASHORTTEXT.StatementId, VARIABLES.ID AS VariableId, VARIABLES.Variable, VARIABLES.DataType, ENTITIES.Value AS Value FROM DATASHORTTEXT "
+				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATASHORTTEXT.VariableId "
+				+ "INNER JOIN ENTITIES ON ENTITIES.VariableId = VARIABLES.ID AND ENTITIES.ID = DATASHORTTEXT.Entity WHERE DATASHORTTEXT.StatementId IN (" + ids + ") "
+				+ "UNION "
+				+ "SELECT DATALONGTEXT.StatementId, VARIABLES.ID AS VariableId, VARIABLES.Variable, VARIABLES.DataType, DATALONGTEXT.Value FROM DATALONGTEXT "
+				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATALONGTEXT.VariableId WHERE DATALONGTEXT.StatementId IN (" + ids + ") "
+				+ "UNION "
+				+ "SELECT DATABOOLEAN.StatementId, VARIABLES.ID AS VariableId, VARIABLES.Variable, VARIABLES.DataType, " + castBoolean + " FROM DATABOOLEAN "
+				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATABOOLEAN.VariableId WHERE DATABOOLEAN.StatementId IN (" + ids + ") "
+				+ "UNION "
+				+ "SELECT DATAINTEGER.StatementId, VARIABLES.ID AS VariableId, VARIABLES.Variable, VARIABLES.DataType, " + castInteger + " FROM DATAINTEGER "
+				+ "INNER JOIN VARIABLES ON VARIABLES.ID = DATAINTEGER.VariableId WHERE DATAINTEGER.StatementId IN (" + ids + ") "
+				+ "ORDER BY 1, 2 ASC;";
+		HashMap<Integer, Statement> statementMap = new HashMap<Integer, Statement>();
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s1 = conn.prepareStatement(q1);
+				PreparedStatement s2 = conn.prepareStatement(q2)) {
+			ResultSet r1 = s1.executeQuery();
+			while (r1.next()) {
+				Statement statement = new Statement(r1.getInt("StatementId"),
+						r1.getInt("Start"),
+						r1.getInt("Stop"),
+						r1.getInt("StatementTypeId"),
+						r1.getString("StatementTypeLabel"),
+						new Color(r1.getInt("StatementTypeRed"), r1.getInt("StatementTypeGreen"), r1.getInt("StatementTypeBlue")),
+						r1.getInt("CoderId"),
+						r1.getString("CoderName"),
+						new Color(r1.getInt("CoderRed"), r1.getInt("CoderGreen"), r1.getInt("CoderBlue")),
+						new ArrayList<Value>(),
+						r1.getInt("DocumentId"),
+						r1.getString("Text"),
+						LocalDateTime.ofEpochSecond(r1.getLong("Date"), 0, ZoneOffset.UTC));
+				statementMap.put(statement.getId(), statement);
+				statements.add(statement);
+			}
+			ResultSet r2 = s2.executeQuery();
+			while (r2.next()) {
+				Statement statement = statementMap.get(r2.getInt("StatementId"));
+				if (statement != null) {
+					statement.getValues().add(new Value(r2.getInt("VariableId"), r2.getString("Variable"), r2.getString("DataType"), r2.getString("Value")));
+				}
+			}
+		}
+		return statements;
+	}
+
+	/**
+	 * Get the IDs of all statements, sorted by the text of the statements, for
+	 * sorting the statement table by text without loading the text of all
+	 * statements into memory. The collation of the database is used, so the
+	 * order of upper and lower case letters and special characters may differ
+	 * between database types.
+	 * 
+	 * @return The statement IDs, sorted by statement text and then by ID.
+	 * @throws SQLException If the statements cannot be retrieved.
+	 */
+	public int[] getStatementIdsByText() throws SQLException {
+		String subString = "SUBSTRING(DOCUMENTS.Text, STATEMENTS.Start + 1, STATEMENTS.Stop - STATEMENTS.Start)";
+		if (getConnectionProfile().getType().equals("postgresql")) {
+			subString = "SUBSTRING(DOCUMENTS.Text, CAST(STATEMENTS.Start + 1 AS INT4), CAST(STATEMENTS.Stop - STATEMENTS.Start AS INT4))";
+		}
+		IntStream.Builder ids = IntStream.builder();
+		try (Connection conn = ds.getConnection();
+				PreparedStatement s = conn.prepareStatement("SELECT STATEMENTS.ID FROM STATEMENTS INNER JOIN DOCUMENTS ON DOCUMENTS.ID = STATEMENTS.DocumentId ORDER BY " + subString + " ASC, STATEMENTS.ID ASC;")) {
+			ResultSet r = s.executeQuery();
+			while (r.next()) {
+				ids.add(r.getInt(1));
+			}
+		}
+		return ids.build().toArray();
+	}
+
+	/**
+	 * Get the IDs of the statements in which a variable has a value that
+	 * matches a regular expression, for filtering the statement table. Only
+	 * the value column of the variable is read from the database. For short
+	 * text variables, the regular expression is applied once to each entity
+	 * rather than once to each statement. The regular expression is evaluated
+	 * in Java rather than in the database because SQLite does not support
+	 * regular expressions and the syntax differs between MySQL and
+	 * PostgreSQL.
+	 * 
+	 * @param variableId  The ID of the variable.
+	 * @param dataType    The data type of the variable, for example
+	 *   {@code "short text"}.
+	 * @param pattern     The regular expression. A match anywhere in the value
+	 *   is sufficient, as in {@link java.util.regex.Matcher#find()}.
+	 * @return            The IDs of the matching statements in ascending
+	 *   order.
+	 * @throws SQLException If the values cannot be retrieved.
+	 */
+	public int[] getStatementIdsByValue(int variableId, String dataType, Pattern pattern) throws SQLException {
+		IntStream.Builder ids = IntStream.builder();
+		try (Connection conn = ds.getConnection()) {
+			if (dataType.equals("short text")) {
+				HashSet<Integer> entityIds = new HashSet<Integer>();
+				try (PreparedStatement s = conn.prepareStatement("SELECT ID, Value FROM ENTITIES WHERE VariableId = ?;")) {
+					s.setInt(1, variableId);
+					ResultSet r = s.executeQuery();
+					while (r.next()) {
+						String value = r.getString("Value");
+						if (value != null && pattern.matcher(value).find()) {
+							entityIds.add(r.getInt("ID"));
+						}
+					}
+				}
+				if (entityIds.size() > 0) {
+					try (PreparedStatement s = conn.prepareStatement("SELECT StatementId, Entity FROM DATASHORTTEXT WHERE VariableId = ?;")) {
+						s.setInt(1, variableId);
+						ResultSet r = s.executeQuery();
+						while (r.next()) {
+							if (entityIds.contains(r.getInt("Entity"))) {
+								ids.add(r.getInt("StatementId"));
+							}
+						}
+					}
+				}
+			} else {
+				String table = "DATALONGTEXT";
+				if (dataType.equals("integer")) {
+					table = "DATAINTEGER";
+				} else if (dataType.equals("boolean")) {
+					table = "DATABOOLEAN";
+				}
+				try (PreparedStatement s = conn.prepareStatement("SELECT StatementId, Value FROM " + table + " WHERE VariableId = ?;")) {
+					s.setInt(1, variableId);
+					ResultSet r = s.executeQuery();
+					while (r.next()) {
+						String value = dataType.equals("long text") ? r.getString("Value") : String.valueOf(r.getInt("Value"));
+						if (value != null && pattern.matcher(value).find()) {
+							ids.add(r.getInt("StatementId"));
+						}
+					}
+				}
+			}
+		}
+		return ids.build().sorted().toArray();
+	}
+
 	/**
 	 * Delete statements from the database, given an array of statement IDs.
 	 * 
@@ -3425,16 +4471,32 @@ public class Sql {
 	 */
 	public boolean deleteStatements(int[] statementIds) {
 		boolean committed = false;
+		boolean lookUpDocuments;
+		synchronized (frequencyLock) {
+			lookUpDocuments = documentFrequencies != null || changeTracking;
+		}
+		HashMap<Integer, Integer> frequencyChanges = new HashMap<Integer, Integer>();
 		try (Connection conn = ds.getConnection();
 				PreparedStatement s = conn.prepareStatement("DELETE FROM STATEMENTS WHERE ID = ?");
+				PreparedStatement s2 = conn.prepareStatement("SELECT DocumentId FROM STATEMENTS WHERE ID = ?");
 				SQLCloseable finish = conn::rollback) {
 			conn.setAutoCommit(false);
 			for (int i = 0; i < statementIds.length; i++) {
+				if (lookUpDocuments) { // look up the document to update its statement count
+					s2.setInt(1, statementIds[i]);
+					ResultSet r = s2.executeQuery();
+					if (r.next()) {
+						frequencyChanges.merge(r.getInt("DocumentId"), -1, Integer::sum);
+					}
+				}
 				s.setInt(1, statementIds[i]);
 				s.executeUpdate();
 			}
+			recordChanges(conn, CHANGE_STATEMENT, Arrays.stream(statementIds).boxed().collect(Collectors.toList()));
+			recordChanges(conn, CHANGE_DOCUMENT, frequencyChanges.keySet());
 			conn.commit();
 			committed = true;
+			changeDocumentFrequencies(frequencyChanges);
 			LogEvent l = new LogEvent(Logger.MESSAGE,
 					"[SQL] Deleted " + statementIds.length + " statement(s).",
 					"Successfully deleted " + statementIds.length + " statement(s) from the STATEMENTS table in the database. The transaction has been committed to the database.");
@@ -3446,6 +4508,7 @@ public class Sql {
 					e);
 			Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return committed;
 	}
 
@@ -3534,6 +4597,7 @@ public class Sql {
         			e1);
         	Dna.logger.log(e);
 		}
+		resetEntityCache();
 		return entityId;
 	}
 
@@ -3541,55 +4605,65 @@ public class Sql {
 	 * Retrieve the full set of entities for a set of variable IDs. The result
 	 * is an array list with nested array lists of entities for each variable
 	 * ID.
+	 * 
+	 * <p>With attributes, the entities of each variable are loaded with two
+	 * set-based queries, one for the entities with their number of uses and
+	 * one for all attribute values of the variable, which are assigned to the
+	 * entities in memory. The result is kept in a cache until entities,
+	 * attributes, or statements are changed through this class, and copies of
+	 * the cached entities are returned, so the caller can change them.
 	 *  
 	 * @param variableIds The IDs of the variables for which all entities will
 	 *   be retrieved, supplied as an array list of integers.
 	 * @param withAttributes Include attributes and indicator of whether the
 	 *   entity has been used in the database in each {@link model.Entity
-	 *   Entity}? Doing so takes much longer for large databases.
+	 *   Entity}?
 	 * @return An array list of array lists of {@link Entity}
 	 *   objects.
 	 */
 	public ArrayList<ArrayList<Entity>> getEntities(ArrayList<Integer> variableIds, boolean withAttributes) {
 		ArrayList<ArrayList<Entity>> entities = new ArrayList<ArrayList<Entity>>();
-		String sqlString = "SELECT ID, Value, Red, Green, Blue FROM ENTITIES WHERE VariableId = ?;";
-		if (withAttributes) {
-			sqlString = "SELECT ID, Value, Red, Green, Blue, ChildOf, (SELECT COUNT(ID) FROM DATASHORTTEXT WHERE DATASHORTTEXT.VariableId = ENTITIES.VariableId AND Entity = ENTITIES.ID) AS Count FROM ENTITIES WHERE VariableId = ?;";
-		}
 		try (Connection conn = ds.getConnection();
-				PreparedStatement s1 = conn.prepareStatement(sqlString);
-				PreparedStatement s2 = conn.prepareStatement("SELECT AttributeVariable, AttributeValue FROM ATTRIBUTEVALUES AS AVAL INNER JOIN ATTRIBUTEVARIABLES AS AVAR ON AVAL.AttributeVariableId = AVAR.ID WHERE EntityId = ?;")) {
-			ResultSet r1, r2;
-			HashMap<String, String> map;
+				PreparedStatement s1 = conn.prepareStatement("SELECT ID, Value, Red, Green, Blue FROM ENTITIES WHERE VariableId = ?;")) {
+			ResultSet r1;
 			ArrayList<Entity> entitiesList;
 			for (int i = 0; i < variableIds.size(); i++) {
 				entitiesList = new ArrayList<Entity>();
-				s1.setInt(1, variableIds.get(i));
-				r1 = s1.executeQuery();
-	        	while (r1.next()) {
-	        		if (withAttributes) {
-	        			map = new HashMap<String, String>();
-		            	s2.setInt(1, r1.getInt("ID"));
-		            	r2 = s2.executeQuery();
-		            	while (r2.next()) {
-		            		map.put(r2.getString("AttributeVariable"), r2.getString("AttributeValue"));
-		            	}
-	        			entitiesList.add(
-		            			new Entity(r1.getInt("ID"),
-		            					variableIds.get(i),
-		            					r1.getString("Value"),
-		            					new Color(r1.getInt("Red"), r1.getInt("Green"), r1.getInt("Blue")),
-		            					r1.getInt("ChildOf"),
-		            					r1.getInt("Count") > 0,
-		            					map));
-	        		} else {
+				if (withAttributes) {
+					ArrayList<Entity> cached;
+					long generation;
+					synchronized (entityCache) {
+						cached = entityCache.get(variableIds.get(i));
+						generation = entityCacheGeneration;
+					}
+					if (cached == null) {
+						cached = loadEntities(conn, variableIds.get(i));
+						synchronized (entityCache) {
+							if (generation == entityCacheGeneration) { // not changed while loading
+								entityCache.put(variableIds.get(i), cached);
+							}
+						}
+					}
+					for (Entity e : cached) {
+						entitiesList.add(new Entity(e.getId(),
+								e.getVariableId(),
+								e.getValue(),
+								e.getColor(),
+								e.getChildOf(),
+								e.isInDatabase(),
+								new HashMap<String, String>(e.getAttributeValues())));
+					}
+				} else {
+					s1.setInt(1, variableIds.get(i));
+					r1 = s1.executeQuery();
+		        	while (r1.next()) {
 	        			entitiesList.add(
 		            			new Entity(r1.getInt("ID"),
 		            					variableIds.get(i),
 		            					r1.getString("Value"),
 		            					new Color(r1.getInt("Red"), r1.getInt("Green"), r1.getInt("Blue"))));
-	        		}
-	        	}
+		        	}
+				}
             	entities.add(entitiesList);
 			}
         	LogEvent e = new LogEvent(Logger.MESSAGE,
@@ -3606,6 +4680,67 @@ public class Sql {
 		return entities;
 	}
 
+	/**
+	 * Load the entities of a variable with their attribute values and an
+	 * indicator of whether they are used in any statement. The uses are
+	 * counted with a grouped aggregate that is joined to the entities, and
+	 * all attribute values of the variable are retrieved with a single query,
+	 * rather than querying the uses and attributes of each entity separately.
+	 * 
+	 * @param conn        An open connection.
+	 * @param variableId  The ID of the variable.
+	 * @return            The entities, sorted by ID.
+	 * @throws SQLException If the entities cannot be retrieved.
+	 */
+	private static ArrayList<Entity> loadEntities(Connection conn, int variableId) throws SQLException {
+		ArrayList<Entity> entities = new ArrayList<Entity>();
+		HashMap<Integer, Entity> entityMap = new HashMap<Integer, Entity>();
+		try (PreparedStatement s1 = conn.prepareStatement("SELECT E.ID, E.Value, E.Red, E.Green, E.Blue, E.ChildOf, C.Count FROM ENTITIES E "
+						+ "LEFT JOIN (SELECT Entity, COUNT(ID) AS Count FROM DATASHORTTEXT WHERE VariableId = ? GROUP BY Entity) C ON C.Entity = E.ID "
+						+ "WHERE E.VariableId = ? ORDER BY E.ID;");
+				PreparedStatement s2 = conn.prepareStatement("SELECT AVAL.EntityId, AVAR.AttributeVariable, AVAL.AttributeValue FROM ATTRIBUTEVALUES AS AVAL "
+						+ "INNER JOIN ATTRIBUTEVARIABLES AS AVAR ON AVAL.AttributeVariableId = AVAR.ID WHERE AVAR.VariableId = ?;")) {
+			s1.setInt(1, variableId);
+			s1.setInt(2, variableId);
+			ResultSet r = s1.executeQuery();
+			while (r.next()) {
+				Entity entity = new Entity(r.getInt("ID"),
+						variableId,
+						r.getString("Value"),
+						new Color(r.getInt("Red"), r.getInt("Green"), r.getInt("Blue")),
+						r.getInt("ChildOf"),
+						r.getInt("Count") > 0, // NULL, read as 0, if the entity is not used
+						new HashMap<String, String>());
+				entities.add(entity);
+				entityMap.put(entity.getId(), entity);
+			}
+			s2.setInt(1, variableId);
+			r = s2.executeQuery();
+			while (r.next()) {
+				Entity entity = entityMap.get(r.getInt("EntityId"));
+				if (entity != null) {
+					entity.getAttributeValues().put(r.getString("AttributeVariable"), r.getString("AttributeValue"));
+				}
+			}
+		}
+		return entities;
+	}
+
+	/**
+	 * Discard the entities that are kept in memory by
+	 * {@link #getEntities(ArrayList, boolean)}. This is done automatically
+	 * when entities, attributes, or statements are changed through this class
+	 * and is necessary after they were changed otherwise, for example by the
+	 * {@link gui.Importer Importer} or by {@link sql.DataExchange#setAttributes(int,
+	 * dna.export.DataFrame, boolean) DataExchange.setAttributes}.
+	 */
+	public void resetEntityCache() {
+		synchronized (entityCache) {
+			entityCache.clear();
+			entityCacheGeneration++;
+		}
+	}
+
 	/**
 	 * Delete all entities corresponding to certain entity IDs. Check if the
 	 * entities can be deleted safely and log a warning instead of deleting the
@@ -3639,6 +4774,7 @@ public class Sql {
 					s1.setInt(1, entityIds[i]);
 					s1.executeUpdate();
 				}
+	        	recordChanges(conn, CHANGE_ALL, null);
 	        	conn.commit();
 				LogEvent e = new LogEvent(Logger.MESSAGE,
 						"[SQL] Deleted " + entityIds.length + " row(s) from ENTITIES table in the database.",
@@ -3652,6 +4788,7 @@ public class Sql {
         			e1);
         	Dna.logger.log(e);
 		}
+		resetEntityCache();
 	}
 	
 	/**
@@ -3667,9 +4804,11 @@ public class Sql {
         	s.setString(1, newValue);
         	s.setInt(2,  entityId);
         	s.executeUpdate();
+        	recordChangeAll();
 		} catch (SQLException ex) {
 			throw ex;
 		}
+		resetEntityCache();
 	}
 
 	/**
@@ -3681,15 +4820,22 @@ public class Sql {
 	 */
 	public void setEntityColor(int entityId, Color newColor) throws SQLException {
 		try (Connection conn = getDataSource().getConnection();
-				PreparedStatement s = conn.prepareStatement("UPDATE ENTITIES SET Red = ?, Green = ?, Blue = ? WHERE ID = ?;")) {
+				PreparedStatement s = conn.prepareStatement("UPDATE ENTITIES SET Red = ?, Green = ?, Blue = ? WHERE ID = ?;");
+				PreparedStatement s2 = conn.prepareStatement("SELECT VariableId FROM ENTITIES WHERE ID = ?;")) {
         	s.setInt(1, newColor.getRed());
         	s.setInt(2, newColor.getGreen());
         	s.setInt(3, newColor.getBlue());
         	s.setInt(4, entityId);
         	s.executeUpdate();
+        	s2.setInt(1, entityId);
+        	ResultSet r = s2.executeQuery();
+        	while (r.next()) {
+        		recordChanges(conn, CHANGE_ENTITIES, Collections.singletonList(r.getInt("VariableId")));
+        	}
 		} catch (SQLException ex) {
 			throw ex;
 		}
+		resetEntityCache();
 	}
 
 	/**
@@ -3771,9 +4917,11 @@ public class Sql {
         	s.setInt(3, variableId);
         	s.setString(4, attributeVariable);
         	s.executeUpdate();
+        	recordChanges(conn, CHANGE_ENTITIES, Collections.singletonList(variableId));
 		} catch (SQLException ex) {
 			throw ex;
 		}
+		resetEntityCache();
 	}
 
 	/**
@@ -3831,6 +4979,7 @@ public class Sql {
 				s2.setInt(2, attributeVariableId);
 				s2.executeUpdate();
 			}
+			recordChanges(conn, CHANGE_ENTITIES, Collections.singletonList(variableId));
         	conn.commit();
 		} catch (SQLException e1) {
         	LogEvent e = new LogEvent(Logger.WARNING,
@@ -3839,6 +4988,7 @@ public class Sql {
         			e1);
         	Dna.logger.log(e);
 		}
+		resetEntityCache();
 	}
 
 	/**
@@ -3853,6 +5003,7 @@ public class Sql {
 			s1.setInt(1, variableId);
 			s1.setString(2, attributeVariable);
 			s1.executeUpdate();
+			recordChanges(conn, CHANGE_ENTITIES, Collections.singletonList(variableId));
 		} catch (SQLException e1) {
         	LogEvent e = new LogEvent(Logger.WARNING,
         			"[SQL] Attribute could not be deleted from Variable " + variableId + ".",
@@ -3860,6 +5011,7 @@ public class Sql {
         			e1);
         	Dna.logger.log(e);
 		}
+		resetEntityCache();
 	}
 
 	/**
@@ -3877,6 +5029,7 @@ public class Sql {
 			s1.setInt(2, variableId);
 			s1.setString(3, oldAttributeVariableName);
 			s1.executeUpdate();
+			recordChanges(conn, CHANGE_ENTITIES, Collections.singletonList(variableId));
 			success = true;
 		} catch (SQLException e1) {
         	LogEvent e = new LogEvent(Logger.WARNING,
@@ -3885,6 +5038,7 @@ public class Sql {
         			e1);
         	Dna.logger.log(e);
 		}
+		resetEntityCache();
 		return success;
 	}
 	
@@ -4067,6 +5221,8 @@ public class Sql {
 			s.setInt(1, statementTypeId);
 			s.executeUpdate();
 			success = true;
+			resetDocumentFrequencies(); // the deletion cascades to statements
+			recordChangeAll();
 			LogEvent l = new LogEvent(Logger.MESSAGE,
         			"[SQL] Successfully deleted Statement Type " + statementTypeId + " from the database.",
         			"Successfully deleted Statement Type " + statementTypeId + " from the database.");
@@ -4079,6 +5235,7 @@ public class Sql {
         			e);
         	Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return success;
 	}
 	
@@ -4101,6 +5258,7 @@ public class Sql {
 			s.setInt(4, color.getBlue());
 			s.setInt(5, statementTypeId);
 			s.executeUpdate();
+			recordChangeAll();
 			success = true;
 			LogEvent e = new LogEvent(Logger.MESSAGE,
         			"[SQL] Statement type " + statementTypeId + " was updated.",
@@ -4186,6 +5344,7 @@ public class Sql {
 				}
 			}
 			
+			recordChanges(conn, CHANGE_ALL, null);
 			conn.commit();
 			LogEvent l = new LogEvent(Logger.MESSAGE,
 					"[SQL] Variable added to the database.",
@@ -4198,6 +5357,7 @@ public class Sql {
 					e1);
 			Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return variableId;
 	}
 
@@ -4214,6 +5374,7 @@ public class Sql {
 				PreparedStatement s = conn.prepareStatement("DELETE FROM VARIABLES WHERE ID = ?;")) {
 			s.setInt(1, variableId);
 			s.executeUpdate();
+			recordChangeAll();
 			success = true;
 			LogEvent l = new LogEvent(Logger.MESSAGE,
         			"[SQL] Successfully deleted Variable " + variableId + " from the database.",
@@ -4227,6 +5388,7 @@ public class Sql {
         			e);
         	Dna.logger.log(l);
 		}
+		resetEntityCache();
 		return success;
 	}
 
@@ -4244,6 +5406,7 @@ public class Sql {
 			s.setString(1, name);
 			s.setInt(2, variableId);
 			s.executeUpdate();
+			recordChangeAll();
 			success = true;
 			LogEvent e = new LogEvent(Logger.MESSAGE,
         			"[SQL] Name of variable " + variableId + " was updated.",
@@ -4278,6 +5441,7 @@ public class Sql {
 			s.setInt(4, blue);
 			s.executeUpdate();
 			added = true;
+			resetRegexes();
 		} catch (SQLException e) {
 			added = false;
 			LogEvent le = new LogEvent(Logger.ERROR,
@@ -4290,26 +5454,44 @@ public class Sql {
 	}
 
 	/**
-	 * Get all regexes from the REGEXES table in the database.
+	 * Get all regexes from the REGEXES table in the database. The regexes are
+	 * kept in memory after they have been loaded, so their patterns are only
+	 * compiled once (see {@link model.Regex#getPattern()}), until a regex is
+	 * added or deleted through this class.
 	 * 
 	 * @return An array list of all regex terms.
 	 */
 	public ArrayList<Regex> getRegexes() {
-		ArrayList<Regex> regexList = new ArrayList<Regex>();
-		try (Connection conn = getDataSource().getConnection();
-				PreparedStatement s = conn.prepareStatement("SELECT * FROM REGEXES;")) {
-			ResultSet r = s.executeQuery();
-			while (r.next()) {
-				regexList.add(new Regex(r.getString("Label"), new Color(r.getInt("Red"), r.getInt("Green"), r.getInt("Blue"))));
+		synchronized (regexLock) {
+			if (regexes != null) {
+				return new ArrayList<Regex>(regexes);
 			}
-		} catch (SQLException e) {
-			LogEvent le = new LogEvent(Logger.ERROR,
-					"[SQL] Could not retrieve regex entries from the database.",
-					"Tried to load regular expressions for highlighting in the text from the database, but there was a problem.",
-					e);
-			Dna.logger.log(le);
+			ArrayList<Regex> regexList = new ArrayList<Regex>();
+			try (Connection conn = getDataSource().getConnection();
+					PreparedStatement s = conn.prepareStatement("SELECT * FROM REGEXES;")) {
+				ResultSet r = s.executeQuery();
+				while (r.next()) {
+					regexList.add(new Regex(r.getString("Label"), new Color(r.getInt("Red"), r.getInt("Green"), r.getInt("Blue"))));
+				}
+				regexes = new ArrayList<Regex>(regexList);
+			} catch (SQLException e) {
+				LogEvent le = new LogEvent(Logger.ERROR,
+						"[SQL] Could not retrieve regex entries from the database.",
+						"Tried to load regular expressions for highlighting in the text from the database, but there was a problem.",
+						e);
+				Dna.logger.log(le);
+			}
+			return regexList;
+		}
+	}
+
+	/**
+	 * Discard the regexes that are kept in memory by {@link #getRegexes()}.
+	 */
+	private void resetRegexes() {
+		synchronized (regexLock) {
+			regexes = null;
 		}
-		return regexList;
 	}
 	
 	/**
@@ -4325,6 +5507,7 @@ public class Sql {
 			s.setString(1, label);
 			s.executeUpdate();
 			deleted = true;
+			resetRegexes();
 		} catch (SQLException e) {
 			deleted = false;
 			LogEvent le = new LogEvent(Logger.ERROR,
@@ -4352,6 +5535,7 @@ public class Sql {
 				s.executeUpdate();
 			}
 			conn.commit();
+			resetRegexes();
 			return true;
 		} catch (SQLException e) {
 			LogEvent le = new LogEvent(Logger.ERROR,
@@ -0,0 +1,246 @@
+package sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import javax.sql.DataSource;
+
+import model.Color;
+import model.Entity;
+import model.Statement;
+import model.Value;
+
+/**
+ * A forward-only cursor over the statements of a statement type, including their variable values. Create a cursor
+ * using {@link Sql#getStatementCursor(int[], int, LocalDateTime, LocalDateTime, ArrayList, boolean, ArrayList,
+ * boolean, ArrayList, boolean, ArrayList, boolean, boolean, int)} and call {@link #next()} until it returns
+ * {@code null}, then close the cursor (preferably in a try-with-resources block).
+ *
+ * <p>The statements and the four value tables (short text, long text, boolean, and integer) are read in parallel
+ * result sets, which are all sorted by the natural order of statements (date, document ID, start, stop, and statement
+ * ID). The values of each statement are merged into the statement in a single pass over the result sets, so only the
+ * current statement is held in memory, and the statements are returned in sorted order without a final sort. Each
+ * result set is read with its own connection and with the given fetch size, so the JDBC driver can stream the rows
+ * from the database server instead of loading whole result sets into memory.
+ */
+public class StatementCursor implements AutoCloseable {
+	private final ArrayList<Connection> connections = new ArrayList<Connection>();
+	private final ArrayList<PreparedStatement> preparedStatements = new ArrayList<PreparedStatement>();
+	private final boolean postgresql, mysql;
+	private final int fetchSize;
+	private final boolean includeText;
+	private final ResultSet statementRows;
+	/**
+	 * Result sets with the short text, long text, boolean, and integer values, in this order.
+	 */
+	private final ResultSet[] valueRows;
+	/**
+	 * Is the result set with the same index in {@link #valueRows} positioned on a row?
+	 */
+	private final boolean[] valueRowAvailable;
+	private final HashMap<Integer, String> variableNameMap = new HashMap<Integer, String>(); // variable ID to variable name
+	private final HashMap<Integer, String> variableDataTypeMap = new HashMap<Integer, String>(); // variable ID to data type
+	private final HashMap<Integer, HashMap<String, String>> attributeMap = new HashMap<Integer, HashMap<String, String>>(); // entity ID to attributes
+
+	/**
+	 * Execute the queries and position the value result sets on their first rows.
+	 *
+	 * @param ds The data source for obtaining connections.
+	 * @param type The connection type ({@code "sqlite"}, {@code "mysql"}, or {@code "postgresql"}).
+	 * @param statementQuery The query for the statements, sorted by date, document ID, start, stop, and statement ID.
+	 * @param valueQueries The queries for the short text, long text, boolean, and integer values, with the same sort
+	 *   order as the statements and the variable ID as the last sort key. Each query must return the statement ID,
+	 *   date, document ID, start, and stop of the statement to which the value belongs.
+	 * @param variableQuery The query for the variable IDs, names, and data types of the statement type.
+	 * @param attributeQuery The query for the entity attributes of the statement type.
+	 * @param includeText Retrieve the text of the statements?
+	 * @param fetchSize The number of rows the JDBC driver should fetch from the database at a time.
+	 * @throws SQLException If a query cannot be executed.
+	 */
+	StatementCursor(DataSource ds, String type, String statementQuery, String[] valueQueries, String variableQuery,
+			String attributeQuery, boolean includeText, int fetchSize) throws SQLException {
+		this.postgresql = type.equals("postgresql");
+		this.mysql = type.equals("mysql");
+		this.fetchSize = fetchSize;
+		this.includeText = includeText;
+		try {
+			// variables and attributes are small and are held in memory
+			ResultSet r3 = this.open(ds, variableQuery, false);
+			while (r3.next()) {
+				this.variableNameMap.put(r3.getInt("ID"), r3.getString("Variable"));
+				this.variableDataTypeMap.put(r3.getInt("ID"), r3.getString("DataType"));
+			}
+			ResultSet r5 = this.open(ds, attributeQuery, false);
+			while (r5.next()) {
+				int entityId = r5.getInt("EntityId");
+				if (!this.attributeMap.containsKey(entityId)) {
+					this.attributeMap.put(entityId, new HashMap<String, String>());
+				}
+				this.attributeMap.get(entityId).put(r5.getString("AttributeVariable"), r5.getString("AttributeValue"));
+			}
+
+			// statements and values are streamed
+			this.statementRows = this.open(ds, statementQuery, true);
+			this.valueRows = new ResultSet[valueQueries.length];
+			this.valueRowAvailable = new boolean[valueQueries.length];
+			for (int i = 0; i < valueQueries.length; i++) {
+				this.valueRows[i] = this.open(ds, valueQueries[i], true);
+				this.valueRowAvailable[i] = this.valueRows[i].next();
+			}
+		} catch (SQLException e) {
+			this.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Execute a query with a new connection.
+	 *
+	 * @param ds The data source.
+	 * @param query The SQL query.
+	 * @param stream Should the result set be streamed with the fetch size of the cursor?
+	 * @return The result set.
+	 * @throws SQLException If the query cannot be executed.
+	 */
+	private ResultSet open(DataSource ds, String query, boolean stream) throws SQLException {
+		Connection conn = ds.getConnection();
+		this.connections.add(conn);
+		if (stream && this.postgresql) {
+			conn.setAutoCommit(false); // PostgreSQL only uses a server-side cursor outside of auto-commit mode
+		}
+		PreparedStatement s = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		this.preparedStatements.add(s);
+		if (stream) {
+			s.setFetchSize(this.mysql ? Integer.MIN_VALUE : this.fetchSize); // MySQL streams row by row only with this value
+		}
+		return s.executeQuery();
+	}
+
+	/**
+	 * Read the next statement and its values.
+	 *
+	 * @return The next statement, or {@code null} if there are no more statements.
+	 * @throws SQLException If the statement or its values cannot be read.
+	 */
+	public Statement next() throws SQLException {
+		if (!this.statementRows.next()) {
+			return null;
+		}
+		int statementId = this.statementRows.getInt("StatementId");
+		long date = this.statementRows.getLong("Date");
+		int documentId = this.statementRows.getInt("DocumentId");
+		int start = this.statementRows.getInt("Start");
+		int stop = this.statementRows.getInt("Stop");
+		ArrayList<Value> values = new ArrayList<Value>();
+		Statement statement = new Statement(statementId,
+				start,
+				stop,
+				this.statementRows.getInt("StatementTypeId"),
+				this.statementRows.getString("StatementTypeLabel"),
+				new Color(this.statementRows.getInt("StatementTypeRed"), this.statementRows.getInt("StatementTypeGreen"), this.statementRows.getInt("StatementTypeBlue")),
+				this.statementRows.getInt("CoderId"),
+				this.statementRows.getString("CoderName"),
+				new Color(this.statementRows.getInt("CoderRed"), this.statementRows.getInt("CoderGreen"), this.statementRows.getInt("CoderBlue")),
+				values,
+				documentId,
+				this.includeText ? this.statementRows.getString("Text") : null,
+				LocalDateTime.ofEpochSecond(date, 0, ZoneOffset.UTC));
+
+		// merge the values of the statement from each value result set
+		for (int i = 0; i < this.valueRows.length; i++) {
+			ResultSet r4 = this.valueRows[i];
+			while (this.valueRowAvailable[i]) {
+				int c = compare(r4, date, documentId, start, stop, statementId);
+				if (c > 0) { // the value belongs to a later statement
+					break;
+				}
+				if (c == 0) {
+					int variableId = r4.getInt("VariableId");
+					String dataType = this.variableDataTypeMap.get(variableId);
+					Object value;
+					if (i == 0) {
+						int entityId = r4.getInt("EntityId");
+						value = new Entity(entityId,
+								variableId,
+								r4.getString("Value"),
+								new Color(r4.getInt("Red"), r4.getInt("Green"), r4.getInt("Blue")),
+								r4.getInt("ChildOf"),
+								true,
+								this.attributeMap.get(entityId));
+					} else if (i == 1) {
+						value = r4.getString("Value");
+					} else {
+						value = r4.getInt("Value");
+					}
+					values.add(new Value(variableId, this.variableNameMap.get(variableId), dataType, value));
+				} // else the value belongs to a statement that is not in the selection and is skipped
+				this.valueRowAvailable[i] = r4.next();
+			}
+		}
+		return statement;
+	}
+
+	/**
+	 * Compare the statement of the current row of a value result set with a statement in the natural order of
+	 * statements (see {@link Statement#compareTo(Statement)}).
+	 *
+	 * @param r The value result set.
+	 * @param date The date of the statement in seconds since 1 January 1970.
+	 * @param documentId The document ID of the statement.
+	 * @param start The start position of the statement.
+	 * @param stop The stop position of the statement.
+	 * @param statementId The ID of the statement.
+	 * @return A negative number, zero, or a positive number if the statement of the row comes before, is equal to, or
+	 *   comes after the given statement.
+	 * @throws SQLException If the row cannot be read.
+	 */
+	private static int compare(ResultSet r, long date, int documentId, int start, int stop, int statementId) throws SQLException {
+		int c = Long.compare(r.getLong("Date"), date);
+		if (c == 0) {
+			c = Integer.compare(r.getInt("DocumentId"), documentId);
+		}
+		if (c == 0) {
+			c = Integer.compare(r.getInt("Start"), start);
+		}
+		if (c == 0) {
+			c = Integer.compare(r.getInt("Stop"), stop);
+		}
+		if (c == 0) {
+			c = Integer.compare(r.getInt("StatementId"), statementId);
+		}
+		return c;
+	}
+
+	/**
+	 * Close the result sets, statements, and connections of the cursor.
+	 */
+	@Override
+	public void close() {
+		for (PreparedStatement s : this.preparedStatements) {
+			try {
+				s.close();
+			} catch (SQLException e) {
+				// the connection is closed below anyway
+			}
+		}
+		this.preparedStatements.clear();
+		for (Connection conn : this.connections) {
+			try {
+				if (!conn.getAutoCommit()) {
+					conn.rollback(); // read-only transaction of a PostgreSQL cursor
+					conn.setAutoCommit(true);
+				}
+				conn.close();
+			} catch (SQLException e) {
+				// nothing left to release
+			}
+		}
+		this.connections.clear();
+	}
+}